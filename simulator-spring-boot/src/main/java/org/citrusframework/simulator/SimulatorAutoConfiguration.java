@@ -103,7 +103,8 @@ public class SimulatorAutoConfiguration {
 
     @Bean
     public CorrelationHandlerRegistry correlationHandlerRegistry() {
-        return new CorrelationHandlerRegistry();
+        SimulatorConfigurationProperties.Correlation correlation = simulatorConfiguration.getCorrelation();
+        return new CorrelationHandlerRegistry(correlation.getCapacity(), correlation.getTimeToLive(), correlation.getCleanupInterval());
     }
 
     @Bean
@@ -19,6 +19,9 @@ package org.citrusframework.simulator.config;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.citrusframework.simulator.scenario.ScenarioEndpointConfiguration;
+import org.citrusframework.simulator.service.runner.SimulatorMode;
+import org.citrusframework.simulator.template.TemplateStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
@@ -26,6 +29,11 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.core.env.Environment;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * @author Christoph Deppisch
  */
@@ -82,6 +90,24 @@ public class SimulatorConfigurationProperties implements EnvironmentAware, Initi
      */
     private int executorThreads = 10;
 
+    /**
+     * Maximum number of scenarios waiting for a free executor thread in async mode. Further scenarios are rejected.
+     * Defaults to 0, meaning the queue is unbounded.
+     */
+    private int executorQueueCapacity = 0;
+
+    /**
+     * Maximum time in milliseconds a scenario may wait for a free executor thread in async mode before it is dropped.
+     * Defaults to 0, meaning queued scenarios never expire.
+     */
+    private long executorQueueTimeout = 0;
+
+    /**
+     * Execution mode of the simulator. Scenarios and endpoint pollers run on virtual threads in {@link SimulatorMode#VIRTUAL} mode.
+     * Defaults to {@link SimulatorMode#SYNC}.
+     */
+    private SimulatorMode mode = SimulatorMode.SYNC;
+
     /**
      * Optional inbound XML data dictionary mapping file which gets automatically loaded when default inbound data dictionaries are enabled. Used in generated scenarios in order to manipulate generated test data.
      */
@@ -104,6 +130,33 @@ public class SimulatorConfigurationProperties implements EnvironmentAware, Initi
 
     private SimulationResults simulationResults = new SimulationResults();
 
+    private Correlation correlation = new Correlation();
+
+    private ScenarioInbox scenarioInbox = new ScenarioInbox();
+
+    private TestContexts testContexts = new TestContexts();
+
+    private TemplateCache templateCache = new TemplateCache();
+
+    private AuditJournal auditJournal = new AuditJournal();
+
+    private Recording recording = new Recording();
+
+    private Retention retention = new Retention();
+
+    private MessageHeaders messageHeaders = new MessageHeaders();
+
+    private MessagePayloads messagePayloads = new MessagePayloads();
+
+    private FullTextIndex fullTextIndex = new FullTextIndex();
+
+    private Statistics statistics = new Statistics();
+
+    /**
+     * Named extractors of business keys, e.g. an order id, which are stored along with every persisted message. Scenario executions and messages can be looked up by these keys.
+     */
+    private Map<String, BusinessKey> businessKeys = new LinkedHashMap<>();
+
     @Override
     public void setEnvironment(Environment environment) {
         inboundXmlDictionary = environment.getProperty(SIMULATOR_INBOUND_XML_DICTIONARY_PROPERTY, environment.getProperty(SIMULATOR_INBOUND_XML_DICTIONARY_ENV, inboundXmlDictionary));
@@ -127,4 +180,305 @@ public class SimulatorConfigurationProperties implements EnvironmentAware, Initi
          */
         private boolean resetEnabled = true;
     }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class Correlation {
+
+        /**
+         * Maximum number of active correlation handlers. Once exceeded, the handlers registered first are evicted.
+         */
+        private int capacity = 1000;
+
+        /**
+         * Time in milliseconds after which a correlation handler that did not match any message expires. Defaults to the timeout of the scenario endpoint that started the correlation, 0 disables the expiry.
+         */
+        private Long timeToLive;
+
+        /**
+         * Interval in milliseconds in which expired correlation handlers are removed in the background.
+         */
+        private long cleanupInterval = 10000L;
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class ScenarioInbox {
+
+        /**
+         * Maximum number of requests per scenario waiting to be received by a scenario execution. Further requests are rejected with a 503 (Service Unavailable), 0 disables the limit.
+         */
+        private int capacity = ScenarioEndpointConfiguration.DEFAULT_INBOX_CAPACITY;
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class TestContexts {
+
+        /**
+         * Number of Citrus test contexts built ahead of demand on a background thread, so that scenario starts do not have to wait for their context to be built. 0 builds each context on demand.
+         */
+        private int prebuilt = 4;
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class TemplateCache {
+
+        /**
+         * Maximum number of cached message templates, the least recently used templates are evicted first.
+         */
+        private long maximumSize = TemplateStore.DEFAULT_MAXIMUM_SIZE;
+
+        /**
+         * Load all templates below the template path on startup instead of on their first use.
+         */
+        private boolean preload = false;
+
+        /**
+         * Optional file-system directory mirroring the template path. Templates in this directory take precedence over the classpath and are reloaded without a restart once they change.
+         */
+        private String watchDirectory;
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class AuditJournal {
+
+        /**
+         * Specifies whether scenario actions, messages and results are written to the database asynchronously in batches. Disabled by default, writing every audit record synchronously.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of audit events buffered in memory before the overflow policy applies.
+         */
+        private int capacity = 10000;
+
+        /**
+         * Maximum number of audit events written within a single transaction.
+         */
+        private int flushSize = 100;
+
+        /**
+         * Maximum time in milliseconds an audit event is buffered before it gets written, even if the flush size has not been reached.
+         */
+        private long flushInterval = 500L;
+
+        /**
+         * Durability guarantee given to completed scenario executions, defaults to {@link Durability#BUFFERED}.
+         */
+        private Durability durability = Durability.BUFFERED;
+
+        /**
+         * Behaviour when the buffer is full, defaults to {@link OverflowPolicy#BLOCK}.
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+        public enum Durability {
+
+            /**
+             * Scenarios complete as soon as their result has been buffered. Buffered events are lost if the simulator crashes.
+             */
+            BUFFERED,
+
+            /**
+             * Scenarios complete only once their result, and all audit events recorded before, have been written.
+             */
+            FLUSH_ON_COMPLETION
+        }
+
+        public enum OverflowPolicy {
+
+            /**
+             * Blocks the scenario until there is space in the buffer.
+             */
+            BLOCK,
+
+            /**
+             * Discards the audit event and increments the dropped events metric.
+             */
+            DROP
+        }
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class Recording {
+
+        /**
+         * Specifies which scenario executions are recorded in the database, defaults to {@link Policy#FULL}.
+         */
+        private Policy policy = Policy.FULL;
+
+        /**
+         * Fraction of scenario executions recorded with the {@link Policy#SAMPLED} policy, between 0 and 1.
+         */
+        private double sampleRate = 0.1;
+
+        /**
+         * Records every n-th execution per scenario name with the {@link Policy#SAMPLED} policy. Takes precedence over the {@link #sampleRate} if greater than 0.
+         */
+        private int sampleInterval = 0;
+
+        public enum Policy {
+
+            /**
+             * No scenario execution is recorded, only the in-memory result counters are updated.
+             */
+            NONE,
+
+            /**
+             * Only failed scenario executions are recorded, including their actions and messages.
+             */
+            ERRORS_ONLY,
+
+            /**
+             * A sample of the scenario executions is recorded, see {@link #sampleRate} and {@link #sampleInterval}.
+             */
+            SAMPLED,
+
+            /**
+             * Every scenario execution is recorded.
+             */
+            FULL
+        }
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class Retention {
+
+        /**
+         * Age in milliseconds after which completed scenario executions are purged. Defaults to 0, keeping them forever.
+         */
+        private long maxAge = 0L;
+
+        /**
+         * Maximum number of scenario executions to keep, the oldest completed executions are purged first. Defaults to 0, keeping all of them.
+         */
+        private long maxExecutions = 0L;
+
+        /**
+         * Interval in milliseconds in which the retention policy is enforced in the background.
+         */
+        private long interval = 60000L;
+
+        /**
+         * Number of scenario executions deleted within a single transaction.
+         */
+        private int chunkSize = 500;
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class MessageHeaders {
+
+        /**
+         * Store the headers of a message in a single compact column instead of one row per header. Defaults to false.
+         */
+        private boolean compact = false;
+
+        /**
+         * Names of the headers that are still stored as rows in compact mode, so that scenario executions can be filtered by them. Names are matched case-insensitive.
+         */
+        private Set<String> indexed = new LinkedHashSet<>();
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class MessagePayloads {
+
+        /**
+         * Store each distinct payload once, compressed and referenced by its hash, instead of inline with every message. Defaults to false.
+         */
+        private boolean deduplicate = false;
+
+        /**
+         * Deduplicated payloads of at least this many bytes are compressed.
+         */
+        private int compressionThreshold = 256;
+
+        /**
+         * Maximum number of characters persisted per payload, longer payloads are truncated. Defaults to 0, persisting complete payloads.
+         */
+        private int maxSize = 0;
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class FullTextIndex {
+
+        /**
+         * Maintain a trigram index of message payloads and header values, which is used by {@code contains} filters. Defaults to false.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of characters indexed per payload or header value. Messages exceeding it are still searched, but without the index.
+         */
+        private int maxIndexedLength = 16384;
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class Statistics {
+
+        /**
+         * Aggregate completed scenario executions into per-minute, hourly and daily throughput and latency rollups. Defaults to false.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Interval in milliseconds in which completed executions are written to the rollups. Statistics lag behind by at most this interval.
+         */
+        private long flushInterval = 10000L;
+
+        /**
+         * Age in milliseconds after which per-minute rollups are purged. Defaults to one day, 0 keeps them forever.
+         */
+        private long minuteRetention = 86400000L;
+
+        /**
+         * Age in milliseconds after which hourly rollups are purged. Defaults to 30 days, 0 keeps them forever. Daily rollups are always kept.
+         */
+        private long hourRetention = 2592000000L;
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class BusinessKey {
+
+        /**
+         * JSONPath expression evaluated on the message payload, e.g. {@code $.order.id}.
+         */
+        private String jsonPath;
+
+        /**
+         * XPath expression evaluated on the message payload, e.g. {@code //ord:order/ord:id}.
+         */
+        private String xpath;
+
+        /**
+         * Namespace prefixes used in the XPath expression, mapped to their namespace URI.
+         */
+        private Map<String, String> namespaces = new LinkedHashMap<>();
+
+        /**
+         * Name of the message header holding the business key.
+         */
+        private String header;
+    }
 }
@@ -16,43 +16,136 @@
 
 package org.citrusframework.simulator.correlation;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.Nullable;
 import org.citrusframework.context.TestContext;
+import org.citrusframework.endpoint.EndpointConfiguration;
 import org.citrusframework.message.Message;
+import org.citrusframework.simulator.scenario.ScenarioEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 
+import java.util.Comparator;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
+ * Registry of all active correlation handlers.
+ * <p>
+ * Handlers implementing {@link IndexedCorrelationHandler} resolve their correlation key once on registration and are
+ * indexed by key and expected value. An inbound message therefore costs one extraction per distinct key (e.g. one header
+ * read or one XPath evaluation per expression) followed by a hash lookup. All other handlers are evaluated one by one
+ * using {@link CorrelationHandler#isHandlerFor(Message, TestContext)}. If several handlers match, the one registered
+ * first wins.
+ * <p>
+ * The registry is bounded: Once the capacity is exceeded, the handlers registered first are evicted. Handlers that did
+ * not match any message within their time-to-live expire and are removed by a background task. None of the operations
+ * block, hence the registry never holds back a request thread.
+ *
  * @author Christoph Deppisch
  */
-public class CorrelationHandlerRegistry {
+public class CorrelationHandlerRegistry implements InitializingBean, DisposableBean, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CorrelationHandlerRegistry.class);
+
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    public static final long DEFAULT_CLEANUP_INTERVAL = 10000L;
+
+    private static final String METRIC_PREFIX = "citrus.simulator.correlation.handlers";
 
     /**
      * Map of active handlers
      */
-    private final ConcurrentMap<CorrelationHandler, TestContext> registeredHandlers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<CorrelationHandler, Registration> registeredHandlers = new ConcurrentHashMap<>();
+
+    /**
+     * Active handlers in registration order, used for eviction and expiry
+     */
+    private final ConcurrentSkipListMap<Long, Registration> registrationOrder = new ConcurrentSkipListMap<>();
+
+    /**
+     * Indexed handlers by correlation key id
+     */
+    private final ConcurrentMap<String, KeyIndex> indexedHandlers = new ConcurrentHashMap<>();
+
+    /**
+     * Handlers that must be evaluated one by one
+     */
+    private final Set<Registration> unindexedHandlers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong registrationSequence = new AtomicLong();
+
+    private final LongAdder registrations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private final int capacity;
+
+    /**
+     * Time-to-live in milliseconds, {@code null} uses the timeout of the scenario endpoint
+     */
+    private final @Nullable Long timeToLive;
+
+    private final long cleanupInterval;
+
+    private ScheduledExecutorService cleanupExecutor;
+
+    public CorrelationHandlerRegistry() {
+        this(DEFAULT_CAPACITY, null, DEFAULT_CLEANUP_INTERVAL);
+    }
+
+    /**
+     * Constructor using registry limits.
+     *
+     * @param capacity        maximum number of active handlers
+     * @param timeToLive      time-to-live in milliseconds of handlers without matching messages, {@code null} uses the
+     *                        timeout of the scenario endpoint and {@code 0} disables the expiry
+     * @param cleanupInterval interval in milliseconds in which expired handlers are removed
+     */
+    public CorrelationHandlerRegistry(int capacity, @Nullable Long timeToLive, long cleanupInterval) {
+        this.capacity = capacity;
+        this.timeToLive = timeToLive;
+        this.cleanupInterval = cleanupInterval;
+    }
 
     /**
      * Add new correlation manager to registry.
      * @param handler
      */
     public void register(CorrelationHandler handler, TestContext context) {
-        register(handler, context, 1000);
+        register(handler, context, capacity);
     }
 
     public void register(CorrelationHandler handler, TestContext context, int queueCapacity) {
-        if (!registeredHandlers.containsKey(handler)) {
-            registeredHandlers.put(handler, context);
-        }
+        registeredHandlers.computeIfAbsent(handler, key -> {
+            Registration registration = new Registration(handler, context, resolveCorrelationKey(handler, context),
+                registrationSequence.incrementAndGet(), resolveTimeToLiveNanos(handler));
+            index(registration);
+            registrationOrder.put(registration.sequence(), registration);
+            registrations.increment();
+            return registration;
+        });
 
-        while (registeredHandlers.size() > queueCapacity) {
-            Stream.of(registeredHandlers.keySet()).limit(queueCapacity / 10)
-                .toList()
-                .parallelStream()
-                .forEach(registeredHandlers::remove);
-        }
+        evictExceedingHandlers(queueCapacity);
     }
 
     /**
@@ -60,7 +153,10 @@ public class CorrelationHandlerRegistry {
      * @param handler
      */
     public void remove(CorrelationHandler handler) {
-        registeredHandlers.remove(handler);
+        Registration registration = registeredHandlers.remove(handler);
+        if (registration != null) {
+            unregister(registration);
+        }
     }
 
     /**
@@ -70,12 +166,328 @@ public class CorrelationHandlerRegistry {
      * @return
      */
     public CorrelationHandler findHandlerFor(Message request) {
-        for (Map.Entry<CorrelationHandler, TestContext> handlerEntry : registeredHandlers.entrySet()) {
-            if (handlerEntry.getKey().isHandlerFor(request, handlerEntry.getValue())) {
-                return handlerEntry.getKey();
+        Registration match = findRegistrationFor(request);
+        return match != null ? match.handler() : null;
+    }
+
+    /**
+     * Finds the scenario endpoint that should receive the given message, which is the endpoint of the scenario
+     * execution that registered the matching handler.
+     *
+     * @param request the inbound message
+     * @return the endpoint or {@code null} if no handler is able to handle the message
+     */
+    public @Nullable ScenarioEndpoint findScenarioEndpointFor(Message request) {
+        Registration match = findRegistrationFor(request);
+        if (match == null || match.handler().getScenarioEndpoint() == null) {
+            return null;
+        }
+
+        return match.handler().getScenarioEndpoint().getExecutionEndpoint(match.context());
+    }
+
+    private @Nullable Registration findRegistrationFor(Message request) {
+        long now = System.nanoTime();
+        Registration match = null;
+
+        for (KeyIndex keyIndex : indexedHandlers.values()) {
+            Registration candidate = keyIndex.findFirst(request, now);
+            if (candidate != null && (match == null || candidate.sequence() < match.sequence())) {
+                match = candidate;
             }
         }
 
+        for (Registration registration : unindexedHandlers) {
+            if ((match == null || registration.sequence() < match.sequence())
+                && !registration.isExpired(now)
+                && registration.handler().isHandlerFor(request, registration.context())) {
+                match = registration;
+            }
+        }
+
+        if (match == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        match.touch(now);
+        return match;
+    }
+
+    /**
+     * Removes all handlers that did not match any message within their time-to-live. Invoked periodically in the
+     * background, but may also be called explicitly.
+     */
+    public void purgeExpiredHandlers() {
+        long now = System.nanoTime();
+        for (Registration registration : registrationOrder.values()) {
+            if (registration.isExpired(now) && registeredHandlers.remove(registration.handler(), registration)) {
+                unregister(registration);
+                expirations.increment();
+            }
+        }
+    }
+
+    /**
+     * @return the number of currently active handlers
+     */
+    public int size() {
+        return registeredHandlers.size();
+    }
+
+    /**
+     * @return a snapshot of the registry statistics
+     */
+    public Statistics getStatistics() {
+        return new Statistics(registrations.sum(), evictions.sum(), expirations.sum(), hits.sum(), misses.sum());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder(METRIC_PREFIX + ".active", registeredHandlers, Map::size)
+            .description("Number of active correlation handlers")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".registrations", registrations, LongAdder::sum)
+            .description("Number of registered correlation handlers")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", evictions, LongAdder::sum)
+            .description("Number of correlation handlers evicted because the capacity was exceeded")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".expirations", expirations, LongAdder::sum)
+            .description("Number of correlation handlers removed after their time-to-live")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".lookups", hits, LongAdder::sum)
+            .description("Number of inbound messages looked up in the correlation handler registry")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".lookups", misses, LongAdder::sum)
+            .description("Number of inbound messages looked up in the correlation handler registry")
+            .tag("result", "miss")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (cleanupInterval > 0) {
+            cleanupExecutor = newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("correlation-cleanup-thread-%d")
+                .build());
+            cleanupExecutor.scheduleWithFixedDelay(this::purgeExpiredHandlersSafely, cleanupInterval, cleanupInterval, MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (cleanupExecutor != null) {
+            cleanupExecutor.shutdownNow();
+        }
+    }
+
+    private void purgeExpiredHandlersSafely() {
+        try {
+            purgeExpiredHandlers();
+        } catch (RuntimeException e) {
+            // An exception would cancel all further executions
+            logger.error("Failed to purge expired correlation handlers", e);
+        }
+    }
+
+    private void evictExceedingHandlers(int queueCapacity) {
+        while (registeredHandlers.size() > queueCapacity) {
+            Map.Entry<Long, Registration> oldest = registrationOrder.pollFirstEntry();
+            if (oldest == null) {
+                return;
+            }
+
+            Registration registration = oldest.getValue();
+            if (registeredHandlers.remove(registration.handler(), registration)) {
+                unindex(registration);
+                evictions.increment();
+                logger.debug("Evicted correlation handler {} - registry capacity of {} exceeded", registration.handler(), queueCapacity);
+            }
+        }
+    }
+
+    private long resolveTimeToLiveNanos(CorrelationHandler handler) {
+        long timeToLiveMillis;
+        if (timeToLive != null) {
+            timeToLiveMillis = timeToLive;
+        } else {
+            ScenarioEndpoint scenarioEndpoint = handler.getScenarioEndpoint();
+            EndpointConfiguration endpointConfiguration = scenarioEndpoint != null ? scenarioEndpoint.getEndpointConfiguration() : null;
+            timeToLiveMillis = endpointConfiguration != null ? endpointConfiguration.getTimeout() : 0L;
+        }
+
+        return MILLISECONDS.toNanos(Math.max(timeToLiveMillis, 0L));
+    }
+
+    private static CorrelationKey resolveCorrelationKey(CorrelationHandler handler, TestContext context) {
+        if (handler instanceof IndexedCorrelationHandler indexedCorrelationHandler) {
+            return indexedCorrelationHandler.resolveCorrelationKey(context);
+        }
+
         return null;
     }
+
+    private void unregister(Registration registration) {
+        unindex(registration);
+        registrationOrder.remove(registration.sequence(), registration);
+    }
+
+    private void index(Registration registration) {
+        CorrelationKey correlationKey = registration.correlationKey();
+        if (correlationKey == null) {
+            unindexedHandlers.add(registration);
+            return;
+        }
+
+        indexedHandlers.compute(correlationKey.id(), (id, keyIndex) -> {
+            KeyIndex result = keyIndex != null ? keyIndex : new KeyIndex(correlationKey.extractor());
+            result.add(registration);
+            return result;
+        });
+    }
+
+    private void unindex(Registration registration) {
+        CorrelationKey correlationKey = registration.correlationKey();
+        if (correlationKey == null) {
+            unindexedHandlers.remove(registration);
+            return;
+        }
+
+        indexedHandlers.computeIfPresent(correlationKey.id(), (id, keyIndex) -> {
+            keyIndex.remove(registration);
+            return keyIndex.isEmpty() ? null : keyIndex;
+        });
+    }
+
+    /**
+     * Statistics of the correlation handler registry.
+     *
+     * @param registrations number of registered handlers
+     * @param evictions     number of handlers evicted because the capacity was exceeded
+     * @param expirations   number of handlers removed after their time-to-live
+     * @param hits          number of messages a handler was found for
+     * @param misses        number of messages no handler was found for
+     */
+    public record Statistics(long registrations, long evictions, long expirations, long hits, long misses) {
+
+        /**
+         * @return the ratio of messages a handler was found for, {@code 0} without any lookup
+         */
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups > 0 ? (double) hits / lookups : 0D;
+        }
+    }
+
+    /**
+     * Active handler together with the context it has been registered in.
+     */
+    private static final class Registration {
+
+        private final CorrelationHandler handler;
+        private final TestContext context;
+        private final @Nullable CorrelationKey correlationKey;
+        private final long sequence;
+        private final long timeToLiveNanos;
+
+        /**
+         * Expiry in {@link System#nanoTime()}, refreshed whenever the handler matches a message
+         */
+        private volatile long expiresAt;
+
+        private Registration(CorrelationHandler handler, TestContext context, @Nullable CorrelationKey correlationKey, long sequence, long timeToLiveNanos) {
+            this.handler = handler;
+            this.context = context;
+            this.correlationKey = correlationKey;
+            this.sequence = sequence;
+            this.timeToLiveNanos = timeToLiveNanos;
+
+            touch(System.nanoTime());
+        }
+
+        private CorrelationHandler handler() {
+            return handler;
+        }
+
+        private TestContext context() {
+            return context;
+        }
+
+        private @Nullable CorrelationKey correlationKey() {
+            return correlationKey;
+        }
+
+        private long sequence() {
+            return sequence;
+        }
+
+        private void touch(long now) {
+            if (timeToLiveNanos > 0) {
+                expiresAt = now + timeToLiveNanos;
+            }
+        }
+
+        private boolean isExpired(long now) {
+            return timeToLiveNanos > 0 && now - expiresAt > 0;
+        }
+    }
+
+    /**
+     * Handlers sharing the same correlation key id, indexed by their expected value. Modifications are serialized by the
+     * enclosing {@link ConcurrentMap#compute(Object, java.util.function.BiFunction)} calls, lookups are lock-free.
+     */
+    private static final class KeyIndex {
+
+        private final Function<Message, Object> extractor;
+
+        private final Map<String, Set<Registration>> registrationsByValue = new ConcurrentHashMap<>();
+
+        private KeyIndex(Function<Message, Object> extractor) {
+            this.extractor = extractor;
+        }
+
+        private void add(Registration registration) {
+            registrationsByValue.computeIfAbsent(registration.correlationKey().value(), value -> ConcurrentHashMap.newKeySet())
+                .add(registration);
+        }
+
+        private void remove(Registration registration) {
+            registrationsByValue.computeIfPresent(registration.correlationKey().value(), (value, registrations) -> {
+                registrations.remove(registration);
+                return registrations.isEmpty() ? null : registrations;
+            });
+        }
+
+        private boolean isEmpty() {
+            return registrationsByValue.isEmpty();
+        }
+
+        private Registration findFirst(Message message, long now) {
+            Object value;
+            try {
+                value = extractor.apply(message);
+            } catch (RuntimeException e) {
+                logger.debug("Failed to extract correlation value from message({}): {}", message.getId(), e.getMessage());
+                return null;
+            }
+
+            if (value == null) {
+                return null;
+            }
+
+            Set<Registration> registrations = registrationsByValue.get(value);
+            if (registrations == null) {
+                return null;
+            }
+
+            return registrations.stream()
+                .filter(registration -> !registration.isExpired(now))
+                .min(Comparator.comparingLong(Registration::sequence))
+                .orElse(null);
+        }
+    }
 }
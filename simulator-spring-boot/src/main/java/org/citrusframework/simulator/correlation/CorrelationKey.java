@@ -0,0 +1,33 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.correlation;
+
+import java.util.function.Function;
+import org.citrusframework.message.Message;
+
+/**
+ * Resolved correlation key of an {@link IndexedCorrelationHandler}. Handlers with an equal {@code id} extract the same
+ * value from a message, so the value has to be extracted only once per message regardless of the number of handlers.
+ * The extractor of any of these handlers may be used, the {@code id} must therefore cover the complete extractor
+ * configuration.
+ *
+ * @param id        identifies the extraction, e.g. the header name or the XPath expression along with its namespaces
+ * @param extractor extracts the value from a message, may return {@code null}
+ * @param value     the value a message must provide to be handled
+ */
+public record CorrelationKey(String id, Function<Message, Object> extractor, String value) {
+}
@@ -23,7 +23,7 @@ import org.citrusframework.simulator.scenario.ScenarioEndpoint;
 /**
  * @author Christoph Deppisch
  */
-public class HeaderMappingCorrelationHandler extends AbstractCorrelationHandler {
+public class HeaderMappingCorrelationHandler extends AbstractCorrelationHandler implements IndexedCorrelationHandler {
 
     /**
      * Message header to match on
@@ -49,4 +49,12 @@ public class HeaderMappingCorrelationHandler extends AbstractCorrelationHandler
         Object header = message.getHeader(context.replaceDynamicContentInString(headerName));
         return header != null && header.equals(context.replaceDynamicContentInString(value));
     }
+
+    @Override
+    public CorrelationKey resolveCorrelationKey(TestContext context) {
+        String resolvedHeaderName = context.replaceDynamicContentInString(headerName);
+        return new CorrelationKey("header:" + resolvedHeaderName,
+            message -> message.getHeader(resolvedHeaderName),
+            context.replaceDynamicContentInString(value));
+    }
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.correlation;
+
+import org.citrusframework.context.TestContext;
+
+/**
+ * Correlation handler that matches messages on a single value extracted from the message. Instead of evaluating
+ * {@link #isHandlerFor(org.citrusframework.message.Message, TestContext)} on every inbound message, the
+ * {@link CorrelationHandlerRegistry} resolves the key once on registration and indexes the handler by its value.
+ */
+public interface IndexedCorrelationHandler extends CorrelationHandler {
+
+    /**
+     * Resolves the correlation key, including all dynamic content, in the given context.
+     *
+     * @param context the context of the scenario registering this handler
+     * @return the resolved correlation key
+     */
+    CorrelationKey resolveCorrelationKey(TestContext context);
+}
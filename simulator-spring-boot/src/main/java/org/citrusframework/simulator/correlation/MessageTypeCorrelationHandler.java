@@ -24,7 +24,7 @@ import org.citrusframework.simulator.scenario.ScenarioEndpoint;
 /**
  * @author Christoph Deppisch
  */
-public class MessageTypeCorrelationHandler extends AbstractCorrelationHandler {
+public class MessageTypeCorrelationHandler extends AbstractCorrelationHandler implements IndexedCorrelationHandler {
 
     private final XPathPayloadMappingKeyExtractor xPathPayloadMappingKeyExtractor = new XPathPayloadMappingKeyExtractor();
 
@@ -46,4 +46,9 @@ public class MessageTypeCorrelationHandler extends AbstractCorrelationHandler {
     public boolean isHandlerFor(Message message, TestContext context) {
         return xPathPayloadMappingKeyExtractor.extractMappingKey(message).equals(context.replaceDynamicContentInString(value));
     }
+
+    @Override
+    public CorrelationKey resolveCorrelationKey(TestContext context) {
+        return new CorrelationKey("message-type", xPathPayloadMappingKeyExtractor::extractMappingKey, context.replaceDynamicContentInString(value));
+    }
 }
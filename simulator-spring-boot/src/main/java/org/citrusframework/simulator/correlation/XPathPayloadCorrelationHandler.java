@@ -26,17 +26,25 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.context.ApplicationContext;
 
+import java.util.TreeMap;
+
 /**
  * @author Christoph Deppisch
  */
-public class XPathPayloadCorrelationHandler extends AbstractCorrelationHandler {
+public class XPathPayloadCorrelationHandler extends AbstractCorrelationHandler implements IndexedCorrelationHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(XPathPayloadCorrelationHandler.class);
 
     private final XPathPayloadMappingKeyExtractor xPathPayloadMappingKeyExtractor = new XPathPayloadMappingKeyExtractor();
 
+    private final String expression;
     private final String value;
 
+    /**
+     * Namespace context builder of the key extractor, {@code null} until looked up from the application context.
+     */
+    private NamespaceContextBuilder namespaceContextBuilder;
+
     /**
      * Default constructor using expression value to match.
      *
@@ -47,6 +55,7 @@ public class XPathPayloadCorrelationHandler extends AbstractCorrelationHandler {
     public XPathPayloadCorrelationHandler(ScenarioEndpoint scenarioEndpoint, String expression, String value) {
         super(scenarioEndpoint);
         this.xPathPayloadMappingKeyExtractor.setXpathExpression(expression);
+        this.expression = expression;
         this.value = value;
     }
 
@@ -63,6 +72,34 @@ public class XPathPayloadCorrelationHandler extends AbstractCorrelationHandler {
         return isIntermediateMessage;
     }
 
+    @Override
+    public CorrelationKey resolveCorrelationKey(TestContext context) {
+        return new CorrelationKey(getCorrelationKeyId(), this::extractValue, context.replaceDynamicContentInString(value));
+    }
+
+    /**
+     * Handlers only share their extracted values if they evaluate the same expression with the same namespace
+     * mappings, hence the namespace context builder is part of the key id.
+     */
+    private String getCorrelationKeyId() {
+        if (namespaceContextBuilder == null) {
+            return "xpath:" + expression;
+        }
+
+        return "xpath:" + namespaceContextBuilder.getClass().getName()
+            + new TreeMap<>(namespaceContextBuilder.getNamespaceMappings())
+            + ":" + expression;
+    }
+
+    private String extractValue(Message message) {
+        try {
+            return xPathPayloadMappingKeyExtractor.extractMappingKey(message);
+        } catch (RuntimeException e) {
+            logger.debug("Error extracting correlation value from message({}): {}", message.getId(), e.getMessage());
+            return null;
+        }
+    }
+
     public void lookupNamespaceContextBuilder(ApplicationContext applicationContext) {
         NamespaceContextBuilder namespaceContextBuilder;
         String[] beanNames = BeanFactoryUtils.beanNamesForTypeIncludingAncestors(applicationContext, NamespaceContextBuilder.class);
@@ -81,6 +118,7 @@ public class XPathPayloadCorrelationHandler extends AbstractCorrelationHandler {
             namespaceContextBuilder = new NamespaceContextBuilder();
         }
 
+        this.namespaceContextBuilder = namespaceContextBuilder;
         this.xPathPayloadMappingKeyExtractor.setNamespaceContextBuilder(namespaceContextBuilder);
     }
 }
@@ -16,16 +16,26 @@
 
 package org.citrusframework.simulator.endpoint;
 
+import com.google.common.cache.CacheBuilder;
+import org.aopalliance.intercept.MethodInterceptor;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Objects.isNull;
 
 /**
  * Aspect for adding additional behavior to Endpoints. This is used in particular for intercepting the creation of
  * {@link org.citrusframework.messaging.Consumer}s and {@link org.citrusframework.messaging.Producer}s.
+ * <p>
+ * Endpoints usually hand out the same consumer and producer instances on every call, which is why the intercepting
+ * proxies are cached per consumer/producer instance. Consumers and producers are compared by identity and weakly
+ * referenced, the proxies softly. A proxy references its target, hence the cache neither retains consumers and
+ * producers discarded by their endpoint, nor does it hold on to proxies under memory pressure.
  */
 @Aspect
 @Component
@@ -33,6 +43,9 @@ public class EndpointAspect {
     private final EndpointConsumerInterceptor consumerInterceptor;
     private final EndpointProducerInterceptor producerInterceptor;
 
+    private final ConcurrentMap<Object, Object> consumerProxies = createProxyCache();
+    private final ConcurrentMap<Object, Object> producerProxies = createProxyCache();
+
     public EndpointAspect(EndpointConsumerInterceptor consumerInterceptor, EndpointProducerInterceptor producerInterceptor) {
         this.consumerInterceptor = consumerInterceptor;
         this.producerInterceptor = producerInterceptor;
@@ -40,15 +53,38 @@ public class EndpointAspect {
 
     @Around("execution(* org.citrusframework.endpoint.Endpoint.createConsumer(..))")
     public Object wrapConsumer(ProceedingJoinPoint joinPoint) throws Throwable {
-        ProxyFactory proxyFactory = new ProxyFactory(joinPoint.proceed());
-        proxyFactory.addAdvice(consumerInterceptor);
-        return proxyFactory.getProxy();
+        return getOrCreateProxy(consumerProxies, joinPoint.proceed(), consumerInterceptor);
     }
 
     @Around("execution(* org.citrusframework.endpoint.Endpoint.createProducer(..))")
     public Object wrapProducer(ProceedingJoinPoint joinPoint) throws Throwable {
-        ProxyFactory proxyFactory = new ProxyFactory(joinPoint.proceed());
-        proxyFactory.addAdvice(producerInterceptor);
+        return getOrCreateProxy(producerProxies, joinPoint.proceed(), producerInterceptor);
+    }
+
+    private static ConcurrentMap<Object, Object> createProxyCache() {
+        return CacheBuilder.newBuilder()
+            .weakKeys()
+            .softValues()
+            .build()
+            .asMap();
+    }
+
+    private static Object getOrCreateProxy(ConcurrentMap<Object, Object> proxies, Object target, MethodInterceptor interceptor) {
+        if (isNull(target)) {
+            return null;
+        }
+
+        Object proxy = proxies.get(target);
+        if (isNull(proxy)) {
+            proxy = proxies.computeIfAbsent(target, key -> createProxy(key, interceptor));
+        }
+
+        return proxy;
+    }
+
+    private static Object createProxy(Object target, MethodInterceptor interceptor) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addAdvice(interceptor);
         return proxyFactory.getProxy();
     }
 }
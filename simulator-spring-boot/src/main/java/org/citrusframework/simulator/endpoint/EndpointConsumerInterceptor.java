@@ -22,9 +22,6 @@ import org.citrusframework.context.TestContext;
 import org.citrusframework.message.Message;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
-import java.util.Optional;
-
 /**
  * Intercepts {@link org.citrusframework.messaging.Consumer#receive(TestContext)} method invocations
  * (and other variants thereof) so that the simulator can process these messages.
@@ -40,11 +37,10 @@ public class EndpointConsumerInterceptor implements MethodInterceptor {
     @Override
     public Object invoke(MethodInvocation methodInvocation) throws Throwable {
         Object result = methodInvocation.proceed();
-        if (isReceiveMethod(methodInvocation)) {
-            final Optional<TestContext> testContext = getTestContext(methodInvocation);
-            if (testContext.isPresent()) {
-                final Optional<Message> message = getMessage(result);
-                message.ifPresent(msg -> endpointMessageHandler.handleReceivedMessage(msg, testContext.get()));
+        if (result instanceof Message message && isReceiveMethod(methodInvocation)) {
+            TestContext testContext = getTestContext(methodInvocation);
+            if (testContext != null) {
+                endpointMessageHandler.handleReceivedMessage(message, testContext);
             }
         }
         return result;
@@ -54,21 +50,15 @@ public class EndpointConsumerInterceptor implements MethodInterceptor {
         return "receive".equals(methodInvocation.getMethod().getName());
     }
 
-    private Optional<TestContext> getTestContext(MethodInvocation methodInvocation) {
+    private TestContext getTestContext(MethodInvocation methodInvocation) {
         final Object[] arguments = methodInvocation.getArguments();
         if (arguments != null) {
-            return Arrays.stream(arguments)
-                    .filter(TestContext.class::isInstance)
-                    .map(TestContext.class::cast)
-                    .findFirst();
-        }
-        return Optional.empty();
-    }
-
-    private Optional<Message> getMessage(Object result) {
-        if (result != null && result instanceof Message) {
-            return Optional.of((Message) result);
+            for (Object argument : arguments) {
+                if (argument instanceof TestContext testContext) {
+                    return testContext;
+                }
+            }
         }
-        return Optional.empty();
+        return null;
     }
 }
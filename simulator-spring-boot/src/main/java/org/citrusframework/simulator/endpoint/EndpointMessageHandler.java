@@ -20,9 +20,13 @@ import org.citrusframework.context.TestContext;
 import org.citrusframework.exceptions.CitrusRuntimeException;
 import org.citrusframework.message.Message;
 import org.citrusframework.message.MessageHeaders;
+import org.citrusframework.simulator.common.TimeProvider;
 import org.citrusframework.simulator.model.Message.Direction;
 import org.citrusframework.simulator.model.ScenarioExecution;
 import org.citrusframework.simulator.service.MessageService;
+import org.citrusframework.simulator.service.journal.AuditEvent.MessageRecorded;
+import org.citrusframework.simulator.service.journal.ScenarioAuditJournal;
+import org.citrusframework.simulator.service.recording.ScenarioRecordingPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -30,6 +34,8 @@ import org.springframework.util.StringUtils;
 
 import java.util.Optional;
 
+import static org.citrusframework.simulator.service.recording.ScenarioRecordingPolicy.isRecorded;
+
 /**
  * Endpoint message handler for handling messages that were sent or received on a endpoint.
  */
@@ -38,10 +44,16 @@ public class EndpointMessageHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(EndpointMessageHandler.class);
 
+    private final TimeProvider timeProvider = new TimeProvider();
+
     private final MessageService messageService;
+    private final ScenarioAuditJournal scenarioAuditJournal;
+    private final ScenarioRecordingPolicy scenarioRecordingPolicy;
 
-    public EndpointMessageHandler(MessageService messageService) {
+    public EndpointMessageHandler(MessageService messageService, ScenarioAuditJournal scenarioAuditJournal, ScenarioRecordingPolicy scenarioRecordingPolicy) {
         this.messageService = messageService;
+        this.scenarioAuditJournal = scenarioAuditJournal;
+        this.scenarioRecordingPolicy = scenarioRecordingPolicy;
     }
 
     public void handleSentMessage(Message message, TestContext context) {
@@ -56,7 +68,17 @@ public class EndpointMessageHandler {
         Optional<Long> executionId = extractExecutionId(context);
         Optional<String> citrusMessageId = extractCitrusMessageId(message);
 
-        if (executionId.isPresent() && citrusMessageId.isPresent()) {
+        if (executionId.isEmpty() || citrusMessageId.isEmpty()) {
+            return;
+        }
+
+        if (!isRecorded(executionId.get())) {
+            if (scenarioRecordingPolicy.isPending(executionId.get())) {
+                scenarioRecordingPolicy.append(createMessageRecorded(message, executionId.get(), citrusMessageId.get(), direction));
+            }
+        } else if (scenarioAuditJournal.isEnabled()) {
+            scenarioAuditJournal.append(createMessageRecorded(message, executionId.get(), citrusMessageId.get(), direction));
+        } else {
             messageService.attachMessageToScenarioExecutionAndSave(
                 executionId.get(),
                 direction,
@@ -67,6 +89,17 @@ public class EndpointMessageHandler {
         }
     }
 
+    private MessageRecorded createMessageRecorded(Message message, long executionId, String citrusMessageId, Direction direction) {
+        return new MessageRecorded(
+            executionId,
+            direction,
+            message.getPayload(String.class),
+            citrusMessageId,
+            message.getHeaders(),
+            timeProvider.getTimeNow()
+        );
+    }
+
     private Optional<Long> extractExecutionId(TestContext context) {
         final String executionId;
 
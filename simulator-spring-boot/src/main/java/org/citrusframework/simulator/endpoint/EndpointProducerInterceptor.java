@@ -22,9 +22,6 @@ import org.citrusframework.context.TestContext;
 import org.citrusframework.message.Message;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
-import java.util.Optional;
-
 /**
  * Intercepts {@link org.citrusframework.messaging.Producer#send(Message, TestContext)} method invocations
  * so that the simulator can process the messages.
@@ -41,10 +38,10 @@ public class EndpointProducerInterceptor implements MethodInterceptor {
     public Object invoke(MethodInvocation methodInvocation) throws Throwable {
         Object result = methodInvocation.proceed();
         if (isSendMethod(methodInvocation)) {
-            final Optional<TestContext> testContext = getArgument(methodInvocation, TestContext.class);
-            final Optional<Message> message = getArgument(methodInvocation, Message.class);
-            if (testContext.isPresent() && message.isPresent()) {
-                endpointMessageHandler.handleSentMessage(message.get(), testContext.get());
+            final TestContext testContext = getArgument(methodInvocation, TestContext.class);
+            final Message message = getArgument(methodInvocation, Message.class);
+            if (testContext != null && message != null) {
+                endpointMessageHandler.handleSentMessage(message, testContext);
             }
         }
         return result;
@@ -54,14 +51,15 @@ public class EndpointProducerInterceptor implements MethodInterceptor {
         return "send".equals(methodInvocation.getMethod().getName());
     }
 
-    private <T> Optional<T> getArgument(MethodInvocation methodInvocation, Class<T> clazz) {
+    private <T> T getArgument(MethodInvocation methodInvocation, Class<T> clazz) {
         final Object[] arguments = methodInvocation.getArguments();
         if (arguments != null) {
-            return Arrays.stream(arguments)
-                    .filter(clazz::isInstance)
-                    .map(clazz::cast)
-                    .findFirst();
+            for (Object argument : arguments) {
+                if (clazz.isInstance(argument)) {
+                    return clazz.cast(argument);
+                }
+            }
         }
-        return Optional.empty();
+        return null;
     }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.endpoint;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.scenario.ScenarioEndpoint;
+import org.citrusframework.simulator.scenario.SimulatorScenario;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.nonNull;
+import static org.citrusframework.simulator.scenario.ScenarioEndpointConfiguration.DEFAULT_INBOX_CAPACITY;
+
+/**
+ * Applies the configured {@link SimulatorConfigurationProperties.ScenarioInbox#getCapacity() inbox capacity} to the
+ * {@link ScenarioEndpoint} of every singleton scenario, unless the scenario configured a capacity of its own, and
+ * exposes the inbox metrics per scenario.
+ */
+@Component
+public class ScenarioInboxBinder implements SmartInitializingSingleton, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioInboxBinder.class);
+
+    private static final String METRIC_PREFIX = "citrus.simulator.scenario.inbox";
+
+    private final ListableBeanFactory beanFactory;
+
+    private final int capacity;
+
+    private final Map<String, ScenarioEndpoint> scenarioEndpoints = new LinkedHashMap<>();
+
+    private final List<MeterRegistry> meterRegistries = new ArrayList<>();
+
+    public ScenarioInboxBinder(ListableBeanFactory beanFactory, SimulatorConfigurationProperties simulatorConfigurationProperties) {
+        this.beanFactory = beanFactory;
+        this.capacity = simulatorConfigurationProperties.getScenarioInbox().getCapacity();
+    }
+
+    @Override
+    public synchronized void afterSingletonsInstantiated() {
+        beanFactory.getBeansOfType(SimulatorScenario.class, false, true).forEach((scenarioName, scenario) -> {
+            ScenarioEndpoint scenarioEndpoint = scenario.getScenarioEndpoint();
+            if (nonNull(scenarioEndpoint)) {
+                // Scenarios may configure a capacity of their own
+                if (scenarioEndpoint.getEndpointConfiguration().getInboxCapacity() == DEFAULT_INBOX_CAPACITY) {
+                    scenarioEndpoint.getEndpointConfiguration().setInboxCapacity(capacity);
+                }
+
+                scenarioEndpoints.put(scenarioName, scenarioEndpoint);
+                meterRegistries.forEach(meterRegistry -> bindTo(meterRegistry, scenarioName, scenarioEndpoint));
+            }
+        });
+
+        logger.debug("Bound the inboxes of {} scenarios, default capacity is {} pending requests", scenarioEndpoints.size(), capacity);
+    }
+
+    /**
+     * Meter registries may be bound before or after all scenarios have been instantiated, meters are registered for
+     * the scenarios known at either point in time.
+     */
+    @Override
+    public synchronized void bindTo(MeterRegistry meterRegistry) {
+        meterRegistries.add(meterRegistry);
+        scenarioEndpoints.forEach((scenarioName, scenarioEndpoint) -> bindTo(meterRegistry, scenarioName, scenarioEndpoint));
+    }
+
+    private static void bindTo(MeterRegistry meterRegistry, String scenarioName, ScenarioEndpoint scenarioEndpoint) {
+        Gauge.builder(METRIC_PREFIX + ".pending", scenarioEndpoint, ScenarioEndpoint::getPendingCount)
+            .description("Number of requests waiting to be received by the scenario")
+            .tag("scenario", scenarioName)
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".overflows", scenarioEndpoint, ScenarioEndpoint::getOverflowCount)
+            .description("Number of requests rejected because the inbox of the scenario was full")
+            .tag("scenario", scenarioName)
+            .register(meterRegistry);
+    }
+}
@@ -21,9 +21,10 @@ import lombok.Setter;
 import org.citrusframework.endpoint.adapter.RequestDispatchingEndpointAdapter;
 import org.citrusframework.message.Message;
 import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
-import org.citrusframework.simulator.correlation.CorrelationHandler;
 import org.citrusframework.simulator.correlation.CorrelationHandlerRegistry;
+import org.citrusframework.simulator.exception.ScenarioExecutionRejectedException;
 import org.citrusframework.simulator.exception.SimulatorException;
+import org.citrusframework.simulator.scenario.ExecutionScopedScenario;
 import org.citrusframework.simulator.scenario.ScenarioEndpoint;
 import org.citrusframework.simulator.scenario.SimulatorScenario;
 import org.citrusframework.simulator.service.ScenarioExecutorService;
@@ -42,6 +43,7 @@ import static java.util.Objects.nonNull;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.citrusframework.simulator.endpoint.SimulationFailedUnexpectedlyException.EXCEPTION_TYPE;
 import static org.citrusframework.util.StringUtils.hasText;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 
 public class SimulatorEndpointAdapter extends RequestDispatchingEndpointAdapter {
 
@@ -64,25 +66,33 @@ public class SimulatorEndpointAdapter extends RequestDispatchingEndpointAdapter
     }
 
     private static ResponseStatusException getResponseStatusException(Throwable e) {
+        if (e instanceof ScenarioExecutionRejectedException) {
+            return new ResponseStatusException(SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+
         return new ResponseStatusException(555, "Simulation failed with an Exception!", e);
     }
 
     @Override
     protected Message handleMessageInternal(Message message) {
-        CorrelationHandler handler = handlerRegistry.findHandlerFor(message);
+        ScenarioEndpoint scenarioEndpoint = handlerRegistry.findScenarioEndpointFor(message);
 
-        if (nonNull(handler)) {
-            return handleMessageWithCorrelation(message, handler);
+        if (nonNull(scenarioEndpoint)) {
+            return handleMessageWithCorrelation(message, scenarioEndpoint);
         } else {
             return super.handleMessageInternal(message);
         }
     }
 
-    private Message handleMessageWithCorrelation(Message request, CorrelationHandler handler) {
+    private Message handleMessageWithCorrelation(Message request, ScenarioEndpoint scenarioEndpoint) {
         CompletableFuture<Message> responseFuture = new CompletableFuture<>();
-        handler.getScenarioEndpoint().add(request, responseFuture);
+        try {
+            scenarioEndpoint.add(request, responseFuture);
+        } catch (ScenarioExecutionRejectedException e) {
+            throw getResponseStatusException(e);
+        }
 
-        return awaitResponseOrThrowException(responseFuture, handler.getScenarioEndpoint().getName(), handler.getScenarioEndpoint());
+        return awaitResponseOrThrowException(responseFuture, scenarioEndpoint.getName(), scenarioEndpoint);
     }
 
     @Override
@@ -98,17 +108,19 @@ public class SimulatorEndpointAdapter extends RequestDispatchingEndpointAdapter
 
         scenario.getScenarioEndpoint().setName(scenarioName);
 
+        // Every request is handled by an execution of its own, which must not share requests with other executions
+        ScenarioEndpoint executionEndpoint = scenario.getScenarioEndpoint().createExecutionEndpoint();
         CompletableFuture<Message> responseFuture = new CompletableFuture<>();
-        scenario.getScenarioEndpoint().add(message, responseFuture);
 
         try {
-            scenarioExecutorService.run(scenario, scenarioName, emptyList());
+            executionEndpoint.add(message, responseFuture);
+            scenarioExecutorService.run(new ExecutionScopedScenario(scenario, executionEndpoint), scenarioName, emptyList());
         } catch (Exception e) {
-            scenario.getScenarioEndpoint().cancel(responseFuture);
+            executionEndpoint.cancel(responseFuture);
             throw getResponseStatusException(e);
         }
 
-        return awaitResponseOrThrowException(responseFuture, scenarioName, scenario.getScenarioEndpoint());
+        return awaitResponseOrThrowException(responseFuture, scenarioName, executionEndpoint);
     }
 
     private Message awaitResponseOrThrowException(CompletableFuture<Message> responseFuture, String scenarioName, ScenarioEndpoint scenarioEndpoint) {
@@ -29,6 +29,7 @@ import org.citrusframework.simulator.correlation.CorrelationHandlerRegistry;
 import org.citrusframework.simulator.scenario.mapper.ContentBasedXPathScenarioMapper;
 import org.citrusframework.simulator.scenario.mapper.ScenarioMapper;
 import org.citrusframework.simulator.service.ScenarioExecutorService;
+import org.citrusframework.simulator.service.runner.SimulatorMode;
 import org.citrusframework.simulator.ws.SoapMessageHelper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -105,6 +106,7 @@ public class SimulatorEndpointAutoConfiguration {
         simulatorEndpointAdapter.setMappingKeyExtractor(simulatorScenarioMapper());
         simulatorEndpointAdapter.setFallbackEndpointAdapter(simulatorFallbackEndpointAdapter());
 
+        endpointPoller.setVirtualThreads(simulatorConfiguration.getMode() == SimulatorMode.VIRTUAL);
         endpointPoller.setExceptionDelay(exceptionDelay());
 
         endpointPoller.setEndpointAdapter(simulatorEndpointAdapter);
@@ -17,6 +17,10 @@
 package org.citrusframework.simulator.endpoint;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AccessLevel;
 import lombok.Setter;
 import org.citrusframework.context.TestContext;
 import org.citrusframework.context.TestContextFactory;
@@ -24,9 +28,12 @@ import org.citrusframework.endpoint.Endpoint;
 import org.citrusframework.endpoint.EndpointAdapter;
 import org.citrusframework.exceptions.ActionTimeoutException;
 import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.message.DefaultMessage;
 import org.citrusframework.message.Message;
+import org.citrusframework.messaging.Consumer;
 import org.citrusframework.messaging.Producer;
 import org.citrusframework.messaging.ReplyProducer;
+import org.citrusframework.simulator.exception.ScenarioExecutionRejectedException;
 import org.citrusframework.simulator.exception.SimulatorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,30 +42,74 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+import static java.lang.Math.max;
 import static java.lang.Thread.currentThread;
-import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 
+/**
+ * Polls an inbound endpoint for request messages and hands them to the simulator endpoint adapter. Each poll loop
+ * uses its own consumer and {@link TestContext}. A context is reused by consecutive polls until one of them receives a
+ * message, so that idle loops do not build a new context per receive timeout. The poller starts
+ * {@link #concurrentConsumers} loops and adds more loops, up to {@link #maxConcurrentConsumers}, as long as all
+ * running loops are busy processing messages. Additional loops terminate again once they did not receive any message
+ * for {@link #idleReceiveLimit} consecutive polls.
+ * <p>
+ * Enable {@link #preserveOrder} if messages must be processed in the order they arrive at the inbound destination.
+ * Only a single poll loop is running in that case.
+ * <p>
+ * Requests the simulator rejects because it is busy are answered with an error reply, given the inbound endpoint
+ * replies to requests and the request names a reply destination in the {@link #replyDestinationHeader}. Rejected
+ * requests are counted per inbound endpoint.
+ */
 @Setter
-public class SimulatorEndpointPoller implements InitializingBean, Runnable, DisposableBean, ApplicationListener<ContextClosedEvent> {
+public class SimulatorEndpointPoller implements InitializingBean, Runnable, DisposableBean, ApplicationListener<ContextClosedEvent>, MeterBinder {
+
+    /**
+     * Header carrying the status code of error replies to rejected requests.
+     */
+    public static final String STATUS_HEADER = "simulatorStatus";
 
     private static final Logger logger = LoggerFactory.getLogger(SimulatorEndpointPoller.class);
 
+    private static final String METRIC_PREFIX = "citrus.simulator.endpoint";
+
     private final ThreadFactory threadFactory = new ThreadFactoryBuilder()
             .setDaemon(true)
             .setNameFormat("endpoint-poller-thread-%d")
             .build();
 
     /**
-     * Thread running the server.
+     * Threads running the poll loops, created on start.
+     */
+    @Setter(AccessLevel.NONE)
+    private volatile ExecutorService taskExecutor;
+
+    /**
+     * Number of currently running poll loops.
      */
-    private final ExecutorService taskExecutor = newSingleThreadExecutor(threadFactory);
+    private final AtomicInteger consumerCount = new AtomicInteger();
+
+    /**
+     * Number of poll loops currently processing a message.
+     */
+    private final AtomicInteger activeConsumerCount = new AtomicInteger();
+
+    /**
+     * Number of requests rejected because the simulator was busy.
+     */
+    private final LongAdder rejections = new LongAdder();
 
     /**
      * Running flag
@@ -87,60 +138,267 @@ public class SimulatorEndpointPoller implements InitializingBean, Runnable, Disp
      */
     private long exceptionDelay = 5000L;
 
+    /**
+     * Number of poll loops started with the poller.
+     */
+    private int concurrentConsumers = 1;
+
+    /**
+     * Upper limit of poll loops when scaling up with backlog.
+     */
+    private int maxConcurrentConsumers = 1;
+
+    /**
+     * Number of consecutive empty polls after which an additional poll loop terminates.
+     */
+    private int idleReceiveLimit = 5;
+
+    /**
+     * Flag indicating if messages must be processed in order of arrival, which limits the poller to a single loop.
+     */
+    private boolean preserveOrder = false;
+
+    /**
+     * Flag indicating if the poll loops should run on virtual threads, which requires a Java 21 runtime.
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * Message header naming the reply destination of a request. Rejected requests are only answered if this header is
+     * set, error replies are disabled if the header is not configured.
+     */
+    private String replyDestinationHeader;
+
     public SimulatorEndpointPoller(TestContextFactory testContextFactory) {
         this.testContextFactory = testContextFactory;
     }
 
     @Override
     public void run() {
+        consumerCount.incrementAndGet();
+        poll(false);
+    }
+
+    /**
+     * Runs a single poll loop with its own consumer until the poller is stopped. Scalable loops, which have been
+     * started on top of the {@link #concurrentConsumers}, also terminate after {@link #idleReceiveLimit} empty polls.
+     *
+     * @param scalable whether this loop has been started because of backlog
+     */
+    private void poll(boolean scalable) {
         logger.info("Simulator endpoint waiting for requests on endpoint '{}'", inboundEndpoint.getName());
 
         long delay = 0L;
-        while (running.getNow(true)) {
-            try {
-                if (delay > 0) {
-                    try {
-                        if (!running.get(delay, TimeUnit.MILLISECONDS)) {
-                            continue;
+        int idleReceives = 0;
+        boolean released = false;
+        TestContext context = null;
+        try {
+            Consumer consumer = inboundEndpoint.createConsumer();
+            while (running.getNow(true)) {
+                try {
+                    if (delay > 0) {
+                        try {
+                            if (!running.get(delay, TimeUnit.MILLISECONDS)) {
+                                continue;
+                            }
+                        } catch (TimeoutException e) {
+                            logger.info("Continue simulator endpoint polling after uncategorized exception");
+                        } finally {
+                            delay = 0;
                         }
-                    } catch (TimeoutException e) {
-                        logger.info("Continue simulator endpoint polling after uncategorized exception");
-                    } finally {
-                        delay = 0;
                     }
-                }
 
-                TestContext context = testContextFactory.getObject();
-                Message message = inboundEndpoint.createConsumer().receive(context, inboundEndpoint.getEndpointConfiguration().getTimeout());
-                if (message != null) {
-                    logger.debug("Processing inbound message '{}'", message.getId());
-                    Message response = endpointAdapter.handleMessage(processRequestMessage(message));
-
-                    if (response != null) {
-                        Producer producer = inboundEndpoint.createProducer();
-                        if (producer instanceof ReplyProducer) {
-                            logger.debug("Sending response message for inbound message '{}'", message.getId());
-                            producer.send(processResponseMessage(response), context);
-                        }
+                    if (context == null) {
+                        context = testContextFactory.getObject();
+                    }
+
+                    Message message = consumer.receive(context, inboundEndpoint.getEndpointConfiguration().getTimeout());
+                    if (message != null) {
+                        idleReceives = 0;
+
+                        // The context belongs to this message exchange from now on
+                        TestContext messageContext = context;
+                        context = null;
+                        handleMessage(message, messageContext);
+                    } else {
+                        idleReceives++;
+                    }
+                } catch (ActionTimeoutException e) {
+                    // ignore timeout and continue listening for request messages.
+                    idleReceives++;
+                } catch (SimulatorException | CitrusRuntimeException e) {
+                    context = null;
+                    logger.error("Failed to process message: {}", e.getMessage());
+                    if (logger.isDebugEnabled()) {
+                        logger.debug(e.getMessage(), e);
+                    }
+                } catch (Exception e) {
+                    context = null;
+                    delay = exceptionDelay;
+                    logger.error("Unexpected error while processing: {}", e.getMessage());
+                    if (logger.isDebugEnabled()) {
+                        logger.debug(e.getMessage(), e);
                     }
                 }
-            } catch (ActionTimeoutException e) {
-                // ignore timeout and continue listening for request messages.
-            } catch (SimulatorException | CitrusRuntimeException e) {
-                logger.error("Failed to process message: {}", e.getMessage());
-                if (logger.isDebugEnabled()) {
-                    logger.debug(e.getMessage(), e);
+
+                if (scalable && idleReceives >= idleReceiveLimit && releaseConsumer()) {
+                    released = true;
+                    return;
                 }
-            } catch (Exception e) {
-                delay = exceptionDelay;
-                logger.error("Unexpected error while processing: {}", e.getMessage());
-                if (logger.isDebugEnabled()) {
-                    logger.debug(e.getMessage(), e);
+            }
+        } finally {
+            if (!released) {
+                consumerCount.decrementAndGet();
+            }
+        }
+    }
+
+    private void handleMessage(Message message, TestContext context) {
+        int activeConsumers = activeConsumerCount.incrementAndGet();
+        try {
+            if (activeConsumers >= consumerCount.get()) {
+                scaleUp();
+            }
+
+            logger.debug("Processing inbound message '{}'", message.getId());
+            Message response;
+            try {
+                response = endpointAdapter.handleMessage(processRequestMessage(message));
+            } catch (ResponseStatusException e) {
+                if (e.getCause() instanceof ScenarioExecutionRejectedException) {
+                    rejectMessage(message, e, context);
                 }
+
+                throw e;
             }
+
+            if (response != null) {
+                Producer producer = inboundEndpoint.createProducer();
+                if (producer instanceof ReplyProducer) {
+                    logger.debug("Sending response message for inbound message '{}'", message.getId());
+                    producer.send(processResponseMessage(response), context);
+                }
+            }
+        } finally {
+            activeConsumerCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Sends an error reply for a request the simulator rejected, given the request names a reply destination. The
+     * rejection itself is still propagated, so that the poll loop pauses for the {@link #exceptionDelay}.
+     */
+    private void rejectMessage(Message message, ResponseStatusException rejection, TestContext context) {
+        rejections.increment();
+
+        if (replyDestinationHeader == null || message.getHeader(replyDestinationHeader) == null) {
+            logger.warn("Dropped rejected inbound message '{}' without reply destination", message.getId());
+            return;
+        }
+
+        Producer producer = inboundEndpoint.createProducer();
+        if (producer instanceof ReplyProducer) {
+            try {
+                logger.debug("Sending error reply for rejected inbound message '{}'", message.getId());
+                producer.send(processResponseMessage(createRejectionResponse(message, rejection)), context);
+            } catch (Exception e) {
+                logger.warn("Failed to send error reply for rejected inbound message '{}': {}", message.getId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Creates the error reply to a request the simulator rejected. This gives subclasses the opportunity to reply in
+     * the format clients expect.
+     *
+     * @param request   the rejected request
+     * @param rejection the rejection carrying status code and reason
+     * @return the error reply
+     */
+    protected Message createRejectionResponse(Message request, ResponseStatusException rejection) {
+        return new DefaultMessage(rejection.getReason())
+            .setHeader(STATUS_HEADER, rejection.getStatusCode().value());
+    }
+
+    /**
+     * Starts an additional poll loop, given all running loops are busy and the upper limit has not been reached yet.
+     */
+    private void scaleUp() {
+        int maxConsumers = getMaxConsumers();
+
+        int consumers;
+        do {
+            consumers = consumerCount.get();
+            if (consumers >= maxConsumers || activeConsumerCount.get() < consumers || !running.getNow(true)) {
+                return;
+            }
+        } while (!consumerCount.compareAndSet(consumers, consumers + 1));
+
+        logger.debug("Scaling up endpoint poller to {} concurrent consumers", consumers + 1);
+        startConsumer(true);
+    }
+
+    /**
+     * Releases an idle poll loop, as long as more than {@link #concurrentConsumers} loops are running.
+     *
+     * @return {@code true} if the calling loop must terminate
+     */
+    private boolean releaseConsumer() {
+        int minConsumers = getMinConsumers();
+
+        int consumers;
+        do {
+            consumers = consumerCount.get();
+            if (consumers <= minConsumers) {
+                return false;
+            }
+        } while (!consumerCount.compareAndSet(consumers, consumers - 1));
+
+        logger.debug("Scaling down endpoint poller to {} concurrent consumers", consumers - 1);
+        return true;
+    }
+
+    /**
+     * Submits a poll loop to the task executor. The loop must already be accounted in the {@link #consumerCount}.
+     */
+    private void startConsumer(boolean scalable) {
+        try {
+            taskExecutor.execute(() -> poll(scalable));
+        } catch (RejectedExecutionException e) {
+            consumerCount.decrementAndGet();
+            logger.debug("Endpoint poller does not accept any further consumers: {}", e.getMessage());
         }
     }
 
+    private int getMinConsumers() {
+        return preserveOrder ? 1 : max(1, concurrentConsumers);
+    }
+
+    private int getMaxConsumers() {
+        return preserveOrder ? 1 : max(getMinConsumers(), maxConcurrentConsumers);
+    }
+
+    /**
+     * @return the number of currently running poll loops
+     */
+    public int getConsumerCount() {
+        return consumerCount.get();
+    }
+
+    /**
+     * @return the number of requests rejected because the simulator was busy
+     */
+    public long getRejectionCount() {
+        return rejections.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".rejections", rejections, LongAdder::sum)
+            .description("Number of inbound requests rejected because the simulator was busy")
+            .tag("endpoint", inboundEndpoint.getName())
+            .register(meterRegistry);
+    }
 
     /**
      * Process response message before sending back to client. This gives subclasses
@@ -165,10 +423,19 @@ public class SimulatorEndpointPoller implements InitializingBean, Runnable, Disp
     }
 
     /**
-     * Start up runnable in separate thread.
+     * Start up the configured number of poll loops in separate threads.
      */
     public void start() {
-        taskExecutor.execute(this);
+        taskExecutor = newCachedThreadPool(virtualThreads ? new VirtualThreadTaskExecutor("endpoint-poller-virtual-").getVirtualThreadFactory() : threadFactory);
+
+        if (preserveOrder && max(concurrentConsumers, maxConcurrentConsumers) > 1) {
+            logger.warn("Endpoint poller preserves message order, ignoring configured concurrent consumers");
+        }
+
+        for (int i = 0; i < getMinConsumers(); i++) {
+            consumerCount.incrementAndGet();
+            startConsumer(false);
+        }
     }
 
     /**
@@ -179,6 +446,12 @@ public class SimulatorEndpointPoller implements InitializingBean, Runnable, Disp
 
         running.complete(false);
 
+        if (taskExecutor == null) {
+            return;
+        }
+
+        taskExecutor.shutdown();
+
         try {
             if (!taskExecutor.awaitTermination(exceptionDelay, TimeUnit.MILLISECONDS)) {
                 logger.error("Could not terminate endpoint poller in timeout of {} ms!", exceptionDelay);
@@ -21,9 +21,14 @@ import org.citrusframework.message.Message;
 import org.citrusframework.simulator.exception.SimulatorException;
 import org.citrusframework.simulator.ws.SoapMessageHelper;
 import org.citrusframework.ws.message.SoapMessage;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.springframework.web.util.HtmlUtils.htmlEscape;
 
 public class SimulatorSoapEndpointPoller extends SimulatorEndpointPoller {
 
+    private static final String SOAP_FAULT = "<SOAP-ENV:Fault xmlns:SOAP-ENV=\"http://schemas.xmlsoap.org/soap/envelope/\"><faultcode>SOAP-ENV:Server</faultcode><faultstring>%s</faultstring></SOAP-ENV:Fault>";
+
     private final SoapMessageHelper soapMessageHelper;
 
     public SimulatorSoapEndpointPoller(TestContextFactory testContextFactory, SoapMessageHelper soapMessageHelper) {
@@ -41,6 +46,16 @@ public class SimulatorSoapEndpointPoller extends SimulatorEndpointPoller {
         }
     }
 
+    /**
+     * Replies to rejected requests with a SOAP 1.1 server fault.
+     */
+    @Override
+    protected Message createRejectionResponse(Message request, ResponseStatusException rejection) {
+        Message response = super.createRejectionResponse(request, rejection);
+        response.setPayload(SOAP_FAULT.formatted(htmlEscape(rejection.getReason())));
+        return response;
+    }
+
     @Override
     protected Message processResponseMessage(Message response) {
         return soapMessageHelper.createSoapMessage(response);
@@ -0,0 +1,46 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.exception;
+
+/**
+ * Thrown when the simulator does not accept a scenario execution because its executor is saturated, or when a queued
+ * scenario execution expired before it could be started.
+ */
+public class ScenarioExecutionRejectedException extends SimulatorException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor using fields.
+     *
+     * @param message
+     */
+    public ScenarioExecutionRejectedException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructor using fields.
+     *
+     * @param message
+     * @param cause
+     */
+    public ScenarioExecutionRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
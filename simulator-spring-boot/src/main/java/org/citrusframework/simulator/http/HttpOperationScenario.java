@@ -78,7 +78,7 @@ public class HttpOperationScenario extends AbstractSimulatorScenario implements
         scenario.$(echo("Generated scenario from swagger operation: " + operationUid));
 
         OpenApiServerActionBuilder openApiServerActionBuilder = new OpenApiActionBuilder(
-            openApiSpecification).server(getScenarioEndpoint());
+            openApiSpecification).server(scenario.getScenarioEndpoint());
 
         HttpMessage receivedMessage = receive(scenario, openApiServerActionBuilder);
         respond(scenario, openApiServerActionBuilder, receivedMessage);
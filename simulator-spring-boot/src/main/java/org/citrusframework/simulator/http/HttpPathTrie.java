@@ -0,0 +1,136 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.http;
+
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.springframework.util.StringUtils.tokenizeToStringArray;
+
+/**
+ * Segment trie over request path patterns. Each pattern is registered at the node reached by its leading literal
+ * segments, everything from the first wildcard or template variable onwards is left to the caller. A lookup therefore
+ * only visits the nodes along the request path instead of every registered pattern.
+ * <p>
+ * The trie narrows down candidates but does not evaluate the remaining pattern. Candidates are handed to the given
+ * predicate in registration order, which allows callers to keep their own precedence rules (e.g. declaration order or
+ * path specificity) by registering the patterns accordingly.
+ * <p>
+ * The trie must be fully populated before it is shared between threads, it is not modified afterward.
+ *
+ * @param <T> the type of the values registered per pattern
+ */
+final class HttpPathTrie<T> {
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private final Node<T> root = new Node<>();
+
+    private int size = 0;
+
+    /**
+     * Registers the given value for the given path pattern. Patterns use the same syntax as the
+     * {@link org.springframework.util.AntPathMatcher}.
+     *
+     * @param pattern the path pattern, {@code null} or empty patterns are registered at the root
+     * @param value   the value to return for matching candidates
+     */
+    void add(@Nullable String pattern, T value) {
+        Node<T> node = root;
+        for (String segment : tokenizePath(pattern)) {
+            if (!isLiteralSegment(segment)) {
+                break;
+            }
+
+            node = node.children.computeIfAbsent(segment, key -> new Node<>());
+        }
+
+        node.entries.add(new Entry<>(size++, value));
+    }
+
+    /**
+     * Finds the first value in registration order whose literal pattern prefix matches the given request path and
+     * that satisfies the given predicate.
+     *
+     * @param requestPath the request path
+     * @param matcher     predicate evaluating the complete pattern of a candidate
+     * @return the first matching value or {@code null} if none matches
+     */
+    @Nullable
+    T findFirst(@Nullable String requestPath, Predicate<? super T> matcher) {
+        List<Entry<T>> candidates = new ArrayList<>(root.entries);
+
+        // Entries of a single node are already in registration order
+        int candidateSources = root.entries.isEmpty() ? 0 : 1;
+        Node<T> node = root;
+        for (String segment : tokenizePath(requestPath)) {
+            node = node.children.get(segment);
+            if (node == null) {
+                break;
+            }
+
+            if (!node.entries.isEmpty()) {
+                candidates.addAll(node.entries);
+                candidateSources++;
+            }
+        }
+
+        if (candidateSources > 1) {
+            candidates.sort(Comparator.comparingInt(Entry::order));
+        }
+
+        for (Entry<T> candidate : candidates) {
+            if (matcher.test(candidate.value())) {
+                return candidate.value();
+            }
+        }
+
+        return null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static String[] tokenizePath(@Nullable String path) {
+        if (path == null) {
+            return new String[0];
+        }
+
+        // Same tokenization as the AntPathMatcher, so literal segments compare equally
+        return tokenizeToStringArray(path, PATH_SEPARATOR, false, true);
+    }
+
+    private static boolean isLiteralSegment(String segment) {
+        return segment.indexOf('*') < 0 && segment.indexOf('?') < 0 && segment.indexOf('{') < 0;
+    }
+
+    private record Entry<T>(int order, T value) {
+    }
+
+    private static final class Node<T> {
+
+        private final Map<String, Node<T>> children = new HashMap<>();
+
+        private final List<Entry<T>> entries = new ArrayList<>();
+    }
+}
@@ -27,8 +27,10 @@ import org.springframework.web.bind.annotation.RequestMethod;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Checks whether the {@link HttpMessage} satisfies the supported {@link RequestMapping} definition.
@@ -143,6 +145,17 @@ public class HttpRequestAnnotationMatcher {
         return invalidQueryParams.isEmpty();
     }
 
+    /**
+     * Returns the keys of all query parameters of the HTTP {@code request}, extracted the same way as in
+     * {@link #checkRequestQueryParamsSupported(HttpMessage, RequestMapping)}.
+     *
+     * @param request the http request
+     * @return the set of query parameter keys or an empty set
+     */
+    Set<String> getRequestQueryParamKeys(HttpMessage request) {
+        return new HashSet<>(getQueryParamKeys(getRequestQueryParams(request)));
+    }
+
     private List<String> getInvalidQueryParams(List<String> requestQueryParams, List<String> annotatedQueryParams) {
         final List<String> requestQueryParamKeys = getQueryParamKeys(requestQueryParams);
         final List<String> invalidRequestQueryParamKeys = new ArrayList<>();
@@ -16,14 +16,9 @@
 
 package org.citrusframework.simulator.http;
 
-import static org.citrusframework.simulator.scenario.ScenarioUtils.getAnnotationFromClassHierarchy;
-
 import jakarta.annotation.PostConstruct;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
-import lombok.Builder;
 import org.citrusframework.http.message.HttpMessage;
 import org.citrusframework.message.Message;
 import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
@@ -35,13 +30,12 @@ import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.ApplicationListener;
-import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.lang.NonNull;
-import org.springframework.web.bind.annotation.RequestMapping;
 
 /**
  * Scenario mapper performs mapping logic on request mapping annotations on given scenarios.
- * Scenarios match on request method as well as request path pattern matching.
+ * Scenarios match on request method as well as request path pattern matching. The request mappings are compiled into
+ * an immutable routing index whenever the scenarios are reloaded.
  *
  * @author Christoph Deppisch
  */
@@ -50,9 +44,10 @@ public class HttpRequestAnnotationScenarioMapper extends AbstractScenarioMapper
     ScenarioListAware,
     ApplicationContextAware, ApplicationListener<ScenariosReloadedEvent> {
 
-    private final HttpRequestAnnotationMatcher httpRequestAnnotationMatcher = HttpRequestAnnotationMatcher.instance();
-
-    private final List<SimulatorScenario> scenarioList = new CopyOnWriteArrayList<>();
+    /**
+     * Routing index of the current scenarios, replaced as a whole whenever the scenarios change
+     */
+    private volatile HttpRequestMappingIndex requestMappingIndex = HttpRequestMappingIndex.empty();
 
     private ApplicationContext applicationContext;
 
@@ -71,47 +66,8 @@ public class HttpRequestAnnotationScenarioMapper extends AbstractScenarioMapper
     }
 
     protected String getMappingKeyForHttpMessage(HttpMessage httpMessage) {
-
-        // First look for exact match
-        Optional<String> mapping = scenarioList.stream()
-            .map(scenario -> EnrichedScenarioWithRequestMapping.builder()
-                .scenario(scenario)
-                .requestMapping(getAnnotationFromClassHierarchy(scenario, RequestMapping.class))
-                .build()
-            )
-            .filter(EnrichedScenarioWithRequestMapping::hasRequestMapping)
-            .filter(swrm -> httpRequestAnnotationMatcher.checkRequestPathSupported(httpMessage,
-                swrm.requestMapping(), true))
-            .filter(swrm -> httpRequestAnnotationMatcher.checkRequestMethodSupported(httpMessage,
-                swrm.requestMapping()))
-            .filter(
-                swrm -> httpRequestAnnotationMatcher.checkRequestQueryParamsSupported(httpMessage,
-                    swrm.requestMapping()))
-            .map(EnrichedScenarioWithRequestMapping::name)
-            .findFirst();
-
-        // If that didn't help, look for inecaxt match
-        if (mapping.isEmpty()) {
-            mapping = scenarioList.stream()
-                .map(scenario -> EnrichedScenarioWithRequestMapping.builder()
-                    .scenario(scenario)
-                    .requestMapping(
-                        AnnotationUtils.findAnnotation(scenario.getClass(), RequestMapping.class))
-                    .build()
-                )
-                .filter(EnrichedScenarioWithRequestMapping::hasRequestMapping)
-                .filter(swrm -> httpRequestAnnotationMatcher.checkRequestPathSupported(httpMessage,
-                    swrm.requestMapping(), false))
-                .filter(
-                    swrm -> httpRequestAnnotationMatcher.checkRequestMethodSupported(httpMessage,
-                        swrm.requestMapping()))
-                .filter(swrm -> httpRequestAnnotationMatcher.checkRequestQueryParamsSupported(
-                    httpMessage, swrm.requestMapping()))
-                .map(EnrichedScenarioWithRequestMapping::name)
-                .findFirst();
-        }
-
-        return mapping.orElseGet(() -> super.getMappingKey(httpMessage));
+        return requestMappingIndex.findScenarioName(httpMessage)
+            .orElseGet(() -> super.getMappingKey(httpMessage));
     }
 
     /**
@@ -120,7 +76,7 @@ public class HttpRequestAnnotationScenarioMapper extends AbstractScenarioMapper
      * @return
      */
     public List<SimulatorScenario> getScenarios() {
-        return new ArrayList<>(scenarioList);
+        return new ArrayList<>(requestMappingIndex.getScenarios());
     }
 
     /**
@@ -172,24 +128,6 @@ public class HttpRequestAnnotationScenarioMapper extends AbstractScenarioMapper
     }
 
     private void updateScenarioList(List<SimulatorScenario> newScenarios) {
-        synchronized (this.scenarioList) {
-            scenarioList.clear();
-            scenarioList.addAll(newScenarios);
-        }
+        requestMappingIndex = HttpRequestMappingIndex.of(newScenarios);
     }
-
-    @Builder
-    private record EnrichedScenarioWithRequestMapping(SimulatorScenario scenario,
-                                                      RequestMapping requestMapping) {
-
-        public boolean hasRequestMapping() {
-            return requestMapping != null;
-        }
-
-        public String name() {
-            return scenario.getName();
-        }
-    }
-
-
 }
@@ -0,0 +1,241 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.http;
+
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.citrusframework.http.message.HttpMessage;
+import org.citrusframework.simulator.scenario.SimulatorScenario;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static org.citrusframework.simulator.scenario.ScenarioUtils.getAnnotationFromClassHierarchy;
+
+/**
+ * Immutable routing index over the {@link RequestMapping} annotations of a list of scenarios. The index is built once
+ * per scenario list and evaluates requests with the same precedence as a linear scan: Exact path matches win over
+ * pattern matches and, within each of these phases, the first scenario in list order wins.
+ * <p>
+ * Exact paths are resolved by hash lookup, path patterns via a {@link HttpPathTrie}. Request methods and query
+ * parameter constraints are precomputed per scenario, hence matching a request does not depend on the total number of
+ * scenarios, but only on the number of path segments and the candidates sharing a literal path prefix.
+ */
+final class HttpRequestMappingIndex {
+
+    private static final HttpRequestMappingIndex EMPTY = new HttpRequestMappingIndex(emptyList());
+
+    private static final String CANNOT_CONTAIN_KEY_PREFIX = "!";
+
+    private static final String DEFAULT_REQUEST_METHOD = RequestMethod.POST.name();
+
+    private final HttpRequestAnnotationMatcher httpRequestAnnotationMatcher = HttpRequestAnnotationMatcher.instance();
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private final List<SimulatorScenario> scenarios;
+
+    private final Map<String, List<Route>> exactRoutes = new HashMap<>();
+
+    private final List<Route> exactRoutesWithoutPath = new ArrayList<>();
+
+    private final HttpPathTrie<PatternRoute> patternRoutes = new HttpPathTrie<>();
+
+    private final boolean queryParamsRequired;
+
+    private HttpRequestMappingIndex(List<SimulatorScenario> scenarios) {
+        this.scenarios = Collections.unmodifiableList(new ArrayList<>(scenarios));
+
+        boolean anyQueryParams = false;
+        for (int order = 0; order < this.scenarios.size(); order++) {
+            SimulatorScenario scenario = this.scenarios.get(order);
+
+            // Exact matching historically resolves the annotation from the (unproxied) class hierarchy
+            RequestMapping exactRequestMapping = getAnnotationFromClassHierarchy(scenario, RequestMapping.class);
+            if (exactRequestMapping != null) {
+                Route route = Route.of(order, scenario, exactRequestMapping);
+                anyQueryParams |= route.hasQueryParamConstraints();
+
+                if (exactRequestMapping.value().length == 0) {
+                    exactRoutesWithoutPath.add(route);
+                } else {
+                    for (String path : exactRequestMapping.value()) {
+                        exactRoutes.computeIfAbsent(path, key -> new ArrayList<>()).add(route);
+                    }
+                }
+            }
+
+            RequestMapping patternRequestMapping = AnnotationUtils.findAnnotation(scenario.getClass(), RequestMapping.class);
+            if (patternRequestMapping != null) {
+                Route route = Route.of(order, scenario, patternRequestMapping);
+                anyQueryParams |= route.hasQueryParamConstraints();
+
+                if (patternRequestMapping.value().length == 0) {
+                    patternRoutes.add(null, new PatternRoute(null, route));
+                } else {
+                    for (String pattern : patternRequestMapping.value()) {
+                        patternRoutes.add(pattern, new PatternRoute(pattern, route));
+                    }
+                }
+            }
+        }
+
+        this.queryParamsRequired = anyQueryParams;
+    }
+
+    /**
+     * Creates a new index for the given scenarios. The list order defines the precedence of the scenarios.
+     *
+     * @param scenarios the scenarios to index
+     * @return the immutable index
+     */
+    static HttpRequestMappingIndex of(List<SimulatorScenario> scenarios) {
+        return new HttpRequestMappingIndex(scenarios);
+    }
+
+    /**
+     * @return an index that does not contain any scenario
+     */
+    static HttpRequestMappingIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return the indexed scenarios in their original order
+     */
+    List<SimulatorScenario> getScenarios() {
+        return scenarios;
+    }
+
+    /**
+     * Finds the name of the scenario mapped to the given HTTP request. Exact path matches are preferred over pattern
+     * matches.
+     *
+     * @param request the http request
+     * @return the scenario name or {@link Optional#empty()} if no scenario maps the request
+     */
+    Optional<String> findScenarioName(HttpMessage request) {
+        final String requestPath = Optional.ofNullable(request.getPath()).orElse("");
+        final String requestMethod = request.getRequestMethod() != null ? request.getRequestMethod().name() : DEFAULT_REQUEST_METHOD;
+        final Set<String> requestQueryParamKeys = queryParamsRequired ? httpRequestAnnotationMatcher.getRequestQueryParamKeys(request) : emptySet();
+
+        Predicate<Route> routeMatcher = route -> route.supportsMethod(requestMethod) && route.supportsQueryParams(requestQueryParamKeys);
+
+        Route route = findExactRoute(requestPath, routeMatcher);
+        if (route == null) {
+            PatternRoute patternRoute = patternRoutes.findFirst(requestPath,
+                candidate -> candidate.matchesPath(pathMatcher, requestPath) && routeMatcher.test(candidate.route()));
+            route = patternRoute != null ? patternRoute.route() : null;
+        }
+
+        return Optional.ofNullable(route)
+            .map(Route::scenario)
+            .map(SimulatorScenario::getName);
+    }
+
+    /**
+     * Merges the routes of the exact request path and the routes without any path restriction in scenario order.
+     */
+    @Nullable
+    private Route findExactRoute(String requestPath, Predicate<Route> routeMatcher) {
+        List<Route> pathRoutes = exactRoutes.getOrDefault(requestPath, emptyList());
+
+        int pathIndex = 0;
+        int anyPathIndex = 0;
+        while (pathIndex < pathRoutes.size() || anyPathIndex < exactRoutesWithoutPath.size()) {
+            Route candidate;
+            if (anyPathIndex >= exactRoutesWithoutPath.size()
+                || (pathIndex < pathRoutes.size() && pathRoutes.get(pathIndex).order() < exactRoutesWithoutPath.get(anyPathIndex).order())) {
+                candidate = pathRoutes.get(pathIndex++);
+            } else {
+                candidate = exactRoutesWithoutPath.get(anyPathIndex++);
+            }
+
+            if (routeMatcher.test(candidate)) {
+                return candidate;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Precompiled request mapping of a single scenario.
+     */
+    private record Route(int order, SimulatorScenario scenario, Set<String> methods, Set<String> requiredQueryParams,
+                         Set<String> forbiddenQueryParams) {
+
+        static Route of(int order, SimulatorScenario scenario, RequestMapping requestMapping) {
+            return new Route(order, scenario,
+                Arrays.stream(requestMapping.method())
+                    .map(RequestMethod::name)
+                    .collect(Collectors.toUnmodifiableSet()),
+                Arrays.stream(requestMapping.params())
+                    .filter(param -> !param.startsWith(CANNOT_CONTAIN_KEY_PREFIX))
+                    .collect(Collectors.toUnmodifiableSet()),
+                Arrays.stream(requestMapping.params())
+                    .filter(param -> param.startsWith(CANNOT_CONTAIN_KEY_PREFIX))
+                    .map(param -> param.substring(CANNOT_CONTAIN_KEY_PREFIX.length()))
+                    .collect(Collectors.toUnmodifiableSet()));
+        }
+
+        boolean hasQueryParamConstraints() {
+            return !requiredQueryParams.isEmpty() || !forbiddenQueryParams.isEmpty();
+        }
+
+        boolean supportsMethod(String requestMethod) {
+            return methods.isEmpty() || methods.contains(requestMethod);
+        }
+
+        boolean supportsQueryParams(Set<String> requestQueryParamKeys) {
+            if (!requestQueryParamKeys.containsAll(requiredQueryParams)) {
+                return false;
+            }
+
+            for (String forbiddenQueryParam : forbiddenQueryParams) {
+                if (requestQueryParamKeys.contains(forbiddenQueryParam)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Single path pattern of a {@link Route}, {@code null} patterns support all request paths.
+     */
+    private record PatternRoute(@Nullable String pattern, Route route) {
+
+        boolean matchesPath(PathMatcher pathMatcher, String requestPath) {
+            return pattern == null || pathMatcher.match(pattern, requestPath);
+        }
+    }
+}
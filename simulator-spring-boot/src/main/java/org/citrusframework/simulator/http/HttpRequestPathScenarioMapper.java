@@ -34,11 +34,18 @@ import org.springframework.util.PathMatcher;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
 
 /**
- * Scenario mapper supports path pattern matching on request path.
+ * Scenario mapper supports path pattern matching on request path. Scenarios are indexed in a segment trie per request
+ * method, so a lookup only evaluates scenarios sharing the literal path prefix of the request, most specific first.
  *
  * @author Christoph Deppisch
  */
@@ -46,7 +53,10 @@ public class HttpRequestPathScenarioMapper extends AbstractScenarioMapper implem
     ScenarioListAware,
     ApplicationContextAware, ApplicationListener<ScenariosReloadedEvent> {
 
-    private final List<HttpScenario> scenarioList = new CopyOnWriteArrayList<>();
+    /**
+     * Path index of the current scenarios, replaced as a whole whenever the scenarios change
+     */
+    private volatile HttpScenarioIndex scenarioIndex = HttpScenarioIndex.EMPTY;
 
     private ApplicationContext applicationContext;
 
@@ -64,9 +74,11 @@ public class HttpRequestPathScenarioMapper extends AbstractScenarioMapper implem
                     : null;
 
             if (requestPath != null && requestMethod != null) {
-                for (HttpScenario scenario : scenarioList) {
-                    if (requestMethod.equals(scenario.getMethod()) && pathMatcher.match(
-                        scenario.getPath(), requestPath)) {
+                HttpPathTrie<HttpScenario> pathTrie = scenarioIndex.pathTriesByMethod().get(requestMethod);
+                if (pathTrie != null) {
+                    HttpScenario scenario = pathTrie.findFirst(requestPath,
+                        candidate -> pathMatcher.match(candidate.getPath(), requestPath));
+                    if (scenario != null) {
                         return scenario.getScenarioId();
                     }
                 }
@@ -88,7 +100,7 @@ public class HttpRequestPathScenarioMapper extends AbstractScenarioMapper implem
      * @return
      */
     public List<HttpScenario> getHttpScenarios() {
-        return new ArrayList<>(scenarioList);
+        return new ArrayList<>(scenarioIndex.scenarios());
     }
 
     /**
@@ -138,9 +150,29 @@ public class HttpRequestPathScenarioMapper extends AbstractScenarioMapper implem
     }
 
     private void updateScenarioList(Collection<HttpScenario> newScenarios) {
-        synchronized (this.scenarioList) {
-            scenarioList.clear();
-            scenarioList.addAll(newScenarios);
+        scenarioIndex = HttpScenarioIndex.of(newScenarios);
+    }
+
+    /**
+     * Immutable index of the scenarios, holding one path trie per request method. Scenarios are registered in the order
+     * of the given collection, usually sorted by {@link HttpPathSpecificityComparator}, so that the first match is
+     * always the most specific one.
+     */
+    private record HttpScenarioIndex(List<HttpScenario> scenarios, Map<String, HttpPathTrie<HttpScenario>> pathTriesByMethod) {
+
+        private static final HttpScenarioIndex EMPTY = new HttpScenarioIndex(emptyList(), emptyMap());
+
+        static HttpScenarioIndex of(Collection<HttpScenario> scenarios) {
+            Map<String, HttpPathTrie<HttpScenario>> pathTriesByMethod = new HashMap<>();
+            for (HttpScenario scenario : scenarios) {
+                // Scenarios without method or path can never match a request
+                if (scenario != null && scenario.getMethod() != null && scenario.getPath() != null) {
+                    pathTriesByMethod.computeIfAbsent(scenario.getMethod(), method -> new HttpPathTrie<>())
+                        .add(scenario.getPath(), scenario);
+                }
+            }
+
+            return new HttpScenarioIndex(unmodifiableList(new ArrayList<>(scenarios)), unmodifiableMap(pathTriesByMethod));
         }
     }
 }
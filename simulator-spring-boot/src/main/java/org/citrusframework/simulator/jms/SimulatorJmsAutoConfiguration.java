@@ -26,6 +26,7 @@ import org.citrusframework.jms.endpoint.JmsEndpoint;
 import org.citrusframework.jms.endpoint.JmsEndpointConfiguration;
 import org.citrusframework.jms.endpoint.JmsSyncEndpoint;
 import org.citrusframework.jms.endpoint.JmsSyncEndpointConfiguration;
+import org.citrusframework.jms.message.JmsMessageHeaders;
 import org.citrusframework.simulator.SimulatorAutoConfiguration;
 import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
 import org.citrusframework.simulator.correlation.CorrelationHandlerRegistry;
@@ -35,6 +36,7 @@ import org.citrusframework.simulator.endpoint.SimulatorSoapEndpointPoller;
 import org.citrusframework.simulator.scenario.mapper.ContentBasedXPathScenarioMapper;
 import org.citrusframework.simulator.scenario.mapper.ScenarioMapper;
 import org.citrusframework.simulator.service.ScenarioExecutorService;
+import org.citrusframework.simulator.service.runner.SimulatorMode;
 import org.citrusframework.simulator.ws.SoapMessageHelper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -143,11 +145,17 @@ public class SimulatorJmsAutoConfiguration {
         simulatorJmsEndpointAdapter.setMappingKeyExtractor(simulatorJmsScenarioMapper());
         simulatorJmsEndpointAdapter.setFallbackEndpointAdapter(simulatorJmsFallbackEndpointAdapter());
 
-        if (!isSynchronous()) {
+        if (isSynchronous()) {
+            endpointPoller.setReplyDestinationHeader(JmsMessageHeaders.REPLY_TO);
+        } else {
             simulatorJmsEndpointAdapter.setHandleResponse(false);
         }
 
+        endpointPoller.setVirtualThreads(simulatorConfiguration.getMode() == SimulatorMode.VIRTUAL);
         endpointPoller.setExceptionDelay(exceptionDelay(simulatorConfiguration));
+        endpointPoller.setConcurrentConsumers(simulatorJmsConfiguration.getConcurrentConsumers());
+        endpointPoller.setMaxConcurrentConsumers(simulatorJmsConfiguration.getMaxConcurrentConsumers());
+        endpointPoller.setPreserveOrder(simulatorJmsConfiguration.isPreserveOrder());
 
         endpointPoller.setEndpointAdapter(simulatorJmsEndpointAdapter);
 
@@ -60,6 +60,23 @@ public class SimulatorJmsConfigurationProperties implements InitializingBean {
      */
     private boolean pubSubDomain = false;
 
+    /**
+     * Number of concurrent consumers polling the inbound destination. By default, a single consumer is used.
+     */
+    private int concurrentConsumers = 1;
+
+    /**
+     * Maximum number of concurrent consumers when scaling up with backlog. Values below the concurrent consumers are
+     * ignored.
+     */
+    private int maxConcurrentConsumers = 1;
+
+    /**
+     * Process inbound messages in order of arrival, which limits polling to a single consumer. By default, this option
+     * is disabled.
+     */
+    private boolean preserveOrder = false;
+
     /**
      * Gets the enabled.
      *
@@ -168,6 +185,60 @@ public class SimulatorJmsConfigurationProperties implements InitializingBean {
         this.pubSubDomain = pubSubDomain;
     }
 
+    /**
+     * Gets the concurrentConsumers.
+     *
+     * @return
+     */
+    public int getConcurrentConsumers() {
+        return concurrentConsumers;
+    }
+
+    /**
+     * Sets the concurrentConsumers.
+     *
+     * @param concurrentConsumers
+     */
+    public void setConcurrentConsumers(int concurrentConsumers) {
+        this.concurrentConsumers = concurrentConsumers;
+    }
+
+    /**
+     * Gets the maxConcurrentConsumers.
+     *
+     * @return
+     */
+    public int getMaxConcurrentConsumers() {
+        return maxConcurrentConsumers;
+    }
+
+    /**
+     * Sets the maxConcurrentConsumers.
+     *
+     * @param maxConcurrentConsumers
+     */
+    public void setMaxConcurrentConsumers(int maxConcurrentConsumers) {
+        this.maxConcurrentConsumers = maxConcurrentConsumers;
+    }
+
+    /**
+     * Gets the preserveOrder.
+     *
+     * @return
+     */
+    public boolean isPreserveOrder() {
+        return preserveOrder;
+    }
+
+    /**
+     * Sets the preserveOrder.
+     *
+     * @param preserveOrder
+     */
+    public void setPreserveOrder(boolean preserveOrder) {
+        this.preserveOrder = preserveOrder;
+    }
+
     @Override
     public void afterPropertiesSet() {
         logger.info("Using the simulator configuration: {}", this);
@@ -182,6 +253,9 @@ public class SimulatorJmsConfigurationProperties implements InitializingBean {
             .append(synchronous)
             .append(useSoap)
             .append(pubSubDomain)
+            .append(concurrentConsumers)
+            .append(maxConcurrentConsumers)
+            .append(preserveOrder)
             .toString();
     }
 }
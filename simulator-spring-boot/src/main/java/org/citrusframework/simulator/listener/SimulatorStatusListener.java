@@ -24,8 +24,15 @@ import org.citrusframework.actions.SleepAction;
 import org.citrusframework.common.Described;
 import org.citrusframework.report.AbstractTestListener;
 import org.citrusframework.report.TestActionListener;
+import org.citrusframework.simulator.common.TimeProvider;
 import org.citrusframework.simulator.service.ScenarioActionService;
 import org.citrusframework.simulator.service.ScenarioExecutionService;
+import org.citrusframework.simulator.service.journal.AuditEvent;
+import org.citrusframework.simulator.service.journal.AuditEvent.ActionCompleted;
+import org.citrusframework.simulator.service.journal.AuditEvent.ActionStarted;
+import org.citrusframework.simulator.service.journal.AuditEvent.ExecutionCompleted;
+import org.citrusframework.simulator.service.journal.ScenarioAuditJournal;
+import org.citrusframework.simulator.service.recording.ScenarioRecordingPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -38,6 +45,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import static org.citrusframework.TestResult.failed;
 import static org.citrusframework.TestResult.success;
 import static org.citrusframework.simulator.service.TestCaseUtil.getScenarioExecutionId;
+import static org.citrusframework.simulator.service.recording.ScenarioRecordingPolicy.isRecorded;
 import static org.citrusframework.util.StringUtils.hasText;
 import static org.springframework.util.StringUtils.arrayToCommaDelimitedString;
 
@@ -53,12 +61,20 @@ public class SimulatorStatusListener extends AbstractTestListener implements Tes
      */
     private final Map<String, TestResult> runningTests = new ConcurrentHashMap<>();
 
+    private static final String CREATE_VARIABLES_ACTION_NAME = "create-variables";
+
+    private final TimeProvider timeProvider = new TimeProvider();
+
     private final ScenarioActionService scenarioActionService;
     private final ScenarioExecutionService scenarioExecutionService;
+    private final ScenarioAuditJournal scenarioAuditJournal;
+    private final ScenarioRecordingPolicy scenarioRecordingPolicy;
 
-    public SimulatorStatusListener(ScenarioActionService scenarioActionService, ScenarioExecutionService scenarioExecutionService) {
+    public SimulatorStatusListener(ScenarioActionService scenarioActionService, ScenarioExecutionService scenarioExecutionService, ScenarioAuditJournal scenarioAuditJournal, ScenarioRecordingPolicy scenarioRecordingPolicy) {
         this.scenarioActionService = scenarioActionService;
         this.scenarioExecutionService = scenarioExecutionService;
+        this.scenarioAuditJournal = scenarioAuditJournal;
+        this.scenarioRecordingPolicy = scenarioRecordingPolicy;
     }
 
     @Override
@@ -84,7 +100,7 @@ public class SimulatorStatusListener extends AbstractTestListener implements Tes
             testResult = success(testCase.getName(), testCase.getTestClass().getSimpleName());
         }
 
-        scenarioExecutionService.completeScenarioExecution(getScenarioExecutionId(testCase), new org.citrusframework.simulator.model.TestResult(testResult));
+        completeScenarioExecution(testCase, testResult);
 
         logger.info("Scenario succeeded: {}", testResult);
     }
@@ -98,7 +114,7 @@ public class SimulatorStatusListener extends AbstractTestListener implements Tes
             testResult = failed(testCase.getName(), testCase.getTestClass().getSimpleName(), cause);
         }
 
-        scenarioExecutionService.completeScenarioExecution(getScenarioExecutionId(testCase), new org.citrusframework.simulator.model.TestResult(testResult));
+        completeScenarioExecution(testCase, testResult);
 
         logger.info("Scenario failed: {}", testResult);
     }
@@ -113,14 +129,22 @@ public class SimulatorStatusListener extends AbstractTestListener implements Tes
                 (testAction instanceof Described described && hasText(described.getDescription()) ? ": " + described.getDescription() : "")
             );
 
-            scenarioActionService.createForScenarioExecutionAndSave(testCase, testAction);
+            if (isRecordedSynchronously(testCase)) {
+                scenarioActionService.createForScenarioExecutionAndSave(testCase, testAction);
+            } else if (!CREATE_VARIABLES_ACTION_NAME.equals(testAction.getName())) {
+                appendAuditEvent(new ActionStarted(getScenarioExecutionId(testCase), testAction.getName(), timeProvider.getTimeNow()));
+            }
         }
     }
 
     @Override
     public void onTestActionFinish(TestCase testCase, TestAction testAction) {
         if (!ignoreTestAction(testAction)) {
-            scenarioActionService.completeTestAction(testCase, testAction);
+            if (isRecordedSynchronously(testCase)) {
+                scenarioActionService.completeTestAction(testCase, testAction);
+            } else if (!CREATE_VARIABLES_ACTION_NAME.equals(testAction.getName())) {
+                appendAuditEvent(new ActionCompleted(getScenarioExecutionId(testCase), testAction.getName(), timeProvider.getTimeNow()));
+            }
         }
     }
 
@@ -132,6 +156,30 @@ public class SimulatorStatusListener extends AbstractTestListener implements Tes
     public void onTestActionSkipped(TestCase testCase, TestAction testAction) {
     }
 
+    private void completeScenarioExecution(TestCase testCase, TestResult testResult) {
+        var scenarioExecutionId = getScenarioExecutionId(testCase);
+        var scenarioResult = new org.citrusframework.simulator.model.TestResult(testResult);
+        if (scenarioAuditJournal.isEnabled() && isRecorded(scenarioExecutionId)) {
+            scenarioAuditJournal.append(new ExecutionCompleted(scenarioExecutionId, scenarioResult, timeProvider.getTimeNow()));
+        } else {
+            // Unrecorded executions are completed synchronously, as nothing is written for most of them
+            scenarioExecutionService.completeScenarioExecution(scenarioExecutionId, scenarioResult);
+        }
+    }
+
+    private boolean isRecordedSynchronously(TestCase testCase) {
+        return !scenarioAuditJournal.isEnabled()
+            && (scenarioRecordingPolicy.isRecordingAll() || isRecorded(getScenarioExecutionId(testCase)));
+    }
+
+    private void appendAuditEvent(AuditEvent event) {
+        if (isRecorded(event.executionId())) {
+            scenarioAuditJournal.append(event);
+        } else if (scenarioRecordingPolicy.isPending(event.executionId())) {
+            scenarioRecordingPolicy.append(event);
+        }
+    }
+
     private String[] getParameters(TestCase test) {
         List<String> parameterStrings = new ArrayList<>();
 
@@ -16,17 +16,21 @@
 
 package org.citrusframework.simulator.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotEmpty;
@@ -34,6 +38,9 @@ import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -71,7 +78,8 @@ public class Message extends AbstractAuditingEntity<Message, Long> implements Se
     @Id
     @Setter(NONE)
     @Column(nullable = false, updatable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "message_seq")
+    @SequenceGenerator(name = "message_seq", sequenceName = "message_seq", allocationSize = 50)
     private Long messageId;
 
     /**
@@ -83,9 +91,19 @@ public class Message extends AbstractAuditingEntity<Message, Long> implements Se
     @Column(nullable = false, updatable = false)
     private Integer direction = Direction.UNKNOWN.getId();
 
+    @Getter(NONE)
     @Column(columnDefinition = "TEXT", updatable = false)
     private String payload;
 
+    /**
+     * Deduplicated payload, used instead of the inline {@link #payload} if present.
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payload_hash", updatable = false)
+    private MessagePayload storedPayload;
+
     @NotEmpty
     @Column(unique = true, nullable = false, updatable = false)
     private String citrusMessageId;
@@ -95,6 +113,23 @@ public class Message extends AbstractAuditingEntity<Message, Long> implements Se
     @OneToMany(mappedBy = "message", cascade = CascadeType.ALL, orphanRemoval = true)
     private final Set<MessageHeader> headers = new HashSet<>();
 
+    /**
+     * Headers that are not stored as {@link MessageHeader} rows, serialized with their interned names.
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    @JdbcTypeCode(SqlTypes.LONG32VARBINARY)
+    @Column(name = "compact_headers", updatable = false)
+    private byte[] compactHeaders;
+
+    /**
+     * Business keys extracted from this message when it was persisted, used to look it up by indexed equality.
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    @OneToMany(mappedBy = "message", cascade = CascadeType.ALL, orphanRemoval = true)
+    private final Set<MessageBusinessKey> businessKeys = new HashSet<>();
+
     @ManyToOne
     @ToString.Exclude
     @JsonIgnoreProperties(value = {"scenarioParameters", "scenarioActions", "scenarioMessages"}, allowSetters = true)
@@ -116,12 +151,31 @@ public class Message extends AbstractAuditingEntity<Message, Long> implements Se
         this.direction = direction.id;
     }
 
+    /**
+     * Returns the payload of this message. Deduplicated payloads are only available if they have been fetched along
+     * with the message.
+     *
+     * @return the payload or {@code null} if it is not available
+     */
+    public String getPayload() {
+        if (storedPayload != null) {
+            return Hibernate.isInitialized(storedPayload) ? storedPayload.getPayload() : null;
+        }
+
+        return payload;
+    }
+
     public Message addHeader(MessageHeader messageHeader) {
         headers.add(messageHeader);
         messageHeader.setMessage(this);
         return this;
     }
 
+    public Message addBusinessKey(String name, String value) {
+        businessKeys.add(new MessageBusinessKey(name, value, this));
+        return this;
+    }
+
     public Long getScenarioExecutionId() {
         if (scenarioExecution != null) {
             return scenarioExecution.getExecutionId();
@@ -199,11 +253,26 @@ public class Message extends AbstractAuditingEntity<Message, Long> implements Se
             return this;
         }
 
+        public MessageBuilder storedPayload(MessagePayload storedPayload) {
+            message.storedPayload = storedPayload;
+            return this;
+        }
+
         public MessageBuilder citrusMessageId(String citrusMessageId) {
             message.citrusMessageId = citrusMessageId;
             return this;
         }
 
+        public MessageBuilder businessKey(String name, String value) {
+            message.addBusinessKey(name, value);
+            return this;
+        }
+
+        public MessageBuilder compactHeaders(byte[] compactHeaders) {
+            message.compactHeaders = compactHeaders;
+            return this;
+        }
+
         public MessageBuilder headers(Map<String, Object> headers) {
             headers.entrySet().stream()
                 .map(header -> {
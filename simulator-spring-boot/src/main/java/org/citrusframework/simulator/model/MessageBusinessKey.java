@@ -0,0 +1,109 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * JPA entity for business keys, e.g. an order id, that have been extracted from a message when it was persisted.
+ * Scenario executions and messages are looked up by the indexed name and value, instead of scanning the payloads.
+ */
+@Getter
+@Entity
+@Immutable
+@Table(
+    name = "message_business_key",
+    indexes = {
+        @Index(name = "idx_message_business_key_name_value", columnList = "name, key_value"),
+        @Index(name = "idx_message_business_key_message_id", columnList = "message_id")
+    }
+)
+@ToString
+@NoArgsConstructor(access = PROTECTED)
+public class MessageBusinessKey implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final int MAX_NAME_LENGTH = 100;
+
+    public static final int MAX_VALUE_LENGTH = 255;
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "message_business_key_seq")
+    @SequenceGenerator(name = "message_business_key_seq", sequenceName = "message_business_key_seq", allocationSize = 50)
+    private Long keyId;
+
+    @NotEmpty
+    @Column(length = MAX_NAME_LENGTH, nullable = false, updatable = false)
+    private String name;
+
+    @NotEmpty
+    @Column(name = "key_value", length = MAX_VALUE_LENGTH, nullable = false, updatable = false)
+    private String value;
+
+    @NotNull
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "message_id", nullable = false, updatable = false)
+    private Message message;
+
+    MessageBusinessKey(String name, String value, Message message) {
+        this.name = name;
+        this.value = value;
+        this.message = message;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (o instanceof MessageBusinessKey messageBusinessKey) {
+            return keyId != null && keyId.equals(messageBusinessKey.keyId);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+}
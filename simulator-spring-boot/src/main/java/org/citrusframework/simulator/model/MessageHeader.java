@@ -25,6 +25,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -62,7 +63,8 @@ public class MessageHeader extends AbstractAuditingEntity<MessageHeader, Long> i
     @Id
     @Setter(NONE)
     @Column(nullable = false, updatable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "message_header_seq")
+    @SequenceGenerator(name = "message_header_seq", sequenceName = "message_header_seq", allocationSize = 50)
     private Long headerId;
 
     @NotEmpty
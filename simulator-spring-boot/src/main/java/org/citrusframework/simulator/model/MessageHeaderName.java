@@ -0,0 +1,90 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import static lombok.AccessLevel.NONE;
+
+/**
+ * JPA entity interning the names of compact message headers, see {@link Message#getCompactHeaders()}.
+ */
+@Getter
+@Setter
+@Entity
+@Table(
+    name = "message_header_name",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_message_header_name", columnNames = {"name"})
+    }
+)
+@ToString
+public class MessageHeaderName implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Setter(NONE)
+    @Column(nullable = false, updatable = false)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "message_header_name_seq")
+    @SequenceGenerator(name = "message_header_name_seq", sequenceName = "message_header_name_seq", allocationSize = 50)
+    private Long nameId;
+
+    @NotEmpty
+    @Column(nullable = false, updatable = false)
+    private String name;
+
+    public MessageHeaderName() {
+        // Hibernate constructor
+    }
+
+    public MessageHeaderName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (o instanceof MessageHeaderName messageHeaderName) {
+            return nameId != null && nameId.equals(messageHeaderName.nameId);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+}
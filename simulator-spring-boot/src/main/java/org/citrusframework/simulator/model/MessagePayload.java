@@ -0,0 +1,189 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.ToString;
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static lombok.AccessLevel.NONE;
+
+/**
+ * JPA entity holding a distinct message payload. Payloads are content-addressed by their SHA-256 hash, hence identical
+ * payloads of different messages are stored once. Large payloads are compressed using Deflate.
+ */
+@Getter
+@Entity
+@Immutable
+@BatchSize(size = 50)
+@Table(name = "message_payload")
+@ToString
+public class MessagePayload implements Persistable<String>, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+
+    @Id
+    @Column(length = 64, nullable = false, updatable = false)
+    private String hash;
+
+    @Column(nullable = false, updatable = false)
+    private boolean compressed;
+
+    @ToString.Exclude
+    @JdbcTypeCode(SqlTypes.LONG32VARBINARY)
+    @Column(nullable = false, updatable = false)
+    private byte[] content;
+
+    @Getter(NONE)
+    @ToString.Exclude
+    private transient boolean persisted = false;
+
+    @Getter(NONE)
+    @ToString.Exclude
+    private transient String payload;
+
+    protected MessagePayload() {
+        // Hibernate constructor
+    }
+
+    private MessagePayload(String hash, boolean compressed, byte[] content, String payload) {
+        this.hash = hash;
+        this.compressed = compressed;
+        this.content = content;
+        this.payload = payload;
+    }
+
+    /**
+     * Creates the payload entity of the given message payload.
+     *
+     * @param payload              the message payload
+     * @param compressionThreshold payloads of at least this many bytes are compressed, as long as this saves space
+     * @return the payload entity
+     */
+    public static MessagePayload of(String payload, int compressionThreshold) {
+        byte[] content = payload.getBytes(UTF_8);
+        String hash = HEX_FORMAT.formatHex(sha256(content));
+
+        if (content.length >= compressionThreshold) {
+            byte[] compressedContent = deflate(content);
+            if (compressedContent.length < content.length) {
+                return new MessagePayload(hash, true, compressedContent, payload);
+            }
+        }
+
+        return new MessagePayload(hash, false, content, payload);
+    }
+
+    /**
+     * @return the decompressed message payload
+     */
+    public String getPayload() {
+        if (payload == null) {
+            payload = new String(compressed ? inflate(content) : content, UTF_8);
+        }
+
+        return payload;
+    }
+
+    @Override
+    public String getId() {
+        return hash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (o instanceof MessagePayload messagePayload) {
+            return hash != null && hash.equals(messagePayload.hash);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new CitrusRuntimeException("Failed to hash message payload", e);
+        }
+    }
+
+    private static byte[] deflate(byte[] content) {
+        ByteArrayOutputStream compressedContent = new ByteArrayOutputStream();
+        try (OutputStream out = new DeflaterOutputStream(compressedContent)) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to compress message payload", e);
+        }
+
+        return compressedContent.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] compressedContent) {
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(compressedContent))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to decompress message payload", e);
+        }
+    }
+}
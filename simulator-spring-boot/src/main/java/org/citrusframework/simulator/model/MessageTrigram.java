@@ -0,0 +1,125 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * JPA entity of the full-text index: Each row states that the payload or a header value of a message contains the
+ * given (upper case) trigram. A {@code contains} filter only matches messages containing all trigrams of the search
+ * value, these candidates are found by index lookups instead of scanning all payloads.
+ * <p>
+ * Messages that have not been indexed completely are marked with the {@link #PARTIALLY_INDEXED} trigram, they remain
+ * candidates for any search value.
+ */
+@Getter
+@Entity
+@Immutable
+@IdClass(MessageTrigram.Key.class)
+@Table(
+    name = "message_trigram",
+    indexes = @Index(name = "idx_message_trigram_source_trigram", columnList = "source, trigram")
+)
+@ToString
+@NoArgsConstructor(access = PROTECTED)
+public class MessageTrigram implements Persistable<MessageTrigram.Key>, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final int LENGTH = 3;
+
+    public static final String PARTIALLY_INDEXED = "*";
+
+    @Id
+    @Column(name = "message_id", nullable = false, updatable = false)
+    private Long messageId;
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    private Integer source;
+
+    @Id
+    @Column(length = LENGTH, nullable = false, updatable = false)
+    private String trigram;
+
+    public MessageTrigram(Long messageId, Source source, String trigram) {
+        this.messageId = messageId;
+        this.source = source.getId();
+        this.trigram = trigram;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(messageId, source, trigram);
+    }
+
+    /**
+     * Trigrams are only ever inserted, never merged with existing rows.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @ToString
+    @NoArgsConstructor(access = PROTECTED)
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private Long messageId;
+
+        private Integer source;
+
+        private String trigram;
+    }
+
+    @Getter
+    public enum Source {
+
+        PAYLOAD(0), HEADER_VALUE(1);
+
+        private final int id;
+
+        Source(int id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * JPA entity of the full-text index watermark: Messages up to the given id have been persisted before the index was
+ * enabled. These messages have no {@link MessageTrigram}s and remain candidates for any search value.
+ */
+@Getter
+@Entity
+@Immutable
+@Table(name = "message_trigram_watermark")
+@ToString
+@NoArgsConstructor(access = PROTECTED)
+public class MessageTrigramWatermark implements Persistable<Long>, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "message_id", nullable = false, updatable = false)
+    private Long messageId;
+
+    public MessageTrigramWatermark(Long messageId) {
+        this.messageId = messageId;
+    }
+
+    @Override
+    public Long getId() {
+        return messageId;
+    }
+
+    /**
+     * Watermarks are only ever inserted, never merged with existing rows.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
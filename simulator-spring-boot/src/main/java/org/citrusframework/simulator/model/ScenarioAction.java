@@ -24,6 +24,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.Getter;
@@ -57,7 +58,8 @@ public class ScenarioAction implements Serializable {
     @Id
     @Setter(NONE)
     @Column(nullable = false, updatable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scenario_action_seq")
+    @SequenceGenerator(name = "scenario_action_seq", sequenceName = "scenario_action_seq", allocationSize = 50)
     private Long actionId;
 
     @NotEmpty
@@ -26,6 +26,7 @@ import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.OrderBy;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.Getter;
@@ -65,7 +66,8 @@ public class ScenarioExecution implements Serializable {
     @Id
     @Setter(NONE)
     @Column(nullable = false, updatable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scenario_execution_seq")
+    @SequenceGenerator(name = "scenario_execution_seq", sequenceName = "scenario_execution_seq", allocationSize = 50)
     private Long executionId;
 
     @Column(nullable = false, updatable = false)
@@ -0,0 +1,170 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * JPA entity of the execution statistics: Each row aggregates the scenario executions of one scenario that completed
+ * within a time bucket of the given {@link Granularity}. Besides the number of executions and failures, it holds a
+ * compressed histogram of the execution durations in milliseconds, so that percentiles can be computed from the
+ * rollups alone.
+ */
+@Getter
+@Entity
+@IdClass(ScenarioExecutionRollup.Key.class)
+@Table(
+    name = "scenario_execution_rollup",
+    indexes = @Index(name = "idx_scenario_execution_rollup_granularity_bucket_start", columnList = "granularity, bucket_start")
+)
+@ToString
+@NoArgsConstructor(access = PROTECTED)
+public class ScenarioExecutionRollup implements Persistable<ScenarioExecutionRollup.Key>, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "scenario_name", nullable = false, updatable = false)
+    private String scenarioName;
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    private Integer granularity;
+
+    @Id
+    @Column(name = "bucket_start", nullable = false, updatable = false)
+    private Instant bucketStart;
+
+    @Column(nullable = false)
+    private long executions;
+
+    @Column(nullable = false)
+    private long failures;
+
+    @ToString.Exclude
+    @JdbcTypeCode(SqlTypes.LONG32VARBINARY)
+    @Column(nullable = false)
+    private byte[] durations;
+
+    @Transient
+    @ToString.Exclude
+    private boolean persisted;
+
+    public ScenarioExecutionRollup(String scenarioName, Granularity granularity, Instant bucketStart) {
+        this.scenarioName = scenarioName;
+        this.granularity = granularity.getId();
+        this.bucketStart = granularity.truncate(bucketStart);
+        this.durations = new byte[0];
+    }
+
+    /**
+     * Replaces the aggregated values of this bucket.
+     *
+     * @param executions the total number of executions
+     * @param failures   the number of failed executions
+     * @param durations  the compressed histogram of all execution durations
+     */
+    public void update(long executions, long failures, byte[] durations) {
+        this.executions = executions;
+        this.failures = failures;
+        this.durations = durations;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(scenarioName, granularity, bucketStart);
+    }
+
+    /**
+     * Rollups have an assigned id, whether they must be inserted or updated is tracked by the entity itself.
+     */
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @ToString
+    @NoArgsConstructor(access = PROTECTED)
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private String scenarioName;
+
+        private Integer granularity;
+
+        private Instant bucketStart;
+    }
+
+    @Getter
+    public enum Granularity {
+
+        MINUTE(0, ChronoUnit.MINUTES), HOUR(1, ChronoUnit.HOURS), DAY(2, ChronoUnit.DAYS);
+
+        private final int id;
+
+        private final ChronoUnit unit;
+
+        Granularity(int id, ChronoUnit unit) {
+            this.id = id;
+            this.unit = unit;
+        }
+
+        /**
+         * @param instant any point in time
+         * @return the start of the (UTC) bucket containing the given instant
+         */
+        public Instant truncate(Instant instant) {
+            return instant.truncatedTo(unit);
+        }
+    }
+}
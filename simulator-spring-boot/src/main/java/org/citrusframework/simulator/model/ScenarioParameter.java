@@ -24,6 +24,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import jakarta.validation.constraints.NotEmpty;
@@ -61,7 +62,8 @@ public class ScenarioParameter extends AbstractAuditingEntity<ScenarioParameter,
     @Id
     @Setter(NONE)
     @Column(nullable = false, updatable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scenario_parameter_seq")
+    @SequenceGenerator(name = "scenario_parameter_seq", sequenceName = "scenario_parameter_seq", allocationSize = 50)
     private Long parameterId;
 
     @NotEmpty
@@ -19,6 +19,7 @@ package org.citrusframework.simulator.repository;
 import org.citrusframework.simulator.model.MessageHeader;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -27,6 +28,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -55,4 +57,8 @@ public interface MessageHeaderRepository extends JpaRepository<MessageHeader, Lo
     @Override
     @EntityGraph(attributePaths = {"message"})
     Page<MessageHeader> findAll(Specification<MessageHeader> spec, Pageable pageable);
+
+    @Query("FROM MessageHeader WHERE headerId IN :headerIds")
+    @EntityGraph(attributePaths = {"message"})
+    List<MessageHeader> findAllWhereHeaderIdIn(@Param("headerIds") List<Long> headerIds, Sort sort);
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.repository;
+
+import org.citrusframework.simulator.model.MessagePayload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link MessagePayload} entity.
+ */
+@Repository
+public interface MessagePayloadRepository extends JpaRepository<MessagePayload, String> {
+
+    @Modifying
+    @Query("delete from MessagePayload messagePayload where not exists (select message.messageId from Message message where message.storedPayload = messagePayload)")
+    int deleteUnreferenced();
+}
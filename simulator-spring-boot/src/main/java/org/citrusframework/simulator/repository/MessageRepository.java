@@ -46,25 +46,27 @@ public interface MessageRepository extends JpaRepository<Message, Long>, JpaSpec
     }
 
     @Query(
-        value = "select message from Message message left join fetch message.scenarioExecution",
+        value = "select message from Message message left join fetch message.scenarioExecution left join fetch message.storedPayload",
         countQuery = "select count(message) from Message message"
     )
     Page<Message> findAllWithToOneRelationships(Pageable pageable);
 
-    @Query("select message from Message message left join fetch message.headers left join fetch message.scenarioExecution where message.messageId = :messageId")
+    @Query("select message from Message message left join fetch message.headers left join fetch message.scenarioExecution left join fetch message.storedPayload where message.messageId = :messageId")
     Optional<Message> findOneWithToOneRelationships(@Param("messageId") Long messageId);
 
     @Override
-    @EntityGraph(attributePaths = {"headers", "scenarioExecution", "scenarioExecution.testResult"})
+    @EntityGraph(attributePaths = {"headers", "storedPayload", "scenarioExecution", "scenarioExecution.testResult"})
     Page<Message> findAll(Specification<Message> spec, Pageable pageable);
 
     default List<Message> findAllForScenarioExecution(Long scenarioExecutionId, String citrusMessageId, Message.Direction direction) {
         return findAllByScenarioExecutionExecutionIdEqualsAndCitrusMessageIdEqualsIgnoreCaseAndDirectionEquals(scenarioExecutionId, citrusMessageId, direction.getId());
     }
 
+    Optional<Message> findOneByCitrusMessageId(@Param("citrusMessageId") String citrusMessageId);
+
     List<Message> findAllByScenarioExecutionExecutionIdEqualsAndCitrusMessageIdEqualsIgnoreCaseAndDirectionEquals(@Param("scenarioExecutionId") Long scenarioExecutionId, @Param("citrusMessageId") String citrusMessageId, @Param("direction") Integer direction);
 
     @Query("FROM Message WHERE messageId IN :messageIds")
-    @EntityGraph(attributePaths = {"headers", "scenarioExecution", "scenarioExecution.testResult"})
+    @EntityGraph(attributePaths = {"headers", "storedPayload", "scenarioExecution", "scenarioExecution.testResult"})
     List<Message> findAllWhereMessageIdIn(@Param("messageIds") List<Long> messageIds, Sort sort);
 }
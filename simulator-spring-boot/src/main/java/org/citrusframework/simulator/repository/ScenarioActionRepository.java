@@ -19,12 +19,14 @@ package org.citrusframework.simulator.repository;
 import org.citrusframework.simulator.model.ScenarioAction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -47,4 +49,7 @@ public interface ScenarioActionRepository extends JpaRepository<ScenarioAction,
         "select scenarioAction from ScenarioAction scenarioAction left join fetch scenarioAction.scenarioExecution where scenarioAction.actionId =:actionId"
     )
     Optional<ScenarioAction> findOneWithToOneRelationships(@Param("actionId") Long actionId);
+
+    @Query("FROM ScenarioAction WHERE actionId IN :actionIds")
+    List<ScenarioAction> findAllWhereActionIdIn(@Param("actionIds") List<Long> actionIds, Sort sort);
 }
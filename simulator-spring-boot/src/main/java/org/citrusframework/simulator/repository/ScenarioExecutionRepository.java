@@ -16,16 +16,21 @@
 
 package org.citrusframework.simulator.repository;
 
+import org.citrusframework.simulator.model.Message;
 import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.service.dto.ScenarioTestResultByStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,9 +41,81 @@ import java.util.Optional;
 public interface ScenarioExecutionRepository extends JpaRepository<ScenarioExecution, Long>, JpaSpecificationExecutor<ScenarioExecution> {
 
     @Override
-    @EntityGraph(attributePaths = {"testResult", "scenarioParameters", "scenarioActions", "scenarioMessages", "scenarioMessages.headers"})
+    @EntityGraph(attributePaths = {"testResult"})
     Page<ScenarioExecution> findAll(Pageable pageable);
 
-    @EntityGraph(attributePaths = {"testResult", "scenarioParameters", "scenarioActions", "scenarioMessages", "scenarioMessages.headers"})
+    @EntityGraph(attributePaths = {"testResult"})
     Optional<ScenarioExecution> findOneByExecutionId(@Param("executionId") Long executionId);
+
+    @Query("select scenarioExecution from ScenarioExecution scenarioExecution left join fetch scenarioExecution.scenarioParameters where scenarioExecution.executionId in :executionIds")
+    List<ScenarioExecution> findAllWithScenarioParametersByExecutionIdIn(@Param("executionIds") Collection<Long> executionIds);
+
+    @Query("select scenarioExecution from ScenarioExecution scenarioExecution left join fetch scenarioExecution.scenarioActions where scenarioExecution.executionId in :executionIds")
+    List<ScenarioExecution> findAllWithScenarioActionsByExecutionIdIn(@Param("executionIds") Collection<Long> executionIds);
+
+    @Query("select scenarioExecution from ScenarioExecution scenarioExecution left join fetch scenarioExecution.scenarioMessages message left join fetch message.storedPayload where scenarioExecution.executionId in :executionIds")
+    List<ScenarioExecution> findAllWithScenarioMessagesByExecutionIdIn(@Param("executionIds") Collection<Long> executionIds);
+
+    @Query("select message from Message message left join fetch message.headers where message.scenarioExecution.executionId in :executionIds")
+    List<Message> findAllMessagesWithHeadersByExecutionIdIn(@Param("executionIds") Collection<Long> executionIds);
+
+    @Query("select scenarioExecution.executionId from ScenarioExecution scenarioExecution where scenarioExecution.endDate is not null and scenarioExecution.startDate < :startDate order by scenarioExecution.executionId asc")
+    List<Long> findCompletedExecutionIdsStartedBefore(@Param("startDate") Instant startDate, Pageable pageable);
+
+    @Query("select scenarioExecution.executionId from ScenarioExecution scenarioExecution where scenarioExecution.endDate is not null order by scenarioExecution.executionId asc")
+    List<Long> findCompletedExecutionIds(Pageable pageable);
+
+    @Query("select scenarioExecution.testResult.id from ScenarioExecution scenarioExecution where scenarioExecution.executionId in :executionIds")
+    List<Long> findTestResultIdsByExecutionIdIn(@Param("executionIds") Collection<Long> executionIds);
+
+    @Query("select new org.citrusframework.simulator.service.dto.ScenarioTestResultByStatus(scenarioExecution.scenarioName, " +
+        "sum(case when testResult.status = 1 then 1 else 0 end), " +
+        "sum(case when testResult.status = 2 then 1 else 0 end)) " +
+        "from ScenarioExecution scenarioExecution join scenarioExecution.testResult testResult " +
+        "group by scenarioExecution.scenarioName")
+    List<ScenarioTestResultByStatus> countTestResultsByScenarioName();
+
+    @Query("select new org.citrusframework.simulator.service.dto.ScenarioTestResultByStatus(scenarioExecution.scenarioName, " +
+        "sum(case when testResult.status = 1 then 1 else 0 end), " +
+        "sum(case when testResult.status = 2 then 1 else 0 end)) " +
+        "from ScenarioExecution scenarioExecution join scenarioExecution.testResult testResult " +
+        "where scenarioExecution.executionId in :executionIds " +
+        "group by scenarioExecution.scenarioName")
+    List<ScenarioTestResultByStatus> countTestResultsByScenarioNameAndExecutionIdIn(@Param("executionIds") Collection<Long> executionIds);
+
+    @Modifying
+    @Query("delete from MessageTrigram messageTrigram where messageTrigram.messageId in (select message.messageId from Message message where message.scenarioExecution.executionId in :executionIds)")
+    int deleteMessageTrigramsByExecutionIdIn(@Param("executionIds") Collection<Long> executionIds);
+
+    @Modifying
+    @Query("delete from MessageBusinessKey messageBusinessKey where messageBusinessKey.message.messageId in (select message.messageId from Message message where message.scenarioExecution.executionId in :executionIds)")
+    int deleteMessageBusinessKeysByExecutionIdIn(@Param("executionIds") Collection<Long> executionIds);
+
+    @Modifying
+    @Query("delete from MessageHeader messageHeader where messageHeader.message.messageId in (select message.messageId from Message message where message.scenarioExecution.executionId in :executionIds)")
+    int deleteMessageHeadersByExecutionIdIn(@Param("executionIds") Collection<Long> executionIds);
+
+    @Modifying
+    @Query("delete from Message message where message.scenarioExecution.executionId in :executionIds")
+    int deleteMessagesByExecutionIdIn(@Param("executionIds") Collection<Long> executionIds);
+
+    @Modifying
+    @Query("delete from ScenarioAction scenarioAction where scenarioAction.scenarioExecution.executionId in :executionIds")
+    int deleteScenarioActionsByExecutionIdIn(@Param("executionIds") Collection<Long> executionIds);
+
+    @Modifying
+    @Query("delete from ScenarioParameter scenarioParameter where scenarioParameter.scenarioExecution.executionId in :executionIds")
+    int deleteScenarioParametersByExecutionIdIn(@Param("executionIds") Collection<Long> executionIds);
+
+    @Modifying
+    @Query("delete from ScenarioExecution scenarioExecution where scenarioExecution.executionId in :executionIds")
+    int deleteAllByExecutionIdIn(@Param("executionIds") Collection<Long> executionIds);
+
+    @Modifying
+    @Query("delete from TestParameter testParameter where testParameter.testResult.id in :testResultIds")
+    int deleteTestParametersByTestResultIdIn(@Param("testResultIds") Collection<Long> testResultIds);
+
+    @Modifying
+    @Query("delete from TestResult testResult where testResult.id in :testResultIds")
+    int deleteTestResultsByIdIn(@Param("testResultIds") Collection<Long> testResultIds);
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.repository;
+
+import org.citrusframework.simulator.model.ScenarioExecutionRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for the {@link ScenarioExecutionRollup} entity.
+ */
+@Repository
+public interface ScenarioExecutionRollupRepository extends JpaRepository<ScenarioExecutionRollup, ScenarioExecutionRollup.Key> {
+
+    @Query("from ScenarioExecutionRollup rollup where rollup.granularity = :granularity and rollup.bucketStart >= :from and rollup.bucketStart < :to order by rollup.bucketStart, rollup.scenarioName")
+    List<ScenarioExecutionRollup> findAllByGranularityInRange(@Param("granularity") Integer granularity, @Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("from ScenarioExecutionRollup rollup where rollup.granularity = :granularity and rollup.scenarioName = :scenarioName and rollup.bucketStart >= :from and rollup.bucketStart < :to order by rollup.bucketStart")
+    List<ScenarioExecutionRollup> findAllByGranularityAndScenarioNameInRange(@Param("granularity") Integer granularity, @Param("scenarioName") String scenarioName, @Param("from") Instant from, @Param("to") Instant to);
+
+    @Modifying
+    @Query("delete from ScenarioExecutionRollup rollup where rollup.granularity = :granularity and rollup.bucketStart < :bucketStart")
+    int deleteAllByGranularityAndBucketStartBefore(@Param("granularity") Integer granularity, @Param("bucketStart") Instant bucketStart);
+}
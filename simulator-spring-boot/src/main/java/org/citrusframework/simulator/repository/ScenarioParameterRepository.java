@@ -19,12 +19,14 @@ package org.citrusframework.simulator.repository;
 import org.citrusframework.simulator.model.ScenarioParameter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -51,4 +53,7 @@ public interface ScenarioParameterRepository extends JpaRepository<ScenarioParam
         "select scenarioParameter from ScenarioParameter scenarioParameter left join fetch scenarioParameter.scenarioExecution where scenarioParameter.id =:id"
     )
     Optional<ScenarioParameter> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Query("FROM ScenarioParameter WHERE parameterId IN :parameterIds")
+    List<ScenarioParameter> findAllWhereParameterIdIn(@Param("parameterIds") List<Long> parameterIds, Sort sort);
 }
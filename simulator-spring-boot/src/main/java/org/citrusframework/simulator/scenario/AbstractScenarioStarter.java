@@ -19,6 +19,7 @@ package org.citrusframework.simulator.scenario;
 import jakarta.annotation.PostConstruct;
 import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
 import org.citrusframework.simulator.template.TemplateHelper;
+import org.citrusframework.simulator.template.TemplateStore;
 import org.citrusframework.spi.Resource;
 import org.citrusframework.util.FileUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,7 +37,7 @@ public abstract class AbstractScenarioStarter extends AbstractSimulatorScenario
 
     @PostConstruct
     private void initialiseTemplateHelper() {
-        templateHelper = TemplateHelper.instance(this.getTemplateBasePath(), FileUtils.getDefaultCharset());
+        templateHelper = TemplateHelper.instance(new TemplateStore(this.getTemplateBasePath(), FileUtils.getDefaultCharset(), simulatorConfigurationProperties.getTemplateCache().getMaximumSize()));
     }
 
     /**
@@ -0,0 +1,78 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.scenario;
+
+import jakarta.annotation.Nullable;
+import org.citrusframework.TestCaseRunner;
+
+/**
+ * Runs a single execution of a (singleton) scenario with its own {@link ScenarioEndpoint}, see
+ * {@link ScenarioEndpoint#createExecutionEndpoint()}. The scenario itself is shared between all of its executions, the
+ * endpoint and the test case runner are not.
+ */
+public final class ExecutionScopedScenario implements SimulatorScenario {
+
+    private final SimulatorScenario scenario;
+
+    private final ScenarioEndpoint scenarioEndpoint;
+
+    private @Nullable TestCaseRunner testCaseRunner;
+
+    public ExecutionScopedScenario(SimulatorScenario scenario, ScenarioEndpoint scenarioEndpoint) {
+        this.scenario = scenario;
+        this.scenarioEndpoint = scenarioEndpoint;
+    }
+
+    /**
+     * Resolves the shared scenario behind the given scenario, if it has been scoped to an execution.
+     *
+     * @param scenario the scenario to unwrap
+     * @return the shared scenario
+     */
+    public static SimulatorScenario unwrap(SimulatorScenario scenario) {
+        return scenario instanceof ExecutionScopedScenario executionScopedScenario ? executionScopedScenario.scenario : scenario;
+    }
+
+    @Override
+    public ScenarioEndpoint getScenarioEndpoint() {
+        return scenarioEndpoint;
+    }
+
+    @Override
+    public void run(ScenarioRunner runner) {
+        scenario.run(runner);
+    }
+
+    @Override
+    public String getName() {
+        return scenario.getName();
+    }
+
+    @Override
+    public @Nullable TestCaseRunner getTestCaseRunner() {
+        return testCaseRunner;
+    }
+
+    @Override
+    public void setTestCaseRunner(TestCaseRunner testCaseRunner) {
+        this.testCaseRunner = testCaseRunner;
+
+        // Scenarios may still access the runner of their most recent execution
+        scenario.setTestCaseRunner(testCaseRunner);
+    }
+}
@@ -14,8 +14,10 @@
  * limitations under the License.
  */
 
+
 package org.citrusframework.simulator.scenario;
 
+import jakarta.annotation.Nullable;
 import org.citrusframework.context.TestContext;
 import org.citrusframework.endpoint.AbstractEndpoint;
 import org.citrusframework.message.Message;
@@ -23,47 +25,97 @@ import org.citrusframework.messaging.Consumer;
 import org.citrusframework.messaging.Producer;
 import org.citrusframework.simulator.endpoint.EndpointMessageHandler;
 import org.citrusframework.simulator.endpoint.SimulationFailedUnexpectedlyException;
+import org.citrusframework.simulator.exception.ScenarioExecutionRejectedException;
 import org.citrusframework.simulator.exception.SimulatorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.IdentityHashMap;
 import java.util.Map;
-import java.util.Optional;
-import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.Math.max;
+import static java.lang.String.format;
 import static java.lang.Thread.currentThread;
-import static java.util.Collections.synchronizedMap;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
-
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * In-memory endpoint handing inbound requests over to the scenario and its responses back to the waiting caller.
+ * <p>
+ * Every request is wrapped in an {@link Exchange}, which carries the request message, the caller's response future and
+ * a small state machine ({@code PENDING -> RECEIVED -> COMPLETED}, or {@code CANCELLED} at any point before). All
+ * hand-offs are compare-and-set transitions on that state, so there are no locks on the request path. Cancelling an
+ * exchange only marks it, the pending inbox skips and eventually sweeps such tombstones.
+ * <p>
+ * The number of pending requests is bounded by the {@link ScenarioEndpointConfiguration#getInboxCapacity() inbox
+ * capacity}. Requests exceeding it are rejected with a {@link ScenarioExecutionRejectedException}.
+ * <p>
+ * Each scenario owns a shared endpoint, whereas requests dispatched to the scenario are handed over through an
+ * {@link #createExecutionEndpoint() execution endpoint}, which only the single scenario execution started for that
+ * request receives from. Execution endpoints are {@link #bindExecution(TestContext) bound} to the test context of
+ * their execution, so that messages sent or received through the shared endpoint, as well as correlated messages, are
+ * routed to the right execution.
+ */
 public class ScenarioEndpoint extends AbstractEndpoint implements Producer, Consumer {
 
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioEndpoint.class);
+
+    /**
+     * Minimum number of cancelled exchanges in the inbox before they are swept.
+     */
+    private static final int SWEEP_THRESHOLD = 64;
+
     /**
-     * Internal in-memory message channel.
+     * Pending exchanges in arrival order, may contain cancelled or failed exchanges (tombstones).
      */
-    private final LinkedBlockingQueue<Message> channel = new LinkedBlockingQueue<>();
+    private final ConcurrentLinkedQueue<Exchange> inbox = new ConcurrentLinkedQueue<>();
 
     /**
-     * Futures for messages added but not yet consumed by {@link #receive}.
-     * Keyed by message identity so two messages with equal content never collide.
+     * Signals receivers that an exchange has been added to the {@link #inbox}. Holds at least as many permits as
+     * there are exchanges in the inbox.
      */
-    private final Map<Message, CompletableFuture<Message>> pendingFutures =
-        synchronizedMap(new IdentityHashMap<>());
+    private final Semaphore inboxSignal = new Semaphore(0);
 
     /**
-     * Futures for messages already consumed by {@link #receive}.
-     * Keyed by the {@link TestContext} that received the message, binding each send/fail to the correct caller.
+     * All unresolved exchanges by their response future, allowing constant time cancellation.
      */
-    private final Map<TestContext, CompletableFuture<Message>> activeFutures =
-        synchronizedMap(new IdentityHashMap<>());
+    private final Map<CompletableFuture<Message>, Exchange> exchanges = new ConcurrentHashMap<>();
 
     /**
-     * FIFO queue of futures in arrival order, used by {@link #fail} which has no TestContext.
-     * Populated in {@link #add}; may already be completed by {@link #send} when consumed.
+     * Exchanges already consumed by {@link #receive}. Keyed by the {@link TestContext} that received the message,
+     * binding each send/fail to the correct caller.
      */
-    private final Queue<CompletableFuture<Message>> orderedFutures = new LinkedBlockingQueue<>();
+    private final Map<TestContext, Exchange> receivedExchanges = new ConcurrentHashMap<>();
+
+    /**
+     * Execution endpoints of the running scenario executions, keyed by their {@link TestContext}.
+     */
+    private final Map<TestContext, ScenarioEndpoint> executionEndpoints = new ConcurrentHashMap<>();
+
+    /**
+     * The shared scenario endpoint in case this is an execution endpoint.
+     */
+    private final @Nullable ScenarioEndpoint parent;
+
+    private final AtomicLong sequence;
+
+    private final AtomicInteger pendingCount;
+
+    private final AtomicInteger tombstoneCount = new AtomicInteger();
+
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private final LongAdder overflowCount;
 
     /**
      * Default constructor using endpoint configuration.
@@ -72,47 +124,143 @@ public class ScenarioEndpoint extends AbstractEndpoint implements Producer, Cons
      */
     public ScenarioEndpoint(ScenarioEndpointConfiguration endpointConfiguration) {
         super(endpointConfiguration);
+
+        this.parent = null;
+        this.sequence = new AtomicLong();
+        this.pendingCount = new AtomicInteger();
+        this.overflowCount = new LongAdder();
+    }
+
+    /**
+     * Constructor of an execution endpoint, sharing the configuration and the inbox accounting of the given endpoint.
+     */
+    private ScenarioEndpoint(ScenarioEndpoint parent) {
+        super(parent.getEndpointConfiguration());
+        setName(parent.getName());
+
+        this.parent = parent;
+        this.sequence = parent.sequence;
+        this.pendingCount = parent.pendingCount;
+        this.overflowCount = parent.overflowCount;
+    }
+
+    @Override
+    public ScenarioEndpointConfiguration getEndpointConfiguration() {
+        return (ScenarioEndpointConfiguration) super.getEndpointConfiguration();
     }
 
     /**
      * Adds new message for direct message consumption.
      *
      * @param request
+     * @param future  the future completed with the scenario response
+     * @throws ScenarioExecutionRejectedException if the inbox of this endpoint is full
      */
     public void add(Message request, CompletableFuture<Message> future) {
-        pendingFutures.put(request, future);
-        channel.add(request);
-        orderedFutures.add(future);
+        int capacity = getEndpointConfiguration().getInboxCapacity();
+        if (pendingCount.incrementAndGet() > capacity && capacity > 0) {
+            pendingCount.decrementAndGet();
+            overflowCount.increment();
+            throw new ScenarioExecutionRejectedException(format("Inbox of scenario '%s' is full, rejecting request after %d pending requests", getName(), capacity));
+        }
+
+        Exchange exchange = new Exchange(this, sequence.incrementAndGet(), request, future);
+        exchanges.put(future, exchange);
+        inbox.offer(exchange);
+        inboxSignal.release();
     }
 
     /**
-     * Removes an in-flight response future from all internal collections.
+     * Cancels an in-flight exchange, e.g. because its caller stopped waiting for the response. Runs in constant time,
+     * the exchange is only marked as cancelled and skipped by the scenario afterward. A response sent by a scenario
+     * that already received the cancelled request is discarded.
      *
-     * @param future future to remove
+     * @param future future of the exchange to cancel
      */
     public void cancel(CompletableFuture<Message> future) {
         if (isNull(future)) {
             return;
         }
 
-        orderedFutures.remove(future);
+        Exchange exchange = exchanges.remove(future);
+        if (isNull(exchange)) {
+            return;
+        }
+
+        if (exchange.transition(State.PENDING, State.CANCELLED)) {
+            removedFromInbox();
+        } else {
+            // Received exchanges stay registered, so the scenario's late response is discarded instead of being sent
+            // to another caller
+            exchange.transition(State.RECEIVED, State.CANCELLED);
+        }
+    }
 
-        synchronized (pendingFutures) {
-            pendingFutures.entrySet().removeIf(entry -> {
-                if (entry.getValue() == future) {
-                    channel.removeIf(message -> message == entry.getKey());
-                    return true;
-                }
+    /**
+     * Creates an endpoint dedicated to a single scenario execution. It shares the configuration, the name and the
+     * inbox capacity of this endpoint, but none of its requests. Hence, concurrent executions of the same scenario
+     * never receive each other's requests, nor complete each other's responses.
+     *
+     * @return the new execution endpoint
+     */
+    public ScenarioEndpoint createExecutionEndpoint() {
+        return new ScenarioEndpoint(this);
+    }
 
-                return false;
-            });
+    /**
+     * Binds this execution endpoint to the test context of its scenario execution. Does nothing on a shared endpoint.
+     *
+     * @param context the test context of the scenario execution
+     */
+    public void bindExecution(TestContext context) {
+        if (nonNull(parent)) {
+            parent.executionEndpoints.put(context, this);
         }
+    }
 
-        synchronized (activeFutures) {
-            activeFutures.entrySet().removeIf(entry -> entry.getValue() == future);
+    /**
+     * Releases this execution endpoint once its scenario execution has completed. Requests the execution did not
+     * receive are cancelled. Does nothing on a shared endpoint.
+     *
+     * @param context the test context of the scenario execution
+     */
+    public void releaseExecution(TestContext context) {
+        if (nonNull(parent)) {
+            parent.executionEndpoints.remove(context, this);
+
+            for (Exchange exchange : exchanges.values()) {
+                if (exchange.transition(State.PENDING, State.CANCELLED)) {
+                    exchanges.remove(exchange.future, exchange);
+                    removedFromInbox();
+                }
+            }
         }
     }
 
+    /**
+     * Resolves the endpoint of the scenario execution running in the given test context.
+     *
+     * @param context the test context of a scenario execution
+     * @return the execution endpoint bound to the given context, or this endpoint if there is none
+     */
+    public ScenarioEndpoint getExecutionEndpoint(TestContext context) {
+        return executionEndpoints.getOrDefault(context, this);
+    }
+
+    /**
+     * @return the number of requests waiting to be received by the scenario
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * @return the number of requests rejected because the inbox was full
+     */
+    public long getOverflowCount() {
+        return overflowCount.sum();
+    }
+
     @Override
     public Producer createProducer() {
         return this;
@@ -130,45 +278,151 @@ public class ScenarioEndpoint extends AbstractEndpoint implements Producer, Cons
 
     @Override
     public Message receive(TestContext context, long timeout) {
+        ScenarioEndpoint executionEndpoint = executionEndpoints.get(context);
+        if (nonNull(executionEndpoint)) {
+            return executionEndpoint.receive(context, timeout);
+        }
+
+        long deadline = System.nanoTime() + MILLISECONDS.toNanos(timeout);
+
         try {
-            Message message = channel.poll(timeout, MILLISECONDS);
+            while (inboxSignal.tryAcquire(max(0, deadline - System.nanoTime()), NANOSECONDS)) {
+                Exchange exchange = inbox.poll();
+                if (isNull(exchange)) {
+                    // Stale permit of a swept tombstone
+                    continue;
+                }
 
-            if (isNull(message)) {
-                throw new SimulatorException("Failed to receive scenario inbound message");
-            }
+                exchange.receiver = context;
+                if (!exchange.transition(State.PENDING, State.RECEIVED)) {
+                    tombstoneCount.decrementAndGet();
+                    continue;
+                }
 
-            CompletableFuture<Message> future = pendingFutures.remove(message);
-            activeFutures.put(context, future);
+                pendingCount.decrementAndGet();
+                receivedExchanges.put(context, exchange);
 
-            messageReceived(message, context);
+                messageReceived(exchange.request, context);
 
-            return message;
+                return exchange.request;
+            }
         } catch (InterruptedException e) {
             currentThread().interrupt();
             throw new SimulatorException(e);
         }
+
+        throw new SimulatorException("Failed to receive scenario inbound message");
     }
 
     @Override
     public void send(Message message, TestContext context) {
+        ScenarioEndpoint executionEndpoint = executionEndpoints.get(context);
+        if (nonNull(executionEndpoint)) {
+            executionEndpoint.send(message, context);
+            return;
+        }
+
         messageSent(message, context);
 
-        CompletableFuture<Message> future = Optional.ofNullable(activeFutures.remove(context))
-            .orElseGet(() -> Optional.ofNullable(orderedFutures.poll())
-                .orElseThrow(() -> new SimulatorException("Failed to process scenario response message - missing response consumer!")));
+        Exchange exchange = receivedExchanges.remove(context);
+        if (isNull(exchange)) {
+            exchange = claimOldestUnanswered();
+            if (isNull(exchange)) {
+                throw new SimulatorException("Failed to process scenario response message - missing response consumer!");
+            }
+        } else if (exchange.transition(State.RECEIVED, State.COMPLETED)) {
+            exchanges.remove(exchange.future, exchange);
+        } else {
+            logger.debug("Discarding response of scenario '{}', the caller is no longer waiting for it", getName());
+            return;
+        }
 
-        future.complete(message);
+        exchange.future.complete(message);
     }
 
     void fail(Throwable e) {
-        CompletableFuture<Message> future = orderedFutures.poll();
-        if (nonNull(future)) {
-            cancel(future);
-            future.complete(new SimulationFailedUnexpectedlyException(e));
-            return;
+        Exchange exchange = claimOldestUnanswered();
+        if (isNull(exchange)) {
+            throw new SimulatorException("Failed to receive scenario inbound message");
         }
 
-        throw new SimulatorException("Failed to receive scenario inbound message");
+        exchange.future.complete(new SimulationFailedUnexpectedlyException(e));
+    }
+
+    /**
+     * Claims the unanswered exchange that arrived first, regardless of whether it has already been received. Used by
+     * callers without a receiving {@link TestContext}, also considers the exchanges of all bound execution endpoints.
+     */
+    private Exchange claimOldestUnanswered() {
+        while (true) {
+            Exchange oldest = findOldestUnanswered();
+            for (ScenarioEndpoint executionEndpoint : executionEndpoints.values()) {
+                Exchange candidate = executionEndpoint.findOldestUnanswered();
+                if (nonNull(candidate) && (isNull(oldest) || candidate.sequence < oldest.sequence)) {
+                    oldest = candidate;
+                }
+            }
+
+            if (isNull(oldest)) {
+                return null;
+            } else if (oldest.endpoint.claim(oldest)) {
+                return oldest;
+            }
+        }
+    }
+
+    /**
+     * Only inspects the exchanges currently being processed and the head of the inbox.
+     */
+    private @Nullable Exchange findOldestUnanswered() {
+        Exchange oldest = null;
+        for (Exchange exchange : receivedExchanges.values()) {
+            if (exchange.state.get() == State.RECEIVED && (isNull(oldest) || exchange.sequence < oldest.sequence)) {
+                oldest = exchange;
+            }
+        }
+
+        for (Exchange exchange : inbox) {
+            if (exchange.state.get() == State.PENDING) {
+                if (isNull(oldest) || exchange.sequence < oldest.sequence) {
+                    oldest = exchange;
+                }
+                break;
+            }
+        }
+
+        return oldest;
+    }
+
+    private boolean claim(Exchange exchange) {
+        if (exchange.transition(State.RECEIVED, State.COMPLETED)) {
+            receivedExchanges.remove(exchange.receiver, exchange);
+        } else if (exchange.transition(State.PENDING, State.COMPLETED)) {
+            removedFromInbox();
+        } else {
+            return false;
+        }
+
+        exchanges.remove(exchange.future, exchange);
+        return true;
+    }
+
+    /**
+     * Accounts for an exchange that has been resolved while still queued in the inbox. Tombstones are swept once they
+     * outnumber the pending exchanges, which keeps the sweep amortized constant per cancellation.
+     */
+    private void removedFromInbox() {
+        pendingCount.decrementAndGet();
+
+        if (tombstoneCount.incrementAndGet() > max(SWEEP_THRESHOLD, pendingCount.get())
+            && sweeping.compareAndSet(false, true)) {
+            try {
+                tombstoneCount.set(0);
+                inbox.removeIf(exchange -> exchange.state.get() != State.PENDING);
+            } finally {
+                sweeping.set(false);
+            }
+        }
     }
 
     private void messageSent(Message message, TestContext context) {
@@ -182,4 +436,37 @@ public class ScenarioEndpoint extends AbstractEndpoint implements Producer, Cons
     private EndpointMessageHandler getEndpointMessageHandler(TestContext context) {
         return context.getReferenceResolver().resolve(EndpointMessageHandler.class);
     }
+
+    private enum State {
+        PENDING, RECEIVED, COMPLETED, CANCELLED
+    }
+
+    /**
+     * A single request travelling through the endpoint, along with the future awaiting its response.
+     */
+    private static final class Exchange {
+
+        private final ScenarioEndpoint endpoint;
+
+        private final long sequence;
+
+        private final Message request;
+
+        private final CompletableFuture<Message> future;
+
+        private final AtomicReference<State> state = new AtomicReference<>(State.PENDING);
+
+        private volatile TestContext receiver;
+
+        private Exchange(ScenarioEndpoint endpoint, long sequence, Message request, CompletableFuture<Message> future) {
+            this.endpoint = endpoint;
+            this.sequence = sequence;
+            this.request = request;
+            this.future = future;
+        }
+
+        private boolean transition(State expected, State next) {
+            return state.compareAndSet(expected, next);
+        }
+    }
 }
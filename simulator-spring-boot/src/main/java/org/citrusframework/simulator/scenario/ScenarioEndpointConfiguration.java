@@ -22,4 +22,23 @@ import org.citrusframework.endpoint.AbstractEndpointConfiguration;
  * @author Christoph Deppisch
  */
 public class ScenarioEndpointConfiguration extends AbstractEndpointConfiguration {
+
+    /**
+     * Default maximum number of requests waiting to be received by the scenario.
+     */
+    public static final int DEFAULT_INBOX_CAPACITY = 10000;
+
+    /**
+     * Maximum number of requests waiting to be received by the scenario, further requests are rejected. Values of 0 or
+     * less disable the limit.
+     */
+    private int inboxCapacity = DEFAULT_INBOX_CAPACITY;
+
+    public int getInboxCapacity() {
+        return inboxCapacity;
+    }
+
+    public void setInboxCapacity(int inboxCapacity) {
+        this.inboxCapacity = inboxCapacity;
+    }
 }
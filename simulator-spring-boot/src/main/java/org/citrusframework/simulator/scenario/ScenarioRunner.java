@@ -50,6 +50,8 @@ public class ScenarioRunner implements GherkinTestActionRunner {
 
     private final TestCaseRunner delegate;
 
+    private final TestContext context;
+
     @Getter
     private final ScenarioEndpoint scenarioEndpoint;
 
@@ -59,6 +61,7 @@ public class ScenarioRunner implements GherkinTestActionRunner {
     public ScenarioRunner(ScenarioEndpoint scenarioEndpoint, ApplicationContext applicationContext, TestContext context) {
         this.scenarioEndpoint = scenarioEndpoint;
         this.applicationContext = applicationContext;
+        this.context = context;
 
         this.delegate = new DefaultTestCaseRunner(context);
     }
@@ -112,11 +115,16 @@ public class ScenarioRunner implements GherkinTestActionRunner {
     }
 
     public void start() {
+        scenarioEndpoint.bindExecution(context);
         delegate.start();
     }
 
     public void stop() {
-        delegate.stop();
+        try {
+            delegate.stop();
+        } finally {
+            scenarioEndpoint.releaseExecution(context);
+        }
     }
 
     public void name(String name) {
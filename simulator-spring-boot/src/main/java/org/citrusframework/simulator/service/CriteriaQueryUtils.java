@@ -16,25 +16,47 @@
 
 package org.citrusframework.simulator.service;
 
+import jakarta.annotation.Nullable;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Nulls;
 import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import jakarta.persistence.metamodel.SingularAttribute;
+import org.citrusframework.simulator.service.pagination.InvalidPageRequestException;
+import org.citrusframework.simulator.service.pagination.KeysetPage;
+import org.citrusframework.simulator.service.pagination.KeysetPageRequest;
+import org.citrusframework.simulator.service.pagination.PageCursor;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.LongSupplier;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static org.springframework.data.domain.Pageable.unpaged;
 
 final class CriteriaQueryUtils {
 
+    /**
+     * Maximum number of matching entities an estimated total count is based on.
+     */
+    static final int ESTIMATED_COUNT_LIMIT = 10_000;
+
     private CriteriaQueryUtils() {
         // Static utility class
     }
@@ -79,23 +101,216 @@ final class CriteriaQueryUtils {
         return query.getResultList();
     }
 
+    /**
+     * Same as {@link #selectAllIds(Class, SingularAttribute, Specification, Pageable, EntityManager)}, but supports
+     * keyset pagination if the given {@link Pageable} is a {@link KeysetPageRequest}:
+     * <ul>
+     *     <li>The entities are ordered by the (single) sort property and the id, which breaks ties. Entities without a
+     *     value in the sort property come last, regardless of the sort direction</li>
+     *     <li>If the request contains a cursor, the page is selected by a range condition on these two properties,
+     *     the database therefore does not have to skip the rows of all previous pages</li>
+     *     <li>One more row than the page size is being fetched, which tells whether there is a next page without
+     *     having to count all matching rows</li>
+     * </ul>
+     *
+     * @throws InvalidPageRequestException if a keyset page is sorted by more than one property, or if the cursor does
+     *                                     not match the sort property
+     */
+    static <E> IdPage selectIdPage(Class<E> entityClass, SingularAttribute<E, Long> idAttribute, Specification<E> specification, Pageable page, EntityManager entityManager) {
+        if (!(page instanceof KeysetPageRequest keysetPageRequest)) {
+            return new IdPage(selectAllIds(entityClass, idAttribute, specification, page, entityManager), false, null, null);
+        }
+
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = criteriaBuilder.createTupleQuery();
+        Root<E> root = criteriaQuery.from(entityClass);
+
+        Path<Long> idPath = root.get(idAttribute);
+        Sort.Order sortOrder = keysetSortOrder(page.getSort(), idAttribute);
+        Path<?> sortPath = isNull(sortOrder) ? null : getSortPath(root, sortOrder);
+        boolean ascending = isNull(sortOrder) ? page.getSort().stream().allMatch(Sort.Order::isAscending) : sortOrder.isAscending();
+
+        criteriaQuery = isNull(sortPath) ? criteriaQuery.multiselect(idPath) : criteriaQuery.multiselect(idPath, sortPath);
+
+        var predicates = new ArrayList<Predicate>();
+        var predicate = specification.toPredicate(root, criteriaQuery, criteriaBuilder);
+        if (nonNull(predicate)) {
+            predicates.add(predicate);
+        }
+        if (keysetPageRequest.hasCursor()) {
+            predicates.add(after(keysetPageRequest.getAfter(), idPath, sortPath, ascending, criteriaBuilder));
+        }
+        criteriaQuery = criteriaQuery.where(predicates.toArray(Predicate[]::new));
+
+        var orders = new ArrayList<Order>();
+        if (nonNull(sortPath)) {
+            orders.add(ascending ? criteriaBuilder.asc(sortPath, Nulls.LAST) : criteriaBuilder.desc(sortPath, Nulls.LAST));
+        }
+        orders.add(ascending ? criteriaBuilder.asc(idPath) : criteriaBuilder.desc(idPath));
+        criteriaQuery = criteriaQuery.orderBy(orders);
+
+        var pageSize = page.getPageSize();
+        List<Tuple> tuples = entityManager.createQuery(criteriaQuery)
+            .setFirstResult(keysetPageRequest.hasCursor() ? 0 : (int) page.getOffset())
+            .setMaxResults(pageSize + 1)
+            .getResultList();
+
+        boolean hasNext = tuples.size() > pageSize;
+        if (hasNext) {
+            tuples = tuples.subList(0, pageSize);
+        }
+
+        return new IdPage(
+            tuples.stream().map(tuple -> tuple.get(0, Long.class)).toList(),
+            hasNext,
+            hasNext ? cursorOf(tuples.get(pageSize - 1), sortPath) : null,
+            switch (keysetPageRequest.getTotalCount()) {
+                case EXACT, NONE -> null;
+                case ESTIMATED -> estimateCount(entityClass, idAttribute, specification, entityManager);
+            }
+        );
+    }
+
+    /**
+     * The {@link Sort} to load the entities of an {@link IdPage} with. Keyset pages are sorted with null values last
+     * and additionally by id, in the same order as the ids have been selected.
+     */
+    static <E> Sort sortOf(Pageable page, SingularAttribute<E, Long> idAttribute) {
+        var sort = page.getSort();
+        if (!(page instanceof KeysetPageRequest)) {
+            return sort;
+        }
+
+        sort = Sort.by(sort.stream().map(Sort.Order::nullsLast).toList());
+        if (nonNull(sort.getOrderFor(idAttribute.getName()))) {
+            return sort;
+        }
+
+        var ascending = sort.stream().allMatch(Sort.Order::isAscending);
+        return sort.and(ascending ? Sort.by(idAttribute.getName()).ascending() : Sort.by(idAttribute.getName()).descending());
+    }
+
+    /**
+     * Assembles the {@link Page} of entities, that have been loaded for an {@link IdPage}. The exact count is only
+     * being queried if required by the {@link Pageable}.
+     */
+    static <T> Page<T> toPage(List<T> content, IdPage idPage, Pageable page, LongSupplier exactCount) {
+        if (!(page instanceof KeysetPageRequest keysetPageRequest)) {
+            return new PageImpl<>(content, page, exactCount.getAsLong());
+        }
+
+        long total = switch (keysetPageRequest.getTotalCount()) {
+            case EXACT -> exactCount.getAsLong();
+            case ESTIMATED -> idPage.estimatedTotal();
+            // Lower bound, so that the page remains consistent
+            case NONE -> (keysetPageRequest.hasCursor() ? 0 : page.getOffset()) + content.size() + (idPage.hasNext() ? 1 : 0);
+        };
+
+        return new KeysetPage<>(content, keysetPageRequest, total, idPage.hasNext(), idPage.nextCursor());
+    }
+
     /**
      * Find all entities matching the {@link Specification}.
      */
-    static <E> List<E> selectAll(Class<E> entityClass, Specification<E> specification, Pageable page, EntityManager entityManager) {
+    static <E> List<E> selectAll(Class<E> entityClass, Specification<E> specification, Sort sort, EntityManager entityManager) {
         var criteriaBuilder = entityManager.getCriteriaBuilder();
         CriteriaQuery<E> criteriaQuery = criteriaBuilder.createQuery(entityClass);
         Root<E> root = criteriaQuery.from(entityClass);
 
         criteriaQuery = whereSpecificationApplies(specification, root, criteriaQuery, criteriaBuilder);
 
-        criteriaQuery = orderBy(page.getSort(), root, criteriaQuery, criteriaBuilder);
+        criteriaQuery = orderBy(sort, root, criteriaQuery, criteriaBuilder);
 
         TypedQuery<E> query = entityManager.createQuery(criteriaQuery);
 
         return query.getResultList();
     }
 
+    /**
+     * Keyset pagination supports sorting by a single property, the id is always appended as tie-breaker (in the same
+     * direction).
+     *
+     * @return the sort order of the property that is not the id, or {@code null} if sorted by id only
+     */
+    @Nullable
+    private static <E> Sort.Order keysetSortOrder(Sort sort, SingularAttribute<E, Long> idAttribute) {
+        var sortOrders = sort.stream()
+            .filter(order -> !idAttribute.getName().equals(order.getProperty()))
+            .toList();
+
+        if (sortOrders.size() > 1) {
+            throw new InvalidPageRequestException("Keyset pagination supports sorting by a single property only, but got: " + sort);
+        }
+
+        return sortOrders.isEmpty() ? null : sortOrders.get(0);
+    }
+
+    private static <E> Path<?> getSortPath(Root<E> root, Sort.Order sortOrder) {
+        try {
+            return root.get(sortOrder.getProperty());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageRequestException("Cannot sort by unknown property: " + sortOrder.getProperty(), e);
+        }
+    }
+
+    /**
+     * Restricts the query to the entities following the cursor in sort order. Entities without a value in the sort
+     * property follow all others, a cursor without sort value therefore continues among these entities only.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Predicate after(PageCursor cursor, Path<Long> idPath, @Nullable Path sortPath, boolean ascending, CriteriaBuilder criteriaBuilder) {
+        Predicate afterId = ascending ? criteriaBuilder.greaterThan(idPath, cursor.id()) : criteriaBuilder.lessThan(idPath, cursor.id());
+        if (isNull(sortPath)) {
+            return afterId;
+        } else if (isNull(cursor.sortValue())) {
+            return criteriaBuilder.and(criteriaBuilder.isNull(sortPath), afterId);
+        }
+
+        Comparable sortValue = parseSortValue(cursor.sortValue(), sortPath.getJavaType());
+        return criteriaBuilder.or(
+            ascending ? criteriaBuilder.greaterThan(sortPath, sortValue) : criteriaBuilder.lessThan(sortPath, sortValue),
+            criteriaBuilder.and(criteriaBuilder.equal(sortPath, sortValue), afterId),
+            criteriaBuilder.isNull(sortPath)
+        );
+    }
+
+    private static Comparable<?> parseSortValue(String sortValue, Class<?> javaType) {
+        try {
+            Object value = Instant.class.equals(javaType) ? Instant.parse(sortValue) : DefaultConversionService.getSharedInstance().convert(sortValue, javaType);
+            if (value instanceof Comparable<?> comparable) {
+                return comparable;
+            }
+        } catch (ConversionException | DateTimeParseException e) {
+            throw new InvalidPageRequestException("Invalid sort value '" + sortValue + "' in cursor", e);
+        }
+
+        throw new InvalidPageRequestException("Keyset pagination does not support sorting by properties of type " + javaType.getSimpleName());
+    }
+
+    private static PageCursor cursorOf(Tuple tuple, @Nullable Path<?> sortPath) {
+        Long id = tuple.get(0, Long.class);
+        Object sortValue = isNull(sortPath) ? null : tuple.get(1);
+        return new PageCursor(isNull(sortValue) ? null : sortValue.toString(), id);
+    }
+
+    /**
+     * Counts the entities matching the {@link Specification}, but reads at most {@value #ESTIMATED_COUNT_LIMIT} of
+     * their ids. The estimate is therefore exact for smaller results, and a lower bound otherwise.
+     */
+    private static <E> long estimateCount(Class<E> entityClass, SingularAttribute<E, Long> idAttribute, Specification<E> specification, EntityManager entityManager) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteriaQuery = criteriaBuilder.createQuery(Long.class);
+        Root<E> root = criteriaQuery.from(entityClass);
+
+        criteriaQuery = selectIdField(idAttribute, root, criteriaQuery);
+        criteriaQuery = whereSpecificationApplies(specification, root, criteriaQuery, criteriaBuilder);
+
+        return entityManager.createQuery(criteriaQuery)
+            .setMaxResults(ESTIMATED_COUNT_LIMIT)
+            .getResultList()
+            .size();
+    }
+
     /**
      * Restrict the query to the ID of the entity.
      *
@@ -127,7 +342,12 @@ final class CriteriaQueryUtils {
         var orders = new ArrayList<Order>();
         for (var sortOrder : sort) {
             var path = root.get(sortOrder.getProperty());
-            orders.add(sortOrder.isAscending() ? criteriaBuilder.asc(path) : criteriaBuilder.desc(path));
+            var nulls = switch (sortOrder.getNullHandling()) {
+                case NATIVE -> Nulls.NONE;
+                case NULLS_FIRST -> Nulls.FIRST;
+                case NULLS_LAST -> Nulls.LAST;
+            };
+            orders.add(sortOrder.isAscending() ? criteriaBuilder.asc(path, nulls) : criteriaBuilder.desc(path, nulls));
         }
         if (!orders.isEmpty()) {
             return criteriaQuery.orderBy(orders);
@@ -151,4 +371,15 @@ final class CriteriaQueryUtils {
 
         return query;
     }
+
+    /**
+     * Paginated entity ids, including the information for the next keyset page.
+     *
+     * @param ids            the ids of the entities in the page
+     * @param hasNext        whether there are more entities after this page, only known for keyset pages
+     * @param nextCursor     the cursor of the next keyset page, if any
+     * @param estimatedTotal the estimated number of matching entities, if requested
+     */
+    record IdPage(List<Long> ids, boolean hasNext, @Nullable PageCursor nextCursor, @Nullable Long estimatedTotal) {
+    }
 }
@@ -16,12 +16,14 @@
 
 package org.citrusframework.simulator.service;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.JoinType;
 import org.citrusframework.simulator.model.MessageHeader;
 import org.citrusframework.simulator.model.MessageHeader_;
 import org.citrusframework.simulator.model.Message_;
 import org.citrusframework.simulator.repository.MessageHeaderRepository;
 import org.citrusframework.simulator.service.criteria.MessageHeaderCriteria;
+import org.citrusframework.simulator.service.search.MessageFullTextIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -32,6 +34,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+import static org.citrusframework.simulator.model.MessageTrigram.Source.HEADER_VALUE;
+import static org.citrusframework.simulator.service.CriteriaQueryUtils.selectIdPage;
+import static org.citrusframework.simulator.service.CriteriaQueryUtils.sortOf;
+import static org.citrusframework.simulator.service.CriteriaQueryUtils.toPage;
+
 /**
  * Service for executing complex queries for {@link MessageHeader} entities in the database.
  * The main input is a {@link MessageHeaderCriteria} which gets converted to {@link Specification},
@@ -44,10 +51,14 @@ public class MessageHeaderQueryService extends QueryService<MessageHeader> {
 
     private static final Logger logger = LoggerFactory.getLogger(MessageHeaderQueryService.class);
 
+    private final EntityManager entityManager;
     private final MessageHeaderRepository messageHeaderRepository;
+    private final MessageFullTextIndex messageFullTextIndex;
 
-    public MessageHeaderQueryService(MessageHeaderRepository messageHeaderRepository) {
+    public MessageHeaderQueryService(EntityManager entityManager, MessageHeaderRepository messageHeaderRepository, MessageFullTextIndex messageFullTextIndex) {
+        this.entityManager = entityManager;
         this.messageHeaderRepository = messageHeaderRepository;
+        this.messageFullTextIndex = messageFullTextIndex;
     }
 
     /**
@@ -74,7 +85,10 @@ public class MessageHeaderQueryService extends QueryService<MessageHeader> {
     public Page<MessageHeader> findByCriteria(MessageHeaderCriteria criteria, Pageable page) {
         logger.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<MessageHeader> specification = createSpecification(criteria);
-        return messageHeaderRepository.findAll(specification, page);
+        var messageHeaderIds = selectIdPage(MessageHeader.class, MessageHeader_.headerId, specification, page, entityManager);
+
+        var messageHeaders = messageHeaderRepository.findAllWhereHeaderIdIn(messageHeaderIds.ids(), sortOf(page, MessageHeader_.headerId));
+        return toPage(messageHeaders, messageHeaderIds, page, () -> messageHeaderRepository.count(specification));
     }
 
     /**
@@ -110,7 +124,8 @@ public class MessageHeaderQueryService extends QueryService<MessageHeader> {
                 specification = specification.and(buildStringSpecification(criteria.getName(), MessageHeader_.name));
             }
             if (criteria.getValue() != null) {
-                specification = specification.and(buildStringSpecification(criteria.getValue(), MessageHeader_.value));
+                specification = specification.and(buildStringSpecification(criteria.getValue(), MessageHeader_.value))
+                    .and(messageFullTextIndex.candidates(HEADER_VALUE, criteria.getValue(), root -> root.get(MessageHeader_.message).get(Message_.messageId)));
             }
             if (criteria.getCreatedDate() != null) {
                 specification = specification.and(buildRangeSpecification(criteria.getCreatedDate(), MessageHeader_.createdDate));
@@ -24,9 +24,10 @@ import org.citrusframework.simulator.model.MessageHeader_;
 import org.citrusframework.simulator.model.Message_;
 import org.citrusframework.simulator.model.ScenarioExecution_;
 import org.citrusframework.simulator.repository.MessageRepository;
+import org.citrusframework.simulator.service.businesskey.BusinessKeyFilter;
 import org.citrusframework.simulator.service.criteria.MessageCriteria;
+import org.citrusframework.simulator.service.search.MessageFullTextIndex;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -34,7 +35,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
-import static org.citrusframework.simulator.service.CriteriaQueryUtils.selectAllIds;
+import static org.citrusframework.simulator.model.MessageTrigram.Source.PAYLOAD;
+import static org.citrusframework.simulator.service.CriteriaQueryUtils.selectIdPage;
+import static org.citrusframework.simulator.service.CriteriaQueryUtils.sortOf;
+import static org.citrusframework.simulator.service.CriteriaQueryUtils.toPage;
 
 /**
  * Service for executing complex queries for {@link Message} entities in the database.
@@ -49,10 +53,12 @@ public class MessageQueryService extends QueryService<Message> {
 
     private final EntityManager entityManager;
     private final MessageRepository messageRepository;
+    private final MessageFullTextIndex messageFullTextIndex;
 
-    public MessageQueryService(EntityManager entityManager, MessageRepository messageRepository) {
+    public MessageQueryService(EntityManager entityManager, MessageRepository messageRepository, MessageFullTextIndex messageFullTextIndex) {
         this.entityManager = entityManager;
         this.messageRepository = messageRepository;
+        this.messageFullTextIndex = messageFullTextIndex;
     }
 
     /**
@@ -66,7 +72,7 @@ public class MessageQueryService extends QueryService<Message> {
         logger.debug("find by criteria : {}, page: {}", criteria, page);
 
         var specification = createSpecification(criteria);
-        var messageIds = selectAllIds(
+        var messageIds = selectIdPage(
             Message.class,
             Message_.messageId,
             specification,
@@ -74,8 +80,8 @@ public class MessageQueryService extends QueryService<Message> {
             entityManager
         );
 
-        var messages = messageRepository.findAllWhereMessageIdIn(messageIds, page.getSort());
-        return new PageImpl<>(messages, page, messageRepository.count(specification));
+        var messages = messageRepository.findAllWhereMessageIdIn(messageIds.ids(), sortOf(page, Message_.messageId));
+        return toPage(messages, messageIds, page, () -> messageRepository.count(specification));
     }
 
     /**
@@ -109,7 +115,8 @@ public class MessageQueryService extends QueryService<Message> {
                 specification = specification.and(buildRangeSpecification(criteria.getDirection(), Message_.direction));
             }
             if (criteria.getPayload() != null) {
-                specification = specification.and(buildStringSpecification(criteria.getPayload(), Message_.payload));
+                specification = specification.and(buildStringSpecification(criteria.getPayload(), Message_.payload))
+                    .and(messageFullTextIndex.candidates(PAYLOAD, criteria.getPayload(), root -> root.get(Message_.messageId)));
             }
             if (criteria.getCitrusMessageId() != null) {
                 specification = specification.and(buildStringSpecification(criteria.getCitrusMessageId(), Message_.citrusMessageId));
@@ -129,6 +136,11 @@ public class MessageQueryService extends QueryService<Message> {
                         )
                     );
             }
+            if (criteria.getBusinessKeys() != null) {
+                for (BusinessKeyFilter businessKeyFilter : BusinessKeyFilter.parse(criteria.getBusinessKeys())) {
+                    specification = specification.and(businessKeyFilter.toSpecification(root -> root.get(Message_.messageId), BusinessKeyFilter::messageId));
+                }
+            }
             if (criteria.getScenarioExecutionId() != null) {
                 specification =
                     specification.and(
@@ -53,9 +53,9 @@ public interface MessageService {
     Optional<Message> findOne(Long messageId);
 
     /**
-     * Persists the message along with the scenario execution details. With the help of the {@code citrusMessageId}
-     * a check is made to determine whether the message has already been persisted. If it has then there's nothing
-     * to be done and the persisted message is simply returned.
+     * Persists the message along with the scenario execution details. The {@code citrusMessageId} is unique, if a
+     * message with the same id has already been persisted then there's nothing to be done and the persisted message is
+     * simply returned.
      *
      * @param scenarioExecutionId the scenario execution id
      * @param direction           the direction of the message
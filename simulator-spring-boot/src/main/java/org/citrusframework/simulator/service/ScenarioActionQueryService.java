@@ -16,6 +16,7 @@
 
 package org.citrusframework.simulator.service;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.JoinType;
 import org.citrusframework.simulator.model.ScenarioAction;
 import org.citrusframework.simulator.model.ScenarioAction_;
@@ -32,6 +33,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+import static org.citrusframework.simulator.service.CriteriaQueryUtils.selectIdPage;
+import static org.citrusframework.simulator.service.CriteriaQueryUtils.sortOf;
+import static org.citrusframework.simulator.service.CriteriaQueryUtils.toPage;
+
 /**
  * Service for executing complex queries for {@link ScenarioAction} entities in the database.
  * The main input is a {@link ScenarioActionCriteria} which gets converted to {@link Specification},
@@ -44,9 +49,11 @@ public class ScenarioActionQueryService extends QueryService<ScenarioAction> {
 
     private static final Logger logger = LoggerFactory.getLogger(ScenarioActionQueryService.class);
 
+    private final EntityManager entityManager;
     private final ScenarioActionRepository scenarioActionRepository;
 
-    public ScenarioActionQueryService(ScenarioActionRepository scenarioActionRepository) {
+    public ScenarioActionQueryService(EntityManager entityManager, ScenarioActionRepository scenarioActionRepository) {
+        this.entityManager = entityManager;
         this.scenarioActionRepository = scenarioActionRepository;
     }
 
@@ -72,7 +79,10 @@ public class ScenarioActionQueryService extends QueryService<ScenarioAction> {
     public Page<ScenarioAction> findByCriteria(ScenarioActionCriteria criteria, Pageable page) {
         logger.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<ScenarioAction> specification = createSpecification(criteria);
-        return scenarioActionRepository.findAll(specification, page);
+        var scenarioActionIds = selectIdPage(ScenarioAction.class, ScenarioAction_.actionId, specification, page, entityManager);
+
+        var scenarioActions = scenarioActionRepository.findAllWhereActionIdIn(scenarioActionIds.ids(), sortOf(page, ScenarioAction_.actionId));
+        return toPage(scenarioActions, scenarioActionIds, page, () -> scenarioActionRepository.count(specification));
     }
 
     /**
@@ -0,0 +1,90 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service;
+
+import com.google.common.collect.Lists;
+import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.service.ScenarioExecutionQueryService.ResultDetailsConfiguration;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.springframework.transaction.annotation.Propagation.MANDATORY;
+
+/**
+ * Initializes the associations of {@link ScenarioExecution} entities which have already been loaded. Every association
+ * is fetched by a separate query over the ids of all given executions, instead of fetch-joining all of them within a
+ * single query. The number of rows read therefore is the sum of the association sizes, not their product.
+ * <p>
+ * The queries populate the collections of the entities in the current persistence context, hence this service must be
+ * invoked within the transaction that loaded the executions.
+ */
+@Service
+@Transactional(propagation = MANDATORY, readOnly = true)
+public class ScenarioExecutionDetailsLoader {
+
+    /**
+     * Limits the number of parameters per {@code IN} clause, some databases do not support more than 1000.
+     */
+    private static final int MAX_EXECUTION_IDS_PER_QUERY = 500;
+
+    private final ScenarioExecutionRepository scenarioExecutionRepository;
+
+    public ScenarioExecutionDetailsLoader(ScenarioExecutionRepository scenarioExecutionRepository) {
+        this.scenarioExecutionRepository = scenarioExecutionRepository;
+    }
+
+    /**
+     * Fetches the associations of the given scenario executions, as configured.
+     *
+     * @param scenarioExecutions         the managed scenario executions
+     * @param resultDetailsConfiguration the associations to fetch
+     * @return the given scenario executions
+     */
+    public List<ScenarioExecution> loadDetails(List<ScenarioExecution> scenarioExecutions, ResultDetailsConfiguration resultDetailsConfiguration) {
+        if (scenarioExecutions.isEmpty()) {
+            return scenarioExecutions;
+        }
+
+        var executionIds = scenarioExecutions.stream()
+            .map(ScenarioExecution::getExecutionId)
+            .toList();
+
+        for (var executionIdChunk : Lists.partition(executionIds, MAX_EXECUTION_IDS_PER_QUERY)) {
+            if (resultDetailsConfiguration.includeParameters()) {
+                scenarioExecutionRepository.findAllWithScenarioParametersByExecutionIdIn(executionIdChunk);
+            }
+
+            if (resultDetailsConfiguration.includeActions()) {
+                scenarioExecutionRepository.findAllWithScenarioActionsByExecutionIdIn(executionIdChunk);
+            }
+
+            if (resultDetailsConfiguration.includeMessages()
+                || resultDetailsConfiguration.includeMessageHeaders()) {
+                scenarioExecutionRepository.findAllWithScenarioMessagesByExecutionIdIn(executionIdChunk);
+                if (resultDetailsConfiguration.includeMessageHeaders()) {
+                    scenarioExecutionRepository.findAllMessagesWithHeadersByExecutionIdIn(executionIdChunk);
+                }
+            }
+        }
+
+        return scenarioExecutions;
+    }
+}
@@ -32,13 +32,14 @@ import org.citrusframework.simulator.model.ScenarioExecution_;
 import org.citrusframework.simulator.model.ScenarioParameter_;
 import org.citrusframework.simulator.model.TestResult_;
 import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.service.businesskey.BusinessKeyFilter;
 import org.citrusframework.simulator.service.criteria.ScenarioExecutionCriteria;
 import org.citrusframework.simulator.service.filter.Filter;
 import org.citrusframework.simulator.service.filter.LongFilter;
 import org.citrusframework.simulator.service.filter.RangeFilter;
 import org.citrusframework.simulator.service.filter.StringFilter;
+import org.citrusframework.simulator.service.search.MessageFullTextIndex;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -59,8 +60,12 @@ import static java.util.Arrays.stream;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.regex.Pattern.compile;
+import static org.citrusframework.simulator.model.MessageTrigram.Source.HEADER_VALUE;
+import static org.citrusframework.simulator.model.MessageTrigram.Source.PAYLOAD;
 import static org.citrusframework.simulator.service.CriteriaQueryUtils.selectAll;
-import static org.citrusframework.simulator.service.CriteriaQueryUtils.selectAllIds;
+import static org.citrusframework.simulator.service.CriteriaQueryUtils.selectIdPage;
+import static org.citrusframework.simulator.service.CriteriaQueryUtils.sortOf;
+import static org.citrusframework.simulator.service.CriteriaQueryUtils.toPage;
 import static org.citrusframework.simulator.service.ScenarioExecutionQueryService.MessageHeaderFilter.fromFilterPattern;
 import static org.citrusframework.simulator.service.ScenarioExecutionQueryService.Operator.parseOperator;
 import static org.citrusframework.simulator.service.ScenarioExecutionQueryService.ResultDetailsConfiguration.withAllDetails;
@@ -82,6 +87,8 @@ public class ScenarioExecutionQueryService extends QueryService<ScenarioExecutio
 
     private final EntityManager entityManager;
     private final ScenarioExecutionRepository scenarioExecutionRepository;
+    private final ScenarioExecutionDetailsLoader scenarioExecutionDetailsLoader;
+    private final MessageFullTextIndex messageFullTextIndex;
 
     @VisibleForTesting
     static boolean isValidFilterPattern(String filterPattern) {
@@ -96,7 +103,7 @@ public class ScenarioExecutionQueryService extends QueryService<ScenarioExecutio
         };
     }
 
-    private static Specification<ScenarioExecution> withResultDetailsConfiguration(ResultDetailsConfiguration resultDetailsConfiguration) {
+    private static Specification<ScenarioExecution> withTestResult() {
         return (root, query, cb) -> {
             assert query != null;
 
@@ -105,24 +112,9 @@ public class ScenarioExecutionQueryService extends QueryService<ScenarioExecutio
                 return null;
             }
 
+            // To-one associations do not multiply rows, collections are fetched by the ScenarioExecutionDetailsLoader
             root.fetch(ScenarioExecution_.testResult, LEFT);
 
-            if (resultDetailsConfiguration.includeParameters()) {
-                root.fetch(ScenarioExecution_.scenarioParameters, LEFT);
-            }
-
-            if (resultDetailsConfiguration.includeActions()) {
-                root.fetch(ScenarioExecution_.scenarioActions, LEFT);
-            }
-
-            if (resultDetailsConfiguration.includeMessages()
-                || resultDetailsConfiguration.includeMessageHeaders()) {
-                var messageFetch = root.fetch(ScenarioExecution_.scenarioMessages, LEFT);
-                if (resultDetailsConfiguration.includeMessageHeaders()) {
-                    messageFetch.fetch(Message_.headers, LEFT);
-                }
-            }
-
             // Return no additional where clause
             return null;
         };
@@ -165,9 +157,11 @@ public class ScenarioExecutionQueryService extends QueryService<ScenarioExecutio
         };
     }
 
-    public ScenarioExecutionQueryService(EntityManager entityManager, ScenarioExecutionRepository scenarioExecutionRepository) {
+    public ScenarioExecutionQueryService(EntityManager entityManager, ScenarioExecutionRepository scenarioExecutionRepository, ScenarioExecutionDetailsLoader scenarioExecutionDetailsLoader, MessageFullTextIndex messageFullTextIndex) {
         this.entityManager = entityManager;
         this.scenarioExecutionRepository = scenarioExecutionRepository;
+        this.scenarioExecutionDetailsLoader = scenarioExecutionDetailsLoader;
+        this.messageFullTextIndex = messageFullTextIndex;
     }
 
     /**
@@ -208,22 +202,25 @@ public class ScenarioExecutionQueryService extends QueryService<ScenarioExecutio
         logger.debug("find by criteria : {}, page: {}", criteria, page);
 
         var specification = createSpecification(criteria);
-        var scenarioExecutionIds = selectAllIds(ScenarioExecution.class, ScenarioExecution_.executionId, specification, page, entityManager);
-        if (scenarioExecutionIds.isEmpty()) {
+        var scenarioExecutionIds = selectIdPage(ScenarioExecution.class, ScenarioExecution_.executionId, specification, page, entityManager);
+        if (scenarioExecutionIds.ids().isEmpty()) {
             return Page.empty(page);
         }
 
-        var fetchSpec = withIdIn(scenarioExecutionIds)
-            .and(withResultDetailsConfiguration(resultDetailsConfiguration));
-
-        var scenarioExecutions = selectAll(
-            ScenarioExecution.class,
-            fetchSpec,
-            page,
-            entityManager
+        var fetchSpec = withIdIn(scenarioExecutionIds.ids())
+            .and(withTestResult());
+
+        var scenarioExecutions = scenarioExecutionDetailsLoader.loadDetails(
+            selectAll(
+                ScenarioExecution.class,
+                fetchSpec,
+                sortOf(page, ScenarioExecution_.executionId),
+                entityManager
+            ),
+            resultDetailsConfiguration
         );
 
-        return new PageImpl<>(scenarioExecutions, page, scenarioExecutionRepository.count(specification));
+        return toPage(scenarioExecutions, scenarioExecutionIds, page, () -> scenarioExecutionRepository.count(specification));
     }
 
     /**
@@ -309,6 +306,11 @@ public class ScenarioExecutionQueryService extends QueryService<ScenarioExecutio
                     predicate = criteriaBuilder.and(
                         predicate, buildSpecification(criteria.getScenarioMessagesPayload(), messageJoin.get(Message_.payload)).toPredicate(root, query, criteriaBuilder)
                     );
+
+                    var payloadCandidates = messageFullTextIndex.candidates(PAYLOAD, criteria.getScenarioMessagesPayload(), messageJoin.get(Message_.messageId), query, criteriaBuilder);
+                    if (nonNull(payloadCandidates)) {
+                        predicate = criteriaBuilder.and(predicate, payloadCandidates);
+                    }
                 }
 
                 // Message headers filter
@@ -325,6 +327,13 @@ public class ScenarioExecutionQueryService extends QueryService<ScenarioExecutio
             });
         }
 
+        // Business keys are looked up by subquery, without joining the messages
+        if (nonNull(criteria.getBusinessKeys())) {
+            for (var businessKeyFilter : BusinessKeyFilter.parse(criteria.getBusinessKeys())) {
+                specification = specification.and(businessKeyFilter.toSpecification(root -> root.get(ScenarioExecution_.executionId), BusinessKeyFilter::scenarioExecutionId));
+            }
+        }
+
         // Single join for scenarioActions
         if (nonNull(criteria.getScenarioActionsId())) {
             specification = specification.and((root, query, criteriaBuilder) -> {
@@ -379,7 +388,7 @@ public class ScenarioExecutionQueryService extends QueryService<ScenarioExecutio
         for (var filterPattern : filterPatterns) {
             var messageHeaderJoin = messageJoin.join(Message_.headers, LEFT);
             newMessageHeaderFilterFromFilterPattern(filterPattern)
-                .map(filter -> createSpecificationFromMessageHeaderFilter(filter, messageHeaderJoin))
+                .map(filter -> createSpecificationFromMessageHeaderFilter(filter, messageJoin, messageHeaderJoin))
                 .ifPresent(specifications::add);
         }
 
@@ -395,11 +404,11 @@ public class ScenarioExecutionQueryService extends QueryService<ScenarioExecutio
         }
     }
 
-    private Specification<ScenarioExecution> createSpecificationFromMessageHeaderFilter(MessageHeaderFilter messageHeaderFilter, SetJoin<Message, MessageHeader> messageHeaderJoin) {
+    private Specification<ScenarioExecution> createSpecificationFromMessageHeaderFilter(MessageHeaderFilter messageHeaderFilter, SetJoin<ScenarioExecution, Message> messageJoin, SetJoin<Message, MessageHeader> messageHeaderJoin) {
         if (messageHeaderFilter.isValueFilterOnly()) {
-            return buildSpecification(
-                new StringFilter().setContains(messageHeaderFilter.value),
-                r -> messageHeaderJoin.get(MessageHeader_.value));
+            var stringFilter = new StringFilter().setContains(messageHeaderFilter.value);
+            return buildSpecification(stringFilter, r -> messageHeaderJoin.get(MessageHeader_.value))
+                .and(headerValueCandidates(stringFilter, messageJoin));
         }
 
         Specification<ScenarioExecution> messageHeaderKeyEqualsSpecification = buildSpecification(
@@ -407,8 +416,11 @@ public class ScenarioExecutionQueryService extends QueryService<ScenarioExecutio
             r -> messageHeaderJoin.get(MessageHeader_.name));
 
         var messageHeaderValueSpecification = switch (messageHeaderFilter.operator) {
-            case EQUALS, CONTAINS ->
-                buildMessageHeaderValueSpecification((StringFilter) messageHeaderFilter.operator.filter.apply(messageHeaderFilter.value), messageHeaderJoin);
+            case EQUALS, CONTAINS -> {
+                var stringFilter = (StringFilter) messageHeaderFilter.operator.filter.apply(messageHeaderFilter.value);
+                yield buildMessageHeaderValueSpecification(stringFilter, messageHeaderJoin)
+                    .and(headerValueCandidates(stringFilter, messageJoin));
+            }
             case GREATER_THAN, GREATER_THAN_OR_EQUAL_TO, LESS_THAN, LESS_THAN_OR_EQUAL_TO ->
                 buildMessageHeaderValueSpecification((LongFilter) messageHeaderFilter.operator.filter.apply(messageHeaderFilter.value), messageHeaderJoin);
         };
@@ -416,6 +428,10 @@ public class ScenarioExecutionQueryService extends QueryService<ScenarioExecutio
         return messageHeaderKeyEqualsSpecification.and(messageHeaderValueSpecification);
     }
 
+    private Specification<ScenarioExecution> headerValueCandidates(StringFilter stringFilter, SetJoin<ScenarioExecution, Message> messageJoin) {
+        return messageFullTextIndex.candidates(HEADER_VALUE, stringFilter, r -> messageJoin.get(Message_.messageId));
+    }
+
     private Specification<ScenarioExecution> buildMessageHeaderValueSpecification(StringFilter stringFilter, SetJoin<Message, MessageHeader> messageHeaderJoin) {
         return buildSpecification(stringFilter, r -> messageHeaderJoin.get(MessageHeader_.value));
     }
@@ -492,7 +508,7 @@ public class ScenarioExecutionQueryService extends QueryService<ScenarioExecutio
         boolean includeParameters
     ) {
 
-        static ResultDetailsConfiguration withAllDetails() {
+        public static ResultDetailsConfiguration withAllDetails() {
             return new ResultDetailsConfiguration(true, true, true, true);
         }
     }
@@ -16,6 +16,7 @@
 
 package org.citrusframework.simulator.service;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.JoinType;
 import org.citrusframework.simulator.model.ScenarioExecution_;
 import org.citrusframework.simulator.model.ScenarioParameter;
@@ -32,6 +33,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+import static org.citrusframework.simulator.service.CriteriaQueryUtils.selectIdPage;
+import static org.citrusframework.simulator.service.CriteriaQueryUtils.sortOf;
+import static org.citrusframework.simulator.service.CriteriaQueryUtils.toPage;
+
 /**
  * Service for executing complex queries for {@link ScenarioParameter} entities in the database.
  * The main input is a {@link ScenarioParameterCriteria} which gets converted to {@link Specification},
@@ -44,9 +49,11 @@ public class ScenarioParameterQueryService extends QueryService<ScenarioParamete
 
     private static final Logger logger = LoggerFactory.getLogger(ScenarioParameterQueryService.class);
 
+    private final EntityManager entityManager;
     private final ScenarioParameterRepository scenarioParameterRepository;
 
-    public ScenarioParameterQueryService(ScenarioParameterRepository scenarioParameterRepository) {
+    public ScenarioParameterQueryService(EntityManager entityManager, ScenarioParameterRepository scenarioParameterRepository) {
+        this.entityManager = entityManager;
         this.scenarioParameterRepository = scenarioParameterRepository;
     }
 
@@ -72,7 +79,10 @@ public class ScenarioParameterQueryService extends QueryService<ScenarioParamete
     public Page<ScenarioParameter> findByCriteria(ScenarioParameterCriteria criteria, Pageable page) {
         logger.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<ScenarioParameter> specification = createSpecification(criteria);
-        return scenarioParameterRepository.findAll(specification, page);
+        var scenarioParameterIds = selectIdPage(ScenarioParameter.class, ScenarioParameter_.parameterId, specification, page, entityManager);
+
+        var scenarioParameters = scenarioParameterRepository.findAllWhereParameterIdIn(scenarioParameterIds.ids(), sortOf(page, ScenarioParameter_.parameterId));
+        return toPage(scenarioParameters, scenarioParameterIds, page, () -> scenarioParameterRepository.count(specification));
     }
 
     /**
@@ -17,19 +17,29 @@
 package org.citrusframework.simulator.service;
 
 import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.exception.SimulatorException;
 import org.citrusframework.simulator.template.TemplateHelper;
+import org.citrusframework.simulator.template.TemplateStore;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
 /**
- * Service for working with XML, JSON and other file templates.
+ * Service for working with XML, JSON and other file templates. Templates are cached after their first use, see the
+ * {@code citrus.simulator.template-cache} properties for preloading them on startup and reloading changed templates.
  */
 @Service
-public class TemplateService {
+public class TemplateService implements DisposableBean {
+    private final TemplateStore templateStore;
     private final TemplateHelper templateHelper;
 
     public TemplateService(SimulatorConfigurationProperties simulatorConfigurationProperties) {
-        templateHelper = createTemplateHelper(simulatorConfigurationProperties);
+        templateStore = createTemplateStore(simulatorConfigurationProperties);
+        templateHelper = TemplateHelper.instance(templateStore);
     }
 
     public String getMessageTemplate(String templatePath, String templateExtension) {
@@ -44,11 +54,32 @@ public class TemplateService {
         return templateHelper.getJsonMessageTemplate(templatePath);
     }
 
-    private static TemplateHelper createTemplateHelper(SimulatorConfigurationProperties simulatorConfigurationProperties) {
+    private static TemplateStore createTemplateStore(SimulatorConfigurationProperties simulatorConfigurationProperties) {
         String basePath = simulatorConfigurationProperties.getTemplatePath();
         if (StringUtils.hasLength(basePath) && !StringUtils.endsWithIgnoreCase(basePath, "/")) {
             basePath = simulatorConfigurationProperties.getTemplatePath() + "/";
         }
-        return TemplateHelper.instance(basePath);
+
+        SimulatorConfigurationProperties.TemplateCache templateCache = simulatorConfigurationProperties.getTemplateCache();
+        TemplateStore templateStore = new TemplateStore(basePath, StandardCharsets.UTF_8, templateCache.getMaximumSize());
+
+        if (StringUtils.hasText(templateCache.getWatchDirectory())) {
+            try {
+                templateStore.watch(Path.of(templateCache.getWatchDirectory()));
+            } catch (IOException e) {
+                throw new SimulatorException("Failed to watch template directory: " + templateCache.getWatchDirectory(), e);
+            }
+        }
+
+        if (templateCache.isPreload()) {
+            templateStore.preload();
+        }
+
+        return templateStore;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        templateStore.close();
     }
 }
@@ -25,7 +25,6 @@ import org.citrusframework.simulator.model.TestResult_;
 import org.citrusframework.simulator.repository.TestResultRepository;
 import org.citrusframework.simulator.service.criteria.TestResultCriteria;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -33,7 +32,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
-import static org.citrusframework.simulator.service.CriteriaQueryUtils.selectAllIds;
+import static org.citrusframework.simulator.service.CriteriaQueryUtils.selectIdPage;
+import static org.citrusframework.simulator.service.CriteriaQueryUtils.sortOf;
+import static org.citrusframework.simulator.service.CriteriaQueryUtils.toPage;
 
 /**
  * Service for executing complex queries for {@link TestResult} entities in the database.
@@ -65,7 +66,7 @@ public class TestResultQueryService extends QueryService<TestResult> {
         logger.debug("find by criteria : {}, page: {}", criteria, page);
 
         var specification = createSpecification(criteria);
-        var testResultIds = selectAllIds(
+        var testResultIds = selectIdPage(
             TestResult.class,
             TestResult_.id,
             specification,
@@ -73,8 +74,8 @@ public class TestResultQueryService extends QueryService<TestResult> {
             entityManager
         );
 
-        var testResults = testResultRepository.findAllWhereIdIn(testResultIds, page.getSort());
-        return new PageImpl<>(testResults, page, testResultRepository.count(specification));
+        var testResults = testResultRepository.findAllWhereIdIn(testResultIds.ids(), sortOf(page, TestResult_.id));
+        return toPage(testResults, testResultIds, page, () -> testResultRepository.count(specification));
     }
 
     /**
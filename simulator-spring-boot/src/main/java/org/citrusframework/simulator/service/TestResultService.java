@@ -17,10 +17,12 @@
 package org.citrusframework.simulator.service;
 
 import org.citrusframework.simulator.model.TestResult;
+import org.citrusframework.simulator.service.dto.ScenarioTestResultByStatus;
 import org.citrusframework.simulator.service.dto.TestResultByStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -59,6 +61,13 @@ public interface TestResultService {
      */
     TestResultByStatus countByStatus();
 
+    /**
+     * Count the recorded {@link TestResult} of each scenario by their status.
+     *
+     * @return the TestResult count per scenario name.
+     */
+    List<ScenarioTestResultByStatus> countByScenarioName();
+
     /**
      * Delete all testResults
      */
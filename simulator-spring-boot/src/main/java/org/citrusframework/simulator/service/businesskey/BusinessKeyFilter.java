@@ -0,0 +1,119 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.businesskey;
+
+import jakarta.annotation.Nullable;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import org.citrusframework.simulator.model.MessageBusinessKey;
+import org.citrusframework.simulator.model.MessageBusinessKey_;
+import org.citrusframework.simulator.model.Message_;
+import org.citrusframework.simulator.model.ScenarioExecution_;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * Equality filter on a {@link MessageBusinessKey}, parsed from expressions like {@code orderId=4711}. Multiple filters
+ * are separated by semicolons.
+ *
+ * @param name  the name of the business key
+ * @param value the expected value
+ */
+public record BusinessKeyFilter(String name, String value) {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusinessKeyFilter.class);
+
+    private static final String FILTER_SEPARATOR = ";";
+
+    private static final char VALUE_SEPARATOR = '=';
+
+    /**
+     * Parses the given filter expressions. Expressions without name or value are skipped.
+     *
+     * @param businessKeys semicolon separated expressions like {@code orderId=4711}
+     * @return the parsed filters
+     */
+    public static List<BusinessKeyFilter> parse(@Nullable String businessKeys) {
+        List<BusinessKeyFilter> filters = new ArrayList<>();
+        if (isBlank(businessKeys)) {
+            return filters;
+        }
+
+        for (String expression : businessKeys.split(FILTER_SEPARATOR)) {
+            int separatorIndex = expression.indexOf(VALUE_SEPARATOR);
+            String name = separatorIndex > 0 ? expression.substring(0, separatorIndex).trim() : "";
+            String value = separatorIndex > 0 ? expression.substring(separatorIndex + 1).trim() : "";
+
+            if (name.isEmpty() || value.isEmpty()) {
+                logger.warn("Ignoring invalid business key filter: {}", expression);
+                continue;
+            }
+
+            filters.add(new BusinessKeyFilter(name, value));
+        }
+
+        return filters;
+    }
+
+    /**
+     * Navigates from a business key to the id of its message.
+     */
+    public static Expression<Long> messageId(Root<MessageBusinessKey> messageBusinessKey) {
+        return messageBusinessKey.get(MessageBusinessKey_.message).get(Message_.messageId);
+    }
+
+    /**
+     * Navigates from a business key to the id of the scenario execution of its message.
+     */
+    public static Expression<Long> scenarioExecutionId(Root<MessageBusinessKey> messageBusinessKey) {
+        return messageBusinessKey.get(MessageBusinessKey_.message).get(Message_.scenarioExecution).get(ScenarioExecution_.executionId);
+    }
+
+    /**
+     * Creates a specification matching the entities that a business key with this name and value refers to. The keys
+     * are looked up by their indexed name and value in a subquery, hence the queried entities are neither joined nor
+     * multiplied.
+     *
+     * @param id           function navigating from the queried entity to its id
+     * @param referencedId function navigating from a business key to the id of the entity it refers to
+     * @param <X>          the type of the queried entity
+     * @return the specification
+     */
+    public <X> Specification<X> toSpecification(Function<Root<X>, Expression<Long>> id, Function<Root<MessageBusinessKey>, Expression<Long>> referencedId) {
+        return (root, query, builder) -> {
+            assert query != null;
+
+            var subquery = query.subquery(Long.class);
+            var messageBusinessKey = subquery.from(MessageBusinessKey.class);
+            subquery.select(referencedId.apply(messageBusinessKey))
+                .where(
+                    builder.equal(messageBusinessKey.get(MessageBusinessKey_.name), name),
+                    builder.equal(messageBusinessKey.get(MessageBusinessKey_.value), value)
+                );
+
+            return id.apply(root).in(subquery);
+        };
+    }
+}
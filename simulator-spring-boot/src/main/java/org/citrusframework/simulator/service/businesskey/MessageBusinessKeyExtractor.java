@@ -0,0 +1,140 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.businesskey;
+
+import jakarta.annotation.Nullable;
+import org.citrusframework.endpoint.adapter.mapping.HeaderMappingKeyExtractor;
+import org.citrusframework.endpoint.adapter.mapping.JsonPayloadMappingKeyExtractor;
+import org.citrusframework.endpoint.adapter.mapping.MappingKeyExtractor;
+import org.citrusframework.endpoint.adapter.mapping.XPathPayloadMappingKeyExtractor;
+import org.citrusframework.message.DefaultMessage;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.MessageBusinessKey;
+import org.citrusframework.xml.namespace.NamespaceContextBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.nonNull;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+/**
+ * Extracts the configured business keys, e.g. an order id, from a {@link Message} when it is persisted. Each key is
+ * extracted by a JSONPath or XPath expression from the payload, or taken from a message header. The extracted values
+ * are stored as {@link MessageBusinessKey}s, so that scenario executions can be looked up by indexed equality instead
+ * of scanning the payloads.
+ * <p>
+ * Keys that cannot be extracted from a message, e.g. because the payload is of another format, are skipped.
+ */
+@Service
+public class MessageBusinessKeyExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageBusinessKeyExtractor.class);
+
+    private final Map<String, MappingKeyExtractor> extractors;
+
+    public MessageBusinessKeyExtractor(SimulatorConfigurationProperties simulatorConfigurationProperties) {
+        Map<String, MappingKeyExtractor> configuredExtractors = new LinkedHashMap<>();
+        simulatorConfigurationProperties.getBusinessKeys()
+            .forEach((name, businessKey) -> configuredExtractors.put(name, createExtractor(name, businessKey)));
+        extractors = unmodifiableMap(configuredExtractors);
+    }
+
+    private static MappingKeyExtractor createExtractor(String name, SimulatorConfigurationProperties.BusinessKey businessKey) {
+        if (name.length() > MessageBusinessKey.MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException(format("Business key name '%s' exceeds %d characters!", name, MessageBusinessKey.MAX_NAME_LENGTH));
+        }
+
+        long sources = Stream.of(businessKey.getJsonPath(), businessKey.getXpath(), businessKey.getHeader())
+            .filter(source -> !isBlank(source))
+            .count();
+        if (sources != 1) {
+            throw new IllegalArgumentException(format("Business key '%s' must define exactly one of 'json-path', 'xpath' or 'header'!", name));
+        }
+
+        if (!isBlank(businessKey.getJsonPath())) {
+            JsonPayloadMappingKeyExtractor jsonPayloadMappingKeyExtractor = new JsonPayloadMappingKeyExtractor();
+            jsonPayloadMappingKeyExtractor.setJsonPathExpression(businessKey.getJsonPath());
+            return jsonPayloadMappingKeyExtractor;
+        } else if (!isBlank(businessKey.getXpath())) {
+            NamespaceContextBuilder namespaceContextBuilder = new NamespaceContextBuilder();
+            namespaceContextBuilder.getNamespaceMappings().putAll(businessKey.getNamespaces());
+
+            XPathPayloadMappingKeyExtractor xPathPayloadMappingKeyExtractor = new XPathPayloadMappingKeyExtractor();
+            xPathPayloadMappingKeyExtractor.setNamespaceContextBuilder(namespaceContextBuilder);
+            xPathPayloadMappingKeyExtractor.setXpathExpression(businessKey.getXpath());
+            return xPathPayloadMappingKeyExtractor;
+        }
+
+        HeaderMappingKeyExtractor headerMappingKeyExtractor = new HeaderMappingKeyExtractor();
+        headerMappingKeyExtractor.setHeaderName(businessKey.getHeader());
+        return headerMappingKeyExtractor;
+    }
+
+    /**
+     * @return whether any business key has been configured
+     */
+    public boolean isEnabled() {
+        return !extractors.isEmpty();
+    }
+
+    /**
+     * Adds the business keys extracted from the given payload and headers to the message being built.
+     *
+     * @param messageBuilder the builder of the message
+     * @param payload        the message payload
+     * @param headers        the message headers
+     * @return the given message builder
+     */
+    public Message.MessageBuilder businessKeys(Message.MessageBuilder messageBuilder, @Nullable String payload, @Nullable Map<String, Object> headers) {
+        if (extractors.isEmpty()) {
+            return messageBuilder;
+        }
+
+        DefaultMessage message = new DefaultMessage(nonNull(payload) ? payload : "", nonNull(headers) ? headers : emptyMap());
+        extractors.forEach((name, extractor) -> {
+            String value = extract(name, extractor, message);
+            if (isNotEmpty(value) && value.length() <= MessageBusinessKey.MAX_VALUE_LENGTH) {
+                messageBuilder.businessKey(name, value);
+            } else if (isNotEmpty(value)) {
+                logger.debug("Skipping business key '{}' exceeding {} characters", name, MessageBusinessKey.MAX_VALUE_LENGTH);
+            }
+        });
+
+        return messageBuilder;
+    }
+
+    @Nullable
+    private static String extract(String name, MappingKeyExtractor extractor, DefaultMessage message) {
+        try {
+            return extractor.getMappingKey(message);
+        } catch (RuntimeException e) {
+            logger.trace("Business key '{}' not found in message", name, e);
+            return null;
+        }
+    }
+}
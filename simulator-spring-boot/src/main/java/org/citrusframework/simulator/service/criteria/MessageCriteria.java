@@ -64,6 +64,12 @@ public class MessageCriteria implements Serializable, Criteria {
 
     private @Nullable LongFilter scenarioExecutionId;
 
+    /**
+     * Semicolon separated business keys, e.g. {@code orderId=4711}, all of which must have been extracted from the
+     * message.
+     */
+    private @Nullable String businessKeys;
+
     private @Nullable InstantFilter createdDate;
 
     private @Nullable InstantFilter lastModifiedDate;
@@ -80,6 +86,7 @@ public class MessageCriteria implements Serializable, Criteria {
         this.citrusMessageId = other.citrusMessageId == null ? null : other.citrusMessageId.copy();
         this.headersId = other.headersId == null ? null : other.headersId.copy();
         this.scenarioExecutionId = other.scenarioExecutionId == null ? null : other.scenarioExecutionId.copy();
+        this.businessKeys = other.businessKeys;
         this.createdDate = other.createdDate == null ? null : other.createdDate.copy();
         this.lastModifiedDate = other.lastModifiedDate == null ? null : other.lastModifiedDate.copy();
         this.distinct = other.distinct;
@@ -103,6 +110,7 @@ public class MessageCriteria implements Serializable, Criteria {
             .append(citrusMessageId, messageCriteria.citrusMessageId)
             .append(headersId, messageCriteria.headersId)
             .append(scenarioExecutionId, messageCriteria.scenarioExecutionId)
+            .append(businessKeys, messageCriteria.businessKeys)
             .append(createdDate, messageCriteria.createdDate)
             .append(lastModifiedDate, messageCriteria.lastModifiedDate)
             .append(distinct, messageCriteria.distinct)
@@ -118,6 +126,7 @@ public class MessageCriteria implements Serializable, Criteria {
             .append(citrusMessageId)
             .append(headersId)
             .append(scenarioExecutionId)
+            .append(businessKeys)
             .append(createdDate)
             .append(lastModifiedDate)
             .append(distinct)
@@ -74,6 +74,12 @@ public class ScenarioExecutionCriteria implements Serializable, Criteria {
 
     private @Nullable StringFilter scenarioMessagesPayload;
 
+    /**
+     * Semicolon separated business keys, e.g. {@code orderId=4711}, all of which must have been extracted from any
+     * message of the scenario execution.
+     */
+    private @Nullable String businessKeys;
+
     private @Nullable Boolean distinct;
 
     public ScenarioExecutionCriteria() {
@@ -91,6 +97,7 @@ public class ScenarioExecutionCriteria implements Serializable, Criteria {
         this.scenarioParametersId = other.scenarioParametersId == null ? null : other.scenarioParametersId.copy();
         this.headers = other.headers;
         this.scenarioMessagesPayload = other.scenarioMessagesPayload;
+        this.businessKeys = other.businessKeys;
         this.distinct = other.distinct;
     }
 
@@ -117,6 +124,7 @@ public class ScenarioExecutionCriteria implements Serializable, Criteria {
             .append(scenarioParametersId, scenarioExecutionCriteria.scenarioParametersId)
             .append(headers, scenarioExecutionCriteria.headers)
             .append(scenarioMessagesPayload, scenarioExecutionCriteria.scenarioMessagesPayload)
+            .append(businessKeys, scenarioExecutionCriteria.businessKeys)
             .append(distinct, scenarioExecutionCriteria.distinct)
             .isEquals();
     }
@@ -135,6 +143,7 @@ public class ScenarioExecutionCriteria implements Serializable, Criteria {
             .append(scenarioParametersId)
             .append(headers)
             .append(scenarioMessagesPayload)
+            .append(businessKeys)
             .append(distinct)
             .toHashCode();
     }
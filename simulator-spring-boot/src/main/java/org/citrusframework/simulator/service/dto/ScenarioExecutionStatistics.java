@@ -0,0 +1,33 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.dto;
+
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Throughput and latency of the scenario executions that completed within a single time bucket. Durations are given
+ * in milliseconds.
+ *
+ * @param scenarioName the scenario name, {@code null} if the statistics cover all scenarios
+ */
+public record ScenarioExecutionStatistics(@Nullable String scenarioName, Instant bucketStart, long executions,
+                                          long failures, double meanDuration, long p50Duration, long p90Duration,
+                                          long p99Duration, long maxDuration) {
+}
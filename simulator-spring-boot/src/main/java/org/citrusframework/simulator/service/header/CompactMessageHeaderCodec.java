@@ -0,0 +1,104 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.header;
+
+import org.citrusframework.exceptions.CitrusRuntimeException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Binary encoding of the compact message headers: A version byte, the number of headers and per header the interned
+ * name id as well as the UTF-8 encoded value. All numbers are unsigned variable-length integers, hence most headers
+ * take only two bytes in addition to their value.
+ */
+final class CompactMessageHeaderCodec {
+
+    private static final byte VERSION = 1;
+
+    private CompactMessageHeaderCodec() {
+        // Static utility class
+    }
+
+    static byte[] encode(Map<Long, String> headers) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(VERSION);
+        writeVarLong(out, headers.size());
+
+        for (Map.Entry<Long, String> header : headers.entrySet()) {
+            byte[] value = header.getValue().getBytes(UTF_8);
+            writeVarLong(out, header.getKey());
+            writeVarLong(out, value.length);
+            out.write(value, 0, value.length);
+        }
+
+        return out.toByteArray();
+    }
+
+    static Map<Long, String> decode(byte[] compactHeaders) {
+        ByteBuffer in = ByteBuffer.wrap(compactHeaders);
+
+        try {
+            byte version = in.get();
+            if (version != VERSION) {
+                throw new CitrusRuntimeException(format("Unsupported compact message header version %s!", version));
+            }
+
+            long size = readVarLong(in);
+            Map<Long, String> headers = new LinkedHashMap<>();
+            for (long i = 0; i < size; i++) {
+                long nameId = readVarLong(in);
+                byte[] value = new byte[Math.toIntExact(readVarLong(in))];
+                in.get(value);
+                headers.put(nameId, new String(value, UTF_8));
+            }
+
+            return headers;
+        } catch (BufferUnderflowException | ArithmeticException e) {
+            throw new CitrusRuntimeException("Failed to decode truncated compact message headers", e);
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new CitrusRuntimeException("Malformed variable-length integer in compact message headers");
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.header;
+
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.simulator.model.MessageHeaderName;
+import org.citrusframework.simulator.repository.MessageHeaderNameRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.String.format;
+
+/**
+ * Interns message header names in the {@link MessageHeaderName} table. Names and ids never change once interned, both
+ * directions are therefore cached for the lifetime of the simulator and the database is only queried for unknown
+ * names.
+ * <p>
+ * New names are committed in a transaction of their own, so they are visible to concurrent writers right away and do
+ * not depend on the outcome of the transaction persisting the message.
+ */
+@Service
+public class MessageHeaderNameDictionary {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageHeaderNameDictionary.class);
+
+    private final MessageHeaderNameRepository messageHeaderNameRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+
+    private final Map<Long, String> namesById = new ConcurrentHashMap<>();
+
+    public MessageHeaderNameDictionary(MessageHeaderNameRepository messageHeaderNameRepository, PlatformTransactionManager transactionManager) {
+        this.messageHeaderNameRepository = messageHeaderNameRepository;
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns the id of the given header name, interning the name if it is unknown.
+     *
+     * @param name the header name
+     * @return the id of the header name
+     */
+    public long intern(String name) {
+        Long nameId = idsByName.get(name);
+        if (nameId == null) {
+            nameId = findOrCreate(name);
+            cache(nameId, name);
+        }
+
+        return nameId;
+    }
+
+    /**
+     * Resolves the header name of the given id.
+     *
+     * @param nameId the id of the header name
+     * @return the header name
+     * @throws CitrusRuntimeException if the id is unknown
+     */
+    public String resolve(long nameId) {
+        String name = namesById.get(nameId);
+        if (name == null) {
+            name = messageHeaderNameRepository.findById(nameId)
+                .map(MessageHeaderName::getName)
+                .orElseThrow(() -> new CitrusRuntimeException(format("Unknown message header name id %s!", nameId)));
+            cache(nameId, name);
+        }
+
+        return name;
+    }
+
+    private long findOrCreate(String name) {
+        try {
+            return transactionTemplate.execute(status -> messageHeaderNameRepository.findOneByName(name)
+                .orElseGet(() -> messageHeaderNameRepository.saveAndFlush(new MessageHeaderName(name)))
+                .getNameId());
+        } catch (DataIntegrityViolationException e) {
+            logger.trace("Message header name '{}' has been interned concurrently", name);
+            return messageHeaderNameRepository.findOneByName(name)
+                .map(MessageHeaderName::getNameId)
+                .orElseThrow(() -> new CitrusRuntimeException(format("Failed to intern message header name '%s'!", name), e));
+        }
+    }
+
+    private void cache(long nameId, String name) {
+        idsByName.put(name, nameId);
+        namesById.put(nameId, name);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.header;
+
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.MessageHeader;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.emptyMap;
+import static java.util.stream.Collectors.toUnmodifiableSet;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+
+/**
+ * Decides how the headers of a {@link Message} are stored. By default, every header becomes a {@link MessageHeader}
+ * row. In compact mode, only the configured allow-list of headers is stored as rows, so that scenario executions can
+ * still be filtered by them. All other headers are serialized into a single column of the message, with their names
+ * interned by the {@link MessageHeaderNameDictionary}.
+ */
+@Service
+public class MessageHeaderStorage {
+
+    private final MessageHeaderNameDictionary messageHeaderNameDictionary;
+
+    private final boolean compact;
+
+    private final Set<String> indexedHeaders;
+
+    public MessageHeaderStorage(MessageHeaderNameDictionary messageHeaderNameDictionary, SimulatorConfigurationProperties simulatorConfigurationProperties) {
+        this.messageHeaderNameDictionary = messageHeaderNameDictionary;
+
+        SimulatorConfigurationProperties.MessageHeaders messageHeaders = simulatorConfigurationProperties.getMessageHeaders();
+        compact = messageHeaders.isCompact();
+        indexedHeaders = messageHeaders.getIndexed().stream()
+            .map(name -> name.toLowerCase(Locale.ROOT))
+            .collect(toUnmodifiableSet());
+    }
+
+    /**
+     * Adds the given headers to the message being built. Headers without value are skipped.
+     *
+     * @param messageBuilder the builder of the message
+     * @param headers        the message headers
+     * @return the given message builder
+     */
+    public Message.MessageBuilder headers(Message.MessageBuilder messageBuilder, Map<String, Object> headers) {
+        if (!compact) {
+            return messageBuilder.headers(headers);
+        }
+
+        Map<String, Object> indexed = new LinkedHashMap<>();
+        Map<Long, String> compacted = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> header : headers.entrySet()) {
+            if (header.getValue() == null || isEmpty(header.getValue().toString())) {
+                continue;
+            }
+
+            if (isIndexed(header.getKey())) {
+                indexed.put(header.getKey(), header.getValue());
+            } else {
+                compacted.put(messageHeaderNameDictionary.intern(header.getKey()), header.getValue().toString());
+            }
+        }
+
+        if (!compacted.isEmpty()) {
+            messageBuilder.compactHeaders(CompactMessageHeaderCodec.encode(compacted));
+        }
+
+        return messageBuilder.headers(indexed);
+    }
+
+    /**
+     * Reads the headers of the given message that are not stored as {@link MessageHeader} rows.
+     *
+     * @param message the message
+     * @return the header values by name, in order of their occurrence
+     */
+    public Map<String, String> getCompactHeaders(Message message) {
+        byte[] compactHeaders = message.getCompactHeaders();
+        if (compactHeaders == null) {
+            return emptyMap();
+        }
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        CompactMessageHeaderCodec.decode(compactHeaders)
+            .forEach((nameId, value) -> headers.put(messageHeaderNameDictionary.resolve(nameId), value));
+        return headers;
+    }
+
+    private boolean isIndexed(String name) {
+        return indexedHeaders.contains(name.toLowerCase(Locale.ROOT));
+    }
+}
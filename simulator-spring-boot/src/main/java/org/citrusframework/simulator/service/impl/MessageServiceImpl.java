@@ -19,16 +19,23 @@ package org.citrusframework.simulator.service.impl;
 import org.citrusframework.exceptions.CitrusRuntimeException;
 import org.citrusframework.simulator.model.Message;
 import org.citrusframework.simulator.repository.MessageRepository;
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
 import org.citrusframework.simulator.service.MessageService;
-import org.citrusframework.simulator.service.ScenarioExecutionService;
+import org.citrusframework.simulator.service.businesskey.MessageBusinessKeyExtractor;
+import org.citrusframework.simulator.service.header.MessageHeaderStorage;
+import org.citrusframework.simulator.service.payload.MessagePayloadStore;
+import org.citrusframework.simulator.service.search.MessageFullTextIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -44,11 +51,22 @@ public class MessageServiceImpl implements MessageService {
     private static final Logger logger = LoggerFactory.getLogger(MessageServiceImpl.class);
 
     private final MessageRepository messageRepository;
-    private final ScenarioExecutionService scenarioExecutionService;
+    private final ScenarioExecutionRepository scenarioExecutionRepository;
+    private final MessageHeaderStorage messageHeaderStorage;
+    private final MessagePayloadStore messagePayloadStore;
+    private final MessageFullTextIndex messageFullTextIndex;
+    private final MessageBusinessKeyExtractor messageBusinessKeyExtractor;
 
-    public MessageServiceImpl(MessageRepository messageRepository, ScenarioExecutionService scenarioExecutionService) {
+    private final TransactionTemplate transactionTemplate;
+
+    public MessageServiceImpl(MessageRepository messageRepository, ScenarioExecutionRepository scenarioExecutionRepository, MessageHeaderStorage messageHeaderStorage, MessagePayloadStore messagePayloadStore, MessageFullTextIndex messageFullTextIndex, MessageBusinessKeyExtractor messageBusinessKeyExtractor, PlatformTransactionManager transactionManager) {
         this.messageRepository = messageRepository;
-        this.scenarioExecutionService = scenarioExecutionService;
+        this.scenarioExecutionRepository = scenarioExecutionRepository;
+        this.messageHeaderStorage = messageHeaderStorage;
+        this.messagePayloadStore = messagePayloadStore;
+        this.messageFullTextIndex = messageFullTextIndex;
+        this.messageBusinessKeyExtractor = messageBusinessKeyExtractor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -71,34 +89,43 @@ public class MessageServiceImpl implements MessageService {
         return messageRepository.findOneWithEagerRelationships(messageId);
     }
 
+    /**
+     * Inserts the message right away and relies on the {@code uk_citrus_message_id} constraint to detect messages that
+     * have already been persisted. The scenario execution is referenced by id only, it is neither loaded nor updated.
+     * Thus, a new message costs a single insert (plus a batched insert of its headers) instead of a lookup, the insert,
+     * loading the scenario execution and dirty-checking its message collection.
+     * <p>
+     * The insert runs in a transaction of its own, because a constraint violation marks the surrounding transaction as
+     * rollback-only. Existing messages are only looked up in case of such a violation. New messages are added to the
+     * {@link MessageFullTextIndex} within the same transaction.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Message attachMessageToScenarioExecutionAndSave(Long scenarioExecutionId, Message.Direction direction, String payload, String citrusMessageId, Map<String, Object> headers) {
         logger.debug("Request to save {} Message with citrusMessageId '{}' in correlation with ScenarioExecution : {}", direction, citrusMessageId, scenarioExecutionId);
 
-        List<Message> messages = messageRepository.findAllForScenarioExecution(scenarioExecutionId, citrusMessageId, direction);
-        if (!messages.isEmpty()) {
-            logger.trace("Message is already persisted and attached to execution scenario");
-            return messages.get(0);
-        }
-
-        Message message = messageRepository.save(
+        Message.MessageBuilder messageBuilder = messageHeaderStorage.headers(
             Message.builder()
                 .direction(direction)
-                .payload(payload)
-                .citrusMessageId(citrusMessageId)
-                .headers(headers)
-                .build()
-        );
-
-        scenarioExecutionService.save(
-            scenarioExecutionService.findOneLazy(scenarioExecutionId)
-                .map(scenarioExecution -> {
-                    scenarioExecution.addScenarioMessage(message);
-                    return scenarioExecution;
+                .citrusMessageId(citrusMessageId),
+            headers);
+        messageBusinessKeyExtractor.businessKeys(messageBuilder, payload, headers);
+
+        try {
+            return transactionTemplate.execute(status -> {
+                Message message = messagePayloadStore.payload(messageBuilder, payload).build();
+                message.setScenarioExecution(scenarioExecutionRepository.getReferenceById(scenarioExecutionId));
+                Message savedMessage = messageRepository.saveAndFlush(message);
+                messageFullTextIndex.index(savedMessage, payload, headers);
+                return savedMessage;
+            });
+        } catch (DataIntegrityViolationException e) {
+            return messageRepository.findOneByCitrusMessageId(citrusMessageId)
+                .map(message -> {
+                    logger.trace("Message is already persisted and attached to execution scenario");
+                    return message;
                 })
-                .orElseThrow(() -> new CitrusRuntimeException(format("Error while attaching Message to ScenarioExecution %s: Did not find corresponding ScenarioExecution!", scenarioExecutionId)))
-        );
-
-        return message;
+                .orElseThrow(() -> new CitrusRuntimeException(format("Error while attaching Message to ScenarioExecution %s: Did not find corresponding ScenarioExecution!", scenarioExecutionId), e));
+        }
     }
 }
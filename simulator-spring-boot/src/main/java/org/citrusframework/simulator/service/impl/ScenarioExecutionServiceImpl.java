@@ -23,7 +23,13 @@ import org.citrusframework.simulator.model.ScenarioExecution;
 import org.citrusframework.simulator.model.ScenarioParameter;
 import org.citrusframework.simulator.model.TestResult;
 import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.service.ScenarioExecutionDetailsLoader;
 import org.citrusframework.simulator.service.ScenarioExecutionService;
+import org.citrusframework.simulator.service.journal.ScenarioAuditJournalWriter;
+import org.citrusframework.simulator.service.recording.ScenarioRecordingPolicy;
+import org.citrusframework.simulator.service.recording.ScenarioRecordingPolicy.PendingExecution;
+import org.citrusframework.simulator.service.statistics.ScenarioStatisticsService;
+import org.citrusframework.simulator.service.statistics.TestResultCounters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -36,6 +42,7 @@ import java.util.Optional;
 
 import static java.lang.String.format;
 import static java.util.Objects.nonNull;
+import static org.citrusframework.simulator.service.ScenarioExecutionQueryService.ResultDetailsConfiguration.withAllDetails;
 import static org.springframework.util.CollectionUtils.isEmpty;
 
 /**
@@ -50,9 +57,19 @@ public class ScenarioExecutionServiceImpl implements ScenarioExecutionService {
     private final TimeProvider timeProvider = new TimeProvider();
 
     private final ScenarioExecutionRepository scenarioExecutionRepository;
+    private final ScenarioRecordingPolicy scenarioRecordingPolicy;
+    private final ScenarioAuditJournalWriter scenarioAuditJournalWriter;
+    private final ScenarioExecutionDetailsLoader scenarioExecutionDetailsLoader;
+    private final TestResultCounters testResultCounters;
+    private final ScenarioStatisticsService scenarioStatisticsService;
 
-    public ScenarioExecutionServiceImpl(ScenarioExecutionRepository scenarioExecutionRepository) {
+    public ScenarioExecutionServiceImpl(ScenarioExecutionRepository scenarioExecutionRepository, ScenarioRecordingPolicy scenarioRecordingPolicy, ScenarioAuditJournalWriter scenarioAuditJournalWriter, ScenarioExecutionDetailsLoader scenarioExecutionDetailsLoader, TestResultCounters testResultCounters, ScenarioStatisticsService scenarioStatisticsService) {
         this.scenarioExecutionRepository = scenarioExecutionRepository;
+        this.scenarioRecordingPolicy = scenarioRecordingPolicy;
+        this.scenarioAuditJournalWriter = scenarioAuditJournalWriter;
+        this.scenarioExecutionDetailsLoader = scenarioExecutionDetailsLoader;
+        this.testResultCounters = testResultCounters;
+        this.scenarioStatisticsService = scenarioStatisticsService;
     }
 
     @Override
@@ -65,14 +82,20 @@ public class ScenarioExecutionServiceImpl implements ScenarioExecutionService {
     @Transactional(readOnly = true)
     public Page<ScenarioExecution> findAll(Pageable pageable) {
         logger.debug("Request to get all ScenarioExecutions with eager relationships");
-        return scenarioExecutionRepository.findAll(pageable);
+        var scenarioExecutions = scenarioExecutionRepository.findAll(pageable);
+        scenarioExecutionDetailsLoader.loadDetails(scenarioExecutions.getContent(), withAllDetails());
+        return scenarioExecutions;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<ScenarioExecution> findOne(Long id) {
         logger.debug("Request to get ScenarioExecution with eager relationships : {}", id);
-        return scenarioExecutionRepository.findOneByExecutionId(id);
+        return scenarioExecutionRepository.findOneByExecutionId(id)
+            .map(scenarioExecution -> {
+                scenarioExecutionDetailsLoader.loadDetails(List.of(scenarioExecution), withAllDetails());
+                return scenarioExecution;
+            });
     }
 
     @Override
@@ -86,6 +109,11 @@ public class ScenarioExecutionServiceImpl implements ScenarioExecutionService {
     public ScenarioExecution createAndSaveExecutionScenario(String scenarioName, @Nullable List<ScenarioParameter> scenarioParameters) {
         logger.debug("Request to create and save ScenarioExecution : {}", scenarioName);
 
+        if (!scenarioRecordingPolicy.shouldRecord(scenarioName)) {
+            logger.trace("ScenarioExecution is not recorded, creating transient execution");
+            return scenarioRecordingPolicy.createUnrecordedExecution(scenarioName, timeProvider.getTimeNow(), scenarioParameters);
+        }
+
         var scenarioExecution = new ScenarioExecution();
         scenarioExecution.setScenarioName(scenarioName);
         scenarioExecution.setStartDate(timeProvider.getTimeNow());
@@ -101,6 +129,16 @@ public class ScenarioExecutionServiceImpl implements ScenarioExecutionService {
     public ScenarioExecution completeScenarioExecution(long scenarioExecutionId, TestResult testResult) {
         logger.debug("Request to complete ScenarioExecution with TestResult : {}", testResult);
 
+        if (!ScenarioRecordingPolicy.isRecorded(scenarioExecutionId)) {
+            return scenarioRecordingPolicy.complete(scenarioExecutionId, testResult)
+                .map(pendingExecution -> recordPendingExecution(pendingExecution, testResult))
+                .orElseGet(() -> ScenarioExecution.builder()
+                    .executionId(scenarioExecutionId)
+                    .endDate(timeProvider.getTimeNow())
+                    .build()
+                    .withTestResult(testResult));
+        }
+
         var scenarioExecution = scenarioExecutionRepository.findOneByExecutionId(scenarioExecutionId)
             .orElseThrow(() -> new CitrusRuntimeException(format("Error while completing ScenarioExecution for test %s", testResult.getTestName())));
 
@@ -112,6 +150,27 @@ public class ScenarioExecutionServiceImpl implements ScenarioExecutionService {
         scenarioExecution.setEndDate(timeProvider.getTimeNow());
         scenarioExecution.withTestResult(testResult);
 
-        return scenarioExecutionRepository.save(scenarioExecution);
+        var savedScenarioExecution = scenarioExecutionRepository.save(scenarioExecution);
+        testResultCounters.increment(savedScenarioExecution.getScenarioName(), testResult.getStatus());
+        scenarioStatisticsService.record(savedScenarioExecution);
+        return savedScenarioExecution;
+    }
+
+    private ScenarioExecution recordPendingExecution(PendingExecution pendingExecution, TestResult testResult) {
+        var scenarioExecution = new ScenarioExecution();
+        scenarioExecution.setScenarioName(pendingExecution.scenarioName());
+        scenarioExecution.setStartDate(pendingExecution.startDate());
+        scenarioExecution.setEndDate(timeProvider.getTimeNow());
+        scenarioExecution.withTestResult(testResult);
+        pendingExecution.scenarioParameters().forEach(scenarioExecution::addScenarioParameter);
+
+        ScenarioExecution savedScenarioExecution;
+        synchronized (pendingExecution.events()) {
+            savedScenarioExecution = scenarioAuditJournalWriter.writeExecution(scenarioExecution, pendingExecution.events());
+        }
+
+        testResultCounters.increment(savedScenarioExecution.getScenarioName(), testResult.getStatus());
+        scenarioStatisticsService.record(savedScenarioExecution);
+        return savedScenarioExecution;
     }
 }
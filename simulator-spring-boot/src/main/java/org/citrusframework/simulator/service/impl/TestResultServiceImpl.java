@@ -19,7 +19,13 @@ package org.citrusframework.simulator.service.impl;
 import org.citrusframework.simulator.model.TestResult;
 import org.citrusframework.simulator.repository.TestResultRepository;
 import org.citrusframework.simulator.service.TestResultService;
+import org.citrusframework.simulator.service.dto.ScenarioTestResultByStatus;
 import org.citrusframework.simulator.service.dto.TestResultByStatus;
+import org.citrusframework.simulator.service.payload.MessagePayloadStore;
+import org.citrusframework.simulator.service.recording.ScenarioRecordingPolicy;
+import org.citrusframework.simulator.service.search.MessageFullTextIndex;
+import org.citrusframework.simulator.service.statistics.ScenarioStatisticsService;
+import org.citrusframework.simulator.service.statistics.TestResultCounters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -27,6 +33,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -39,9 +46,19 @@ public class TestResultServiceImpl implements TestResultService {
     private static final Logger logger = LoggerFactory.getLogger(TestResultServiceImpl.class);
 
     private final TestResultRepository testResultRepository;
+    private final ScenarioRecordingPolicy scenarioRecordingPolicy;
+    private final MessagePayloadStore messagePayloadStore;
+    private final MessageFullTextIndex messageFullTextIndex;
+    private final TestResultCounters testResultCounters;
+    private final ScenarioStatisticsService scenarioStatisticsService;
 
-    public TestResultServiceImpl(TestResultRepository testResultRepository) {
+    public TestResultServiceImpl(TestResultRepository testResultRepository, ScenarioRecordingPolicy scenarioRecordingPolicy, MessagePayloadStore messagePayloadStore, MessageFullTextIndex messageFullTextIndex, TestResultCounters testResultCounters, ScenarioStatisticsService scenarioStatisticsService) {
         this.testResultRepository = testResultRepository;
+        this.scenarioRecordingPolicy = scenarioRecordingPolicy;
+        this.messagePayloadStore = messagePayloadStore;
+        this.messageFullTextIndex = messageFullTextIndex;
+        this.testResultCounters = testResultCounters;
+        this.scenarioStatisticsService = scenarioStatisticsService;
     }
 
     @Override
@@ -68,12 +85,32 @@ public class TestResultServiceImpl implements TestResultService {
     @Transactional(readOnly = true)
     public TestResultByStatus countByStatus() {
         logger.debug("Request to count TestResults by status");
-        return testResultRepository.countByStatus();
+        TestResultByStatus recordedResults = testResultCounters.getTotal();
+
+        // Include the results of scenario executions that have not been recorded
+        TestResultByStatus unrecordedResults = scenarioRecordingPolicy.getUnrecordedResults();
+        if (unrecordedResults.total() == 0) {
+            return recordedResults;
+        }
+
+        return new TestResultByStatus(recordedResults.successful() + unrecordedResults.successful(), recordedResults.failed() + unrecordedResults.failed());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ScenarioTestResultByStatus> countByScenarioName() {
+        logger.debug("Request to count TestResults of each scenario by status");
+        return testResultCounters.getByScenarioName();
     }
 
     @Override
     public void deleteAll() {
         logger.debug("Request to delete all TestResults");
         testResultRepository.deleteAll();
+        messagePayloadStore.deleteUnreferenced();
+        messageFullTextIndex.deleteUnreferenced();
+        testResultCounters.reset();
+        scenarioStatisticsService.reset();
+        scenarioRecordingPolicy.reset();
     }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.journal;
+
+import jakarta.annotation.Nullable;
+import org.citrusframework.simulator.model.Message.Direction;
+import org.citrusframework.simulator.model.TestResult;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * Audit event of a running scenario execution, buffered by the {@link ScenarioAuditJournal} until it is written to the
+ * database. Events only reference the scenario execution by its id, they are applied to the persistent entities by the
+ * {@link ScenarioAuditJournalWriter}.
+ */
+public sealed interface AuditEvent permits AuditEvent.ActionStarted, AuditEvent.ActionCompleted, AuditEvent.MessageRecorded, AuditEvent.ExecutionCompleted {
+
+    /**
+     * @return the id of the scenario execution this event belongs to
+     */
+    long executionId();
+
+    /**
+     * A test action of the scenario has been started.
+     *
+     * @param actionName the name of the action, the scenario name is used if {@code null} or empty
+     */
+    record ActionStarted(long executionId, @Nullable String actionName, Instant startDate) implements AuditEvent {
+    }
+
+    /**
+     * The last started test action of the scenario has been completed.
+     *
+     * @param actionName the name of the action, the scenario name is used if {@code null} or empty
+     */
+    record ActionCompleted(long executionId, @Nullable String actionName, Instant endDate) implements AuditEvent {
+    }
+
+    /**
+     * A message has been sent or received by the scenario.
+     */
+    record MessageRecorded(long executionId, Direction direction, String payload, String citrusMessageId,
+                           Map<String, Object> headers, Instant createdDate) implements AuditEvent {
+
+        public MessageRecorded {
+            // Copy the headers, the original message may still be modified by the scenario
+            headers = unmodifiableMap(new LinkedHashMap<>(headers));
+        }
+    }
+
+    /**
+     * The scenario execution has been completed with the given result.
+     */
+    record ExecutionCompleted(long executionId, TestResult testResult, Instant endDate) implements AuditEvent {
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.journal;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.Nullable;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties.AuditJournal;
+import org.citrusframework.simulator.service.journal.AuditEvent.ExecutionCompleted;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static org.citrusframework.simulator.config.SimulatorConfigurationProperties.AuditJournal.Durability.FLUSH_ON_COMPLETION;
+import static org.citrusframework.simulator.config.SimulatorConfigurationProperties.AuditJournal.OverflowPolicy.DROP;
+
+/**
+ * Write-behind journal for scenario audit data. Scenario threads only append {@link AuditEvent}s to a bounded in-memory
+ * buffer, a single background thread drains the buffer and writes the events in batches using the
+ * {@link ScenarioAuditJournalWriter}. A batch is written as soon as it reaches the configured flush size or the flush
+ * interval elapsed since its first event. Failed batches are retried per scenario execution.
+ * <p>
+ * The journal is only active if enabled via {@code citrus.simulator.audit-journal.enabled}, otherwise the audit data is
+ * written synchronously by the respective services.
+ */
+@Component
+public class ScenarioAuditJournal implements InitializingBean, DisposableBean, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioAuditJournal.class);
+
+    private static final String METRIC_PREFIX = "citrus.simulator.audit.journal";
+
+    private final ScenarioAuditJournalWriter scenarioAuditJournalWriter;
+
+    private final AuditJournal configuration;
+
+    private final long flushTimeout;
+
+    private final BlockingQueue<Entry> buffer;
+
+    private final LongAdder written = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private volatile boolean running = false;
+
+    private @Nullable Thread writerThread;
+
+    public ScenarioAuditJournal(ScenarioAuditJournalWriter scenarioAuditJournalWriter, SimulatorConfigurationProperties simulatorConfigurationProperties) {
+        this.scenarioAuditJournalWriter = scenarioAuditJournalWriter;
+        this.configuration = simulatorConfigurationProperties.getAuditJournal();
+        this.flushTimeout = simulatorConfigurationProperties.getDefaultTimeout();
+        this.buffer = new LinkedBlockingQueue<>(Math.max(1, configuration.getCapacity()));
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        logger.info("Writing scenario audit data asynchronously: {}", configuration);
+
+        running = true;
+        writerThread = new Thread(this::writeLoop, "audit-journal-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * @return whether audit data should be appended to this journal instead of being written synchronously
+     */
+    public boolean isEnabled() {
+        return configuration.isEnabled();
+    }
+
+    /**
+     * Appends the given event to the journal. Depending on the overflow policy, this method either blocks until there
+     * is space in the buffer or discards the event. Completion events are never discarded and, if configured, block
+     * until they have been written.
+     *
+     * @param event the audit event
+     */
+    public void append(AuditEvent event) {
+        if (!running) {
+            // Shutting down, no writer will pick up the event anymore
+            write(List.of(new Entry(event, null)));
+            return;
+        }
+
+        boolean completion = event instanceof ExecutionCompleted;
+        Entry entry = new Entry(event, completion && configuration.getDurability() == FLUSH_ON_COMPLETION ? new CompletableFuture<>() : null);
+
+        if (!completion && configuration.getOverflowPolicy() == DROP) {
+            if (!buffer.offer(entry)) {
+                dropped.increment();
+                logger.warn("Audit journal buffer is full, dropping event: {}", event);
+            }
+            return;
+        }
+
+        try {
+            buffer.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.increment();
+            logger.warn("Interrupted while appending to audit journal, dropping event: {}", event);
+            return;
+        }
+
+        if (entry.flushed() != null) {
+            awaitFlush(entry.flushed(), event);
+        }
+    }
+
+    private void awaitFlush(CompletableFuture<Void> flushed, AuditEvent event) {
+        try {
+            flushed.get(flushTimeout, MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            logger.warn("Audit event has not been written within {} milliseconds: {}", flushTimeout, event);
+        } catch (ExecutionException e) {
+            logger.error("Failed to write audit event: {}", event, e.getCause());
+        }
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>(configuration.getFlushSize());
+        while (running || !buffer.isEmpty()) {
+            try {
+                Entry first = buffer.poll(configuration.getFlushInterval(), MILLISECONDS);
+                if (first != null) {
+                    collectBatch(first, batch);
+                }
+            } catch (InterruptedException e) {
+                logger.debug("Audit journal writer interrupted, writing remaining events");
+                running = false;
+            } finally {
+                if (!batch.isEmpty()) {
+                    write(batch);
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects events until either the batch is full, the flush interval elapsed or an event waits for being written.
+     */
+    private void collectBatch(Entry first, List<Entry> batch) throws InterruptedException {
+        int flushSize = Math.max(1, configuration.getFlushSize());
+        long deadline = System.nanoTime() + MILLISECONDS.toNanos(configuration.getFlushInterval());
+
+        Entry next = first;
+        while (next != null) {
+            batch.add(next);
+            if (batch.size() >= flushSize || next.flushed() != null) {
+                return;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            next = remaining > 0 && running ? buffer.poll(remaining, NANOSECONDS) : buffer.poll();
+        }
+    }
+
+    /**
+     * Writes the given batch in a single transaction. If that fails, the events of each scenario execution are retried
+     * in a transaction of their own, so that a single bad event does not discard the events of unrelated executions.
+     */
+    private void write(List<Entry> batch) {
+        try {
+            writeEntries(batch);
+        } catch (RuntimeException e) {
+            Map<Long, List<Entry>> entriesByExecution = batch.stream()
+                .collect(groupingBy(entry -> entry.event().executionId(), LinkedHashMap::new, toList()));
+            if (entriesByExecution.size() == 1) {
+                failed(batch, e);
+                return;
+            }
+
+            logger.warn("Failed to write batch of {} audit events, retrying per scenario execution: {}", batch.size(), e.getMessage());
+            for (List<Entry> entries : entriesByExecution.values()) {
+                try {
+                    writeEntries(entries);
+                } catch (RuntimeException retryException) {
+                    failed(entries, retryException);
+                }
+            }
+        }
+    }
+
+    private void writeEntries(List<Entry> entries) {
+        scenarioAuditJournalWriter.write(entries.stream().map(Entry::event).toList());
+        written.add(entries.size());
+        entries.stream()
+            .map(Entry::flushed)
+            .filter(Objects::nonNull)
+            .forEach(flushed -> flushed.complete(null));
+    }
+
+    private void failed(List<Entry> entries, RuntimeException e) {
+        failures.increment();
+        logger.error("Failed to write batch of {} audit events", entries.size(), e);
+        entries.stream()
+            .map(Entry::flushed)
+            .filter(Objects::nonNull)
+            .forEach(flushed -> flushed.completeExceptionally(e));
+    }
+
+    /**
+     * Stops the background writer after all buffered events have been written, waiting at most the default timeout.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+
+        if (writerThread != null) {
+            writerThread.join(flushTimeout);
+            if (writerThread.isAlive()) {
+                logger.warn("Audit journal writer did not terminate within {} milliseconds, {} events pending", flushTimeout, buffer.size());
+                return;
+            }
+        }
+
+        List<Entry> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder(METRIC_PREFIX + ".pending", buffer, BlockingQueue::size)
+            .description("Number of audit events waiting to be written")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".written", written, LongAdder::sum)
+            .description("Number of audit events written to the database")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".dropped", dropped, LongAdder::sum)
+            .description("Number of audit events discarded because the buffer was full")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".failures", failures, LongAdder::sum)
+            .description("Number of audit event batches, or scenario executions thereof, that could not be written")
+            .register(meterRegistry);
+    }
+
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    private record Entry(AuditEvent event, @Nullable CompletableFuture<Void> flushed) {
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.journal;
+
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.ScenarioAction;
+import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.service.businesskey.MessageBusinessKeyExtractor;
+import org.citrusframework.simulator.service.header.MessageHeaderStorage;
+import org.citrusframework.simulator.service.journal.AuditEvent.ActionCompleted;
+import org.citrusframework.simulator.service.journal.AuditEvent.ActionStarted;
+import org.citrusframework.simulator.service.journal.AuditEvent.ExecutionCompleted;
+import org.citrusframework.simulator.service.journal.AuditEvent.MessageRecorded;
+import org.citrusframework.simulator.service.payload.MessagePayloadStore;
+import org.citrusframework.simulator.service.search.MessageFullTextIndex;
+import org.citrusframework.simulator.service.statistics.ScenarioStatisticsService;
+import org.citrusframework.simulator.service.statistics.TestResultCounters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toSet;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * Writes batches of {@link AuditEvent}s in a single transaction. All scenario executions referenced by a batch are
+ * loaded together with their actions and messages, so a batch costs a constant number of reads regardless of how many
+ * executions it touches. The events are applied to these entities in order and written on commit.
+ * <p>
+ * If the {@link MessageFullTextIndex} is enabled, the batch is flushed before commit so that the recorded messages can
+ * be indexed within the same transaction.
+ */
+@Service
+@Transactional
+public class ScenarioAuditJournalWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioAuditJournalWriter.class);
+
+    private final ScenarioExecutionRepository scenarioExecutionRepository;
+    private final MessageHeaderStorage messageHeaderStorage;
+    private final MessagePayloadStore messagePayloadStore;
+    private final MessageFullTextIndex messageFullTextIndex;
+    private final MessageBusinessKeyExtractor messageBusinessKeyExtractor;
+    private final TestResultCounters testResultCounters;
+    private final ScenarioStatisticsService scenarioStatisticsService;
+
+    public ScenarioAuditJournalWriter(ScenarioExecutionRepository scenarioExecutionRepository, MessageHeaderStorage messageHeaderStorage, MessagePayloadStore messagePayloadStore, MessageFullTextIndex messageFullTextIndex, MessageBusinessKeyExtractor messageBusinessKeyExtractor, TestResultCounters testResultCounters, ScenarioStatisticsService scenarioStatisticsService) {
+        this.scenarioExecutionRepository = scenarioExecutionRepository;
+        this.messageHeaderStorage = messageHeaderStorage;
+        this.messagePayloadStore = messagePayloadStore;
+        this.messageFullTextIndex = messageFullTextIndex;
+        this.messageBusinessKeyExtractor = messageBusinessKeyExtractor;
+        this.testResultCounters = testResultCounters;
+        this.scenarioStatisticsService = scenarioStatisticsService;
+    }
+
+    /**
+     * Applies the given audit events to their scenario executions. Events of unknown scenario executions are skipped.
+     *
+     * @param events the events to write, in order of occurrence
+     */
+    public void write(List<AuditEvent> events) {
+        logger.debug("Request to write {} audit events", events.size());
+
+        Set<Long> executionIds = events.stream()
+            .map(AuditEvent::executionId)
+            .collect(toSet());
+
+        Map<Long, ScenarioExecution> scenarioExecutions = new HashMap<>();
+        scenarioExecutionRepository.findAllWithScenarioActionsByExecutionIdIn(executionIds)
+            .forEach(scenarioExecution -> scenarioExecutions.put(scenarioExecution.getExecutionId(), scenarioExecution));
+
+        if (!scenarioExecutions.isEmpty()) {
+            // Initializes the messages of the already managed executions, instead of one lazy select per execution
+            scenarioExecutionRepository.findAllWithScenarioMessagesByExecutionIdIn(scenarioExecutions.keySet());
+        }
+
+        // Actions started within this batch are not yet part of the ordered action collection
+        Map<Long, ScenarioAction> lastStartedActions = new HashMap<>();
+        List<RecordedMessage> recordedMessages = new ArrayList<>();
+
+        for (AuditEvent event : events) {
+            ScenarioExecution scenarioExecution = scenarioExecutions.get(event.executionId());
+            if (scenarioExecution == null) {
+                logger.warn("Skipping audit event for unknown ScenarioExecution {}: {}", event.executionId(), event);
+                continue;
+            }
+
+            apply(event, scenarioExecution, lastStartedActions, recordedMessages);
+        }
+
+        scenarioExecutionRepository.saveAll(scenarioExecutions.values());
+        index(recordedMessages);
+    }
+
+    /**
+     * Applies the given audit events to the given scenario execution and saves it, regardless of the execution id the
+     * events refer to. Used to record executions that were not persisted when they started.
+     *
+     * @param scenarioExecution the scenario execution to write, may be transient
+     * @param events            the events to apply, in order of occurrence
+     * @return the persisted scenario execution
+     */
+    public ScenarioExecution writeExecution(ScenarioExecution scenarioExecution, List<AuditEvent> events) {
+        logger.debug("Request to write ScenarioExecution {} with {} audit events", scenarioExecution.getScenarioName(), events.size());
+
+        Map<Long, ScenarioAction> lastStartedActions = new HashMap<>();
+        List<RecordedMessage> recordedMessages = new ArrayList<>();
+        events.forEach(event -> apply(event, scenarioExecution, lastStartedActions, recordedMessages));
+
+        ScenarioExecution savedScenarioExecution = scenarioExecutionRepository.save(scenarioExecution);
+
+        // Saving a detached execution merges it into a new instance, which holds the persisted messages
+        List<RecordedMessage> savedMessages = recordedMessages.stream()
+            .map(recordedMessage -> new RecordedMessage(savedScenarioExecution, recordedMessage.event()))
+            .toList();
+        index(savedMessages);
+
+        return savedScenarioExecution;
+    }
+
+    private void apply(AuditEvent event, ScenarioExecution scenarioExecution, Map<Long, ScenarioAction> lastStartedActions, List<RecordedMessage> recordedMessages) {
+        if (event instanceof ActionStarted actionStarted) {
+            ScenarioAction scenarioAction = new ScenarioAction();
+            scenarioAction.setName(getActionName(actionStarted.actionName(), scenarioExecution));
+            scenarioAction.setStartDate(actionStarted.startDate());
+
+            scenarioExecution.addScenarioAction(scenarioAction);
+            lastStartedActions.put(event.executionId(), scenarioAction);
+        } else if (event instanceof ActionCompleted actionCompleted) {
+            completeAction(actionCompleted, scenarioExecution, lastStartedActions.get(event.executionId()));
+        } else if (event instanceof MessageRecorded messageRecorded) {
+            if (attachMessage(messageRecorded, scenarioExecution)) {
+                recordedMessages.add(new RecordedMessage(scenarioExecution, messageRecorded));
+            }
+        } else if (event instanceof ExecutionCompleted executionCompleted) {
+            completeExecution(executionCompleted, scenarioExecution);
+        }
+    }
+
+    private static String getActionName(String actionName, ScenarioExecution scenarioExecution) {
+        return isNotBlank(actionName) ? actionName : scenarioExecution.getScenarioName();
+    }
+
+    private static void completeAction(ActionCompleted actionCompleted, ScenarioExecution scenarioExecution, ScenarioAction lastStartedAction) {
+        ScenarioAction lastScenarioAction = lastStartedAction;
+        if (lastScenarioAction == null) {
+            for (ScenarioAction scenarioAction : scenarioExecution.getScenarioActions()) {
+                lastScenarioAction = scenarioAction;
+            }
+        }
+
+        String actionName = getActionName(actionCompleted.actionName(), scenarioExecution);
+        if (lastScenarioAction == null || !actionName.equals(lastScenarioAction.getName())) {
+            logger.warn("Expected to find last test action with name '{}' in ScenarioExecution {}", actionName, scenarioExecution.getExecutionId());
+            return;
+        }
+
+        lastScenarioAction.setEndDate(actionCompleted.endDate());
+    }
+
+    private boolean attachMessage(MessageRecorded messageRecorded, ScenarioExecution scenarioExecution) {
+        if (findMessage(messageRecorded, scenarioExecution).isPresent()) {
+            logger.trace("Message is already persisted and attached to execution scenario");
+            return false;
+        }
+
+        Message.MessageBuilder messageBuilder = Message.builder()
+            .direction(messageRecorded.direction())
+            .citrusMessageId(messageRecorded.citrusMessageId())
+            .createdDate(messageRecorded.createdDate());
+        messageHeaderStorage.headers(messageBuilder, messageRecorded.headers());
+        messagePayloadStore.payload(messageBuilder, messageRecorded.payload());
+        messageBusinessKeyExtractor.businessKeys(messageBuilder, messageRecorded.payload(), messageRecorded.headers());
+
+        scenarioExecution.addScenarioMessage(messageBuilder.build());
+        return true;
+    }
+
+    private static Optional<Message> findMessage(MessageRecorded messageRecorded, ScenarioExecution scenarioExecution) {
+        return scenarioExecution.getScenarioMessages().stream()
+            .filter(message -> message.getDirection() == messageRecorded.direction()
+                && messageRecorded.citrusMessageId().equals(message.getCitrusMessageId()))
+            .findFirst();
+    }
+
+    /**
+     * Flushes the batch, so that the recorded messages are assigned their ids, and adds them to the full-text index.
+     */
+    private void index(List<RecordedMessage> recordedMessages) {
+        if (!messageFullTextIndex.isEnabled() || recordedMessages.isEmpty()) {
+            return;
+        }
+
+        scenarioExecutionRepository.flush();
+
+        for (RecordedMessage recordedMessage : recordedMessages) {
+            MessageRecorded event = recordedMessage.event();
+            findMessage(event, recordedMessage.scenarioExecution())
+                .ifPresent(message -> messageFullTextIndex.index(message, event.payload(), event.headers()));
+        }
+    }
+
+    private void completeExecution(ExecutionCompleted executionCompleted, ScenarioExecution scenarioExecution) {
+        if (scenarioExecution.getEndDate() != null) {
+            logger.warn("ScenarioExecution {} already completed!", scenarioExecution.getExecutionId());
+            return;
+        }
+
+        scenarioExecution.setEndDate(executionCompleted.endDate());
+        scenarioExecution.withTestResult(executionCompleted.testResult());
+        testResultCounters.increment(scenarioExecution.getScenarioName(), executionCompleted.testResult().getStatus());
+        scenarioStatisticsService.record(scenarioExecution);
+    }
+
+    private record RecordedMessage(ScenarioExecution scenarioExecution, MessageRecorded event) {
+    }
+}
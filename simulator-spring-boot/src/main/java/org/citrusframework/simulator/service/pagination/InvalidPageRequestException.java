@@ -0,0 +1,37 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.pagination;
+
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Thrown if the pagination parameters of a request cannot be applied, e.g. because of a malformed cursor.
+ */
+@ResponseStatus(BAD_REQUEST)
+public class InvalidPageRequestException extends IllegalArgumentException {
+
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidPageRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
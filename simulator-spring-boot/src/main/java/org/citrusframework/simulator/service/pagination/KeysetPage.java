@@ -0,0 +1,101 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.pagination;
+
+import jakarta.annotation.Nullable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * {@link Page} resulting from a {@link KeysetPageRequest}. Whether a next page exists is known from the query itself,
+ * hence independent of the total number of elements, which might be estimated or not determined at all.
+ *
+ * @param <T> the type of the page content
+ */
+public class KeysetPage<T> extends PageImpl<T> {
+
+    private final KeysetPageRequest keysetPageRequest;
+
+    private final boolean hasNext;
+
+    @Nullable
+    private final PageCursor nextCursor;
+
+    /**
+     * @param content           the page content
+     * @param keysetPageRequest the request this page belongs to
+     * @param total             the total number of elements, as determined by {@link KeysetPageRequest#getTotalCount()}
+     * @param hasNext           whether there are more elements after this page
+     * @param nextCursor        the cursor to request the next page with, {@code null} if there is none or it cannot be
+     *                          created, e.g. because the last entity has no value in the sort property
+     */
+    public KeysetPage(List<T> content, KeysetPageRequest keysetPageRequest, long total, boolean hasNext, @Nullable PageCursor nextCursor) {
+        super(content, keysetPageRequest, total);
+        this.keysetPageRequest = keysetPageRequest;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    public TotalCount getTotalCount() {
+        return keysetPageRequest.getTotalCount();
+    }
+
+    @Nullable
+    public PageCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public boolean isLast() {
+        return !hasNext;
+    }
+
+    @Override
+    public <U> KeysetPage<U> map(Function<? super T, ? extends U> converter) {
+        return new KeysetPage<>(getConvertedContent(converter), keysetPageRequest, getTotalElements(), hasNext, nextCursor);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof KeysetPage<?> that)) {
+            return false;
+        }
+
+        return super.equals(that)
+            && hasNext == that.hasNext
+            && Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.pagination;
+
+import jakarta.annotation.Nullable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Objects;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * {@link PageRequest} that continues after a {@link PageCursor} instead of skipping {@code page * size} rows, and
+ * that defines how the total number of elements is determined.
+ * <p>
+ * Query services supporting keyset pagination respond with a {@link KeysetPage}, carrying the cursor of the next page.
+ * Without a cursor, the page number is still being used to select the first page.
+ */
+public class KeysetPageRequest extends PageRequest {
+
+    @Nullable
+    private final PageCursor after;
+
+    private final TotalCount totalCount;
+
+    protected KeysetPageRequest(int pageNumber, int pageSize, Sort sort, @Nullable PageCursor after, TotalCount totalCount) {
+        super(pageNumber, pageSize, sort);
+        this.after = after;
+        this.totalCount = totalCount;
+    }
+
+    /**
+     * Creates a keyset page request from the given {@link Pageable}.
+     *
+     * @param pageable   the page number, size and sort
+     * @param after      the cursor of the last entity of the previous page, {@code null} for the first page
+     * @param totalCount how to determine the total number of elements
+     * @return the keyset page request, or the unchanged {@link Pageable} if it is unpaged
+     */
+    public static Pageable of(Pageable pageable, @Nullable PageCursor after, TotalCount totalCount) {
+        if (pageable.isUnpaged()) {
+            return pageable;
+        }
+
+        return new KeysetPageRequest(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), after, totalCount);
+    }
+
+    @Nullable
+    public PageCursor getAfter() {
+        return after;
+    }
+
+    public TotalCount getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return {@code true} if the page continues after a cursor, rather than at an offset
+     */
+    public boolean hasCursor() {
+        return nonNull(after);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof KeysetPageRequest that)) {
+            return false;
+        }
+
+        return super.equals(that)
+            && Objects.equals(after, that.after)
+            && totalCount == that.totalCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), after, totalCount);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Keyset page request [number: %d, size %d, sort: %s, after: %s, total count: %s]",
+            getPageNumber(), getPageSize(), getSort(), after, totalCount);
+    }
+}
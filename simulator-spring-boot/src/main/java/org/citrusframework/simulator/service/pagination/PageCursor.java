@@ -0,0 +1,67 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.pagination;
+
+import jakarta.annotation.Nullable;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Position of the last entity of a page in keyset pagination. It consists of the value of the (single) sort property
+ * and the entity id, which breaks ties between equal sort values. The next page starts right after this position,
+ * without the database having to skip any rows.
+ * <p>
+ * The cursor is represented as {@code <sort value>,<id>} in request parameters, or just {@code <id>} if the entities
+ * are sorted by their id only or the entity has no value in the sort property.
+ *
+ * @param sortValue the formatted sort value, {@code null} if sorted by id only or if the entity has no sort value
+ * @param id        the entity id
+ */
+public record PageCursor(@Nullable String sortValue, long id) {
+
+    private static final char SEPARATOR = ',';
+
+    /**
+     * Parses a cursor from its request parameter representation. Sort values may contain the separator themselves,
+     * the id is therefore always taken from the last segment.
+     *
+     * @param cursor the request parameter
+     * @return the parsed cursor
+     * @throws InvalidPageRequestException if the cursor does not end with a numeric id
+     */
+    public static PageCursor parse(String cursor) {
+        int separatorIndex = cursor.lastIndexOf(SEPARATOR);
+        String id = separatorIndex < 0 ? cursor : cursor.substring(separatorIndex + 1);
+
+        try {
+            return new PageCursor(
+                separatorIndex < 0 ? null : cursor.substring(0, separatorIndex),
+                Long.parseLong(id.trim())
+            );
+        } catch (NumberFormatException e) {
+            throw new InvalidPageRequestException("Invalid cursor '" + cursor + "', expected '<sort value>,<id>'", e);
+        }
+    }
+
+    /**
+     * @return the request parameter representation of this cursor
+     */
+    public String toParameter() {
+        return isNull(sortValue) ? Long.toString(id) : sortValue + SEPARATOR + id;
+    }
+}
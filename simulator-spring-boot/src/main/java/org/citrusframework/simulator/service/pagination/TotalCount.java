@@ -0,0 +1,65 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.pagination;
+
+import jakarta.annotation.Nullable;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * Defines how the total number of elements of a paginated query is determined.
+ */
+public enum TotalCount {
+
+    /**
+     * Counts all matching entities, which requires an additional query visiting every matching row.
+     */
+    EXACT,
+
+    /**
+     * Counts the matching entities up to a fixed limit, reading their ids only. The total is exact below that limit
+     * and a lower bound otherwise.
+     */
+    ESTIMATED,
+
+    /**
+     * Does not determine the total at all.
+     */
+    NONE;
+
+    /**
+     * Resolves the total count mode from a request parameter, ignoring the case.
+     *
+     * @param value the request parameter, {@code null} or blank values resolve to {@link #EXACT}
+     * @return the total count mode
+     * @throws InvalidPageRequestException if the value does not match any mode
+     */
+    public static TotalCount fromParameter(@Nullable String value) {
+        if (!hasText(value)) {
+            return EXACT;
+        }
+
+        for (TotalCount totalCount : values()) {
+            if (totalCount.name().equalsIgnoreCase(value.trim())) {
+                return totalCount;
+            }
+        }
+
+        throw new InvalidPageRequestException("Invalid total count '" + value + "', expected one of 'exact', 'estimated' or 'none'");
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.payload;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.Nullable;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.MessagePayload;
+import org.citrusframework.simulator.repository.MessagePayloadRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Decides how the payload of a {@link Message} is persisted. Payloads exceeding the configured maximum size are
+ * truncated. By default, payloads are stored inline with every message. With deduplication enabled, each distinct
+ * payload is stored once as {@link MessagePayload}, and messages only reference its hash.
+ * <p>
+ * Deduplicated payloads are inserted in a transaction of their own, so that concurrent messages with identical payloads
+ * do not fail each other. The hashes of recently stored payloads are cached, repeated payloads therefore cost neither a
+ * lookup nor an insert.
+ * <p>
+ * Unreferenced payloads must not be deleted while a message referencing them is being persisted. Messages therefore
+ * share a lock until their transaction completes, which deletions acquire exclusively, again until their transaction
+ * completes.
+ */
+@Service
+public class MessagePayloadStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessagePayloadStore.class);
+
+    private static final int STORED_HASHES_CAPACITY = 10000;
+
+    static final String TRUNCATION_MARKER = "... [truncated %d characters]";
+
+    private final MessagePayloadRepository messagePayloadRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean deduplicate;
+
+    private final int compressionThreshold;
+
+    private final int maxSize;
+
+    private final long deleteTimeout;
+
+    private final Cache<String, Boolean> storedHashes = CacheBuilder.newBuilder()
+        .maximumSize(STORED_HASHES_CAPACITY)
+        .build();
+
+    private final ReadWriteLock deleteLock = new ReentrantReadWriteLock();
+
+    public MessagePayloadStore(MessagePayloadRepository messagePayloadRepository, PlatformTransactionManager transactionManager, SimulatorConfigurationProperties simulatorConfigurationProperties) {
+        this.messagePayloadRepository = messagePayloadRepository;
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        SimulatorConfigurationProperties.MessagePayloads messagePayloads = simulatorConfigurationProperties.getMessagePayloads();
+        deduplicate = messagePayloads.isDeduplicate();
+        compressionThreshold = messagePayloads.getCompressionThreshold();
+        maxSize = messagePayloads.getMaxSize();
+        deleteTimeout = simulatorConfigurationProperties.getDefaultTimeout();
+    }
+
+    /**
+     * Adds the given payload to the message being built. Deduplicated payloads are referenced by proxy, hence this
+     * method must be invoked within the transaction persisting the message. Unreferenced payloads are not deleted
+     * until that transaction completes.
+     *
+     * @param messageBuilder the builder of the message
+     * @param payload        the message payload
+     * @return the given message builder
+     */
+    public Message.MessageBuilder payload(Message.MessageBuilder messageBuilder, @Nullable String payload) {
+        String truncatedPayload = truncate(payload);
+        if (!deduplicate || truncatedPayload == null) {
+            return messageBuilder.payload(truncatedPayload);
+        }
+
+        Lock referenceLock = deleteLock.readLock();
+        referenceLock.lock();
+        unlockAfterCompletion(referenceLock);
+
+        String hash = store(MessagePayload.of(truncatedPayload, compressionThreshold));
+        return messageBuilder.storedPayload(messagePayloadRepository.getReferenceById(hash));
+    }
+
+    /**
+     * Deletes all deduplicated payloads that are no longer referenced by any message. Messages referencing payloads
+     * are blocked until the current transaction completes. If messages are still being persisted after the default
+     * timeout, nothing is deleted.
+     *
+     * @return the number of deleted payloads
+     */
+    public int deleteUnreferenced() {
+        Lock exclusiveLock = deleteLock.writeLock();
+        try {
+            if (!exclusiveLock.tryLock(deleteTimeout, MILLISECONDS)) {
+                logger.warn("Skipped deleting unreferenced message payloads, messages are still being persisted after {} milliseconds", deleteTimeout);
+                return 0;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+
+        try {
+            storedHashes.invalidateAll();
+            return messagePayloadRepository.deleteUnreferenced();
+        } finally {
+            unlockAfterCompletion(exclusiveLock);
+        }
+    }
+
+    /**
+     * Releases the given lock once the current transaction completes, or immediately if there is no transaction.
+     */
+    private static void unlockAfterCompletion(Lock lock) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.unlock();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    @Nullable
+    String truncate(@Nullable String payload) {
+        if (payload == null || maxSize <= 0 || payload.length() <= maxSize) {
+            return payload;
+        }
+
+        return payload.substring(0, maxSize) + format(TRUNCATION_MARKER, payload.length() - maxSize);
+    }
+
+    private String store(MessagePayload messagePayload) {
+        String hash = messagePayload.getHash();
+        if (storedHashes.getIfPresent(hash) != null) {
+            return hash;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!messagePayloadRepository.existsById(hash)) {
+                    messagePayloadRepository.saveAndFlush(messagePayload);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            logger.trace("Message payload {} has been stored concurrently", hash);
+        }
+
+        storedHashes.put(hash, Boolean.TRUE);
+        return hash;
+    }
+}
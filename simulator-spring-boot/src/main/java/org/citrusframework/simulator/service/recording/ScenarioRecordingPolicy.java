@@ -0,0 +1,222 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.recording;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.Nullable;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties.Recording;
+import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.model.ScenarioParameter;
+import org.citrusframework.simulator.model.TestResult;
+import org.citrusframework.simulator.service.dto.TestResultByStatus;
+import org.citrusframework.simulator.service.journal.AuditEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.citrusframework.simulator.config.SimulatorConfigurationProperties.Recording.Policy.ERRORS_ONLY;
+import static org.citrusframework.simulator.config.SimulatorConfigurationProperties.Recording.Policy.FULL;
+import static org.citrusframework.simulator.model.TestResult.Status.FAILURE;
+import static org.springframework.util.CollectionUtils.isEmpty;
+
+/**
+ * Decides which scenario executions are recorded in the database, according to the configured
+ * {@link Recording.Policy}. Executions that are not recorded get a negative, transient execution id, which allows all
+ * participants to skip their audit data without any lookup.
+ * <p>
+ * The results of unrecorded executions are counted in memory, so that result totals stay correct. With the
+ * {@link Recording.Policy#ERRORS_ONLY} policy, the audit data of running executions is kept in memory until they
+ * complete, failed executions are then recorded as a whole.
+ */
+@Component
+public class ScenarioRecordingPolicy implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioRecordingPolicy.class);
+
+    private static final String METRIC_PREFIX = "citrus.simulator.recording";
+
+    private final Recording configuration;
+
+    private final AtomicLong transientExecutionIds = new AtomicLong();
+
+    private final Map<String, AtomicLong> executionsPerScenario = new ConcurrentHashMap<>();
+
+    private final Map<Long, PendingExecution> pendingExecutions = new ConcurrentHashMap<>();
+
+    private final LongAdder unrecordedSuccessful = new LongAdder();
+
+    private final LongAdder unrecordedFailed = new LongAdder();
+
+    public ScenarioRecordingPolicy(SimulatorConfigurationProperties simulatorConfigurationProperties) {
+        this.configuration = simulatorConfigurationProperties.getRecording();
+    }
+
+    /**
+     * @param executionId the scenario execution id
+     * @return whether the scenario execution is recorded in the database
+     */
+    public static boolean isRecorded(long executionId) {
+        return executionId >= 0;
+    }
+
+    /**
+     * @return whether every scenario execution is recorded, in which case no execution id needs to be checked
+     */
+    public boolean isRecordingAll() {
+        return configuration.getPolicy() == FULL;
+    }
+
+    /**
+     * @param executionId the transient execution id
+     * @return whether audit events of the unrecorded execution are kept until it completes
+     */
+    public boolean isPending(long executionId) {
+        return pendingExecutions.containsKey(executionId);
+    }
+
+    /**
+     * Decides whether a new execution of the given scenario is recorded from its start.
+     *
+     * @param scenarioName the scenario name
+     * @return {@code true} if the execution shall be persisted right away
+     */
+    public boolean shouldRecord(String scenarioName) {
+        return switch (configuration.getPolicy()) {
+            case FULL -> true;
+            case NONE, ERRORS_ONLY -> false;
+            case SAMPLED -> isSampled(scenarioName);
+        };
+    }
+
+    private boolean isSampled(String scenarioName) {
+        if (configuration.getSampleInterval() > 0) {
+            long execution = executionsPerScenario.computeIfAbsent(scenarioName, key -> new AtomicLong()).getAndIncrement();
+            return execution % configuration.getSampleInterval() == 0;
+        }
+
+        return ThreadLocalRandom.current().nextDouble() < configuration.getSampleRate();
+    }
+
+    /**
+     * Creates a transient scenario execution that is not recorded, at least not until it completes.
+     *
+     * @param scenarioName       the scenario name
+     * @param startDate          the start date of the execution
+     * @param scenarioParameters the scenario parameters, may be {@code null}
+     * @return the transient scenario execution with a negative execution id
+     */
+    public ScenarioExecution createUnrecordedExecution(String scenarioName, Instant startDate, @Nullable List<ScenarioParameter> scenarioParameters) {
+        long executionId = -transientExecutionIds.incrementAndGet();
+
+        if (configuration.getPolicy() == ERRORS_ONLY) {
+            pendingExecutions.put(executionId, new PendingExecution(scenarioName, startDate,
+                isEmpty(scenarioParameters) ? List.of() : List.copyOf(scenarioParameters),
+                Collections.synchronizedList(new ArrayList<>())));
+        }
+
+        return ScenarioExecution.builder()
+            .executionId(executionId)
+            .scenarioName(scenarioName)
+            .startDate(startDate)
+            .build();
+    }
+
+    /**
+     * Keeps the given audit event of an unrecorded execution, in case the execution is going to be recorded once it
+     * completes. Otherwise, the event is discarded.
+     *
+     * @param event the audit event of an unrecorded execution
+     */
+    public void append(AuditEvent event) {
+        PendingExecution pendingExecution = pendingExecutions.get(event.executionId());
+        if (pendingExecution != null) {
+            pendingExecution.events().add(event);
+        }
+    }
+
+    /**
+     * Completes an unrecorded scenario execution.
+     *
+     * @param executionId the transient execution id
+     * @param testResult  the result of the execution
+     * @return the pending execution, if it must be recorded now
+     */
+    public Optional<PendingExecution> complete(long executionId, TestResult testResult) {
+        PendingExecution pendingExecution = pendingExecutions.remove(executionId);
+        if (pendingExecution != null && testResult.getStatus() == FAILURE) {
+            logger.debug("Recording failed ScenarioExecution {}", pendingExecution.scenarioName());
+            return Optional.of(pendingExecution);
+        }
+
+        switch (testResult.getStatus()) {
+            case SUCCESS -> unrecordedSuccessful.increment();
+            case FAILURE -> unrecordedFailed.increment();
+            default -> logger.trace("Not counting unrecorded result with status {}", testResult.getStatus());
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * @return the results of the scenario executions that have not been recorded
+     */
+    public TestResultByStatus getUnrecordedResults() {
+        return new TestResultByStatus(unrecordedSuccessful.sum(), unrecordedFailed.sum());
+    }
+
+    /**
+     * Resets the counters of unrecorded results, e.g. when all recorded results are deleted.
+     */
+    public void reset() {
+        unrecordedSuccessful.reset();
+        unrecordedFailed.reset();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".unrecorded", unrecordedSuccessful, LongAdder::sum)
+            .tag("status", "success")
+            .description("Number of scenario executions that have not been recorded")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".unrecorded", unrecordedFailed, LongAdder::sum)
+            .tag("status", "failure")
+            .description("Number of scenario executions that have not been recorded")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Scenario execution that is recorded if it fails.
+     */
+    public record PendingExecution(String scenarioName, Instant startDate, List<ScenarioParameter> scenarioParameters,
+                                   List<AuditEvent> events) {
+    }
+}
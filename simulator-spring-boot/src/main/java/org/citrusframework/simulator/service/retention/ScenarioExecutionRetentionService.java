@@ -0,0 +1,243 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.retention;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.citrusframework.simulator.common.TimeProvider;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties.Retention;
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.service.payload.MessagePayloadStore;
+import org.citrusframework.simulator.service.statistics.TestResultCounters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Enforces the retention policy of recorded scenario executions. Completed executions are purged by age and by
+ * maximum number of executions, the oldest ones first.
+ * <p>
+ * Executions are purged in chunks, each within its own short transaction. Every chunk is deleted with bulk statements,
+ * child tables before their parents, hence no entity is ever loaded. Deduplicated message payloads that are no longer
+ * referenced are deleted after each run.
+ */
+@Service
+public class ScenarioExecutionRetentionService implements InitializingBean, DisposableBean, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioExecutionRetentionService.class);
+
+    private static final String METRIC_PREFIX = "citrus.simulator.retention";
+
+    private final TimeProvider timeProvider = new TimeProvider();
+
+    private final ScenarioExecutionRepository scenarioExecutionRepository;
+
+    private final MessagePayloadStore messagePayloadStore;
+
+    private final TestResultCounters testResultCounters;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Retention configuration;
+
+    private final LongAdder purged = new LongAdder();
+
+    private final LongAdder runs = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private final AtomicLong lastRunDuration = new AtomicLong();
+
+    private final AtomicLong executionCount = new AtomicLong();
+
+    private ScheduledExecutorService purgeExecutor;
+
+    public ScenarioExecutionRetentionService(ScenarioExecutionRepository scenarioExecutionRepository, MessagePayloadStore messagePayloadStore, TestResultCounters testResultCounters, PlatformTransactionManager transactionManager, SimulatorConfigurationProperties simulatorConfigurationProperties) {
+        this.scenarioExecutionRepository = scenarioExecutionRepository;
+        this.messagePayloadStore = messagePayloadStore;
+        this.testResultCounters = testResultCounters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.configuration = simulatorConfigurationProperties.getRetention();
+    }
+
+    /**
+     * @return whether any retention limit has been configured
+     */
+    public boolean isEnabled() {
+        return configuration.getMaxAge() > 0 || configuration.getMaxExecutions() > 0;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (isEnabled() && configuration.getInterval() > 0) {
+            logger.info("Purging scenario executions in the background: {}", configuration);
+
+            purgeExecutor = newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("retention-purge-thread-%d")
+                .build());
+            purgeExecutor.scheduleWithFixedDelay(this::purgeSafely, configuration.getInterval(), configuration.getInterval(), MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (purgeExecutor != null) {
+            purgeExecutor.shutdownNow();
+        }
+    }
+
+    private void purgeSafely() {
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            failures.increment();
+            logger.error("Failed to purge scenario executions", e);
+        }
+    }
+
+    /**
+     * Purges all completed scenario executions that exceed the configured retention limits.
+     *
+     * @return the number of purged scenario executions
+     */
+    public long purge() {
+        long start = System.nanoTime();
+        long purgedExecutions = 0;
+
+        if (configuration.getMaxAge() > 0) {
+            Instant startedBefore = timeProvider.getTimeNow().minusMillis(configuration.getMaxAge());
+            purgedExecutions += purgeInChunks(pageable -> scenarioExecutionRepository.findCompletedExecutionIdsStartedBefore(startedBefore, pageable), Long.MAX_VALUE);
+        }
+
+        if (configuration.getMaxExecutions() > 0) {
+            long excess = scenarioExecutionRepository.count() - configuration.getMaxExecutions();
+            if (excess > 0) {
+                purgedExecutions += purgeInChunks(scenarioExecutionRepository::findCompletedExecutionIds, excess);
+            }
+        }
+
+        if (purgedExecutions > 0) {
+            // Deduplicated payloads may be shared, they are only purged once the last referencing message is gone
+            transactionTemplate.execute(status -> messagePayloadStore.deleteUnreferenced());
+        }
+
+        executionCount.set(scenarioExecutionRepository.count());
+        lastRunDuration.set(NANOSECONDS.toMillis(System.nanoTime() - start));
+        runs.increment();
+
+        if (purgedExecutions > 0) {
+            logger.info("Purged {} scenario executions in {} ms", purgedExecutions, lastRunDuration.get());
+        }
+
+        return purgedExecutions;
+    }
+
+    private long purgeInChunks(Function<Pageable, List<Long>> executionIdFinder, long limit) {
+        long purgedExecutions = 0;
+        while (purgedExecutions < limit) {
+            int chunkSize = (int) Math.min(Math.max(1, configuration.getChunkSize()), limit - purgedExecutions);
+
+            Integer chunk = transactionTemplate.execute(status -> {
+                // Always the first page, purged executions disappear from the result
+                List<Long> executionIds = executionIdFinder.apply(PageRequest.of(0, chunkSize));
+                if (!executionIds.isEmpty()) {
+                    deleteScenarioExecutions(executionIds);
+                }
+                return executionIds.size();
+            });
+
+            if (chunk == null || chunk == 0) {
+                break;
+            }
+
+            purgedExecutions += chunk;
+            purged.add(chunk);
+
+            if (chunk < chunkSize) {
+                break;
+            }
+        }
+
+        return purgedExecutions;
+    }
+
+    private void deleteScenarioExecutions(List<Long> executionIds) {
+        List<Long> testResultIds = scenarioExecutionRepository.findTestResultIdsByExecutionIdIn(executionIds);
+        testResultCounters.decrement(scenarioExecutionRepository.countTestResultsByScenarioNameAndExecutionIdIn(executionIds));
+
+        scenarioExecutionRepository.deleteMessageTrigramsByExecutionIdIn(executionIds);
+        scenarioExecutionRepository.deleteMessageBusinessKeysByExecutionIdIn(executionIds);
+        scenarioExecutionRepository.deleteMessageHeadersByExecutionIdIn(executionIds);
+        scenarioExecutionRepository.deleteMessagesByExecutionIdIn(executionIds);
+        scenarioExecutionRepository.deleteScenarioActionsByExecutionIdIn(executionIds);
+        scenarioExecutionRepository.deleteScenarioParametersByExecutionIdIn(executionIds);
+        scenarioExecutionRepository.deleteAllByExecutionIdIn(executionIds);
+
+        // Test results are referenced by their scenario execution
+        if (!testResultIds.isEmpty()) {
+            scenarioExecutionRepository.deleteTestParametersByTestResultIdIn(testResultIds);
+            scenarioExecutionRepository.deleteTestResultsByIdIn(testResultIds);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".purged", purged, LongAdder::sum)
+            .description("Number of scenario executions purged by the retention policy")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".runs", runs, LongAdder::sum)
+            .description("Number of completed retention policy runs")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".failures", failures, LongAdder::sum)
+            .description("Number of failed retention policy runs")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".last.duration", lastRunDuration, AtomicLong::get)
+            .description("Duration in milliseconds of the last retention policy run")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".executions", executionCount, AtomicLong::get)
+            .description("Number of scenario executions after the last retention policy run")
+            .register(meterRegistry);
+    }
+
+    public long getPurgedCount() {
+        return purged.sum();
+    }
+}
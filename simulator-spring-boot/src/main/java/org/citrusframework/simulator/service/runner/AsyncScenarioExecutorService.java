@@ -17,9 +17,15 @@
 package org.citrusframework.simulator.service.runner;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.citrusframework.Citrus;
 import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.exception.ScenarioExecutionRejectedException;
 import org.citrusframework.simulator.model.ScenarioParameter;
+import org.citrusframework.simulator.model.TestResult;
 import org.citrusframework.simulator.scenario.SimulatorScenario;
 import org.citrusframework.simulator.service.ScenarioExecutionService;
 import org.slf4j.Logger;
@@ -33,9 +39,17 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
 
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
 import static java.util.concurrent.CompletableFuture.runAsync;
-import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.citrusframework.TestResult.failed;
+import static org.citrusframework.simulator.scenario.ExecutionScopedScenario.unwrap;
 
 /**
  * Provides an asynchronous implementation of the {@link org.citrusframework.simulator.service.ScenarioExecutorService}
@@ -48,6 +62,11 @@ import static java.util.concurrent.Executors.newFixedThreadPool;
  * size of which is determined by the {@code executorThreads} property from {@link SimulatorConfigurationProperties}, to
  * manage and execute scenario tasks.
  * <p>
+ * Scenarios waiting for a free thread are queued, the queue may be bounded with the {@code executorQueueCapacity}
+ * property. Scenarios that do not fit into the queue are rejected with a {@link ScenarioExecutionRejectedException}.
+ * If the {@code executorQueueTimeout} is set, queued scenarios that did not start in time are dropped, because their
+ * callers have most likely given up waiting for a response already. Queue depth, rejections and expirations are exposed as metrics.
+ * <p>
  * This class also implements {@link ApplicationListener} for {@link ContextClosedEvent} and {@link DisposableBean} to
  * ensure proper shutdown of the executor service during application shutdown, preventing potential memory leaks or
  * hanging threads.
@@ -62,17 +81,52 @@ import static java.util.concurrent.Executors.newFixedThreadPool;
  */
 @Service
 @ConditionalOnProperty(name = "citrus.simulator.mode", havingValue = "async")
-public class AsyncScenarioExecutorService extends DefaultScenarioExecutorService implements ApplicationListener<ContextClosedEvent>, DisposableBean {
+public class AsyncScenarioExecutorService extends DefaultScenarioExecutorService implements ApplicationListener<ContextClosedEvent>, DisposableBean, MeterBinder {
 
     private static final Logger logger = LoggerFactory.getLogger(AsyncScenarioExecutorService.class);
 
+    private static final String METRIC_PREFIX = "citrus.simulator.scenario.executor";
+
     private final ExecutorService executorService;
 
+    private final ScenarioExecutionService scenarioExecutionService;
+
+    /**
+     * Maximum time in milliseconds a scenario may wait in the queue, zero if queued scenarios never expire.
+     */
+    private final long queueTimeout;
+
+    private final LongAdder rejections = new LongAdder();
+
+    private final LongAdder expirations = new LongAdder();
+
     public AsyncScenarioExecutorService(ApplicationContext applicationContext, Citrus citrus, ScenarioExecutionService scenarioExecutionService, SimulatorConfigurationProperties properties) {
-        super(applicationContext, citrus, scenarioExecutionService);
+        this(applicationContext, citrus, scenarioExecutionService, properties, createThreadPool(properties));
+    }
+
+    /**
+     * Creates a service that runs the scenarios with the given executor service, allowing subclasses to replace the
+     * fixed thread pool.
+     *
+     * @param executorService the executor service running the scenarios
+     */
+    protected AsyncScenarioExecutorService(ApplicationContext applicationContext, Citrus citrus, ScenarioExecutionService scenarioExecutionService, SimulatorConfigurationProperties properties, ExecutorService executorService) {
+        super(applicationContext, citrus, scenarioExecutionService, properties);
 
-        this.executorService = newFixedThreadPool(
+        this.executorService = executorService;
+        this.scenarioExecutionService = scenarioExecutionService;
+        this.queueTimeout = Math.max(properties.getExecutorQueueTimeout(), 0L);
+    }
+
+    private static ExecutorService createThreadPool(SimulatorConfigurationProperties properties) {
+        int queueCapacity = properties.getExecutorQueueCapacity();
+
+        return new ThreadPoolExecutor(
             properties.getExecutorThreads(),
+            properties.getExecutorThreads(),
+            0L,
+            MILLISECONDS,
+            queueCapacity > 0 ? new LinkedBlockingQueue<>(queueCapacity) : new LinkedBlockingQueue<>(),
             new ThreadFactoryBuilder()
                 .setDaemon(true)
                 .setNameFormat("execution-svc-thread-%d")
@@ -80,6 +134,40 @@ public class AsyncScenarioExecutorService extends DefaultScenarioExecutorService
         );
     }
 
+    /**
+     * @return the number of scenarios waiting for an executor thread
+     */
+    public int getQueueSize() {
+        return executorService instanceof ThreadPoolExecutor threadPoolExecutor ? threadPoolExecutor.getQueue().size() : 0;
+    }
+
+    /**
+     * @return the number of scenarios rejected because the queue was full
+     */
+    public long getRejectionCount() {
+        return rejections.sum();
+    }
+
+    /**
+     * @return the number of queued scenarios dropped because they did not start in time
+     */
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder(METRIC_PREFIX + ".queue.size", this, AsyncScenarioExecutorService::getQueueSize)
+            .description("Number of scenarios waiting for an executor thread")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".rejections", rejections, LongAdder::sum)
+            .description("Number of scenarios rejected because the executor queue was full")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".expirations", expirations, LongAdder::sum)
+            .description("Number of queued scenarios dropped because they did not start in time")
+            .register(meterRegistry);
+    }
+
     /**
      * Initiates the shutdown of the executor service to release resources and stop all running threads gracefully upon
      * bean destruction.
@@ -123,11 +211,55 @@ public class AsyncScenarioExecutorService extends DefaultScenarioExecutorService
      * @param scenarioParameters   the list of parameters to pass to the scenario when starting
      */
     private void startScenarioAsync(Long executionId, String name, SimulatorScenario scenario, List<ScenarioParameter> scenarioParameters) {
-       runAsync(() -> super.startScenario(executionId, name, scenario, scenarioParameters), executorService)
-           .exceptionally(scenario::registerException);
+        long queuedAt = currentTimeMillis();
+
+        try {
+            runAsync(() -> startQueuedScenario(queuedAt, executionId, name, scenario, scenarioParameters), executorService)
+                .exceptionally(scenario::registerException);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            logger.warn("Rejected scenario '{}', all executor threads are busy and the queue is full", name);
+
+            var rejection = new ScenarioExecutionRejectedException(format("Scenario '%s' rejected, simulator is busy", name), e);
+            completeRejectedScenario(executionId, name, scenario, rejection);
+            throw rejection;
+        }
+    }
+
+    /**
+     * Starts a scenario taken from the queue, unless it has been waiting longer than the queue timeout.
+     */
+    private void startQueuedScenario(long queuedAt, Long executionId, String name, SimulatorScenario scenario, List<ScenarioParameter> scenarioParameters) {
+        long queueTime = currentTimeMillis() - queuedAt;
+        if (queueTimeout > 0 && queueTime > queueTimeout) {
+            expirations.increment();
+            logger.warn("Dropped scenario '{}' after waiting {} ms in the executor queue", name, queueTime);
+
+            var rejection = new ScenarioExecutionRejectedException(format("Scenario '%s' expired after waiting %d ms in the executor queue", name, queueTime));
+            completeRejectedScenario(executionId, name, scenario, rejection);
+            scenario.registerException(rejection);
+            return;
+        }
+
+        super.startScenario(executionId, name, scenario, scenarioParameters);
+    }
+
+    /**
+     * Scenarios that never started are not reported by the test listeners, hence their execution is completed here.
+     */
+    private void completeRejectedScenario(Long executionId, String name, SimulatorScenario scenario, ScenarioExecutionRejectedException rejection) {
+        try {
+            scenarioExecutionService.completeScenarioExecution(executionId,
+                new TestResult(failed(format("Scenario(%s)", name), unwrap(scenario).getClass().getSimpleName(), rejection)));
+        } catch (RuntimeException e) {
+            logger.error("Failed to complete rejected scenario execution {}", executionId, e);
+        }
     }
 
-    private void shutdownExecutor() {
+    /**
+     * Shuts down the executor service, interrupting running scenarios.
+     */
+    protected void shutdownExecutor() {
         logger.debug("Request to shutdown executor");
 
         if (!executorService.isShutdown()) {
@@ -20,6 +20,7 @@ import jakarta.annotation.Nullable;
 import org.citrusframework.Citrus;
 import org.citrusframework.context.TestContext;
 import org.citrusframework.exceptions.TestCaseFailedException;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
 import org.citrusframework.simulator.model.ScenarioExecution;
 import org.citrusframework.simulator.model.ScenarioParameter;
 import org.citrusframework.simulator.scenario.ScenarioRunner;
@@ -28,6 +29,7 @@ import org.citrusframework.simulator.service.ScenarioExecutionService;
 import org.citrusframework.simulator.service.ScenarioExecutorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
@@ -37,6 +39,7 @@ import java.util.List;
 import static java.lang.String.format;
 import static org.citrusframework.annotations.CitrusAnnotations.injectAll;
 import static org.citrusframework.simulator.model.ScenarioExecution.EXECUTION_ID;
+import static org.citrusframework.simulator.scenario.ExecutionScopedScenario.unwrap;
 
 /**
  * Provides a default, synchronous implementation of the {@link ScenarioExecutorService} interface for executing
@@ -53,6 +56,9 @@ import static org.citrusframework.simulator.model.ScenarioExecution.EXECUTION_ID
  * passing them a collection of {@link ScenarioParameter}s, and then executing them within the Citrus test context.
  * Custom preparation steps for scenarios can be implemented by overriding the {@code prepareBeforeExecution}
  * method.
+ * <p>
+ * The Citrus test contexts are built ahead of the scenario starts on a background thread, see the
+ * {@code citrus.simulator.test-contexts.prebuilt} property.
  *
  * @see ScenarioExecutorService
  * @see AsyncScenarioExecutorService
@@ -67,11 +73,25 @@ public class DefaultScenarioExecutorService implements ScenarioExecutorService {
     private final ApplicationContext applicationContext;
     private final Citrus citrus;
     private final ScenarioExecutionService scenarioExecutionService;
+    private final PrebuiltTestContexts testContexts;
 
+    /**
+     * Creates a service that builds the Citrus test context of each scenario on demand.
+     */
     public DefaultScenarioExecutorService(ApplicationContext applicationContext, Citrus citrus, ScenarioExecutionService scenarioExecutionService) {
+        this(applicationContext, citrus, scenarioExecutionService, 0);
+    }
+
+    @Autowired
+    public DefaultScenarioExecutorService(ApplicationContext applicationContext, Citrus citrus, ScenarioExecutionService scenarioExecutionService, SimulatorConfigurationProperties properties) {
+        this(applicationContext, citrus, scenarioExecutionService, properties.getTestContexts().getPrebuilt());
+    }
+
+    private DefaultScenarioExecutorService(ApplicationContext applicationContext, Citrus citrus, ScenarioExecutionService scenarioExecutionService, int prebuiltTestContexts) {
         this.applicationContext = applicationContext;
         this.citrus = citrus;
         this.scenarioExecutionService = scenarioExecutionService;
+        this.testContexts = new PrebuiltTestContexts(() -> citrus.getCitrusContext().createTestContext(), prebuiltTestContexts);
     }
 
     /**
@@ -127,7 +147,7 @@ public class DefaultScenarioExecutorService implements ScenarioExecutorService {
     }
 
     private TestContext createTestContext() {
-        return citrus.getCitrusContext().createTestContext();
+        return testContexts.get();
     }
 
     private void createAndRunScenarioRunner(TestContext context, Long executionId, String name, SimulatorScenario scenario, List<ScenarioParameter> scenarioParameters) {
@@ -139,7 +159,7 @@ public class DefaultScenarioExecutorService implements ScenarioExecutorService {
         runner.variable(EXECUTION_ID, executionId);
         runner.name(format("Scenario(%s)", name));
 
-        injectAll(scenario, citrus);
+        injectAll(unwrap(scenario), citrus);
 
         try {
             runner.start();
@@ -0,0 +1,131 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.runner;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.citrusframework.context.TestContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Supplies a fresh Citrus {@link TestContext} per scenario execution. Building a context instantiates its registries and
+ * copies the global variables, functions, validation matchers and the reference resolver of the Citrus context. A
+ * bounded number of contexts is therefore built ahead of demand on a background thread, which takes this cost off the
+ * thread starting the scenario. Contexts are never reused, every execution still receives its own instance.
+ * <p>
+ * The background thread is only started once the first context has been taken and terminates again when idle.
+ */
+final class PrebuiltTestContexts implements Supplier<TestContext> {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrebuiltTestContexts.class);
+
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 30L;
+
+    private final Supplier<TestContext> testContextFactory;
+
+    private final BlockingQueue<TestContext> contexts;
+
+    private final ThreadPoolExecutor executorService;
+
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    /**
+     * @param testContextFactory builds a new test context
+     * @param capacity           number of contexts built ahead of demand, contexts are built on demand if not positive
+     */
+    PrebuiltTestContexts(Supplier<TestContext> testContextFactory, int capacity) {
+        this.testContextFactory = testContextFactory;
+
+        if (capacity > 0) {
+            contexts = new ArrayBlockingQueue<>(capacity);
+            executorService = new ThreadPoolExecutor(1, 1, IDLE_THREAD_TIMEOUT_SECONDS, SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("test-context-builder-%d")
+                    .build());
+            executorService.allowCoreThreadTimeOut(true);
+        } else {
+            contexts = null;
+            executorService = null;
+        }
+    }
+
+    /**
+     * @return a prebuilt test context, or a context built on the calling thread if none is available
+     */
+    @Override
+    public TestContext get() {
+        if (contexts == null) {
+            return testContextFactory.get();
+        }
+
+        TestContext context = contexts.poll();
+        refill();
+
+        return context != null ? context : testContextFactory.get();
+    }
+
+    /**
+     * @return the number of contexts currently available without building them
+     */
+    int available() {
+        return contexts != null ? contexts.size() : 0;
+    }
+
+    private void refill() {
+        if (contexts.remainingCapacity() == 0 || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            executorService.execute(this::fill);
+        } catch (RejectedExecutionException e) {
+            refilling.set(false);
+            logger.debug("Failed to schedule building of test contexts: {}", e.getMessage());
+        }
+    }
+
+    private void fill() {
+        try {
+            while (contexts.remainingCapacity() > 0) {
+                contexts.offer(testContextFactory.get());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to build test context ahead of demand: {}", e.getMessage());
+            refilling.set(false);
+            return;
+        }
+
+        refilling.set(false);
+
+        // Contexts taken while the refill was finishing would otherwise only be replaced with the next one taken
+        if (contexts.remainingCapacity() > 0) {
+            refill();
+        }
+    }
+}
@@ -19,5 +19,7 @@ package org.citrusframework.simulator.service.runner;
 public enum SimulatorMode {
 
     ASYNC,
-    SYNC
+    CUSTOM,
+    SYNC,
+    VIRTUAL
 }
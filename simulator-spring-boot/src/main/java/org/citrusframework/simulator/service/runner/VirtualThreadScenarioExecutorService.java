@@ -0,0 +1,89 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.runner;
+
+import org.citrusframework.Citrus;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.service.ScenarioExecutionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.ExecutorServiceAdapter;
+import org.springframework.stereotype.Service;
+
+/**
+ * Asynchronous {@link org.citrusframework.simulator.service.ScenarioExecutorService} that runs each scenario on its
+ * own virtual thread. Scenarios spend most of their time blocked, e.g. while waiting for intermediate messages, hence
+ * the number of concurrently running scenarios is no longer limited by the {@code executorThreads} property.
+ * <p>
+ * This service is conditionally enabled when the {@code citrus.simulator.mode} property is set to {@code virtual}.
+ * Virtual threads require a Java 21 runtime, the application fails on startup otherwise.
+ *
+ * @see AsyncScenarioExecutorService
+ */
+@Service
+@ConditionalOnProperty(name = "citrus.simulator.mode", havingValue = "virtual")
+public class VirtualThreadScenarioExecutorService extends AsyncScenarioExecutorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadScenarioExecutorService.class);
+
+    /**
+     * Maximum time in milliseconds to wait for running scenarios on shutdown.
+     */
+    private static final long TASK_TERMINATION_TIMEOUT = 5000L;
+
+    private final SimpleAsyncTaskExecutor taskExecutor;
+
+    public VirtualThreadScenarioExecutorService(ApplicationContext applicationContext, Citrus citrus, ScenarioExecutionService scenarioExecutionService, SimulatorConfigurationProperties properties) {
+        this(applicationContext, citrus, scenarioExecutionService, properties, createVirtualThreadTaskExecutor());
+    }
+
+    private VirtualThreadScenarioExecutorService(ApplicationContext applicationContext, Citrus citrus, ScenarioExecutionService scenarioExecutionService, SimulatorConfigurationProperties properties, SimpleAsyncTaskExecutor taskExecutor) {
+        super(applicationContext, citrus, scenarioExecutionService, properties, new ExecutorServiceAdapter(taskExecutor));
+
+        this.taskExecutor = taskExecutor;
+    }
+
+    private static SimpleAsyncTaskExecutor createVirtualThreadTaskExecutor() {
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("execution-svc-virtual-");
+
+        try {
+            taskExecutor.setVirtualThreads(true);
+        } catch (UnsupportedOperationException e) {
+            throw new IllegalStateException("Simulator mode 'virtual' requires a Java 21 runtime", e);
+        }
+
+        taskExecutor.setTaskTerminationTimeout(TASK_TERMINATION_TIMEOUT);
+        return taskExecutor;
+    }
+
+    /**
+     * Closes the virtual thread executor. The {@link ExecutorServiceAdapter} does not support a manual shutdown.
+     */
+    @Override
+    protected void shutdownExecutor() {
+        logger.debug("Request to shutdown virtual thread executor");
+
+        if (taskExecutor.isActive()) {
+            logger.trace("Shutting down virtual thread executor");
+            taskExecutor.close();
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.search;
+
+import jakarta.annotation.Nullable;
+import jakarta.persistence.criteria.CommonAbstractCriteria;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.MessageTrigram;
+import org.citrusframework.simulator.model.MessageTrigram.Source;
+import org.citrusframework.simulator.model.MessageTrigramWatermark;
+import org.citrusframework.simulator.model.MessageTrigram_;
+import org.citrusframework.simulator.repository.MessageTrigramRepository;
+import org.citrusframework.simulator.repository.MessageTrigramWatermarkRepository;
+import org.citrusframework.simulator.service.filter.StringFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.citrusframework.simulator.model.MessageTrigram.LENGTH;
+import static org.citrusframework.simulator.model.MessageTrigram.PARTIALLY_INDEXED;
+
+/**
+ * Optional full-text index of message payloads and header values. Each message is split into its distinct upper case
+ * trigrams when it is persisted, see {@link MessageTrigram}. A {@code contains} filter is then narrowed down to the
+ * messages containing all trigrams of the search value, which is resolved by index lookups. The original {@code like}
+ * condition is still applied to these candidates, thus the index never changes the result of a query.
+ * <p>
+ * Messages persisted while the index was disabled are not indexed. When the index is enabled, the highest message id
+ * persisted so far is recorded as {@link MessageTrigramWatermark}, all messages up to this id remain candidates for any
+ * search value. Disabling the index drops the watermark again, so that it is recorded anew on the next enablement.
+ * <p>
+ * The index is disabled by default, in which case messages are not indexed and filters are not rewritten.
+ */
+@Service
+public class MessageFullTextIndex implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageFullTextIndex.class);
+
+    /**
+     * Search values resulting in more trigrams only use the first ones, the remaining characters are matched by the
+     * {@code like} condition.
+     */
+    static final int MAX_SEARCH_TRIGRAMS = 32;
+
+    private final MessageTrigramRepository messageTrigramRepository;
+
+    private final MessageTrigramWatermarkRepository messageTrigramWatermarkRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+
+    private final int maxIndexedLength;
+
+    /**
+     * Highest id of the messages persisted before the index was enabled, zero if all messages have been indexed.
+     */
+    private volatile long unindexedUpTo;
+
+    public MessageFullTextIndex(MessageTrigramRepository messageTrigramRepository, MessageTrigramWatermarkRepository messageTrigramWatermarkRepository, PlatformTransactionManager transactionManager, SimulatorConfigurationProperties simulatorConfigurationProperties) {
+        this.messageTrigramRepository = messageTrigramRepository;
+        this.messageTrigramWatermarkRepository = messageTrigramWatermarkRepository;
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        SimulatorConfigurationProperties.FullTextIndex fullTextIndex = simulatorConfigurationProperties.getFullTextIndex();
+        enabled = fullTextIndex.isEnabled();
+        maxIndexedLength = fullTextIndex.getMaxIndexedLength();
+    }
+
+    static Set<String> trigramsOf(@Nullable String value) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        if (isNull(value) || value.length() < LENGTH) {
+            return trigrams;
+        }
+
+        String upperCaseValue = value.toUpperCase(Locale.ROOT);
+        for (int i = 0; i + LENGTH <= upperCaseValue.length(); i++) {
+            String trigram = upperCaseValue.substring(i, i + LENGTH);
+
+            // Split surrogate pairs may not survive the database encoding, these are left to the like condition
+            if (trigram.chars().noneMatch(Character::isSurrogate)) {
+                trigrams.add(trigram);
+            }
+        }
+
+        return trigrams;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records the watermark if the index has just been enabled, or drops it if the index is disabled.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        unindexedUpTo = Objects.requireNonNull(transactionTemplate.execute(status -> updateWatermark()));
+    }
+
+    private long updateWatermark() {
+        if (!enabled) {
+            messageTrigramWatermarkRepository.deleteAllInBatch();
+            return 0L;
+        }
+
+        return messageTrigramWatermarkRepository.findAll().stream()
+            .mapToLong(MessageTrigramWatermark::getMessageId)
+            .max()
+            .orElseGet(() -> {
+                long maxMessageId = messageTrigramWatermarkRepository.findMaxMessageId();
+                if (maxMessageId > 0) {
+                    logger.info("Messages up to id {} have not been indexed, these are matched by scanning", maxMessageId);
+                }
+
+                return messageTrigramWatermarkRepository.save(new MessageTrigramWatermark(maxMessageId)).getMessageId();
+            });
+    }
+
+    /**
+     * Indexes the payload and header values of the given message. Must be invoked within the transaction persisting
+     * the message, after its id has been assigned.
+     *
+     * @param message the persisted message
+     * @param payload the original message payload
+     * @param headers the original message headers
+     */
+    public void index(Message message, @Nullable String payload, @Nullable Map<String, Object> headers) {
+        if (!enabled) {
+            return;
+        }
+
+        List<MessageTrigram> messageTrigrams = new ArrayList<>();
+        collect(message.getMessageId(), Source.PAYLOAD, isNull(payload) ? List.of() : List.of(payload), messageTrigrams);
+        collect(message.getMessageId(), Source.HEADER_VALUE, isNull(headers) ? List.of() : headers.values().stream()
+            .filter(Objects::nonNull)
+            .map(String::valueOf)
+            .toList(), messageTrigrams);
+
+        messageTrigramRepository.saveAll(messageTrigrams);
+    }
+
+    /**
+     * Creates a predicate restricting the given message ids to the candidates of the given filter, if the filter
+     * applies a {@code contains} condition that can make use of the index. Messages persisted before the index was
+     * enabled are always candidates.
+     *
+     * @param source    whether the filter applies to the payload or to header values
+     * @param filter    the filter, which is still to be applied by the caller
+     * @param messageId the message id to restrict
+     * @param query     the query to add the index lookup to
+     * @param builder   the criteria builder
+     * @return the restricting predicate, or {@code null} if the index cannot be used
+     */
+    @Nullable
+    public Predicate candidates(Source source, @Nullable StringFilter filter, Expression<Long> messageId, CommonAbstractCriteria query, CriteriaBuilder builder) {
+        Set<String> searchTrigrams = searchTrigramsOf(filter);
+        if (searchTrigrams.isEmpty()) {
+            return null;
+        }
+
+        var subquery = query.subquery(Long.class);
+        Root<MessageTrigram> messageTrigram = subquery.from(MessageTrigram.class);
+
+        var trigrams = new ArrayList<>(searchTrigrams);
+        trigrams.add(PARTIALLY_INDEXED);
+
+        var trigram = messageTrigram.get(MessageTrigram_.trigram);
+        subquery.select(messageTrigram.get(MessageTrigram_.messageId))
+            .where(
+                builder.equal(messageTrigram.get(MessageTrigram_.source), source.getId()),
+                trigram.in(trigrams)
+            )
+            .groupBy(messageTrigram.get(MessageTrigram_.messageId))
+            .having(
+                builder.or(
+                    builder.equal(builder.countDistinct(trigram), (long) searchTrigrams.size()),
+                    builder.greaterThan(
+                        builder.sum(builder.<Integer>selectCase()
+                            .when(builder.equal(trigram, PARTIALLY_INDEXED), 1)
+                            .otherwise(0)),
+                        0)
+                )
+            );
+
+        Predicate indexedCandidates = messageId.in(subquery);
+        if (unindexedUpTo > 0) {
+            return builder.or(builder.le(messageId, unindexedUpTo), indexedCandidates);
+        }
+
+        return indexedCandidates;
+    }
+
+    /**
+     * Creates a specification restricting the entities to the candidates of the given filter, see
+     * {@link #candidates(Source, StringFilter, Expression, CommonAbstractCriteria, CriteriaBuilder)}.
+     *
+     * @param source    whether the filter applies to the payload or to header values
+     * @param filter    the filter, which is still to be applied by the caller
+     * @param messageId function navigating from the entity to the message id
+     * @param <X>       the type of the queried entity
+     * @return the restricting specification, which does not restrict anything if the index cannot be used
+     */
+    public <X> Specification<X> candidates(Source source, @Nullable StringFilter filter, Function<Root<X>, Expression<Long>> messageId) {
+        return (root, query, builder) -> {
+            assert query != null;
+            return candidates(source, filter, messageId.apply(root), query, builder);
+        };
+    }
+
+    /**
+     * Deletes the index entries of all messages that no longer exist.
+     *
+     * @return the number of deleted index entries
+     */
+    public int deleteUnreferenced() {
+        return messageTrigramRepository.deleteUnreferenced();
+    }
+
+    /**
+     * Only plain {@code contains} filters are rewritten. Other conditions take precedence in the query services,
+     * search values shorter than a trigram cannot be looked up.
+     */
+    private Set<String> searchTrigramsOf(@Nullable StringFilter filter) {
+        if (!enabled
+            || isNull(filter)
+            || isNull(filter.getContains())
+            || nonNull(filter.getEquals())
+            || nonNull(filter.getNotEquals())
+            || nonNull(filter.getEqualsIgnoreCase())
+            || nonNull(filter.getIn())
+            || nonNull(filter.getNotIn())
+            || nonNull(filter.getSpecified())) {
+            return Set.of();
+        }
+
+        return trigramsOf(filter.getContains()).stream()
+            .limit(MAX_SEARCH_TRIGRAMS)
+            .collect(LinkedHashSet::new, Set::add, Set::addAll);
+    }
+
+    private void collect(Long messageId, Source source, List<String> values, List<MessageTrigram> messageTrigrams) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        boolean partiallyIndexed = false;
+        for (String value : values) {
+            if (maxIndexedLength > 0 && value.length() > maxIndexedLength) {
+                value = value.substring(0, maxIndexedLength);
+                partiallyIndexed = true;
+            }
+
+            trigrams.addAll(trigramsOf(value));
+        }
+
+        if (partiallyIndexed) {
+            trigrams.add(PARTIALLY_INDEXED);
+        }
+
+        trigrams.forEach(trigram -> messageTrigrams.add(new MessageTrigram(messageId, source, trigram)));
+    }
+}
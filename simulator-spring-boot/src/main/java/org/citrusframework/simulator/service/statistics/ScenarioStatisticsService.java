@@ -0,0 +1,403 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.statistics;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.Nullable;
+import org.HdrHistogram.Histogram;
+import org.citrusframework.simulator.common.TimeProvider;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties.Statistics;
+import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.model.ScenarioExecutionRollup;
+import org.citrusframework.simulator.model.ScenarioExecutionRollup.Granularity;
+import org.citrusframework.simulator.repository.ScenarioExecutionRollupRepository;
+import org.citrusframework.simulator.service.dto.ScenarioExecutionStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.DataFormatException;
+
+import static java.lang.String.format;
+import static java.util.Objects.nonNull;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.citrusframework.simulator.model.ScenarioExecutionRollup.Granularity.HOUR;
+import static org.citrusframework.simulator.model.ScenarioExecutionRollup.Granularity.MINUTE;
+import static org.citrusframework.simulator.model.TestResult.Status.FAILURE;
+import static org.citrusframework.simulator.service.statistics.TransactionCallbacks.afterCommit;
+import static org.citrusframework.simulator.service.statistics.TransactionCallbacks.afterCompletion;
+
+/**
+ * Aggregates completed scenario executions into time-bucketed throughput and latency rollups, see
+ * {@link ScenarioExecutionRollup}. Statistics are served from these rollups alone, independent of the number of
+ * recorded executions and of whether these have already been purged by the retention policy.
+ * <p>
+ * Completed executions are accumulated in memory per scenario and minute first. A background task periodically
+ * writes them into the per-minute, hourly and daily rollups within a single transaction and purges expired per-minute
+ * and hourly rollups. Statistics therefore lag behind by at most the configured flush interval.
+ */
+@Service
+public class ScenarioStatisticsService implements InitializingBean, DisposableBean, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioStatisticsService.class);
+
+    private static final String METRIC_PREFIX = "citrus.simulator.statistics";
+
+    /**
+     * Number of buckets returned if no range has been requested.
+     */
+    static final int DEFAULT_BUCKETS = 60;
+
+    /**
+     * Maximum number of buckets within a requested range.
+     */
+    static final int MAX_BUCKETS = 1440;
+
+    private static final int SIGNIFICANT_VALUE_DIGITS = 2;
+
+    private final TimeProvider timeProvider = new TimeProvider();
+
+    private final ScenarioExecutionRollupRepository scenarioExecutionRollupRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Statistics configuration;
+
+    private final Map<PendingKey, Bucket> pendingBuckets = new ConcurrentHashMap<>();
+
+    /**
+     * Held by flushes and by resets until their transaction completes, drained buckets must never be written after a
+     * reset deleted the rollups.
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final LongAdder flushes = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private ScheduledExecutorService flushExecutor;
+
+    public ScenarioStatisticsService(ScenarioExecutionRollupRepository scenarioExecutionRollupRepository, PlatformTransactionManager transactionManager, SimulatorConfigurationProperties simulatorConfigurationProperties) {
+        this.scenarioExecutionRollupRepository = scenarioExecutionRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.configuration = simulatorConfigurationProperties.getStatistics();
+    }
+
+    /**
+     * @return whether completed scenario executions are aggregated into rollups
+     */
+    public boolean isEnabled() {
+        return configuration.isEnabled();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (isEnabled() && configuration.getFlushInterval() > 0) {
+            logger.info("Aggregating scenario execution statistics in the background: {}", configuration);
+
+            flushExecutor = newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("statistics-flush-thread-%d")
+                .build());
+            flushExecutor.scheduleWithFixedDelay(this::flushSafely, configuration.getFlushInterval(), configuration.getFlushInterval(), MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+
+            // Do not lose the executions completed since the last flush
+            flushSafely();
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            failures.increment();
+            logger.error("Failed to flush scenario execution statistics", e);
+        }
+    }
+
+    /**
+     * Adds a completed scenario execution to the statistics, once the current transaction commits. Executions without
+     * start or end date are ignored.
+     *
+     * @param scenarioExecution the completed scenario execution
+     */
+    public void record(ScenarioExecution scenarioExecution) {
+        if (!isEnabled() || scenarioExecution.getStartDate() == null || scenarioExecution.getEndDate() == null) {
+            return;
+        }
+
+        PendingKey pendingKey = new PendingKey(scenarioExecution.getScenarioName(), MINUTE.truncate(scenarioExecution.getEndDate()));
+        long duration = Math.max(0, Duration.between(scenarioExecution.getStartDate(), scenarioExecution.getEndDate()).toMillis());
+        boolean failed = nonNull(scenarioExecution.getTestResult()) && scenarioExecution.getTestResult().getStatus() == FAILURE;
+
+        afterCommit(() -> pendingBuckets.compute(pendingKey, (key, bucket) -> {
+            Bucket result = bucket != null ? bucket : new Bucket();
+            result.record(duration, failed);
+            return result;
+        }));
+    }
+
+    /**
+     * Writes the executions completed since the last flush into the rollups and purges expired rollups. Executions
+     * that could not be written are kept for the next flush.
+     */
+    public void flush() {
+        Map<PendingKey, Bucket> drainedBuckets = new HashMap<>();
+
+        flushLock.lock();
+        try {
+            for (PendingKey pendingKey : pendingBuckets.keySet()) {
+                Bucket bucket = pendingBuckets.remove(pendingKey);
+                if (bucket != null) {
+                    drainedBuckets.put(pendingKey, bucket);
+                }
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!drainedBuckets.isEmpty()) {
+                    writeRollups(drainedBuckets);
+                }
+                purgeRollups();
+            });
+        } catch (RuntimeException e) {
+            drainedBuckets.forEach((pendingKey, bucket) -> pendingBuckets.merge(pendingKey, bucket, Bucket::add));
+            throw e;
+        } finally {
+            flushLock.unlock();
+        }
+
+        flushes.increment();
+        logger.trace("Flushed scenario execution statistics of {} buckets", drainedBuckets.size());
+    }
+
+    private void writeRollups(Map<PendingKey, Bucket> drainedBuckets) {
+        Map<ScenarioExecutionRollup.Key, RollupDelta> deltas = new HashMap<>();
+        drainedBuckets.forEach((pendingKey, bucket) -> {
+            for (Granularity granularity : Granularity.values()) {
+                Instant bucketStart = granularity.truncate(pendingKey.minute());
+                deltas.computeIfAbsent(new ScenarioExecutionRollup.Key(pendingKey.scenarioName(), granularity.getId(), bucketStart),
+                        key -> new RollupDelta(pendingKey.scenarioName(), granularity, bucketStart, new Bucket()))
+                    .bucket()
+                    .add(bucket);
+            }
+        });
+
+        Map<ScenarioExecutionRollup.Key, ScenarioExecutionRollup> existingRollups = scenarioExecutionRollupRepository.findAllById(deltas.keySet()).stream()
+            .collect(Collectors.toMap(ScenarioExecutionRollup::getId, Function.identity()));
+
+        List<ScenarioExecutionRollup> rollups = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            ScenarioExecutionRollup rollup = existingRollups.getOrDefault(key, new ScenarioExecutionRollup(delta.scenarioName(), delta.granularity(), delta.bucketStart()));
+
+            Bucket merged = new Bucket()
+                .add(rollup.getExecutions(), rollup.getFailures(), decode(rollup.getDurations()))
+                .add(delta.bucket());
+            rollup.update(merged.executions, merged.failures, encode(merged.durations));
+
+            rollups.add(rollup);
+        });
+
+        scenarioExecutionRollupRepository.saveAll(rollups);
+    }
+
+    private void purgeRollups() {
+        Instant now = timeProvider.getTimeNow();
+
+        if (configuration.getMinuteRetention() > 0) {
+            scenarioExecutionRollupRepository.deleteAllByGranularityAndBucketStartBefore(MINUTE.getId(), now.minusMillis(configuration.getMinuteRetention()));
+        }
+
+        if (configuration.getHourRetention() > 0) {
+            scenarioExecutionRollupRepository.deleteAllByGranularityAndBucketStartBefore(HOUR.getId(), now.minusMillis(configuration.getHourRetention()));
+        }
+    }
+
+    /**
+     * Deletes all statistics, e.g. when all recorded results are deleted. Flushes are blocked until the current
+     * transaction completes.
+     */
+    public void reset() {
+        flushLock.lock();
+        try {
+            scenarioExecutionRollupRepository.deleteAllInBatch();
+        } catch (RuntimeException e) {
+            flushLock.unlock();
+            throw e;
+        }
+
+        afterCompletion(committed -> {
+            try {
+                if (committed) {
+                    pendingBuckets.clear();
+                }
+            } finally {
+                flushLock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Finds the statistics of the given range, read from the rollups of the given granularity. Buckets without any
+     * completed execution are omitted.
+     *
+     * @param granularity  the size of the time buckets
+     * @param scenarioName the scenario name, statistics of all scenarios are merged if {@code null}
+     * @param from         the inclusive start of the range, defaults to {@value #DEFAULT_BUCKETS} buckets before its end
+     * @param to           the exclusive end of the range, defaults to the end of the current bucket
+     * @return the statistics per bucket, ordered by bucket start
+     * @throws IllegalArgumentException if the range is empty or spans more than {@value #MAX_BUCKETS} buckets
+     */
+    public List<ScenarioExecutionStatistics> findStatistics(Granularity granularity, @Nullable String scenarioName, @Nullable Instant from, @Nullable Instant to) {
+        Instant end = nonNull(to) ? to : granularity.truncate(timeProvider.getTimeNow()).plus(1, granularity.getUnit());
+        Instant start = nonNull(from) ? from : end.minus(DEFAULT_BUCKETS, granularity.getUnit());
+
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException(format("Start of range %s must be before its end %s", start, end));
+        } else if (granularity.getUnit().between(start, end) > MAX_BUCKETS) {
+            throw new IllegalArgumentException(format("Range must not span more than %d buckets, use a coarser granularity", MAX_BUCKETS));
+        }
+
+        List<ScenarioExecutionRollup> rollups = nonNull(scenarioName)
+            ? scenarioExecutionRollupRepository.findAllByGranularityAndScenarioNameInRange(granularity.getId(), scenarioName, start, end)
+            : scenarioExecutionRollupRepository.findAllByGranularityInRange(granularity.getId(), start, end);
+
+        // Rollups are ordered by bucket start, merging the scenarios of each bucket keeps that order
+        Map<Instant, Bucket> buckets = new LinkedHashMap<>();
+        for (ScenarioExecutionRollup rollup : rollups) {
+            buckets.computeIfAbsent(rollup.getBucketStart(), bucketStart -> new Bucket())
+                .add(rollup.getExecutions(), rollup.getFailures(), decode(rollup.getDurations()));
+        }
+
+        return buckets.entrySet().stream()
+            .map(bucket -> bucket.getValue().toStatistics(scenarioName, bucket.getKey()))
+            .toList();
+    }
+
+    private static byte[] encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Arrays.copyOf(buffer.array(), length);
+    }
+
+    private static Histogram decode(byte[] durations) {
+        if (durations.length == 0) {
+            return new Histogram(SIGNIFICANT_VALUE_DIGITS);
+        }
+
+        try {
+            Histogram histogram = Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(durations), 0);
+            histogram.setAutoResize(true);
+            return histogram;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Failed to decode duration histogram", e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".flushes", flushes, LongAdder::sum)
+            .description("Number of completed statistics flushes")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".failures", failures, LongAdder::sum)
+            .description("Number of failed statistics flushes")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".pending", pendingBuckets, Map::size)
+            .description("Number of per-minute buckets waiting to be flushed")
+            .register(meterRegistry);
+    }
+
+    private record PendingKey(String scenarioName, Instant minute) {
+    }
+
+    private record RollupDelta(String scenarioName, Granularity granularity, Instant bucketStart, Bucket bucket) {
+    }
+
+    /**
+     * Aggregated executions of a single bucket. Instances are not thread-safe, pending buckets are only ever mutated
+     * while being computed in their map.
+     */
+    private static final class Bucket {
+
+        private long executions;
+
+        private long failures;
+
+        private final Histogram durations = new Histogram(SIGNIFICANT_VALUE_DIGITS);
+
+        void record(long duration, boolean failed) {
+            executions++;
+            if (failed) {
+                failures++;
+            }
+            durations.recordValue(duration);
+        }
+
+        Bucket add(long executions, long failures, Histogram durations) {
+            this.executions += executions;
+            this.failures += failures;
+            this.durations.add(durations);
+            return this;
+        }
+
+        Bucket add(Bucket other) {
+            return add(other.executions, other.failures, other.durations);
+        }
+
+        ScenarioExecutionStatistics toStatistics(@Nullable String scenarioName, Instant bucketStart) {
+            boolean empty = durations.getTotalCount() == 0;
+            return new ScenarioExecutionStatistics(scenarioName, bucketStart, executions, failures,
+                empty ? 0 : durations.getMean(),
+                durations.getValueAtPercentile(50),
+                durations.getValueAtPercentile(90),
+                durations.getValueAtPercentile(99),
+                durations.getMaxValue());
+        }
+    }
+}
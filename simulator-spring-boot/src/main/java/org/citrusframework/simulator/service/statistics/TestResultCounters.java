@@ -0,0 +1,151 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.statistics;
+
+import org.citrusframework.simulator.model.TestResult;
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.service.dto.ScenarioTestResultByStatus;
+import org.citrusframework.simulator.service.dto.TestResultByStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.citrusframework.simulator.service.statistics.TransactionCallbacks.afterCommit;
+
+/**
+ * Counts the recorded test results by scenario name and status in memory, so that result totals are available in
+ * constant time regardless of the number of recorded results. The counters are rebuilt from the database once on
+ * startup and are maintained incrementally afterward: Completed executions are added, executions purged by the
+ * retention policy are subtracted and deleting all results resets them.
+ * <p>
+ * Changes requested within a transaction are applied once it commits, rolled back writes are therefore not counted.
+ */
+@Component
+public class TestResultCounters implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestResultCounters.class);
+
+    private final ScenarioExecutionRepository scenarioExecutionRepository;
+
+    private final Map<String, Counter> countersByScenarioName = new ConcurrentHashMap<>();
+
+    private final Counter totalCounter = new Counter();
+
+    public TestResultCounters(ScenarioExecutionRepository scenarioExecutionRepository) {
+        this.scenarioExecutionRepository = scenarioExecutionRepository;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        rebuild();
+    }
+
+    /**
+     * Replaces the counters with the results currently recorded in the database. This requires a full scan of the
+     * recorded results and is therefore only done on startup.
+     */
+    public void rebuild() {
+        List<ScenarioTestResultByStatus> recordedResults = scenarioExecutionRepository.countTestResultsByScenarioName();
+
+        clear();
+        recordedResults.forEach(results -> add(results.scenarioName(), results.successful(), results.failed()));
+
+        logger.debug("Rebuilt test result counters of {} scenarios", recordedResults.size());
+    }
+
+    /**
+     * Counts the result of a completed scenario execution.
+     *
+     * @param scenarioName the name of the executed scenario
+     * @param status       the status of the test result, only successful and failed results are counted
+     */
+    public void increment(String scenarioName, TestResult.Status status) {
+        switch (status) {
+            case SUCCESS -> afterCommit(() -> add(scenarioName, 1, 0));
+            case FAILURE -> afterCommit(() -> add(scenarioName, 0, 1));
+            default -> logger.trace("Not counting result with status {}", status);
+        }
+    }
+
+    /**
+     * Subtracts the results of deleted scenario executions.
+     *
+     * @param deletedResults the deleted results by scenario name
+     */
+    public void decrement(Collection<ScenarioTestResultByStatus> deletedResults) {
+        if (!deletedResults.isEmpty()) {
+            afterCommit(() -> deletedResults.forEach(results -> add(results.scenarioName(), -results.successful(), -results.failed())));
+        }
+    }
+
+    /**
+     * Resets all counters, e.g. when all recorded results are deleted.
+     */
+    public void reset() {
+        afterCommit(this::clear);
+    }
+
+    /**
+     * @return the total number of recorded results by status
+     */
+    public TestResultByStatus getTotal() {
+        return new TestResultByStatus(totalCounter.successful.sum(), totalCounter.failed.sum());
+    }
+
+    /**
+     * @return the number of recorded results by status of each scenario with any result, ordered by scenario name
+     */
+    public List<ScenarioTestResultByStatus> getByScenarioName() {
+        return countersByScenarioName.entrySet().stream()
+            .map(entry -> new ScenarioTestResultByStatus(entry.getKey(), entry.getValue().successful.sum(), entry.getValue().failed.sum()))
+            .filter(results -> results.total() > 0)
+            .sorted(Comparator.comparing(ScenarioTestResultByStatus::scenarioName))
+            .toList();
+    }
+
+    private void add(String scenarioName, long successful, long failed) {
+        countersByScenarioName.computeIfAbsent(scenarioName, key -> new Counter()).add(successful, failed);
+        totalCounter.add(successful, failed);
+    }
+
+    private void clear() {
+        countersByScenarioName.clear();
+        totalCounter.successful.reset();
+        totalCounter.failed.reset();
+    }
+
+    private static final class Counter {
+
+        private final LongAdder successful = new LongAdder();
+
+        private final LongAdder failed = new LongAdder();
+
+        void add(long successful, long failed) {
+            this.successful.add(successful);
+            this.failed.add(failed);
+        }
+    }
+}
@@ -16,27 +16,27 @@
 
 package org.citrusframework.simulator.template;
 
-import org.citrusframework.exceptions.CitrusRuntimeException;
 import org.citrusframework.spi.Resource;
 import org.citrusframework.spi.Resources;
-import org.citrusframework.util.FileUtils;
 import org.springframework.util.StringUtils;
 
-import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
 /**
- * Helper class for loading templates from the classpath, in particular XML and JSON templates.
+ * Helper class for loading templates from the classpath, in particular XML and JSON templates. Template contents are
+ * cached in a {@link TemplateStore}.
  */
 public class TemplateHelper {
 
     private final String basePath;
     private final Charset charset;
+    private final TemplateStore templateStore;
 
-    private TemplateHelper(String basePath, Charset charset) {
-        this.basePath = adaptBasePath(basePath);
-        this.charset = charset;
+    private TemplateHelper(TemplateStore templateStore) {
+        this.basePath = templateStore.getBasePath();
+        this.charset = templateStore.getCharset();
+        this.templateStore = templateStore;
     }
 
     /**
@@ -47,7 +47,17 @@ public class TemplateHelper {
      * @return the new instance
      */
     public static TemplateHelper instance(String basePath, Charset charset) {
-        return new TemplateHelper(basePath, charset);
+        return instance(new TemplateStore(basePath, charset, TemplateStore.DEFAULT_MAXIMUM_SIZE));
+    }
+
+    /**
+     * Creates a new {@link TemplateHelper} loading the templates through the given {@link TemplateStore}
+     *
+     * @param templateStore the store caching the templates
+     * @return the new instance
+     */
+    public static TemplateHelper instance(TemplateStore templateStore) {
+        return new TemplateHelper(templateStore);
     }
 
     /**
@@ -60,10 +70,6 @@ public class TemplateHelper {
         return instance(basePath, StandardCharsets.UTF_8);
     }
 
-    private static String adaptBasePath(String basePath) {
-        return StringUtils.endsWithIgnoreCase(basePath, "/") ? basePath : basePath + "/";
-    }
-
     /**
      * Locates a message template using the supplied {@code templatePath} returning the contents as a string. Uses file
      * extension ".xml".
@@ -95,11 +101,7 @@ public class TemplateHelper {
      * @return the contents as a string
      */
     public String getMessageTemplate(String templatePath, String templateExtension) {
-        try {
-            return FileUtils.readToString(this.getFileResource(templatePath, templateExtension), charset);
-        } catch (IOException e) {
-            throw new CitrusRuntimeException(String.format("Error reading template: %s", templatePath), e);
-        }
+        return templateStore.getTemplate(templatePath + adaptFileExtension(templateExtension));
     }
 
     /**
@@ -110,11 +112,14 @@ public class TemplateHelper {
      * @return the classpath resource
      */
     public Resource getFileResource(String resourcePath, String resourceExtension) {
-        String adaptedFileExtension = resourceExtension;
-        if (StringUtils.hasLength(resourceExtension) && !StringUtils.startsWithIgnoreCase(resourceExtension, ".")) {
-            adaptedFileExtension = "." + resourceExtension;
+        return new Resources.ClasspathResource(basePath + resourcePath + adaptFileExtension(resourceExtension));
+    }
+
+    private static String adaptFileExtension(String fileExtension) {
+        if (StringUtils.hasLength(fileExtension) && !StringUtils.startsWithIgnoreCase(fileExtension, ".")) {
+            return "." + fileExtension;
         }
-        return new Resources.ClasspathResource(basePath + resourcePath + adaptedFileExtension);
+        return fileExtension;
     }
 
     public String getBasePath() {
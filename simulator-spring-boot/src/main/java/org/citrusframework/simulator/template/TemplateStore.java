@@ -0,0 +1,348 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.template;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.Nullable;
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.spi.Resources;
+import org.citrusframework.util.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.Objects.nonNull;
+
+/**
+ * Caches the contents of the templates below a single base path, so that templates are not read from the classpath on
+ * every use. The number of cached templates is bounded, the least recently used templates are evicted first.
+ * <p>
+ * All templates below the base path can be preloaded on startup. Optionally, a file-system directory mirroring the base
+ * path is watched for changes: Templates present in that directory take precedence over the classpath, and changed or
+ * deleted templates are evicted from the cache, so they are reloaded on their next use without a restart.
+ */
+public class TemplateStore implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TemplateStore.class);
+
+    /**
+     * Default number of cached templates.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 1000L;
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private final String basePath;
+
+    private final Charset charset;
+
+    private final long maximumSize;
+
+    private final Cache<String, String> templates;
+
+    /**
+     * Incremented on every eviction caused by a changed template, loads started before must not be cached.
+     */
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * File-system directory mirroring the base path, {@code null} if not watched.
+     */
+    @Nullable
+    private volatile Path watchDirectory;
+
+    @Nullable
+    private WatchService watchService;
+
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+
+    /**
+     * @param basePath    the classpath location of the templates
+     * @param charset     the charset to read the templates with
+     * @param maximumSize the maximum number of cached templates
+     */
+    public TemplateStore(String basePath, Charset charset, long maximumSize) {
+        this.basePath = StringUtils.endsWithIgnoreCase(basePath, PATH_SEPARATOR) ? basePath : basePath + PATH_SEPARATOR;
+        this.charset = charset;
+        this.maximumSize = maximumSize;
+
+        templates = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .build();
+    }
+
+    /**
+     * Returns the contents of the template at the given path, loading it if it has not been cached yet.
+     *
+     * @param templatePath the path of the template relative to the base path, including its file extension
+     * @return the template contents
+     * @throws CitrusRuntimeException if the template cannot be read
+     */
+    public String getTemplate(String templatePath) {
+        String template = templates.getIfPresent(templatePath);
+        if (template == null) {
+            // Concurrent misses might load a template twice, which is cheaper than serializing all loads
+            long changesBeforeLoad = changes.get();
+            template = loadTemplate(templatePath);
+            cacheTemplate(templatePath, template, changesBeforeLoad);
+        }
+
+        return template;
+    }
+
+    /**
+     * Caches a loaded template unless a change has been detected since the load started. Changes are counted before the
+     * cache is invalidated, so a change racing with the put either evicts the entry or is noticed by the check after it.
+     */
+    private void cacheTemplate(String templatePath, String template, long changesBeforeLoad) {
+        templates.put(templatePath, template);
+        if (changes.get() != changesBeforeLoad) {
+            templates.invalidate(templatePath);
+        }
+    }
+
+    private String loadTemplate(String templatePath) {
+        try {
+            Path directory = watchDirectory;
+            if (nonNull(directory)) {
+                Path file = directory.resolve(templatePath).normalize();
+                if (file.startsWith(directory) && Files.isRegularFile(file)) {
+                    return Files.readString(file, charset);
+                }
+            }
+
+            return FileUtils.readToString(new Resources.ClasspathResource(basePath + templatePath), charset);
+        } catch (IOException e) {
+            throw new CitrusRuntimeException(String.format("Error reading template: %s", templatePath), e);
+        }
+    }
+
+    /**
+     * Loads all templates found on the classpath below the base path, up to the maximum number of cached templates.
+     *
+     * @return the number of preloaded templates
+     */
+    public int preload() {
+        String location = StringUtils.trimLeadingCharacter(basePath, '/');
+        if (!StringUtils.hasLength(location)) {
+            logger.warn("Skip preloading templates, the template path must not be the classpath root");
+            return 0;
+        }
+
+        PathMatchingResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver();
+
+        List<String> roots = new ArrayList<>();
+        Resource[] resources;
+        try {
+            for (Resource root : resourcePatternResolver.getResources("classpath*:" + location)) {
+                String rootUrl = root.getURL().toString();
+                roots.add(rootUrl.endsWith(PATH_SEPARATOR) ? rootUrl : rootUrl + PATH_SEPARATOR);
+            }
+
+            resources = resourcePatternResolver.getResources("classpath*:" + location + "**/*");
+        } catch (IOException e) {
+            logger.warn("Failed to resolve templates below '{}': {}", basePath, e.getMessage());
+            return 0;
+        }
+
+        int preloaded = 0;
+        for (Resource resource : resources) {
+            if (preloaded >= maximumSize) {
+                logger.warn("Stopped preloading templates below '{}' after {} templates, increase the maximum size of the template cache", basePath, preloaded);
+                break;
+            }
+
+            String templatePath = getTemplatePath(resource, roots);
+            if (templatePath != null && templates.getIfPresent(templatePath) == null) {
+                try {
+                    long changesBeforeLoad = changes.get();
+                    cacheTemplate(templatePath, loadTemplate(templatePath), changesBeforeLoad);
+                    preloaded++;
+                } catch (CitrusRuntimeException e) {
+                    logger.warn("Failed to preload template '{}': {}", templatePath, e.getMessage());
+                }
+            }
+        }
+
+        logger.info("Preloaded {} templates below '{}'", preloaded, basePath);
+        return preloaded;
+    }
+
+    /**
+     * Resolves the path of the given resource relative to the classpath root (e.g. directory or JAR) it is located in.
+     */
+    @Nullable
+    private static String getTemplatePath(Resource resource, List<String> roots) {
+        try {
+            if (!resource.isReadable()) {
+                return null;
+            }
+
+            String url = resource.getURL().toString();
+            for (String root : roots) {
+                if (url.startsWith(root) && url.length() > root.length()) {
+                    return url.substring(root.length());
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to resolve template path of '{}': {}", resource, e.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * Starts watching the given directory for changed templates. The directory mirrors the base path, i.e. the
+     * template {@code hello/request.xml} is located at {@code <directory>/hello/request.xml}.
+     *
+     * @param directory the directory to watch, including its subdirectories
+     * @throws IOException if the directory cannot be watched
+     */
+    public synchronized void watch(Path directory) throws IOException {
+        if (nonNull(watchService)) {
+            throw new IllegalStateException("Template store is already watching directory: " + watchDirectory);
+        }
+
+        Path absoluteDirectory = directory.toAbsolutePath().normalize();
+        watchService = absoluteDirectory.getFileSystem().newWatchService();
+        registerRecursively(absoluteDirectory);
+
+        watchDirectory = absoluteDirectory;
+        invalidateAll();
+
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("template-watch-thread-%d")
+            .build()
+            .newThread(this::processWatchEvents)
+            .start();
+
+        logger.info("Watching directory '{}' for changed templates", absoluteDirectory);
+    }
+
+    private void registerRecursively(Path directory) throws IOException {
+        List<Path> directories;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            directories = paths.filter(Files::isDirectory).toList();
+        }
+
+        for (Path subdirectory : directories) {
+            watchedDirectories.put(subdirectory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), subdirectory);
+        }
+    }
+
+    private void processWatchEvents() {
+        WatchService service = watchService;
+        try {
+            while (true) {
+                WatchKey watchKey = service.take();
+                Path directory = watchedDirectories.get(watchKey);
+
+                for (WatchEvent<?> event : watchKey.pollEvents()) {
+                    if (event.kind() == OVERFLOW || directory == null) {
+                        invalidateAll();
+                    } else {
+                        handleChange(directory.resolve((Path) event.context()), event.kind() == ENTRY_CREATE);
+                    }
+                }
+
+                if (!watchKey.reset()) {
+                    watchedDirectories.remove(watchKey);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            logger.debug("Stopped watching directory '{}' for changed templates", watchDirectory);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handleChange(Path changedPath, boolean created) {
+        if (created && Files.isDirectory(changedPath)) {
+            try {
+                registerRecursively(changedPath);
+            } catch (IOException e) {
+                logger.warn("Failed to watch directory '{}' for changed templates: {}", changedPath, e.getMessage());
+            }
+
+            // Templates may have been copied into the directory before it was registered
+            invalidateAll();
+            return;
+        }
+
+        String templatePath = watchDirectory.relativize(changedPath).toString().replace(changedPath.getFileSystem().getSeparator(), PATH_SEPARATOR);
+        logger.debug("Template '{}' changed, reloading it on next use", templatePath);
+        changes.incrementAndGet();
+        templates.invalidate(templatePath);
+    }
+
+    private void invalidateAll() {
+        changes.incrementAndGet();
+        templates.invalidateAll();
+    }
+
+    /**
+     * @return the number of currently cached templates
+     */
+    public long size() {
+        return templates.size();
+    }
+
+    public String getBasePath() {
+        return basePath;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Stops watching the template directory, if any.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (nonNull(watchService)) {
+            watchService.close();
+            watchService = null;
+            watchedDirectories.clear();
+        }
+    }
+}
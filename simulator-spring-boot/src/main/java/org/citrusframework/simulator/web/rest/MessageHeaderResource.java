@@ -34,6 +34,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -64,14 +65,21 @@ public class MessageHeaderResource {
      * {@code GET  /message-headers} : get all the messageHeaders.
      *
      * @param pageable the pagination information.
+     * @param after the cursor of the last entity of the previous page, requests keyset pagination if present.
+     * @param totalCount how the total count should be determined: {@code exact} (default), {@code estimated} or {@code none}.
      * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of messageHeaders in body.
      */
     @GetMapping("/message-headers")
-    public ResponseEntity<List<MessageHeaderDTO>> getAllMessageHeaders(MessageHeaderCriteria criteria, @ParameterObject Pageable pageable) {
+    public ResponseEntity<List<MessageHeaderDTO>> getAllMessageHeaders(
+        MessageHeaderCriteria criteria,
+        @RequestParam(name = PaginationUtil.PARAMETER_AFTER, required = false) String after,
+        @RequestParam(name = PaginationUtil.PARAMETER_TOTAL_COUNT, required = false) String totalCount,
+        @ParameterObject Pageable pageable
+    ) {
         logger.debug("REST request to get MessageHeaders by criteria: {}", criteria);
 
-        Page<MessageHeader> page = messageHeaderQueryService.findByCriteria(criteria, pageable);
+        Page<MessageHeader> page = messageHeaderQueryService.findByCriteria(criteria, PaginationUtil.keysetPageRequest(pageable, after, totalCount));
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent().stream().map(messageHeaderMapper::toDto).toList());
     }
@@ -41,7 +41,10 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import java.util.List;
 import java.util.Optional;
 
+import static org.citrusframework.simulator.web.util.PaginationUtil.PARAMETER_AFTER;
+import static org.citrusframework.simulator.web.util.PaginationUtil.PARAMETER_TOTAL_COUNT;
 import static org.citrusframework.simulator.web.util.PaginationUtil.generatePaginationHttpHeaders;
+import static org.citrusframework.simulator.web.util.PaginationUtil.keysetPageRequest;
 
 /**
  * REST controller for managing {@link ScenarioExecution}.
@@ -71,6 +74,8 @@ public class ScenarioExecutionResource {
      * {@code GET  /scenario-executions} : get all the scenarioExecutions.
      *
      * @param pageable the pagination information.
+     * @param after the cursor of the last entity of the previous page, requests keyset pagination if present.
+     * @param totalCount how the total count should be determined: {@code exact} (default), {@code estimated} or {@code none}.
      * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of scenarioExecutions in body.
      */
@@ -81,13 +86,15 @@ public class ScenarioExecutionResource {
         @RequestParam(name = "includeMessages", required = false, defaultValue = "false") boolean includeMessages,
         @RequestParam(name = "includeMessageHeaders", required = false, defaultValue = "false") boolean includeMessageHeaders,
         @RequestParam(name = "includeParameters", required = false, defaultValue = "false") boolean includeParameters,
+        @RequestParam(name = PARAMETER_AFTER, required = false) String after,
+        @RequestParam(name = PARAMETER_TOTAL_COUNT, required = false) String totalCount,
         @ParameterObject Pageable pageable
     ) {
         logger.debug("REST request to get ScenarioExecutions by criteria: {}", criteria);
 
         Page<ScenarioExecution> page = scenarioExecutionQueryService.findByCriteria(
             criteria,
-            pageable,
+            keysetPageRequest(pageable, after, totalCount),
             new ResultDetailsConfiguration(includeActions, includeMessages, includeMessageHeaders, includeParameters)
         );
         HttpHeaders headers = generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
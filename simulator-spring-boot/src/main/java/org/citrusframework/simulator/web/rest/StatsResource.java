@@ -0,0 +1,86 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.web.rest;
+
+import org.citrusframework.simulator.model.ScenarioExecutionRollup.Granularity;
+import org.citrusframework.simulator.service.dto.ScenarioExecutionStatistics;
+import org.citrusframework.simulator.service.statistics.ScenarioStatisticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static java.lang.String.format;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * REST controller for the time-bucketed scenario execution statistics.
+ */
+@RestController
+@RequestMapping("/api")
+public class StatsResource {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatsResource.class);
+
+    private final ScenarioStatisticsService scenarioStatisticsService;
+
+    public StatsResource(ScenarioStatisticsService scenarioStatisticsService) {
+        this.scenarioStatisticsService = scenarioStatisticsService;
+    }
+
+    /**
+     * {@code GET  /stats} : get the throughput and latency of completed scenario executions per time bucket.
+     *
+     * @param granularity  the size of the time buckets: {@code minute} (default), {@code hour} or {@code day}.
+     * @param scenarioName the scenario name, statistics of all scenarios are merged if absent.
+     * @param from         the inclusive start of the range, defaults to 60 buckets before its end.
+     * @param to           the exclusive end of the range, defaults to the end of the current bucket.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the statistics per bucket in body, or with status {@code 400 (Bad Request)} if the parameters are invalid.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<ScenarioExecutionStatistics>> getStatistics(
+        @RequestParam(name = "granularity", required = false, defaultValue = "minute") String granularity,
+        @RequestParam(name = "scenarioName", required = false) String scenarioName,
+        @RequestParam(name = "from", required = false) Instant from,
+        @RequestParam(name = "to", required = false) Instant to
+    ) {
+        logger.debug("REST request to get {} statistics of scenario: {}", granularity, scenarioName);
+
+        try {
+            return ResponseEntity.ok().body(scenarioStatisticsService.findStatistics(parseGranularity(granularity), scenarioName, from, to));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    private static Granularity parseGranularity(String granularity) {
+        return Arrays.stream(Granularity.values())
+            .filter(value -> value.name().equals(granularity.toUpperCase(Locale.ROOT)))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException(format("Unknown granularity '%s', expected one of minute, hour or day", granularity)));
+    }
+}
@@ -22,6 +22,7 @@ import org.citrusframework.simulator.model.TestResult;
 import org.citrusframework.simulator.service.TestResultQueryService;
 import org.citrusframework.simulator.service.TestResultService;
 import org.citrusframework.simulator.service.criteria.TestResultCriteria;
+import org.citrusframework.simulator.service.dto.ScenarioTestResultByStatus;
 import org.citrusframework.simulator.service.dto.TestResultByStatus;
 import org.citrusframework.simulator.web.rest.dto.TestResultDTO;
 import org.citrusframework.simulator.web.rest.dto.mapper.TestResultMapper;
@@ -38,6 +39,7 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -72,14 +74,21 @@ public class TestResultResource {
      * {@code GET  /test-results} : get all the testResults.
      *
      * @param pageable the pagination information.
+     * @param after the cursor of the last entity of the previous page, requests keyset pagination if present.
+     * @param totalCount how the total count should be determined: {@code exact} (default), {@code estimated} or {@code none}.
      * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of testResults in body.
      */
     @GetMapping("/test-results")
-    public ResponseEntity<List<TestResultDTO>> getAllTestResults(TestResultCriteria criteria, @ParameterObject Pageable pageable) {
+    public ResponseEntity<List<TestResultDTO>> getAllTestResults(
+        TestResultCriteria criteria,
+        @RequestParam(name = PaginationUtil.PARAMETER_AFTER, required = false) String after,
+        @RequestParam(name = PaginationUtil.PARAMETER_TOTAL_COUNT, required = false) String totalCount,
+        @ParameterObject Pageable pageable
+    ) {
         logger.debug("REST request to get TestResults by criteria: {}", criteria);
 
-        Page<TestResult> page = testResultQueryService.findByCriteria(criteria, pageable);
+        Page<TestResult> page = testResultQueryService.findByCriteria(criteria, PaginationUtil.keysetPageRequest(pageable, after, totalCount));
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent().stream().map(testResultMapper::toDto).toList());
     }
@@ -132,6 +141,17 @@ public class TestResultResource {
         return ResponseEntity.ok().body(testResultService.countByStatus());
     }
 
+    /**
+     * {@code GET  /test-results/count-by-scenario} : count the recorded testResults of each scenario by their status.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the counts in body.
+     */
+    @GetMapping("/test-results/count-by-scenario")
+    public ResponseEntity<List<ScenarioTestResultByStatus>> countTestResultsByScenario() {
+        logger.debug("REST request to count TestResults of each scenario by status");
+        return ResponseEntity.ok().body(testResultService.countByScenarioName());
+    }
+
     /**
      * {@code GET  /test-results/:id} : get the "id" testResult.
      *
@@ -0,0 +1,66 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.web.rest.dto.mapper;
+
+import jakarta.annotation.Nullable;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.service.header.MessageHeaderStorage;
+import org.citrusframework.simulator.web.rest.dto.MessageHeaderDTO;
+import org.mapstruct.Named;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.citrusframework.simulator.web.rest.dto.mapper.HibernateCollectionUtils.isLazyCollectionAvailable;
+
+/**
+ * Maps the headers of a message, including the headers that are stored in compact form.
+ */
+@Component
+public class MessageHeadersMapper {
+
+    private final MessageHeaderMapper messageHeaderMapper;
+    private final MessageHeaderStorage messageHeaderStorage;
+
+    public MessageHeadersMapper(MessageHeaderMapper messageHeaderMapper, MessageHeaderStorage messageHeaderStorage) {
+        this.messageHeaderMapper = messageHeaderMapper;
+        this.messageHeaderStorage = messageHeaderStorage;
+    }
+
+    @Nullable
+    @Named("messageHeaders")
+    public Set<MessageHeaderDTO> toDtos(Message message) {
+        boolean headerRowsAvailable = isLazyCollectionAvailable(message.getHeaders());
+        Map<String, String> compactHeaders = messageHeaderStorage.getCompactHeaders(message);
+        if (!headerRowsAvailable && compactHeaders.isEmpty()) {
+            return null;
+        }
+
+        Set<MessageHeaderDTO> headers = new LinkedHashSet<>();
+        if (headerRowsAvailable) {
+            message.getHeaders().stream()
+                .map(messageHeaderMapper::toDto)
+                .forEach(headers::add);
+        }
+
+        compactHeaders.forEach((name, value) -> headers.add(new MessageHeaderDTO(null, name, value)));
+        return headers;
+    }
+}
@@ -19,11 +19,13 @@ package org.citrusframework.simulator.web.rest.dto.mapper;
 import org.citrusframework.simulator.model.Message;
 import org.citrusframework.simulator.web.rest.dto.MessageDTO;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import static org.mapstruct.MappingConstants.ComponentModel.SPRING;
 
-@Mapper(componentModel = SPRING, uses = {AuditingEntityMapper.class, HibernateCollectionUtils.class})
+@Mapper(componentModel = SPRING, uses = {AuditingEntityMapper.class, HibernateCollectionUtils.class, MessageHeadersMapper.class})
 public interface MessageMapper {
 
+    @Mapping(target = "headers", source = "message", qualifiedByName = "messageHeaders")
     MessageDTO toDto(Message message);
 }
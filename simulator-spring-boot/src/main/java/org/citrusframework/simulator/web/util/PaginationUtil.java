@@ -16,6 +16,11 @@
 
 package org.citrusframework.simulator.web.util;
 
+import jakarta.annotation.Nullable;
+import org.citrusframework.simulator.service.pagination.KeysetPage;
+import org.citrusframework.simulator.service.pagination.KeysetPageRequest;
+import org.citrusframework.simulator.service.pagination.PageCursor;
+import org.citrusframework.simulator.service.pagination.TotalCount;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -31,8 +36,11 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.citrusframework.simulator.service.pagination.TotalCount.EXACT;
 import static org.springframework.data.domain.Sort.Direction.ASC;
 import static org.springframework.http.HttpHeaders.LINK;
+import static org.springframework.util.StringUtils.hasText;
 import static org.yaml.snakeyaml.util.UriEncoder.encode;
 
 /**
@@ -40,12 +48,44 @@ import static org.yaml.snakeyaml.util.UriEncoder.encode;
  * <p>
  * Pagination uses the same principles as the <a href="https://developer.github.com/v3/#pagination">GitHub API</a>,
  * and follow <a href="http://tools.ietf.org/html/rfc5988">RFC 5988 (Link header)</a>.
+ * <p>
+ * Additionally, pages may be requested by cursor ({@value #PARAMETER_AFTER}) instead of page number, and clients may
+ * opt out of the total count ({@value #PARAMETER_TOTAL_COUNT}), see {@link #keysetPageRequest(Pageable, String, String)}.
  */
 public interface PaginationUtil {
 
     String HEADER_X_TOTAL_COUNT = "X-Total-Count";
+    String HEADER_X_TOTAL_COUNT_ESTIMATED = "X-Total-Count-Estimated";
     String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
 
+    String PARAMETER_AFTER = "after";
+    String PARAMETER_TOTAL_COUNT = "totalCount";
+
+    /**
+     * Applies the keyset pagination request parameters to the given {@link Pageable}. If neither of them is present,
+     * the {@link Pageable} is returned unchanged and pagination works by offset, including an exact total count.
+     *
+     * @param pageable   The page number, size and sort.
+     * @param after      The cursor of the last entity of the previous page, see {@link PageCursor}. An empty value
+     *                   requests the first page.
+     * @param totalCount How the total count should be determined: {@code exact} (default), {@code estimated} or
+     *                   {@code none}.
+     * @return The {@link KeysetPageRequest} or the unchanged {@link Pageable}.
+     * @throws org.citrusframework.simulator.service.pagination.InvalidPageRequestException if a parameter is invalid,
+     *                                                                                      resulting in status {@code 400 (Bad Request)}.
+     */
+    static Pageable keysetPageRequest(Pageable pageable, @Nullable String after, @Nullable String totalCount) {
+        if (isNull(after) && !hasText(totalCount)) {
+            return pageable;
+        }
+
+        return KeysetPageRequest.of(
+            pageable,
+            hasText(after) ? PageCursor.parse(after) : null,
+            TotalCount.fromParameter(totalCount)
+        );
+    }
+
     /**
      * Creates a paginated {@link Page} of items based on the given {@link Pageable} and a custom comparator function.
      * <p>
@@ -117,6 +157,10 @@ public interface PaginationUtil {
      * @return http header.
      */
     static <T> HttpHeaders generatePaginationHttpHeaders(UriComponentsBuilder uriBuilder, Page<T> page) {
+        if (page instanceof KeysetPage<T> keysetPage) {
+            return generateKeysetPaginationHttpHeaders(uriBuilder, keysetPage);
+        }
+
         var headers = new HttpHeaders();
         headers.add(HEADER_X_TOTAL_COUNT, Long.toString(page.getTotalElements()));
 
@@ -144,6 +188,77 @@ public interface PaginationUtil {
         return headers;
     }
 
+    /**
+     * Generate pagination headers for a {@link KeysetPage}. The {@code next} link continues after the cursor of the
+     * page, if there is one. A {@code prev} link is only available for pages that have been selected by page number,
+     * while the {@code last} link requires the exact total count.
+     *
+     * @param uriBuilder The URI builder.
+     * @param page       The keyset page.
+     * @param <T>        The type of object.
+     * @return http header.
+     */
+    private static <T> HttpHeaders generateKeysetPaginationHttpHeaders(UriComponentsBuilder uriBuilder, KeysetPage<T> page) {
+        var headers = new HttpHeaders();
+        switch (page.getTotalCount()) {
+            case EXACT -> headers.add(HEADER_X_TOTAL_COUNT, Long.toString(page.getTotalElements()));
+            case ESTIMATED -> {
+                headers.add(HEADER_X_TOTAL_COUNT, Long.toString(page.getTotalElements()));
+                headers.add(HEADER_X_TOTAL_COUNT_ESTIMATED, Boolean.TRUE.toString());
+            }
+            case NONE -> {
+                // The client opted out of the total count
+            }
+        }
+
+        boolean selectedByCursor = page.getPageable() instanceof KeysetPageRequest keysetPageRequest && keysetPageRequest.hasCursor();
+        int pageNumber = page.getNumber();
+        int pageSize = page.getSize();
+
+        var link = new StringBuilder();
+
+        if (page.hasNext() && nonNull(page.getNextCursor())) {
+            link.append(prepareCursorLink(uriBuilder, page.getNextCursor(), pageSize))
+                .append(",");
+        }
+
+        uriBuilder.replaceQueryParam(PARAMETER_AFTER);
+
+        if (pageNumber > 0 && !selectedByCursor) {
+            link.append(prepareLink(uriBuilder, pageNumber - 1, pageSize, "prev"))
+                .append(",");
+        }
+
+        if (page.getTotalCount() == EXACT) {
+            link.append(prepareLink(uriBuilder, page.getTotalPages() - 1, pageSize, "last"))
+                .append(",");
+        }
+
+        link.append(prepareLink(uriBuilder, 0, pageSize, "first"));
+
+        headers.add(LINK, link.toString());
+
+        return headers;
+    }
+
+    /**
+     * Prepares the {@code next} link of a keyset page, which continues after the given cursor.
+     *
+     * @param uriBuilder The {@link UriComponentsBuilder} to build the URI.
+     * @param cursor     The cursor of the last entity in the current page.
+     * @param pageSize   The size of the page.
+     * @return A formatted link string for pagination.
+     */
+    private static String prepareCursorLink(UriComponentsBuilder uriBuilder, PageCursor cursor, int pageSize) {
+        var uri = uriBuilder.replaceQueryParam("page")
+            .replaceQueryParam("size", Integer.toString(pageSize))
+            .replaceQueryParam(PARAMETER_AFTER, cursor.toParameter())
+            .toUriString()
+            .replace(",", encode(","))
+            .replace(";", encode(";"));
+        return MessageFormat.format(HEADER_LINK_FORMAT, uri, "next");
+    }
+
     /**
      * Prepares a paginated link with the specified page number and page size.
      * <p>
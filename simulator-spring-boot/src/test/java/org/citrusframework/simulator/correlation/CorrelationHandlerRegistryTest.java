@@ -0,0 +1,225 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.correlation;
+
+import org.citrusframework.context.TestContext;
+import org.citrusframework.message.DefaultMessage;
+import org.citrusframework.message.Message;
+import org.citrusframework.simulator.scenario.ScenarioEndpoint;
+import org.citrusframework.xml.namespace.NamespaceContextBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CorrelationHandlerRegistryTest {
+
+    @Mock
+    private ScenarioEndpoint scenarioEndpointMock;
+
+    private TestContext testContext;
+
+    private CorrelationHandlerRegistry fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        testContext = new TestContext();
+        testContext.setVariable("correlationId", "1234");
+
+        fixture = new CorrelationHandlerRegistry();
+    }
+
+    @Test
+    void findHandlerForResolvesHeaderValueOnRegistration() {
+        HeaderMappingCorrelationHandler handler = new HeaderMappingCorrelationHandler(scenarioEndpointMock, "X-CorrelationId", "${correlationId}");
+        fixture.register(handler, testContext);
+
+        // Changes after registration do not affect the correlation
+        testContext.setVariable("correlationId", "5678");
+
+        assertThat(fixture.findHandlerFor(new DefaultMessage().setHeader("X-CorrelationId", "1234"))).isSameAs(handler);
+        assertThat(fixture.findHandlerFor(new DefaultMessage().setHeader("X-CorrelationId", "5678"))).isNull();
+        assertThat(fixture.findHandlerFor(new DefaultMessage())).isNull();
+    }
+
+    @Test
+    void findScenarioEndpointForResolvesEndpointOfRegisteringExecution() {
+        var executionEndpointMock = mock(ScenarioEndpoint.class);
+        doReturn(executionEndpointMock).when(scenarioEndpointMock).getExecutionEndpoint(testContext);
+
+        fixture.register(new HeaderMappingCorrelationHandler(scenarioEndpointMock, "X-CorrelationId", "${correlationId}"), testContext);
+
+        assertThat(fixture.findScenarioEndpointFor(new DefaultMessage().setHeader("X-CorrelationId", "1234"))).isSameAs(executionEndpointMock);
+        assertThat(fixture.findScenarioEndpointFor(new DefaultMessage().setHeader("X-CorrelationId", "5678"))).isNull();
+    }
+
+    @Test
+    void findHandlerForSelectsHandlerByValue() {
+        HeaderMappingCorrelationHandler first = new HeaderMappingCorrelationHandler(scenarioEndpointMock, "X-CorrelationId", "1");
+        HeaderMappingCorrelationHandler second = new HeaderMappingCorrelationHandler(scenarioEndpointMock, "X-CorrelationId", "2");
+        XPathPayloadCorrelationHandler third = new XPathPayloadCorrelationHandler(scenarioEndpointMock, "/Order/id", "3");
+
+        fixture.register(first, testContext);
+        fixture.register(second, testContext);
+        fixture.register(third, testContext);
+
+        assertThat(fixture.findHandlerFor(new DefaultMessage().setHeader("X-CorrelationId", "2"))).isSameAs(second);
+        assertThat(fixture.findHandlerFor(new DefaultMessage("<Order><id>3</id></Order>"))).isSameAs(third);
+        assertThat(fixture.findHandlerFor(new DefaultMessage("no xml"))).isNull();
+    }
+
+    @Test
+    void findHandlerForPrefersFirstRegisteredHandler() {
+        HeaderMappingCorrelationHandler first = new HeaderMappingCorrelationHandler(scenarioEndpointMock, "X-CorrelationId", "1");
+        XPathPayloadCorrelationHandler second = new XPathPayloadCorrelationHandler(scenarioEndpointMock, "/Order/id", "1");
+
+        fixture.register(first, testContext);
+        fixture.register(second, testContext);
+
+        Message message = new DefaultMessage("<Order><id>1</id></Order>").setHeader("X-CorrelationId", "1");
+        assertThat(fixture.findHandlerFor(message)).isSameAs(first);
+
+        fixture.remove(first);
+        assertThat(fixture.findHandlerFor(message)).isSameAs(second);
+
+        fixture.remove(second);
+        assertThat(fixture.findHandlerFor(message)).isNull();
+    }
+
+    @Test
+    void findHandlerForEvaluatesCustomHandlers() {
+        CorrelationHandler customHandler = mock();
+        fixture.register(customHandler, testContext);
+
+        Message message = new DefaultMessage();
+        doReturn(true).when(customHandler).isHandlerFor(message, testContext);
+
+        assertThat(fixture.findHandlerFor(message)).isSameAs(customHandler);
+
+        fixture.remove(customHandler);
+        assertThat(fixture.findHandlerFor(message)).isNull();
+    }
+
+    @Test
+    void findHandlerForSkipsCustomHandlersIfIndexedHandlerWasRegisteredFirst() {
+        HeaderMappingCorrelationHandler indexedHandler = new HeaderMappingCorrelationHandler(scenarioEndpointMock, "X-CorrelationId", "1");
+        CorrelationHandler customHandler = mock();
+
+        fixture.register(indexedHandler, testContext);
+        fixture.register(customHandler, testContext);
+
+        assertThat(fixture.findHandlerFor(new DefaultMessage().setHeader("X-CorrelationId", "1"))).isSameAs(indexedHandler);
+        verify(customHandler, never()).isHandlerFor(any(Message.class), any(TestContext.class));
+    }
+
+    @Test
+    void findHandlerForEvaluatesXPathExpressionWithNamespacesOfEachHandler() {
+        var orderHandler = xPathHandlerWithNamespace("http://citrusframework.org/order");
+        var invoiceHandler = xPathHandlerWithNamespace("http://citrusframework.org/invoice");
+
+        fixture.register(orderHandler, testContext);
+        fixture.register(invoiceHandler, testContext);
+
+        assertThat(fixture.findHandlerFor(new DefaultMessage("<Order xmlns=\"http://citrusframework.org/order\"><id>1234</id></Order>"))).isSameAs(orderHandler);
+        assertThat(fixture.findHandlerFor(new DefaultMessage("<Order xmlns=\"http://citrusframework.org/invoice\"><id>1234</id></Order>"))).isSameAs(invoiceHandler);
+
+        fixture.remove(orderHandler);
+
+        assertThat(fixture.findHandlerFor(new DefaultMessage("<Order xmlns=\"http://citrusframework.org/order\"><id>1234</id></Order>"))).isNull();
+        assertThat(fixture.findHandlerFor(new DefaultMessage("<Order xmlns=\"http://citrusframework.org/invoice\"><id>1234</id></Order>"))).isSameAs(invoiceHandler);
+    }
+
+    @Test
+    void registerEvictsHandlersInRegistrationOrder() {
+        fixture = new CorrelationHandlerRegistry(2, 0L, 0L);
+
+        HeaderMappingCorrelationHandler first = new HeaderMappingCorrelationHandler(scenarioEndpointMock, "X-CorrelationId", "1");
+        HeaderMappingCorrelationHandler second = new HeaderMappingCorrelationHandler(scenarioEndpointMock, "X-CorrelationId", "2");
+        HeaderMappingCorrelationHandler third = new HeaderMappingCorrelationHandler(scenarioEndpointMock, "X-CorrelationId", "3");
+
+        fixture.register(first, testContext);
+        fixture.register(second, testContext);
+        fixture.register(third, testContext);
+
+        assertThat(fixture.size()).isEqualTo(2);
+        assertThat(fixture.findHandlerFor(new DefaultMessage().setHeader("X-CorrelationId", "1"))).isNull();
+        assertThat(fixture.findHandlerFor(new DefaultMessage().setHeader("X-CorrelationId", "2"))).isSameAs(second);
+        assertThat(fixture.findHandlerFor(new DefaultMessage().setHeader("X-CorrelationId", "3"))).isSameAs(third);
+
+        assertThat(fixture.getStatistics())
+            .satisfies(statistics -> {
+                assertThat(statistics.registrations()).isEqualTo(3);
+                assertThat(statistics.evictions()).isEqualTo(1);
+                assertThat(statistics.hits()).isEqualTo(2);
+                assertThat(statistics.misses()).isEqualTo(1);
+                assertThat(statistics.hitRate()).isEqualTo(2D / 3);
+            });
+    }
+
+    @Test
+    void purgeExpiredHandlersRemovesHandlersAfterTimeToLive() throws InterruptedException {
+        fixture = new CorrelationHandlerRegistry(10, 1L, 0L);
+
+        HeaderMappingCorrelationHandler handler = new HeaderMappingCorrelationHandler(scenarioEndpointMock, "X-CorrelationId", "1");
+        fixture.register(handler, testContext);
+
+        Thread.sleep(10);
+
+        assertThat(fixture.findHandlerFor(new DefaultMessage().setHeader("X-CorrelationId", "1"))).isNull();
+
+        fixture.purgeExpiredHandlers();
+
+        assertThat(fixture.size()).isZero();
+        assertThat(fixture.getStatistics().expirations()).isEqualTo(1);
+    }
+
+    @Test
+    void purgeExpiredHandlersKeepsHandlersWithoutTimeToLive() {
+        fixture = new CorrelationHandlerRegistry(10, 0L, 0L);
+
+        fixture.register(new HeaderMappingCorrelationHandler(scenarioEndpointMock, "X-CorrelationId", "1"), testContext);
+        fixture.purgeExpiredHandlers();
+
+        assertThat(fixture.size()).isEqualTo(1);
+        assertThat(fixture.getStatistics().expirations()).isZero();
+    }
+
+    private XPathPayloadCorrelationHandler xPathHandlerWithNamespace(String namespace) {
+        var namespaceContextBuilder = new NamespaceContextBuilder();
+        namespaceContextBuilder.setNamespaceMappings(Map.of("ns", namespace));
+
+        var applicationContextMock = mock(ApplicationContext.class);
+        doReturn(new String[]{"namespaceContextBuilder"}).when(applicationContextMock).getBeanNamesForType(NamespaceContextBuilder.class);
+        doReturn(namespaceContextBuilder).when(applicationContextMock).getBean("namespaceContextBuilder", NamespaceContextBuilder.class);
+
+        var handler = new XPathPayloadCorrelationHandler(scenarioEndpointMock, "/ns:Order/ns:id", "${correlationId}");
+        handler.lookupNamespaceContextBuilder(applicationContextMock);
+        return handler;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.endpoint;
+
+import org.citrusframework.DefaultTestCaseRunner;
+import org.citrusframework.context.TestContext;
+import org.citrusframework.message.DefaultMessage;
+import org.citrusframework.message.Message;
+import org.citrusframework.simulator.IntegrationTest;
+import org.citrusframework.simulator.scenario.AbstractSimulatorScenario;
+import org.citrusframework.simulator.scenario.Scenario;
+import org.citrusframework.simulator.scenario.ScenarioEndpoint;
+import org.citrusframework.simulator.scenario.ScenarioRunner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stress test dispatching many concurrent requests to the same scenario, verifying that every caller receives the
+ * response to its own request.
+ */
+@Isolated
+@IntegrationTest
+@TestPropertySource(properties = {"citrus.simulator.mode=async", "citrus.simulator.executor-threads=16"})
+class ConcurrentScenarioExecutionIT {
+
+    private static final String ECHO_SCENARIO_NAME = "ConcurrentScenarioExecutionIT:echo-scenario";
+
+    private static final int CALLERS = 32;
+
+    private static final int REQUESTS_PER_CALLER = 20;
+
+    @Autowired
+    private SimulatorEndpointAdapter fixture;
+
+    @Test
+    void dispatchMessage_returnsResponseToItsOwnCaller() throws Exception {
+        ExecutorService executorService = newFixedThreadPool(CALLERS);
+
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int caller = 0; caller < CALLERS; caller++) {
+                results.add(executorService.submit(dispatchRequests(caller)));
+            }
+
+            for (Future<List<String>> result : results) {
+                assertThat(result.get(60, SECONDS)).isEmpty();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the requests that did not receive their own response
+     */
+    private Callable<List<String>> dispatchRequests(int caller) {
+        return () -> {
+            List<String> mismatches = new ArrayList<>();
+            for (int i = 0; i < REQUESTS_PER_CALLER; i++) {
+                String payload = "request-" + caller + "-" + i;
+
+                Message response = fixture.dispatchMessage(new DefaultMessage(payload), ECHO_SCENARIO_NAME);
+                if (response == null || !payload.equals(response.getPayload(String.class))) {
+                    mismatches.add(payload);
+                }
+            }
+
+            return mismatches;
+        };
+    }
+
+    @Scenario(ECHO_SCENARIO_NAME)
+    private static class EchoScenario extends AbstractSimulatorScenario {
+
+        @Override
+        public void run(ScenarioRunner runner) {
+            ScenarioEndpoint scenarioEndpoint = runner.getScenarioEndpoint();
+            TestContext context = ((DefaultTestCaseRunner) runner.getTestCaseRunner()).getContext();
+
+            Message request = scenarioEndpoint.receive(context);
+
+            // Let concurrent executions interleave
+            parkNanos(Duration.ofMillis(ThreadLocalRandom.current().nextInt(0, 5)).toNanos());
+
+            scenarioEndpoint.send(new DefaultMessage(request.getPayload(String.class)), context);
+        }
+    }
+}
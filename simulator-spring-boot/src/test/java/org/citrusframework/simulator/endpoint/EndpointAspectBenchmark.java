@@ -0,0 +1,134 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.endpoint;
+
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.citrusframework.endpoint.Endpoint;
+import org.citrusframework.messaging.Consumer;
+import org.citrusframework.messaging.Producer;
+import org.citrusframework.simulator.scenario.ScenarioEndpoint;
+import org.citrusframework.simulator.scenario.ScenarioEndpointConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.aop.framework.ProxyFactory;
+
+/**
+ * Compares the caching {@link EndpointAspect} against wrapping every created consumer and producer into a new proxy,
+ * which is how the aspect used to work. The {@link GCProfiler} reports the allocations per operation. Run with
+ * {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EndpointAspectBenchmark {
+
+    private Endpoint cachingEndpoint;
+
+    private Endpoint uncachedEndpoint;
+
+    @Setup
+    public void setup() {
+        // The interceptors are never invoked while creating consumers and producers
+        EndpointConsumerInterceptor consumerInterceptor = new EndpointConsumerInterceptor(null);
+        EndpointProducerInterceptor producerInterceptor = new EndpointProducerInterceptor(null);
+
+        cachingEndpoint = createAdvisedEndpoint(new EndpointAspect(consumerInterceptor, producerInterceptor));
+        uncachedEndpoint = createAdvisedEndpoint(new UncachedEndpointAspect(consumerInterceptor, producerInterceptor));
+    }
+
+    @Benchmark
+    public Consumer cachedCreateConsumer() {
+        return cachingEndpoint.createConsumer();
+    }
+
+    @Benchmark
+    public Producer cachedCreateProducer() {
+        return cachingEndpoint.createProducer();
+    }
+
+    @Benchmark
+    public Consumer uncachedCreateConsumer() {
+        return uncachedEndpoint.createConsumer();
+    }
+
+    @Benchmark
+    public Producer uncachedCreateProducer() {
+        return uncachedEndpoint.createProducer();
+    }
+
+    private static Endpoint createAdvisedEndpoint(Object aspect) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new ScenarioEndpoint(new ScenarioEndpointConfiguration()));
+        proxyFactory.addInterface(Endpoint.class);
+        proxyFactory.addAspect(aspect);
+        return proxyFactory.getProxy();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(EndpointAspectBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build())
+            .run();
+    }
+
+    @Aspect
+    public static class UncachedEndpointAspect {
+
+        private final EndpointConsumerInterceptor consumerInterceptor;
+
+        private final EndpointProducerInterceptor producerInterceptor;
+
+        public UncachedEndpointAspect(EndpointConsumerInterceptor consumerInterceptor, EndpointProducerInterceptor producerInterceptor) {
+            this.consumerInterceptor = consumerInterceptor;
+            this.producerInterceptor = producerInterceptor;
+        }
+
+        @Around("execution(* org.citrusframework.endpoint.Endpoint.createConsumer(..))")
+        public Object wrapConsumer(ProceedingJoinPoint joinPoint) throws Throwable {
+            ProxyFactory proxyFactory = new ProxyFactory(joinPoint.proceed());
+            proxyFactory.addAdvice(consumerInterceptor);
+            return proxyFactory.getProxy();
+        }
+
+        @Around("execution(* org.citrusframework.endpoint.Endpoint.createProducer(..))")
+        public Object wrapProducer(ProceedingJoinPoint joinPoint) throws Throwable {
+            ProxyFactory proxyFactory = new ProxyFactory(joinPoint.proceed());
+            proxyFactory.addAdvice(producerInterceptor);
+            return proxyFactory.getProxy();
+        }
+    }
+}
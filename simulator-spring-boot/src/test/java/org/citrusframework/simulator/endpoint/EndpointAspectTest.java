@@ -0,0 +1,115 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.endpoint;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.citrusframework.context.TestContext;
+import org.citrusframework.messaging.Consumer;
+import org.citrusframework.messaging.Producer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EndpointAspectTest {
+
+    @Mock
+    private EndpointConsumerInterceptor consumerInterceptorMock;
+
+    @Mock
+    private EndpointProducerInterceptor producerInterceptorMock;
+
+    @Mock
+    private ProceedingJoinPoint joinPointMock;
+
+    private EndpointAspect fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        fixture = new EndpointAspect(consumerInterceptorMock, producerInterceptorMock);
+    }
+
+    @Test
+    void wrapConsumerReturnsSameProxyForSameConsumer() throws Throwable {
+        Consumer consumer = mock(Consumer.class);
+        doReturn(consumer).when(joinPointMock).proceed();
+
+        Object proxy = fixture.wrapConsumer(joinPointMock);
+
+        assertThat(proxy)
+            .isInstanceOf(Consumer.class)
+            .isNotSameAs(consumer)
+            .isSameAs(fixture.wrapConsumer(joinPointMock));
+    }
+
+    @Test
+    void wrapConsumerReturnsDistinctProxiesForDistinctConsumers() throws Throwable {
+        doReturn(mock(Consumer.class), mock(Consumer.class)).when(joinPointMock).proceed();
+
+        assertThat(fixture.wrapConsumer(joinPointMock)).isNotSameAs(fixture.wrapConsumer(joinPointMock));
+    }
+
+    @Test
+    void wrapConsumerInterceptsInvocationsOnProxy() throws Throwable {
+        doReturn(mock(Consumer.class)).when(joinPointMock).proceed();
+
+        Consumer proxy = (Consumer) fixture.wrapConsumer(joinPointMock);
+        proxy.receive(mock(TestContext.class));
+
+        verify(consumerInterceptorMock).invoke(any());
+    }
+
+    @Test
+    void wrapProducerReturnsSameProxyForSameProducer() throws Throwable {
+        Producer producer = mock(Producer.class);
+        doReturn(producer).when(joinPointMock).proceed();
+
+        Object proxy = fixture.wrapProducer(joinPointMock);
+
+        assertThat(proxy)
+            .isInstanceOf(Producer.class)
+            .isNotSameAs(producer)
+            .isSameAs(fixture.wrapProducer(joinPointMock));
+    }
+
+    @Test
+    void wrapProducerInterceptsInvocationsOnProxy() throws Throwable {
+        doReturn(mock(Producer.class)).when(joinPointMock).proceed();
+
+        Producer proxy = (Producer) fixture.wrapProducer(joinPointMock);
+        proxy.send(null, mock(TestContext.class));
+
+        verify(producerInterceptorMock).invoke(any());
+    }
+
+    @Test
+    void wrapDoesNotProxyNullResults() throws Throwable {
+        doReturn(null).when(joinPointMock).proceed();
+
+        assertThat(fixture.wrapConsumer(joinPointMock)).isNull();
+        assertThat(fixture.wrapProducer(joinPointMock)).isNull();
+    }
+}
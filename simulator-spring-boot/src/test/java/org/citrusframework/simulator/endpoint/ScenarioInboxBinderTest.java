@@ -0,0 +1,115 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.endpoint;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.citrusframework.message.DefaultMessage;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.scenario.ScenarioEndpoint;
+import org.citrusframework.simulator.scenario.ScenarioEndpointConfiguration;
+import org.citrusframework.simulator.scenario.SimulatorScenario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ListableBeanFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(MockitoExtension.class)
+class ScenarioInboxBinderTest {
+
+    @Mock
+    private ListableBeanFactory beanFactoryMock;
+
+    private ScenarioEndpoint scenarioEndpoint;
+
+    private ScenarioEndpoint customScenarioEndpoint;
+
+    private ScenarioInboxBinder fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        scenarioEndpoint = new ScenarioEndpoint(new ScenarioEndpointConfiguration());
+
+        ScenarioEndpointConfiguration customConfiguration = new ScenarioEndpointConfiguration();
+        customConfiguration.setInboxCapacity(5);
+        customScenarioEndpoint = new ScenarioEndpoint(customConfiguration);
+
+        Map<String, SimulatorScenario> scenarios = new LinkedHashMap<>();
+        scenarios.put("scenario", mockScenario(scenarioEndpoint));
+        scenarios.put("customScenario", mockScenario(customScenarioEndpoint));
+        scenarios.put("scenarioWithoutEndpoint", mockScenario(null));
+        doReturn(scenarios).when(beanFactoryMock).getBeansOfType(SimulatorScenario.class, false, true);
+
+        SimulatorConfigurationProperties simulatorConfigurationProperties = new SimulatorConfigurationProperties();
+        simulatorConfigurationProperties.getScenarioInbox().setCapacity(1);
+
+        fixture = new ScenarioInboxBinder(beanFactoryMock, simulatorConfigurationProperties);
+    }
+
+    @Test
+    void appliesConfiguredCapacityUnlessScenarioConfiguredItsOwn() {
+        fixture.afterSingletonsInstantiated();
+
+        assertThat(scenarioEndpoint.getEndpointConfiguration().getInboxCapacity()).isEqualTo(1);
+        assertThat(customScenarioEndpoint.getEndpointConfiguration().getInboxCapacity()).isEqualTo(5);
+    }
+
+    @Test
+    void bindsMetersPerScenario_ifRegistryIsBoundBeforeScenariosAreInstantiated() {
+        var meterRegistry = new SimpleMeterRegistry();
+        fixture.bindTo(meterRegistry);
+        fixture.afterSingletonsInstantiated();
+
+        verifyMeters(meterRegistry);
+    }
+
+    @Test
+    void bindsMetersPerScenario_ifRegistryIsBoundAfterScenariosAreInstantiated() {
+        fixture.afterSingletonsInstantiated();
+        var meterRegistry = new SimpleMeterRegistry();
+        fixture.bindTo(meterRegistry);
+
+        verifyMeters(meterRegistry);
+    }
+
+    private void verifyMeters(SimpleMeterRegistry meterRegistry) {
+        scenarioEndpoint.add(new DefaultMessage("first"), new CompletableFuture<>());
+        assertThatThrownBy(() -> scenarioEndpoint.add(new DefaultMessage("second"), new CompletableFuture<>()));
+
+        assertThat(meterRegistry.get("citrus.simulator.scenario.inbox.pending").tag("scenario", "scenario").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("citrus.simulator.scenario.inbox.overflows").tag("scenario", "scenario").functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("citrus.simulator.scenario.inbox.pending").tag("scenario", "customScenario").gauge().value()).isZero();
+        assertThat(meterRegistry.find("citrus.simulator.scenario.inbox.pending").tag("scenario", "scenarioWithoutEndpoint").gauge()).isNull();
+    }
+
+    private static SimulatorScenario mockScenario(ScenarioEndpoint scenarioEndpoint) {
+        SimulatorScenario scenarioMock = mock();
+        doReturn(scenarioEndpoint).when(scenarioMock).getScenarioEndpoint();
+        return scenarioMock;
+    }
+}
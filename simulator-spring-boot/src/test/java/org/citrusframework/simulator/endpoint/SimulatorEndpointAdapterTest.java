@@ -19,7 +19,9 @@ package org.citrusframework.simulator.endpoint;
 import org.citrusframework.message.Message;
 import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
 import org.citrusframework.simulator.correlation.CorrelationHandlerRegistry;
+import org.citrusframework.simulator.exception.ScenarioExecutionRejectedException;
 import org.citrusframework.simulator.exception.SimulatorException;
+import org.citrusframework.simulator.scenario.ExecutionScopedScenario;
 import org.citrusframework.simulator.scenario.ScenarioEndpoint;
 import org.citrusframework.simulator.scenario.SimulatorScenario;
 import org.citrusframework.simulator.service.ScenarioExecutorService;
@@ -38,11 +40,14 @@ import java.util.concurrent.atomic.AtomicReference;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 
 @ExtendWith({MockitoExtension.class})
 class SimulatorEndpointAdapterTest {
@@ -67,6 +72,9 @@ class SimulatorEndpointAdapterTest {
     @Mock
     private ScenarioEndpoint scenarioEndpointMock;
 
+    @Mock
+    private ScenarioEndpoint executionEndpointMock;
+
     @Mock
     private Message requestMessageMokc;
 
@@ -77,6 +85,24 @@ class SimulatorEndpointAdapterTest {
         }
     }
 
+    @Nested
+    class HandleMessageInternalTest {
+
+        @Test
+        void shouldAddCorrelatedMessageToExecutionEndpoint() {
+            var fixture = new SimulatorEndpointAdapter(applicationContextMock, handlerRegistryMock, scenarioExecutorServiceMock, simulatorConfigurationMock);
+
+            when(handlerRegistryMock.findScenarioEndpointFor(requestMessageMokc)).thenReturn(executionEndpointMock);
+            when(simulatorConfigurationMock.getDefaultTimeout()).thenReturn(1L);
+
+            fixture.handleMessageInternal(requestMessageMokc);
+
+            verify(executionEndpointMock).add(eq(requestMessageMokc), any());
+            verify(executionEndpointMock).cancel(any());
+            verifyNoInteractions(scenarioExecutorServiceMock);
+        }
+    }
+
     @Nested
     class DispatchMessageTest {
         @Test
@@ -87,7 +113,7 @@ class SimulatorEndpointAdapterTest {
 
             fixture.dispatchMessage(requestMessageMokc, SCENARIO_NAME);
 
-            verify(scenarioEndpointMock).cancel(anyFuture());
+            verify(executionEndpointMock).cancel(anyFuture());
         }
 
         @Test
@@ -99,16 +125,16 @@ class SimulatorEndpointAdapterTest {
             doAnswer(invocation -> {
                 responseFutureRef.set(invocation.getArgument(1));
                 return null;
-            }).when(scenarioEndpointMock).add(eq(requestMessageMokc), anyFuture());
+            }).when(executionEndpointMock).add(eq(requestMessageMokc), anyFuture());
             doAnswer(invocation -> {
                 responseFutureRef.get().completeExceptionally(new IllegalStateException("boom"));
                 return null;
-            }).when(scenarioExecutorServiceMock).run(eq(scenarioMock), eq(SCENARIO_NAME), anyList());
+            }).when(scenarioExecutorServiceMock).run(executionScopedScenario(), eq(SCENARIO_NAME), anyList());
 
             assertThatThrownBy(() -> fixture.dispatchMessage(requestMessageMokc, SCENARIO_NAME))
                 .isInstanceOf(SimulatorException.class);
 
-            verify(scenarioEndpointMock).cancel(responseFutureRef.get());
+            verify(executionEndpointMock).cancel(responseFutureRef.get());
         }
 
         @Test
@@ -119,12 +145,12 @@ class SimulatorEndpointAdapterTest {
             doAnswer(invocation -> {
                 Thread.currentThread().interrupt();
                 return null;
-            }).when(scenarioExecutorServiceMock).run(eq(scenarioMock), eq(SCENARIO_NAME), anyList());
+            }).when(scenarioExecutorServiceMock).run(executionScopedScenario(), eq(SCENARIO_NAME), anyList());
 
             assertThatThrownBy(() -> fixture.dispatchMessage(requestMessageMokc, SCENARIO_NAME))
                 .isInstanceOf(SimulatorException.class);
 
-            verify(scenarioEndpointMock).cancel(anyFuture());
+            verify(executionEndpointMock).cancel(anyFuture());
         }
 
         @Test
@@ -132,18 +158,49 @@ class SimulatorEndpointAdapterTest {
             var fixture = createFixture();
 
             doThrow(new IllegalStateException("sync-run-failed"))
-                .when(scenarioExecutorServiceMock).run(eq(scenarioMock), eq(SCENARIO_NAME), anyList());
+                .when(scenarioExecutorServiceMock).run(executionScopedScenario(), eq(SCENARIO_NAME), anyList());
 
             assertThatThrownBy(() -> fixture.dispatchMessage(requestMessageMokc, SCENARIO_NAME))
                 .isInstanceOf(ResponseStatusException.class);
 
-            verify(scenarioEndpointMock).cancel(anyFuture());
+            verify(executionEndpointMock).cancel(anyFuture());
+        }
+
+        @Test
+        void shouldRespondServiceUnavailable_onRejectedScenario() {
+            var fixture = createFixture();
+
+            doThrow(new ScenarioExecutionRejectedException("simulator is busy"))
+                .when(scenarioExecutorServiceMock).run(executionScopedScenario(), eq(SCENARIO_NAME), anyList());
+
+            assertThatThrownBy(() -> fixture.dispatchMessage(requestMessageMokc, SCENARIO_NAME))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(SERVICE_UNAVAILABLE);
+
+            verify(executionEndpointMock).cancel(anyFuture());
+        }
+
+        @Test
+        void shouldRespondServiceUnavailable_onFullScenarioInbox() {
+            var fixture = createFixture();
+
+            doThrow(new ScenarioExecutionRejectedException("inbox is full"))
+                .when(executionEndpointMock).add(eq(requestMessageMokc), anyFuture());
+
+            assertThatThrownBy(() -> fixture.dispatchMessage(requestMessageMokc, SCENARIO_NAME))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(SERVICE_UNAVAILABLE);
+
+            verifyNoInteractions(scenarioExecutorServiceMock);
         }
 
         private SimulatorEndpointAdapter createFixture() {
             when(applicationContextMock.containsBean(SCENARIO_NAME)).thenReturn(true);
             when(applicationContextMock.getBean(SCENARIO_NAME, SimulatorScenario.class)).thenReturn(scenarioMock);
             when(scenarioMock.getScenarioEndpoint()).thenReturn(scenarioEndpointMock);
+            when(scenarioEndpointMock.createExecutionEndpoint()).thenReturn(executionEndpointMock);
 
             return new SimulatorEndpointAdapter(applicationContextMock, handlerRegistryMock, scenarioExecutorServiceMock, simulatorConfigurationMock);
         }
@@ -151,5 +208,10 @@ class SimulatorEndpointAdapterTest {
         private static CompletableFuture<Message> anyFuture() {
             return any();
         }
+
+        private SimulatorScenario executionScopedScenario() {
+            return argThat(scenario -> scenario instanceof ExecutionScopedScenario
+                && scenario.getScenarioEndpoint() == executionEndpointMock);
+        }
     }
 }
@@ -0,0 +1,252 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.endpoint;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.citrusframework.context.TestContext;
+import org.citrusframework.context.TestContextFactory;
+import org.citrusframework.endpoint.Endpoint;
+import org.citrusframework.endpoint.EndpointAdapter;
+import org.citrusframework.endpoint.EndpointConfiguration;
+import org.citrusframework.message.DefaultMessage;
+import org.citrusframework.message.Message;
+import org.citrusframework.messaging.Consumer;
+import org.citrusframework.messaging.ReplyProducer;
+import org.citrusframework.simulator.exception.ScenarioExecutionRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.citrusframework.simulator.endpoint.SimulatorEndpointPoller.STATUS_HEADER;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+class SimulatorEndpointPollerTest {
+
+    private static final long POLL_TIMEOUT = 10L;
+
+    private Endpoint inboundEndpointMock;
+
+    private Consumer consumerMock;
+
+    private EndpointAdapter endpointAdapterMock;
+
+    private TestContextFactory testContextFactoryMock;
+
+    private SimulatorEndpointPoller fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        testContextFactoryMock = mock(TestContextFactory.class);
+        when(testContextFactoryMock.getObject()).thenAnswer(invocation -> new TestContext());
+
+        EndpointConfiguration endpointConfigurationMock = mock(EndpointConfiguration.class);
+        when(endpointConfigurationMock.getTimeout()).thenReturn(POLL_TIMEOUT);
+
+        consumerMock = mock(Consumer.class);
+        when(consumerMock.receive(any(TestContext.class), anyLong())).thenAnswer(invocation -> idleReceive());
+
+        inboundEndpointMock = mock(Endpoint.class);
+        when(inboundEndpointMock.getName()).thenReturn("inbound");
+        when(inboundEndpointMock.getEndpointConfiguration()).thenReturn(endpointConfigurationMock);
+        when(inboundEndpointMock.createConsumer()).thenReturn(consumerMock);
+
+        endpointAdapterMock = mock(EndpointAdapter.class);
+
+        fixture = new SimulatorEndpointPoller(testContextFactoryMock);
+        fixture.setInboundEndpoint(inboundEndpointMock);
+        fixture.setEndpointAdapter(endpointAdapterMock);
+        fixture.setAutoStart(false);
+        fixture.setExceptionDelay(1000L);
+    }
+
+    @AfterEach
+    void afterEachTeardown() {
+        fixture.stop();
+    }
+
+    @Test
+    void startsConcurrentConsumers() {
+        fixture.setConcurrentConsumers(3);
+        fixture.setMaxConcurrentConsumers(3);
+
+        fixture.start();
+
+        verify(inboundEndpointMock, timeout(1000L).times(3)).createConsumer();
+        assertThat(fixture.getConsumerCount()).isEqualTo(3);
+    }
+
+    @Test
+    void startsSingleConsumerIfOrderIsPreserved() throws InterruptedException {
+        fixture.setConcurrentConsumers(3);
+        fixture.setMaxConcurrentConsumers(5);
+        fixture.setPreserveOrder(true);
+
+        fixture.start();
+
+        verify(inboundEndpointMock, timeout(1000L)).createConsumer();
+        Thread.sleep(10 * POLL_TIMEOUT);
+
+        verify(inboundEndpointMock, times(1)).createConsumer();
+        assertThat(fixture.getConsumerCount()).isEqualTo(1);
+    }
+
+    @Test
+    void scalesUpWithBacklogAndDownWhenIdle() throws InterruptedException {
+        fixture.setMaxConcurrentConsumers(2);
+        fixture.setIdleReceiveLimit(1);
+
+        AtomicBoolean messageAvailable = new AtomicBoolean(true);
+        when(consumerMock.receive(any(TestContext.class), anyLong())).thenAnswer(invocation ->
+            messageAvailable.getAndSet(false) ? new DefaultMessage("request") : idleReceive());
+
+        CountDownLatch processing = new CountDownLatch(1);
+        when(endpointAdapterMock.handleMessage(any(Message.class))).thenAnswer(invocation -> {
+            processing.await(1, TimeUnit.SECONDS);
+            return null;
+        });
+
+        fixture.start();
+
+        verify(inboundEndpointMock, timeout(1000L).times(2)).createConsumer();
+
+        processing.countDown();
+
+        awaitConsumerCount(1);
+        assertThat(fixture.getConsumerCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reusesTestContextForEmptyPolls() {
+        fixture.start();
+
+        verify(consumerMock, timeout(1000L).atLeast(3)).receive(any(TestContext.class), anyLong());
+        verify(testContextFactoryMock, times(1)).getObject();
+    }
+
+    @Test
+    void buildsNewTestContextOnceMessageHasBeenReceived() {
+        List<TestContext> receiveContexts = new CopyOnWriteArrayList<>();
+        AtomicInteger receives = new AtomicInteger();
+        when(consumerMock.receive(any(TestContext.class), anyLong())).thenAnswer(invocation -> {
+            receiveContexts.add(invocation.getArgument(0));
+            return receives.incrementAndGet() <= 2 ? new DefaultMessage("request") : idleReceive();
+        });
+
+        fixture.start();
+
+        verify(consumerMock, timeout(1000L).atLeast(4)).receive(any(TestContext.class), anyLong());
+        verify(endpointAdapterMock, times(2)).handleMessage(any(Message.class));
+
+        assertThat(receiveContexts.get(0)).isNotSameAs(receiveContexts.get(1));
+        assertThat(receiveContexts.get(1)).isNotSameAs(receiveContexts.get(2));
+        assertThat(receiveContexts.get(2)).isSameAs(receiveContexts.get(3));
+    }
+
+    @Test
+    void repliesToRejectedRequestWithReplyDestination() {
+        fixture.setReplyDestinationHeader("replyTo");
+        receiveSingleMessage(new DefaultMessage("request").setHeader("replyTo", "reply.queue"));
+        var rejection = rejectRequests();
+
+        ReplyProducer replyProducerMock = mock(ReplyProducer.class);
+        when(inboundEndpointMock.createProducer()).thenReturn(replyProducerMock);
+
+        fixture.start();
+
+        ArgumentCaptor<Message> replyCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(replyProducerMock, timeout(1000L)).send(replyCaptor.capture(), any(TestContext.class));
+
+        assertThat(replyCaptor.getValue().getPayload(String.class)).isEqualTo(rejection.getMessage());
+        assertThat(replyCaptor.getValue().getHeader(STATUS_HEADER)).isEqualTo(SERVICE_UNAVAILABLE.value());
+        assertThat(fixture.getRejectionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void countsRejectedRequestWithoutReplyDestination() {
+        fixture.setReplyDestinationHeader("replyTo");
+        receiveSingleMessage(new DefaultMessage("request"));
+        rejectRequests();
+
+        var meterRegistry = new SimpleMeterRegistry();
+        fixture.bindTo(meterRegistry);
+
+        fixture.start();
+
+        verify(endpointAdapterMock, timeout(1000L)).handleMessage(any(Message.class));
+        fixture.stop();
+
+        verify(inboundEndpointMock, never()).createProducer();
+        assertThat(meterRegistry.get("citrus.simulator.endpoint.rejections").tag("endpoint", "inbound").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void stopTerminatesAllConsumers() throws InterruptedException {
+        fixture.setConcurrentConsumers(2);
+        fixture.setMaxConcurrentConsumers(2);
+
+        fixture.start();
+        verify(inboundEndpointMock, timeout(1000L).times(2)).createConsumer();
+
+        fixture.stop();
+
+        awaitConsumerCount(0);
+        assertThat(fixture.getConsumerCount()).isZero();
+    }
+
+    private void awaitConsumerCount(int expectedCount) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000L;
+        while (fixture.getConsumerCount() != expectedCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(POLL_TIMEOUT);
+        }
+    }
+
+    private void receiveSingleMessage(Message message) {
+        AtomicBoolean messageAvailable = new AtomicBoolean(true);
+        when(consumerMock.receive(any(TestContext.class), anyLong())).thenAnswer(invocation ->
+            messageAvailable.getAndSet(false) ? message : idleReceive());
+    }
+
+    private ScenarioExecutionRejectedException rejectRequests() {
+        var rejection = new ScenarioExecutionRejectedException("Scenario 'test' rejected, simulator is busy");
+        when(endpointAdapterMock.handleMessage(any(Message.class))).thenThrow(new ResponseStatusException(SERVICE_UNAVAILABLE, rejection.getMessage(), rejection));
+        return rejection;
+    }
+
+    private static Message idleReceive() throws InterruptedException {
+        Thread.sleep(POLL_TIMEOUT);
+        return null;
+    }
+}
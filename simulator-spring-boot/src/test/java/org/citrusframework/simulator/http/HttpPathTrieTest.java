@@ -0,0 +1,92 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.http;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.AntPathMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpPathTrieTest {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private HttpPathTrie<String> fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        fixture = new HttpPathTrie<>();
+    }
+
+    @Test
+    void findFirstReturnsFirstMatchInRegistrationOrder() {
+        fixture.add("/issues/{id}", "/issues/{id}");
+        fixture.add("/issues/foo", "/issues/foo");
+        fixture.add("/**", "/**");
+
+        assertThat(findFirst("/issues/foo")).isEqualTo("/issues/{id}");
+        assertThat(findFirst("/issues/bar")).isEqualTo("/issues/{id}");
+        assertThat(findFirst("/other")).isEqualTo("/**");
+    }
+
+    @Test
+    void findFirstOnlyVisitsCandidatesSharingLiteralPrefix() {
+        fixture.add("/issues/foo/{id}", "foo");
+        fixture.add("/issues/bar/{id}", "bar");
+        fixture.add("/orders/{id}", "orders");
+
+        List<String> visited = new ArrayList<>();
+        String result = fixture.findFirst("/issues/bar/1", candidate -> {
+            visited.add(candidate);
+            return pathMatcher.match("/issues/" + candidate + "/{id}", "/issues/bar/1");
+        });
+
+        assertThat(result).isEqualTo("bar");
+        assertThat(visited).containsExactly("bar");
+    }
+
+    @Test
+    void findFirstIncludesPatternsWithoutPath() {
+        fixture.add(null, "any");
+
+        assertThat(fixture.findFirst("/issues/foo", candidate -> true)).isEqualTo("any");
+        assertThat(fixture.findFirst(null, candidate -> true)).isEqualTo("any");
+        assertThat(fixture.size()).isEqualTo(1);
+    }
+
+    @Test
+    void findFirstIgnoresEmptySegmentsLikeAntPathMatcher() {
+        fixture.add("/issues//foo", "/issues//foo");
+
+        assertThat(findFirst("/issues/foo")).isEqualTo("/issues//foo");
+    }
+
+    @Test
+    void findFirstReturnsNullIfNothingMatches() {
+        fixture.add("/issues/foo", "/issues/foo");
+
+        assertThat(findFirst("/issues/bar")).isNull();
+        assertThat(findFirst("/issues")).isNull();
+    }
+
+    private String findFirst(String requestPath) {
+        return fixture.findFirst(requestPath, pattern -> pathMatcher.match(pattern, requestPath));
+    }
+}
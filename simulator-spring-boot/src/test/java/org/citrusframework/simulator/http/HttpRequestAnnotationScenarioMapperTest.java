@@ -86,6 +86,34 @@ class HttpRequestAnnotationScenarioMapperTest {
         assertThrows(CitrusRuntimeException.class, () -> fixture.getMappingKey(null));
     }
 
+    @Test
+    void testGetMappingKeyWithQueryParams() {
+        fixture.setScenarioList(
+            List.of(
+                new QueryParamScenario(),
+                new IssueScenario()));
+
+        assertEquals("QueryParamScenario", fixture.getMappingKey(new HttpMessage().path("/issues/foo").method(GET).queryParam("a", "1")));
+        assertEquals("IssueScenario", fixture.getMappingKey(new HttpMessage().path("/issues/foo").method(GET).queryParam("a", "1").queryParam("b", "2")));
+        assertEquals("IssueScenario", mappingKeyFor(fixture, "/issues/foo", GET));
+    }
+
+    @Test
+    void testGetMappingKeyPrefersExactMatchAndKeepsScenarioOrder() {
+        fixture.setScenarioList(
+            List.of(
+                new IssueScenario(),
+                new GetFooScenario()));
+
+        assertEquals("GetFooScenario", mappingKeyFor(fixture, "/issues/foo", GET));
+        assertEquals("IssueScenario", mappingKeyFor(fixture, "/issues/bar", GET));
+        assertEquals("default", mappingKeyFor(fixture, "/other", GET));
+
+        fixture.setScenarioList(List.of(new GetFooScenario()));
+
+        assertEquals(1, fixture.getScenarios().size());
+        assertEquals("default", mappingKeyFor(fixture, "/issues/bar", GET));
+    }
 
     private String mappingKeyFor(HttpRequestAnnotationScenarioMapper mapper, String path) {
         return mapper.getMappingKey(new HttpMessage().path(path));
@@ -119,6 +147,11 @@ class HttpRequestAnnotationScenarioMapperTest {
     private static class IssueScenario extends AbstractSimulatorScenario {
     }
 
+    @Scenario("QueryParamScenario")
+    @RequestMapping(value = "/issues/*", method = RequestMethod.GET, params = {"a", "!b"})
+    private static class QueryParamScenario extends AbstractSimulatorScenario {
+    }
+
     @Scenario("OtherScenario")
     @RequestMapping("/issues/other")
     private static class OtherScenario extends AbstractSimulatorScenario {
@@ -0,0 +1,161 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.http;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.citrusframework.TestCaseRunner;
+import org.citrusframework.http.message.HttpMessage;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.scenario.ScenarioEndpoint;
+import org.citrusframework.simulator.scenario.SimulatorScenario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+/**
+ * Compares the trie based {@link HttpRequestPathScenarioMapper} against a linear scan over the specificity sorted
+ * scenarios, which is how scenarios used to be matched. Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HttpRequestPathScenarioMapperBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int operations;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private HttpRequestPathScenarioMapper fixture;
+
+    private List<HttpScenario> sortedScenarios;
+
+    private HttpMessage firstOperationRequest;
+
+    private HttpMessage lastOperationRequest;
+
+    @Setup
+    public void setup() {
+        List<SimulatorScenario> scenarios = new ArrayList<>();
+        for (int i = 0; i < operations / 2; i++) {
+            scenarios.add(new BenchmarkHttpScenario("GET", "/api/resource" + i + "/{id}"));
+            scenarios.add(new BenchmarkHttpScenario("POST", "/api/resource" + i));
+        }
+
+        fixture = new HttpRequestPathScenarioMapper();
+        fixture.setConfiguration(new SimulatorConfigurationProperties());
+        fixture.setScenarioList(scenarios);
+
+        sortedScenarios = scenarios.stream()
+            .map(HttpScenario.class::cast)
+            .sorted(new HttpPathSpecificityComparator())
+            .toList();
+
+        firstOperationRequest = new HttpMessage().method(HttpMethod.GET).path("/api/resource0/42");
+        lastOperationRequest = new HttpMessage().method(HttpMethod.GET).path("/api/resource" + (operations / 2 - 1) + "/42");
+    }
+
+    @Benchmark
+    public String trieFirstOperation() {
+        return fixture.getMappingKey(firstOperationRequest);
+    }
+
+    @Benchmark
+    public String trieLastOperation() {
+        return fixture.getMappingKey(lastOperationRequest);
+    }
+
+    @Benchmark
+    public String linearScanFirstOperation() {
+        return linearScan(firstOperationRequest);
+    }
+
+    @Benchmark
+    public String linearScanLastOperation() {
+        return linearScan(lastOperationRequest);
+    }
+
+    private String linearScan(HttpMessage request) {
+        String requestMethod = request.getRequestMethod().name();
+        for (HttpScenario scenario : sortedScenarios) {
+            if (requestMethod.equals(scenario.getMethod()) && pathMatcher.match(scenario.getPath(), request.getPath())) {
+                return scenario.getScenarioId();
+            }
+        }
+
+        return null;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(HttpRequestPathScenarioMapperBenchmark.class.getSimpleName())
+            .build())
+            .run();
+    }
+
+    private record BenchmarkHttpScenario(String method, String path) implements HttpScenario {
+
+        @Override
+        public String getPath() {
+            return path;
+        }
+
+        @Override
+        public String getMethod() {
+            return method;
+        }
+
+        @Override
+        public String getScenarioId() {
+            return method + "_" + path;
+        }
+
+        @Override
+        public ScenarioEndpoint getScenarioEndpoint() {
+            return null;
+        }
+
+        @Override
+        public TestCaseRunner getTestCaseRunner() {
+            return null;
+        }
+
+        @Override
+        public void setTestCaseRunner(TestCaseRunner testCaseRunner) {
+            // Not required for matching
+        }
+    }
+}
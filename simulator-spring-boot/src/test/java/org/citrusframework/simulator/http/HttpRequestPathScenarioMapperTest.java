@@ -16,6 +16,7 @@
 
 package org.citrusframework.simulator.http;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -28,18 +29,25 @@ import io.apicurio.datamodels.openapi.v2.models.Oas20Document;
 import io.apicurio.datamodels.openapi.v2.models.Oas20Operation;
 import io.apicurio.datamodels.openapi.v3.models.Oas30Document;
 import io.apicurio.datamodels.openapi.v3.models.Oas30Operation;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import org.citrusframework.TestCaseRunner;
 import org.citrusframework.exceptions.CitrusRuntimeException;
 import org.citrusframework.http.message.HttpMessage;
 import org.citrusframework.openapi.OpenApiSpecification;
 import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.scenario.ScenarioEndpoint;
+import org.citrusframework.simulator.scenario.SimulatorScenario;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.bind.annotation.RequestMethod;
 
 /**
@@ -150,6 +158,85 @@ class HttpRequestPathScenarioMapperTest {
         assertThrows(CitrusRuntimeException.class, () -> fixture.getMappingKey(httpGetIssuesMessage));
     }
 
+    @Test
+    void exactPathBeatsPattern() {
+        List<SimulatorScenario> scenarios = List.of(
+            new TestHttpScenario("GET", "/issues/{id}"),
+            new TestHttpScenario("GET", "/issues/special"));
+
+        assertSameScenarioAsComparator(scenarios, "GET", "/issues/special", "GET_/issues/special");
+        assertSameScenarioAsComparator(scenarios, "GET", "/issues/1", "GET_/issues/{id}");
+        assertSameScenarioAsComparator(scenarios, "GET", "/orders/1", DEFAULT_SCENARIO);
+    }
+
+    @Test
+    void templateVariableBeatsDoubleWildcard() {
+        List<SimulatorScenario> scenarios = List.of(
+            new TestHttpScenario("GET", "/issues/**"),
+            new TestHttpScenario("GET", "/issues/{id}"));
+
+        assertSameScenarioAsComparator(scenarios, "GET", "/issues/1", "GET_/issues/{id}");
+        assertSameScenarioAsComparator(scenarios, "GET", "/issues/1/comments", "GET_/issues/**");
+        assertSameScenarioAsComparator(scenarios, "GET", "/orders", DEFAULT_SCENARIO);
+    }
+
+    @Test
+    void overlappingPatternsResolveToMostSpecificScenario() {
+        List<SimulatorScenario> scenarios = List.of(
+            new TestHttpScenario("GET", "/**"),
+            new TestHttpScenario("GET", "/issues/{id}/detail"),
+            new TestHttpScenario("GET", "/issues/foo/{detail}"),
+            new TestHttpScenario("GET", "/issues/foo/detail"),
+            new TestHttpScenario("GET", "/issues/*/detail"),
+            new TestHttpScenario("GET", "/issues/{id}/{detail}"));
+
+        for (String requestPath : List.of("/issues/foo/detail", "/issues/foo/other", "/issues/bar/detail", "/issues/bar/other", "/issues", "/other/path")) {
+            assertSameScenarioAsComparator(scenarios, "GET", requestPath, null);
+        }
+
+        assertSameScenarioAsComparator(scenarios, "POST", "/issues", DEFAULT_SCENARIO);
+    }
+
+    @Test
+    void requestMethodWithoutScenariosMapsToDefaultScenario() {
+        List<SimulatorScenario> scenarios = List.of(
+            new TestHttpScenario("GET", "/issues/{id}"),
+            new TestHttpScenario("POST", "/issues"));
+
+        assertSameScenarioAsComparator(scenarios, "DELETE", "/issues/1", DEFAULT_SCENARIO);
+        assertSameScenarioAsComparator(scenarios, "PUT", "/issues", DEFAULT_SCENARIO);
+        assertSameScenarioAsComparator(scenarios, "POST", "/issues", "POST_/issues");
+    }
+
+    /**
+     * Asserts the mapper resolves the same scenario as a linear scan over the scenarios sorted by the
+     * {@link HttpPathSpecificityComparator}, which is how scenarios used to be matched.
+     *
+     * @param expectedScenarioId the expected scenario, or {@code null} to only compare with the linear scan
+     */
+    private void assertSameScenarioAsComparator(List<SimulatorScenario> scenarios, String method, String path, String expectedScenarioId) {
+        fixture.setScenarioList(new ArrayList<>(scenarios));
+
+        HttpMessage request = new HttpMessage().method(HttpMethod.valueOf(method)).path(path);
+        String mappingKey = fixture.getMappingKey(request);
+
+        String linearScanResult = scenarios.stream()
+            .map(HttpScenario.class::cast)
+            .sorted(new HttpPathSpecificityComparator())
+            .filter(scenario -> method.equals(scenario.getMethod()) && new AntPathMatcher().match(scenario.getPath(), path))
+            .map(HttpScenario::getScenarioId)
+            .findFirst()
+            .orElse(DEFAULT_SCENARIO);
+
+        assertThat(mappingKey)
+            .as("Scenario mapped for %s %s", method, path)
+            .isEqualTo(linearScanResult);
+
+        if (expectedScenarioId != null) {
+            assertThat(mappingKey).isEqualTo(expectedScenarioId);
+        }
+    }
+
     private HttpScenario mockHttpScenario(String method, String path, String scenarioId) {
         HttpScenario httpScenario = mock();
         doReturn(method).when(httpScenario).getMethod();
@@ -172,4 +259,36 @@ class HttpRequestPathScenarioMapperTest {
         return oasOperationMock;
     }
 
+    private record TestHttpScenario(String method, String path) implements HttpScenario {
+
+        @Override
+        public String getPath() {
+            return path;
+        }
+
+        @Override
+        public String getMethod() {
+            return method;
+        }
+
+        @Override
+        public String getScenarioId() {
+            return method + "_" + path;
+        }
+
+        @Override
+        public ScenarioEndpoint getScenarioEndpoint() {
+            return null;
+        }
+
+        @Override
+        public TestCaseRunner getTestCaseRunner() {
+            return null;
+        }
+
+        @Override
+        public void setTestCaseRunner(TestCaseRunner testCaseRunner) {
+            // Not required for matching
+        }
+    }
 }
@@ -23,8 +23,15 @@ import org.citrusframework.TestCase;
 import org.citrusframework.TestResult;
 import org.citrusframework.actions.SleepAction;
 import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties.Recording.Policy;
 import org.citrusframework.simulator.service.ScenarioActionService;
 import org.citrusframework.simulator.service.ScenarioExecutionService;
+import org.citrusframework.simulator.service.journal.AuditEvent.ActionCompleted;
+import org.citrusframework.simulator.service.journal.AuditEvent.ActionStarted;
+import org.citrusframework.simulator.service.journal.AuditEvent.ExecutionCompleted;
+import org.citrusframework.simulator.service.journal.ScenarioAuditJournal;
+import org.citrusframework.simulator.service.recording.ScenarioRecordingPolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -40,10 +47,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.citrusframework.simulator.model.ScenarioExecution.EXECUTION_ID;
 import static org.citrusframework.simulator.model.TestResult.Status.FAILURE;
 import static org.citrusframework.simulator.model.TestResult.Status.SUCCESS;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.util.ReflectionTestUtils.getField;
@@ -58,11 +67,18 @@ class SimulatorStatusListenerTest {
     @Mock
     private ScenarioExecutionService scenarioExecutionServiceMock;
 
+    @Mock
+    private ScenarioAuditJournal scenarioAuditJournalMock;
+
+    private SimulatorConfigurationProperties simulatorConfigurationProperties;
+
     private SimulatorStatusListener fixture;
 
     @BeforeEach
     void setup() {
-        fixture = new SimulatorStatusListener(scenarioActionServiceMock, scenarioExecutionServiceMock);
+        simulatorConfigurationProperties = new SimulatorConfigurationProperties();
+
+        fixture = new SimulatorStatusListener(scenarioActionServiceMock, scenarioExecutionServiceMock, scenarioAuditJournalMock, new ScenarioRecordingPolicy(simulatorConfigurationProperties));
     }
 
     @Nested
@@ -281,6 +297,110 @@ class SimulatorStatusListenerTest {
         }
     }
 
+    @Nested
+    class WithAuditJournal {
+
+        @Mock
+        private TestCase testCaseMock;
+
+        @BeforeEach
+        void beforeEachSetup() {
+            doReturn(true).when(scenarioAuditJournalMock).isEnabled();
+        }
+
+        @Test
+        void shouldAppendActionStart() {
+            doReturn(Map.of(EXECUTION_ID, 1234L)).when(testCaseMock).getVariableDefinitions();
+
+            var testActionMock = mock(TestAction.class);
+            doReturn("send").when(testActionMock).getName();
+
+            fixture.onTestActionStart(testCaseMock, testActionMock);
+
+            verify(scenarioAuditJournalMock).append(argThat(e -> e instanceof ActionStarted actionStarted
+                && actionStarted.executionId() == 1234L && actionStarted.actionName().equals("send")));
+            verifyNoInteractions(scenarioActionServiceMock);
+        }
+
+        @Test
+        void shouldAppendActionFinish() {
+            doReturn(Map.of(EXECUTION_ID, 1234L)).when(testCaseMock).getVariableDefinitions();
+
+            var testActionMock = mock(TestAction.class);
+            doReturn("send").when(testActionMock).getName();
+
+            fixture.onTestActionFinish(testCaseMock, testActionMock);
+
+            verify(scenarioAuditJournalMock).append(argThat(e -> e instanceof ActionCompleted actionCompleted
+                && actionCompleted.executionId() == 1234L && actionCompleted.actionName().equals("send")));
+            verifyNoInteractions(scenarioActionServiceMock);
+        }
+
+        @Test
+        void shouldIgnoreCreateVariablesAction() {
+            var testActionMock = mock(TestAction.class);
+            doReturn("create-variables").when(testActionMock).getName();
+
+            fixture.onTestActionStart(testCaseMock, testActionMock);
+            fixture.onTestActionFinish(testCaseMock, testActionMock);
+
+            verify(scenarioAuditJournalMock, never()).append(any());
+            verifyNoInteractions(testCaseMock, scenarioActionServiceMock);
+        }
+
+        @Test
+        void shouldAppendScenarioExecutionCompletion() {
+            doReturn("shouldAppendScenarioExecutionCompletion").when(testCaseMock).getName();
+            doReturn(getClass()).when(testCaseMock).getTestClass();
+            doReturn(Map.of(EXECUTION_ID, 1234L)).when(testCaseMock).getVariableDefinitions();
+
+            fixture.onTestSuccess(testCaseMock);
+
+            verify(scenarioAuditJournalMock).append(argThat(e -> e instanceof ExecutionCompleted executionCompleted
+                && executionCompleted.executionId() == 1234L && executionCompleted.testResult().getStatus() == SUCCESS));
+            verifyNoInteractions(scenarioExecutionServiceMock);
+        }
+    }
+
+    @Nested
+    class WithRecordingPolicy {
+
+        @Mock
+        private TestCase testCaseMock;
+
+        @BeforeEach
+        void beforeEachSetup() {
+            simulatorConfigurationProperties.getRecording().setPolicy(Policy.NONE);
+        }
+
+        @Test
+        void shouldSkipActionsOfUnrecordedExecution() {
+            doReturn(Map.of(EXECUTION_ID, -1L)).when(testCaseMock).getVariableDefinitions();
+
+            var testActionMock = mock(TestAction.class);
+
+            fixture.onTestActionStart(testCaseMock, testActionMock);
+            fixture.onTestActionFinish(testCaseMock, testActionMock);
+
+            verifyNoInteractions(scenarioActionServiceMock, scenarioExecutionServiceMock);
+            verify(scenarioAuditJournalMock, never()).append(any());
+        }
+
+        @Test
+        void shouldCompleteUnrecordedExecutionSynchronously() {
+            doReturn(true).when(scenarioAuditJournalMock).isEnabled();
+
+            doReturn("shouldCompleteUnrecordedExecutionSynchronously").when(testCaseMock).getName();
+            doReturn(getClass()).when(testCaseMock).getTestClass();
+            doReturn(Map.of(EXECUTION_ID, -1L)).when(testCaseMock).getVariableDefinitions();
+
+            fixture.onTestSuccess(testCaseMock);
+
+            verify(scenarioExecutionServiceMock).completeScenarioExecution(eq(-1L), argThat(r -> r.getStatus() == SUCCESS));
+            verify(scenarioAuditJournalMock, never()).append(any());
+        }
+    }
+
     private Map<String, TestResult> getRunningTests() {
         return (Map<String, TestResult>) getField(fixture, SimulatorStatusListener.class, "runningTests");
     }
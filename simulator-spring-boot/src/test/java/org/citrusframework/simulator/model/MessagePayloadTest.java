@@ -0,0 +1,74 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+class MessagePayloadTest {
+
+    @Test
+    void identicalPayloadsShareHash() {
+        MessagePayload messagePayload1 = MessagePayload.of("{\"foo\":\"bar\"}", 256);
+        MessagePayload messagePayload2 = MessagePayload.of("{\"foo\":\"bar\"}", 256);
+
+        assertThat(messagePayload1.getHash())
+            .hasSize(64)
+            .isEqualTo(messagePayload2.getHash());
+        assertThat(messagePayload1).isEqualTo(messagePayload2);
+
+        assertThat(MessagePayload.of("{\"foo\":\"baz\"}", 256)).isNotEqualTo(messagePayload1);
+    }
+
+    @Test
+    void compressesPayloadsExceedingThreshold() {
+        String payload = "<TestRequest><Message>Hello World!</Message></TestRequest>".repeat(100);
+
+        MessagePayload messagePayload = MessagePayload.of(payload, 256);
+
+        assertThat(messagePayload.isCompressed()).isTrue();
+        assertThat(messagePayload.getContent().length).isLessThan(payload.length());
+        assertThat(messagePayload.getPayload()).isEqualTo(payload);
+    }
+
+    @Test
+    void storesSmallPayloadsUncompressed() {
+        MessagePayload messagePayload = MessagePayload.of("äöü", 256);
+
+        assertThat(messagePayload.isCompressed()).isFalse();
+        assertThat(messagePayload.getPayload()).isEqualTo("äöü");
+    }
+
+    @Test
+    void decompressesLoadedPayload() throws Exception {
+        String payload = "Hello World! ".repeat(100);
+        MessagePayload original = MessagePayload.of(payload, 0);
+
+        // Simulates an entity loaded from the database, without the transient payload
+        MessagePayload loaded = MessagePayload.class.getDeclaredConstructor().newInstance();
+        setField(loaded, "hash", original.getHash());
+        setField(loaded, "compressed", original.isCompressed());
+        setField(loaded, "content", original.getContent());
+        loaded.markPersisted();
+
+        assertThat(loaded.isNew()).isFalse();
+        assertThat(loaded.getPayload()).isEqualTo(payload);
+    }
+}
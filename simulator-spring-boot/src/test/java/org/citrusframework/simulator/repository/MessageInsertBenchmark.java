@@ -0,0 +1,209 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.repository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the statements Hibernate issues for a message with its headers: One insert per row with identity columns,
+ * which is how messages used to be persisted, against pooled sequences with batched inserts. The {@code rows} counter
+ * reports the inserted rows per second. Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageInsertBenchmark {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Param({"0", "5", "20"})
+    private int headers;
+
+    private Connection connection;
+
+    private PreparedStatement insertIdentityMessage;
+
+    private PreparedStatement insertIdentityHeader;
+
+    private PreparedStatement insertSequenceMessage;
+
+    private PreparedStatement insertSequenceHeader;
+
+    private PreparedStatement nextMessageIds;
+
+    private PreparedStatement nextHeaderIds;
+
+    private final IdPool messageIds = new IdPool();
+
+    private final IdPool headerIds = new IdPool();
+
+    private long citrusMessageId = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:message-insert-benchmark;DB_CLOSE_DELAY=-1");
+        connection.setAutoCommit(false);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table identity_message (message_id bigint generated by default as identity primary key, citrus_message_id varchar(255) not null unique, direction integer not null, payload text)");
+            statement.execute("create table identity_message_header (header_id bigint generated by default as identity primary key, message_id bigint not null references identity_message, name varchar(255) not null, header_value varchar(255) not null)");
+            statement.execute("create sequence message_seq start with 1 increment by " + ALLOCATION_SIZE);
+            statement.execute("create sequence message_header_seq start with 1 increment by " + ALLOCATION_SIZE);
+            statement.execute("create table sequence_message (message_id bigint primary key, citrus_message_id varchar(255) not null unique, direction integer not null, payload text)");
+            statement.execute("create table sequence_message_header (header_id bigint primary key, message_id bigint not null references sequence_message, name varchar(255) not null, header_value varchar(255) not null)");
+        }
+
+        insertIdentityMessage = connection.prepareStatement("insert into identity_message (citrus_message_id, direction, payload) values (?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+        insertIdentityHeader = connection.prepareStatement("insert into identity_message_header (message_id, name, header_value) values (?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+        insertSequenceMessage = connection.prepareStatement("insert into sequence_message (citrus_message_id, direction, payload, message_id) values (?, ?, ?, ?)");
+        insertSequenceHeader = connection.prepareStatement("insert into sequence_message_header (message_id, name, header_value, header_id) values (?, ?, ?, ?)");
+        nextMessageIds = connection.prepareStatement("select next value for message_seq");
+        nextHeaderIds = connection.prepareStatement("select next value for message_header_seq");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+        }
+
+        connection.close();
+    }
+
+    @Benchmark
+    public void identityInserts(RowCounter rowCounter) throws SQLException {
+        insertIdentityMessage.setString(1, String.valueOf(citrusMessageId++));
+        insertIdentityMessage.setInt(2, 1);
+        insertIdentityMessage.setString(3, "payload");
+        insertIdentityMessage.executeUpdate();
+        long messageId = generatedKey(insertIdentityMessage);
+
+        for (int i = 0; i < headers; i++) {
+            insertIdentityHeader.setLong(1, messageId);
+            insertIdentityHeader.setString(2, "header" + i);
+            insertIdentityHeader.setString(3, "value" + i);
+            insertIdentityHeader.executeUpdate();
+            generatedKey(insertIdentityHeader);
+        }
+
+        connection.commit();
+        rowCounter.rows += headers + 1;
+    }
+
+    @Benchmark
+    public void sequenceBatchInserts(RowCounter rowCounter) throws SQLException {
+        long messageId = messageIds.next(nextMessageIds);
+        insertSequenceMessage.setString(1, String.valueOf(citrusMessageId++));
+        insertSequenceMessage.setInt(2, 1);
+        insertSequenceMessage.setString(3, "payload");
+        insertSequenceMessage.setLong(4, messageId);
+        insertSequenceMessage.executeUpdate();
+
+        for (int i = 0; i < headers; i++) {
+            insertSequenceHeader.setLong(1, messageId);
+            insertSequenceHeader.setString(2, "header" + i);
+            insertSequenceHeader.setString(3, "value" + i);
+            insertSequenceHeader.setLong(4, headerIds.next(nextHeaderIds));
+            insertSequenceHeader.addBatch();
+        }
+
+        if (headers > 0) {
+            insertSequenceHeader.executeBatch();
+        }
+
+        connection.commit();
+        rowCounter.rows += headers + 1;
+    }
+
+    private static long generatedKey(PreparedStatement statement) throws SQLException {
+        try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+            generatedKeys.next();
+            return generatedKeys.getLong(1);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(MessageInsertBenchmark.class.getSimpleName())
+            .build())
+            .run();
+    }
+
+    /**
+     * Reports the number of inserted rows alongside the number of persisted messages.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RowCounter {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    /**
+     * Hands out the ids of a pooled sequence, like the Hibernate pooled optimizer does.
+     */
+    private static final class IdPool {
+
+        private long next = 0;
+
+        private long limit = 0;
+
+        long next(PreparedStatement nextValue) throws SQLException {
+            if (next >= limit) {
+                try (ResultSet resultSet = nextValue.executeQuery()) {
+                    resultSet.next();
+                    next = resultSet.getLong(1);
+                    limit = next + ALLOCATION_SIZE;
+                }
+            }
+
+            return next++;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.repository;
+
+import jakarta.persistence.EntityManager;
+import org.citrusframework.simulator.IntegrationTest;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.ScenarioAction;
+import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.model.ScenarioParameter;
+import org.citrusframework.simulator.model.TestResult;
+import org.citrusframework.simulator.service.dto.ScenarioTestResultByStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testing custom methods in {@link ScenarioExecutionRepository}.
+ */
+@Transactional
+@IntegrationTest
+class ScenarioExecutionRepositoryIT {
+
+    private static final Instant OLD_START_DATE = Instant.parse("2020-01-01T00:00:00Z");
+
+    @Autowired
+    private ScenarioExecutionRepository scenarioExecutionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private ScenarioExecution completedScenarioExecution;
+
+    private ScenarioExecution runningScenarioExecution;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        completedScenarioExecution = ScenarioExecution.builder()
+            .scenarioName("completed")
+            .startDate(OLD_START_DATE)
+            .endDate(OLD_START_DATE.plusSeconds(1))
+            .build()
+            .withTestResult(TestResult.builder()
+                .testName("completed")
+                .className(getClass().getSimpleName())
+                .status(TestResult.Status.SUCCESS)
+                .build())
+            .addScenarioAction(ScenarioAction.builder()
+                .name("send")
+                .startDate(OLD_START_DATE)
+                .build())
+            .addScenarioMessage(Message.builder()
+                .direction(Message.Direction.INBOUND)
+                .citrusMessageId("retention-message-id")
+                .headers(Map.of("key", "value"))
+                .build());
+        completedScenarioExecution.addScenarioParameter(ScenarioParameter.builder()
+            .name("parameter")
+            .value("value")
+            .textbox()
+            .build());
+
+        runningScenarioExecution = ScenarioExecution.builder()
+            .scenarioName("running")
+            .startDate(OLD_START_DATE)
+            .build();
+
+        scenarioExecutionRepository.saveAllAndFlush(List.of(completedScenarioExecution, runningScenarioExecution));
+        entityManager.clear();
+    }
+
+    @Test
+    void findCompletedExecutionIdsStartedBefore() {
+        assertThat(scenarioExecutionRepository.findCompletedExecutionIdsStartedBefore(OLD_START_DATE.plusSeconds(1), PageRequest.of(0, 10)))
+            .contains(completedScenarioExecution.getExecutionId())
+            .doesNotContain(runningScenarioExecution.getExecutionId());
+        assertThat(scenarioExecutionRepository.findCompletedExecutionIdsStartedBefore(OLD_START_DATE, PageRequest.of(0, 10)))
+            .doesNotContain(completedScenarioExecution.getExecutionId());
+    }
+
+    @Test
+    void findCompletedExecutionIds() {
+        assertThat(scenarioExecutionRepository.findCompletedExecutionIds(PageRequest.of(0, 10)))
+            .contains(completedScenarioExecution.getExecutionId())
+            .doesNotContain(runningScenarioExecution.getExecutionId());
+    }
+
+    @Test
+    void countTestResultsByScenarioName() {
+        assertThat(scenarioExecutionRepository.countTestResultsByScenarioName())
+            .contains(new ScenarioTestResultByStatus("completed", 1L, 0L))
+            .noneMatch(results -> "running".equals(results.scenarioName()));
+    }
+
+    @Test
+    void countTestResultsByScenarioNameAndExecutionIdIn() {
+        assertThat(scenarioExecutionRepository.countTestResultsByScenarioNameAndExecutionIdIn(List.of(completedScenarioExecution.getExecutionId(), runningScenarioExecution.getExecutionId())))
+            .containsExactly(new ScenarioTestResultByStatus("completed", 1L, 0L));
+    }
+
+    @Test
+    void deleteScenarioExecutionsWithChildren() {
+        List<Long> executionIds = List.of(completedScenarioExecution.getExecutionId());
+
+        List<Long> testResultIds = scenarioExecutionRepository.findTestResultIdsByExecutionIdIn(executionIds);
+        assertThat(testResultIds).containsExactly(completedScenarioExecution.getTestResult().getId());
+
+        assertThat(scenarioExecutionRepository.deleteMessageHeadersByExecutionIdIn(executionIds)).isEqualTo(1);
+        assertThat(scenarioExecutionRepository.deleteMessagesByExecutionIdIn(executionIds)).isEqualTo(1);
+        assertThat(scenarioExecutionRepository.deleteScenarioActionsByExecutionIdIn(executionIds)).isEqualTo(1);
+        assertThat(scenarioExecutionRepository.deleteScenarioParametersByExecutionIdIn(executionIds)).isEqualTo(1);
+        assertThat(scenarioExecutionRepository.deleteAllByExecutionIdIn(executionIds)).isEqualTo(1);
+        assertThat(scenarioExecutionRepository.deleteTestParametersByTestResultIdIn(testResultIds)).isZero();
+        assertThat(scenarioExecutionRepository.deleteTestResultsByIdIn(testResultIds)).isEqualTo(1);
+
+        assertThat(scenarioExecutionRepository.findById(completedScenarioExecution.getExecutionId())).isEmpty();
+        assertThat(scenarioExecutionRepository.findById(runningScenarioExecution.getExecutionId())).isPresent();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citrusframework.simulator.repository;
+
+import org.citrusframework.simulator.IntegrationTest;
+import org.citrusframework.simulator.model.TestResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.citrusframework.simulator.model.TestResult.Status.SUCCESS;
+
+/**
+ * Verifies the documented migration of databases created with identity columns to pooled sequences.
+ */
+@Isolated
+@IntegrationTest
+class SequenceMigrationIT {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    /**
+     * Ids of the existing rows, far above any id handed out by the sequence so far.
+     */
+    private static final long FIRST_EXISTING_ID = 1_000_000L;
+
+    private static final int EXISTING_ROWS = 2 * ALLOCATION_SIZE;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestResultRepository testResultRepository;
+
+    private long maxExistingId;
+
+    private List<TestResult> testResults = List.of();
+
+    @BeforeEach
+    void beforeEachSetup() {
+        jdbcTemplate.batchUpdate(
+            "insert into test_result (id, status, test_name, class_name, created_date) values (?, ?, ?, ?, ?)",
+            IntStream.range(0, EXISTING_ROWS)
+                .mapToObj(i -> new Object[]{FIRST_EXISTING_ID + i, SUCCESS.getId(), "Existing-" + i, getClass().getSimpleName(), Timestamp.from(Instant.now())})
+                .toList()
+        );
+
+        maxExistingId = jdbcTemplate.queryForObject("select max(id) from test_result", Long.class);
+
+        jdbcTemplate.execute("drop sequence test_result_seq");
+        jdbcTemplate.execute("create sequence test_result_seq start with %d increment by %d".formatted(maxExistingId + ALLOCATION_SIZE, ALLOCATION_SIZE));
+    }
+
+    @Test
+    void insertsAfterSequenceMigration() {
+        // Exceeds a single block of ids, so that ids are drawn from the migrated sequence in any case
+        testResults = testResultRepository.saveAll(
+            IntStream.range(0, 2 * ALLOCATION_SIZE)
+                .mapToObj(i -> TestResult.builder()
+                    .testName("Test-" + i)
+                    .className(getClass().getSimpleName())
+                    .status(SUCCESS)
+                    .build())
+                .toList()
+        );
+
+        assertThat(testResults)
+            .extracting(TestResult::getId)
+            .doesNotHaveDuplicates()
+            .anyMatch(id -> id > maxExistingId)
+            .noneMatch(id -> id >= FIRST_EXISTING_ID && id <= maxExistingId);
+    }
+
+    @AfterEach
+    void afterEachTeardown() {
+        testResultRepository.deleteAll(testResults);
+        jdbcTemplate.update("delete from test_result where id between ? and ?", FIRST_EXISTING_ID, maxExistingId);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.scenario;
+
+import org.citrusframework.TestCaseRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionScopedScenarioTest {
+
+    @Mock
+    private SimulatorScenario scenarioMock;
+
+    @Mock
+    private ScenarioEndpoint executionEndpointMock;
+
+    private ExecutionScopedScenario fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        fixture = new ExecutionScopedScenario(scenarioMock, executionEndpointMock);
+    }
+
+    @Test
+    void getScenarioEndpointReturnsExecutionEndpoint() {
+        assertThat(fixture.getScenarioEndpoint()).isSameAs(executionEndpointMock);
+    }
+
+    @Test
+    void runDelegatesToScenario() {
+        var scenarioRunnerMock = mock(ScenarioRunner.class);
+
+        fixture.run(scenarioRunnerMock);
+
+        verify(scenarioMock).run(scenarioRunnerMock);
+    }
+
+    @Test
+    void getNameDelegatesToScenario() {
+        doReturn("scenario").when(scenarioMock).getName();
+
+        assertThat(fixture.getName()).isEqualTo("scenario");
+    }
+
+    @Test
+    void keepsTestCaseRunnerPerExecution() {
+        var testCaseRunnerMock = mock(TestCaseRunner.class);
+
+        fixture.setTestCaseRunner(testCaseRunnerMock);
+
+        assertThat(fixture.getTestCaseRunner()).isSameAs(testCaseRunnerMock);
+        assertThat(new ExecutionScopedScenario(scenarioMock, executionEndpointMock).getTestCaseRunner()).isNull();
+        verify(scenarioMock).setTestCaseRunner(testCaseRunnerMock);
+    }
+
+    @Test
+    void unwrapResolvesSharedScenario() {
+        assertThat(ExecutionScopedScenario.unwrap(fixture)).isSameAs(scenarioMock);
+        assertThat(ExecutionScopedScenario.unwrap(scenarioMock)).isSameAs(scenarioMock);
+    }
+}
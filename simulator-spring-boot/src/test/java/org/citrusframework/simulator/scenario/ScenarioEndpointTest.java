@@ -21,6 +21,7 @@ import org.citrusframework.exceptions.CitrusRuntimeException;
 import org.citrusframework.message.Message;
 import org.citrusframework.simulator.endpoint.EndpointMessageHandler;
 import org.citrusframework.simulator.endpoint.SimulationFailedUnexpectedlyException;
+import org.citrusframework.simulator.exception.ScenarioExecutionRejectedException;
 import org.citrusframework.simulator.exception.SimulatorException;
 import org.citrusframework.spi.ReferenceResolver;
 import org.junit.jupiter.api.BeforeEach;
@@ -87,6 +88,48 @@ class ScenarioEndpointTest {
         }
     }
 
+    @Nested
+    class Add {
+
+        @Test
+        void shouldRejectRequest_ifInboxIsFull() {
+            doReturn(1).when(scenarioEndpointConfigurationMock).getInboxCapacity();
+            fixture.setName("test-scenario");
+
+            fixture.add(mock(Message.class), new CompletableFuture<>());
+
+            assertThatThrownBy(() -> fixture.add(mock(Message.class), new CompletableFuture<>()))
+                .isInstanceOf(ScenarioExecutionRejectedException.class)
+                .hasMessage("Inbox of scenario 'test-scenario' is full, rejecting request after 1 pending requests");
+
+            assertThat(fixture.getPendingCount()).isEqualTo(1);
+            assertThat(fixture.getOverflowCount()).isEqualTo(1L);
+        }
+
+        @Test
+        void shouldAcceptRequest_afterPendingRequestHasBeenReceived() {
+            doReturn(1).when(scenarioEndpointConfigurationMock).getInboxCapacity();
+
+            fixture.add(mock(Message.class), new CompletableFuture<>());
+            fixture.receive(mockTestContext());
+
+            fixture.add(mock(Message.class), new CompletableFuture<>());
+
+            assertThat(fixture.getPendingCount()).isEqualTo(1);
+            assertThat(fixture.getOverflowCount()).isZero();
+        }
+
+        @Test
+        void shouldNotLimitInbox_ifCapacityIsNotPositive() {
+            for (int i = 0; i < 100; i++) {
+                fixture.add(mock(Message.class), new CompletableFuture<>());
+            }
+
+            assertThat(fixture.getPendingCount()).isEqualTo(100);
+            assertThat(fixture.getOverflowCount()).isZero();
+        }
+    }
+
     @Nested
     class Fail {
 
@@ -185,6 +228,167 @@ class ScenarioEndpointTest {
             assertThatThrownBy(() -> fixture.fail(new CitrusRuntimeException()))
                 .isInstanceOf(SimulatorException.class)
                 .hasMessage("Failed to receive scenario inbound message");
+
+            assertThat(fixture.getPendingCount()).isZero();
+        }
+
+        @Test
+        void shouldSkipCancelledRequestOnReceive() {
+            var request1 = mock(Message.class);
+            CompletableFuture<Message> responseFuture1 = mock();
+            fixture.add(request1, responseFuture1);
+
+            var request2 = mock(Message.class);
+            fixture.add(request2, new CompletableFuture<>());
+
+            fixture.cancel(responseFuture1);
+
+            assertThat(fixture.receive(mockTestContext())).isSameAs(request2);
+            verifyNoInteractions(responseFuture1);
+        }
+
+        @Test
+        void shouldDiscardResponseOfCancelledRequest() {
+            var testContext = mockTestContext();
+            CompletableFuture<Message> responseFuture1 = mock();
+            fixture.add(mock(Message.class), responseFuture1);
+            fixture.receive(testContext);
+
+            CompletableFuture<Message> responseFuture2 = mock();
+            fixture.add(mock(Message.class), responseFuture2);
+
+            fixture.cancel(responseFuture1);
+            fixture.send(mock(Message.class), testContext);
+
+            verifyNoInteractions(responseFuture1, responseFuture2);
+        }
+
+        @Test
+        void shouldTimeOutReceive_ifOnlyCancelledRequestsArePending() {
+            for (int i = 0; i < 1000; i++) {
+                CompletableFuture<Message> responseFuture = new CompletableFuture<>();
+                fixture.add(mock(Message.class), responseFuture);
+                fixture.cancel(responseFuture);
+            }
+
+            assertThat(fixture.getPendingCount()).isZero();
+            assertThatThrownBy(() -> fixture.receive(mock(TestContext.class), 10L))
+                .isInstanceOf(SimulatorException.class)
+                .hasMessage("Failed to receive scenario inbound message");
+        }
+
+        @Test
+        void shouldIgnoreUnknownFuture() {
+            fixture.add(mock(Message.class), new CompletableFuture<>());
+
+            fixture.cancel(new CompletableFuture<>());
+            fixture.cancel(null);
+
+            assertThat(fixture.getPendingCount()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    class ExecutionEndpoint {
+
+        @Test
+        void shouldNotShareRequestsBetweenExecutions() {
+            var executionEndpoint1 = fixture.createExecutionEndpoint();
+            var executionEndpoint2 = fixture.createExecutionEndpoint();
+
+            var request1 = mock(Message.class);
+            CompletableFuture<Message> responseFuture1 = mock();
+            executionEndpoint1.add(request1, responseFuture1);
+
+            var request2 = mock(Message.class);
+            CompletableFuture<Message> responseFuture2 = mock();
+            executionEndpoint2.add(request2, responseFuture2);
+
+            var testContext2 = mockTestContext();
+            assertThat(executionEndpoint2.receive(testContext2)).isSameAs(request2);
+
+            var response2 = mock(Message.class);
+            executionEndpoint2.send(response2, testContext2);
+
+            verify(responseFuture2).complete(response2);
+            verifyNoInteractions(responseFuture1);
+
+            assertThatThrownBy(() -> fixture.receive(mock(TestContext.class), 10L))
+                .isInstanceOf(SimulatorException.class)
+                .hasMessage("Failed to receive scenario inbound message");
+            assertThat(executionEndpoint1.receive(mockTestContext())).isSameAs(request1);
+        }
+
+        @Test
+        void shouldRouteMessagesOfBoundExecution() {
+            var testContext = mockTestContext();
+            var executionEndpoint = fixture.createExecutionEndpoint();
+            executionEndpoint.bindExecution(testContext);
+
+            var request = mock(Message.class);
+            CompletableFuture<Message> responseFuture = mock();
+            executionEndpoint.add(request, responseFuture);
+
+            assertThat(fixture.getExecutionEndpoint(testContext)).isSameAs(executionEndpoint);
+            assertThat(fixture.receive(testContext)).isSameAs(request);
+
+            var response = mock(Message.class);
+            fixture.send(response, testContext);
+
+            verify(responseFuture).complete(response);
+        }
+
+        @Test
+        void shouldFailOldestRequestOfBoundExecutions() {
+            var executionEndpoint = fixture.createExecutionEndpoint();
+            executionEndpoint.bindExecution(mock(TestContext.class));
+
+            CompletableFuture<Message> responseFuture = mock();
+            executionEndpoint.add(mock(Message.class), responseFuture);
+
+            fixture.fail(mock(Throwable.class));
+
+            verify(responseFuture).complete(any(SimulationFailedUnexpectedlyException.class));
+            assertThat(fixture.getPendingCount()).isZero();
+        }
+
+        @Test
+        void shouldShareInboxCapacity() {
+            doReturn(1).when(scenarioEndpointConfigurationMock).getInboxCapacity();
+
+            fixture.createExecutionEndpoint().add(mock(Message.class), new CompletableFuture<>());
+
+            var executionEndpoint = fixture.createExecutionEndpoint();
+            assertThatThrownBy(() -> executionEndpoint.add(mock(Message.class), new CompletableFuture<>()))
+                .isInstanceOf(ScenarioExecutionRejectedException.class);
+
+            assertThat(fixture.getPendingCount()).isEqualTo(1);
+            assertThat(fixture.getOverflowCount()).isEqualTo(1L);
+        }
+
+        @Test
+        void shouldCancelUnreceivedRequestsOnRelease() {
+            var testContext = mock(TestContext.class);
+            var executionEndpoint = fixture.createExecutionEndpoint();
+            executionEndpoint.bindExecution(testContext);
+
+            CompletableFuture<Message> responseFuture = mock();
+            executionEndpoint.add(mock(Message.class), responseFuture);
+
+            executionEndpoint.releaseExecution(testContext);
+
+            assertThat(fixture.getExecutionEndpoint(testContext)).isSameAs(fixture);
+            assertThat(fixture.getPendingCount()).isZero();
+            verifyNoInteractions(responseFuture);
+        }
+
+        @Test
+        void shouldIgnoreBindingOfSharedEndpoint() {
+            var testContext = mock(TestContext.class);
+
+            fixture.bindExecution(testContext);
+
+            assertThat(fixture.getExecutionEndpoint(testContext)).isSameAs(fixture);
         }
     }
 
@@ -24,6 +24,11 @@ import org.citrusframework.simulator.model.TestResult_;
 import org.citrusframework.simulator.repository.MessageRepository;
 import org.citrusframework.simulator.service.criteria.MessageCriteria;
 import org.citrusframework.simulator.service.filter.LongFilter;
+import org.citrusframework.simulator.service.pagination.InvalidPageRequestException;
+import org.citrusframework.simulator.service.pagination.KeysetPage;
+import org.citrusframework.simulator.service.pagination.KeysetPageRequest;
+import org.citrusframework.simulator.service.pagination.PageCursor;
+import org.citrusframework.simulator.service.pagination.TotalCount;
 import org.citrusframework.simulator.web.rest.MessageResourceIT;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,6 +50,10 @@ import java.util.stream.Stream;
 
 import static java.time.temporal.ChronoUnit.MINUTES;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.citrusframework.simulator.service.pagination.TotalCount.ESTIMATED;
+import static org.citrusframework.simulator.service.pagination.TotalCount.EXACT;
+import static org.citrusframework.simulator.service.pagination.TotalCount.NONE;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.springframework.data.domain.Sort.Direction.ASC;
 import static org.springframework.data.domain.Sort.Direction.DESC;
@@ -220,6 +229,96 @@ class MessageQueryServiceIT {
         }
     }
 
+    @Nested
+    class FindByKeysetPage {
+
+        @Test
+        void continuesAfterCursorWithIdAsTieBreaker() {
+            var firstPage = findKeysetPage(null, EXACT);
+
+            assertThat(firstPage.getContent()).containsExactly(messages.get(0));
+            assertThat(firstPage.hasNext()).isTrue();
+            assertThat(firstPage.getTotalElements()).isEqualTo(3L);
+            assertThat(firstPage.getNextCursor()).isNotNull()
+                .extracting(PageCursor::id).isEqualTo(messages.get(0).getMessageId());
+
+            // Second and third message share the same created date
+            var secondPage = findKeysetPage(firstPage.getNextCursor(), EXACT);
+
+            assertThat(secondPage.getContent()).containsExactly(messages.get(2));
+            assertThat(secondPage.hasNext()).isTrue();
+
+            var thirdPage = findKeysetPage(secondPage.getNextCursor(), EXACT);
+
+            assertThat(thirdPage.getContent()).containsExactly(messages.get(1));
+            assertThat(thirdPage.hasNext()).isFalse();
+            assertThat(thirdPage.getNextCursor()).isNull();
+        }
+
+        @Test
+        void continuesAfterIdOnlyCursor() {
+            var messageCriteria = new MessageCriteria();
+            messageCriteria.setMessageId((LongFilter) new LongFilter().setGreaterThanOrEqual(messages.get(0).getMessageId()));
+
+            Page<Message> messagePage = fixture.findByCriteria(
+                messageCriteria,
+                KeysetPageRequest.of(PageRequest.of(0, 2, Sort.by(DESC, Message_.MESSAGE_ID)), new PageCursor(null, messages.get(2).getMessageId()), EXACT)
+            );
+
+            assertThat(messagePage.getContent()).containsExactly(messages.get(1), messages.get(0));
+            assertThat(messagePage.hasNext()).isFalse();
+        }
+
+        @Test
+        void omitsTotalCount() {
+            var messagePage = findKeysetPage(null, NONE);
+
+            assertThat(messagePage.getContent()).containsExactly(messages.get(0));
+            assertThat(messagePage.hasNext()).isTrue();
+            assertThat(messagePage.getTotalElements()).isEqualTo(2L);
+        }
+
+        @Test
+        void estimatesTotalCountOfMatchingMessages() {
+            var messagePage = findKeysetPage(null, ESTIMATED);
+
+            assertThat(messagePage.getTotalElements()).isEqualTo(3L);
+        }
+
+        @Test
+        void rejectsMultipleSortProperties() {
+            var pageable = KeysetPageRequest.of(PageRequest.of(0, 1, Sort.by(ASC, Message_.CREATED_DATE, Message_.CITRUS_MESSAGE_ID)), null, EXACT);
+            var messageCriteria = new MessageCriteria();
+
+            assertThatThrownBy(() -> fixture.findByCriteria(messageCriteria, pageable))
+                .isInstanceOf(InvalidPageRequestException.class)
+                .hasMessageContaining("single property");
+        }
+
+        @Test
+        void rejectsCursorNotMatchingSortProperty() {
+            var pageable = KeysetPageRequest.of(PageRequest.of(0, 1, Sort.by(ASC, Message_.CREATED_DATE)), new PageCursor("yesterday", 1L), EXACT);
+            var messageCriteria = new MessageCriteria();
+
+            assertThatThrownBy(() -> fixture.findByCriteria(messageCriteria, pageable))
+                .isInstanceOf(InvalidPageRequestException.class)
+                .hasMessageContaining("yesterday");
+        }
+
+        private KeysetPage<Message> findKeysetPage(PageCursor after, TotalCount totalCount) {
+            var messageCriteria = new MessageCriteria();
+            messageCriteria.setMessageId((LongFilter) new LongFilter().setGreaterThanOrEqual(messages.get(0).getMessageId()));
+
+            Page<Message> messagePage = fixture.findByCriteria(
+                messageCriteria,
+                KeysetPageRequest.of(PageRequest.of(0, 1, Sort.by(ASC, Message_.CREATED_DATE)), after, totalCount)
+            );
+
+            assertThat(messagePage).isInstanceOf(KeysetPage.class);
+            return (KeysetPage<Message>) messagePage;
+        }
+    }
+
     @AfterEach
     void afterEachTeardown() {
         messageRepository.deleteAll(messages);
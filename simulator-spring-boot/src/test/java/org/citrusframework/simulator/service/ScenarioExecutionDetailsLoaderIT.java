@@ -0,0 +1,206 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.citrusframework.simulator.IntegrationTest;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.MessageHeader;
+import org.citrusframework.simulator.model.ScenarioAction;
+import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.model.ScenarioParameter;
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.service.criteria.ScenarioExecutionCriteria;
+import org.citrusframework.simulator.service.filter.LongFilter;
+import org.citrusframework.simulator.test.RowCountingDataSource;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static java.time.Instant.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.citrusframework.simulator.service.ScenarioExecutionQueryService.ResultDetailsConfiguration.withAllDetails;
+
+@Isolated
+@IntegrationTest
+@Import(RowCountingDataSource.RowCountingConfiguration.class)
+class ScenarioExecutionDetailsLoaderIT {
+
+    private static final int PARAMETERS = 3;
+    private static final int ACTIONS = 4;
+    private static final int MESSAGES = 2;
+    private static final int HEADERS_PER_MESSAGE = 5;
+
+    /**
+     * One row per association entry, plus the scenario execution itself.
+     */
+    private static final long DETAIL_ROWS = 1 + PARAMETERS + ACTIONS + MESSAGES + MESSAGES * HEADERS_PER_MESSAGE;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ScenarioExecutionRepository scenarioExecutionRepository;
+
+    @Autowired
+    private ScenarioExecutionService scenarioExecutionService;
+
+    @Autowired
+    private ScenarioExecutionQueryService scenarioExecutionQueryService;
+
+    private RowCountingDataSource rowCountingDataSource;
+
+    private Statistics statistics;
+
+    private ScenarioExecution scenarioExecution;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        scenarioExecution = ScenarioExecution.builder()
+            .scenarioName(ScenarioExecutionDetailsLoaderIT.class.getSimpleName())
+            .startDate(now())
+            .build();
+
+        for (int i = 0; i < PARAMETERS; i++) {
+            scenarioExecution.addScenarioParameter(ScenarioParameter.builder()
+                .name("parameter-" + i)
+                .value("value-" + i)
+                .build());
+        }
+
+        for (int i = 0; i < ACTIONS; i++) {
+            scenarioExecution.addScenarioAction(ScenarioAction.builder()
+                .name("action-" + i)
+                .startDate(now())
+                .build());
+        }
+
+        for (int i = 0; i < MESSAGES; i++) {
+            Message message = Message.builder()
+                .citrusMessageId(UUID.randomUUID().toString())
+                .direction(Message.Direction.INBOUND)
+                .payload("payload-" + i)
+                .build();
+            for (int j = 0; j < HEADERS_PER_MESSAGE; j++) {
+                message.addHeader(MessageHeader.builder()
+                    .name("header-" + j)
+                    .value("value-" + j)
+                    .build());
+            }
+            scenarioExecution.addScenarioMessage(message);
+        }
+
+        scenarioExecution = scenarioExecutionRepository.save(scenarioExecution);
+
+        rowCountingDataSource = (RowCountingDataSource) dataSource;
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        rowCountingDataSource.resetRowCount();
+    }
+
+    @AfterEach
+    void afterEachTeardown() {
+        statistics.setStatisticsEnabled(false);
+        scenarioExecutionRepository.deleteById(scenarioExecution.getExecutionId());
+    }
+
+    @Test
+    void findOneReadsAssociationsWithOneQueryEach() {
+        ScenarioExecution result = scenarioExecutionService.findOne(scenarioExecution.getExecutionId()).orElseThrow();
+
+        // The execution itself, parameters, actions, messages and message headers
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5L);
+        assertThat(rowCountingDataSource.getRowCount()).isEqualTo(DETAIL_ROWS);
+
+        assertThatAllDetailsAreLoaded(result);
+    }
+
+    @Test
+    void findByCriteriaReadsAssociationsWithOneQueryEach() {
+        var criteria = new ScenarioExecutionCriteria();
+        criteria.setExecutionId((LongFilter) new LongFilter().setEquals(scenarioExecution.getExecutionId()));
+
+        Page<ScenarioExecution> result = scenarioExecutionQueryService.findByCriteria(criteria, PageRequest.of(0, 10), withAllDetails());
+
+        // The page of ids, the executions and their associations, and the total count
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(7L);
+        assertThat(rowCountingDataSource.getRowCount()).isEqualTo(1 + DETAIL_ROWS + 1);
+
+        assertThat(result.getContent()).singleElement().satisfies(this::assertThatAllDetailsAreLoaded);
+    }
+
+    @Test
+    void fetchJoiningAllAssociationsMultipliesRows() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            entityManager.createQuery("""
+                    select scenarioExecution from ScenarioExecution scenarioExecution
+                    left join fetch scenarioExecution.scenarioParameters
+                    left join fetch scenarioExecution.scenarioActions
+                    left join fetch scenarioExecution.scenarioMessages message
+                    left join fetch message.headers
+                    where scenarioExecution.executionId = :executionId""", ScenarioExecution.class)
+                .setParameter("executionId", scenarioExecution.getExecutionId())
+                .getSingleResult()
+        );
+
+        assertThat(rowCountingDataSource.getRowCount())
+            .isEqualTo((long) PARAMETERS * ACTIONS * MESSAGES * HEADERS_PER_MESSAGE)
+            .isGreaterThan(DETAIL_ROWS);
+    }
+
+    private void assertThatAllDetailsAreLoaded(ScenarioExecution result) {
+        assertThat(Hibernate.isInitialized(result.getScenarioParameters())).isTrue();
+        assertThat(result.getScenarioParameters()).hasSize(PARAMETERS);
+
+        assertThat(Hibernate.isInitialized(result.getScenarioActions())).isTrue();
+        assertThat(result.getScenarioActions()).hasSize(ACTIONS);
+
+        assertThat(Hibernate.isInitialized(result.getScenarioMessages())).isTrue();
+        assertThat(result.getScenarioMessages())
+            .hasSize(MESSAGES)
+            .allSatisfy(message -> {
+                assertThat(Hibernate.isInitialized(message.getHeaders())).isTrue();
+                assertThat(message.getHeaders()).hasSize(HEADERS_PER_MESSAGE);
+            });
+    }
+}
@@ -29,6 +29,9 @@ import org.citrusframework.simulator.service.criteria.ScenarioExecutionCriteria;
 import org.citrusframework.simulator.service.filter.IntegerFilter;
 import org.citrusframework.simulator.service.filter.LongFilter;
 import org.citrusframework.simulator.service.filter.StringFilter;
+import org.citrusframework.simulator.service.pagination.KeysetPage;
+import org.citrusframework.simulator.service.pagination.KeysetPageRequest;
+import org.citrusframework.simulator.service.pagination.PageCursor;
 import org.citrusframework.simulator.web.rest.MessageResourceIT;
 import org.citrusframework.simulator.web.rest.ScenarioActionResourceIT;
 import org.citrusframework.simulator.web.rest.ScenarioExecutionResourceIT;
@@ -51,6 +54,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.function.Consumer;
@@ -62,6 +67,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
 import static org.citrusframework.simulator.model.Message.Direction.OUTBOUND;
 import static org.citrusframework.simulator.model.TestResult.Status.FAILURE;
+import static org.citrusframework.simulator.service.pagination.TotalCount.NONE;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.springframework.data.domain.Pageable.unpaged;
 import static org.springframework.data.domain.Sort.Direction.ASC;
@@ -109,7 +115,9 @@ class ScenarioExecutionQueryServiceIT {
             .addHeader(MessageHeader.builder()
                 .name(SOURCE)
                 .value(SOURCE_VALUE)
-                .build());
+                .build())
+            .addBusinessKey("orderId", "4711")
+            .addBusinessKey("customerId", "42");
         scenarioParameter = ScenarioParameterResourceIT.createEntityBuilder(entityManager, null)
             .name("John")
             .value("Snow")
@@ -174,7 +182,9 @@ class ScenarioExecutionQueryServiceIT {
                         .addHeader(MessageHeader.builder()
                             .name(SOURCE)
                             .value(SOURCE_VALUE)
-                            .build()))
+                            .build())
+                        .addBusinessKey("orderId", "4712")
+                        .addBusinessKey("customerId", "42"))
                 .addScenarioParameter(
                     ScenarioParameterResourceIT.createEntityBuilder(entityManager, null)
                         .name("foo")
@@ -327,6 +337,22 @@ class ScenarioExecutionQueryServiceIT {
             assertThatScenarioExecutionAtIndexSelectedByCriteria(scenarioExecutionCriteria, 1);
         }
 
+        @Test
+        void selectWithBusinessKeys() {
+            var scenarioExecutionCriteria = new ScenarioExecutionCriteria();
+            scenarioExecutionCriteria.setBusinessKeys("customerId=42");
+
+            Page<ScenarioExecution> scenarioExecutionPage = fixture.findByCriteria(scenarioExecutionCriteria, unpaged());
+
+            assertThat(scenarioExecutionPage.getTotalElements()).isEqualTo(2L);
+
+            scenarioExecutionCriteria.setBusinessKeys("customerId=42; orderId=4711");
+            assertThatScenarioExecutionAtIndexSelectedByCriteria(scenarioExecutionCriteria, 1);
+
+            scenarioExecutionCriteria.setBusinessKeys("orderId=4713");
+            assertThat(fixture.findByCriteria(scenarioExecutionCriteria, unpaged()).getTotalElements()).isZero();
+        }
+
         @Test
         void selectWithDirectionalMessageFilter() {
             var scenarioExecutionCriteria = new ScenarioExecutionCriteria();
@@ -433,6 +459,46 @@ class ScenarioExecutionQueryServiceIT {
         }
     }
 
+    @Nested
+    class FindByKeysetPage {
+
+        static Stream<Arguments> pagesThroughExecutionsWithoutEndDate() {
+            return Stream.of(
+                arguments(ASC, new int[]{0, 2, 1, 3, 4}),
+                arguments(DESC, new int[]{1, 2, 0, 4, 3})
+            );
+        }
+
+        @MethodSource
+        @ParameterizedTest
+        void pagesThroughExecutionsWithoutEndDate(Direction direction, int[] indexOrder) {
+            // Executions that are still running
+            scenarioExecutions.add(ScenarioExecutionResourceIT.createEntityBuilder(entityManager).endDate(null).build());
+            scenarioExecutions.add(ScenarioExecutionResourceIT.createEntityBuilder(entityManager).endDate(null).build());
+            scenarioExecutionRepository.saveAll(scenarioExecutions.subList(3, 5));
+
+            var scenarioExecutionCriteria = new ScenarioExecutionCriteria();
+            scenarioExecutionCriteria.setExecutionId((LongFilter) new LongFilter().setGreaterThanOrEqual(scenarioExecutions.get(0).getExecutionId()));
+
+            var pagedScenarioExecutions = new ArrayList<ScenarioExecution>();
+            PageCursor after = null;
+            KeysetPage<ScenarioExecution> scenarioExecutionPage;
+            do {
+                scenarioExecutionPage = (KeysetPage<ScenarioExecution>) fixture.findByCriteria(
+                    scenarioExecutionCriteria,
+                    KeysetPageRequest.of(PageRequest.of(0, 2, Sort.by(direction, ScenarioExecution_.END_DATE)), after, NONE)
+                );
+
+                pagedScenarioExecutions.addAll(scenarioExecutionPage.getContent());
+                after = scenarioExecutionPage.getNextCursor();
+            } while (scenarioExecutionPage.hasNext());
+
+            assertThat(pagedScenarioExecutions).containsExactly(
+                Arrays.stream(indexOrder).mapToObj(scenarioExecutions::get).toArray(ScenarioExecution[]::new)
+            );
+        }
+    }
+
     @Nested
     class FindByCriteria_withResultDetailsConfiguration {
 
@@ -0,0 +1,52 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.businesskey;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BusinessKeyFilterTest {
+
+    @Test
+    void parseReturnsEmptyListForBlankInput() {
+        assertThat(BusinessKeyFilter.parse(null)).isEmpty();
+        assertThat(BusinessKeyFilter.parse(" ")).isEmpty();
+    }
+
+    @Test
+    void parseSplitsMultipleFilters() {
+        assertThat(BusinessKeyFilter.parse("orderId=4711; customerId = 42"))
+            .containsExactly(
+                new BusinessKeyFilter("orderId", "4711"),
+                new BusinessKeyFilter("customerId", "42")
+            );
+    }
+
+    @Test
+    void parseSplitsAtFirstSeparatorOnly() {
+        assertThat(BusinessKeyFilter.parse("reference=a=b"))
+            .containsExactly(new BusinessKeyFilter("reference", "a=b"));
+    }
+
+    @Test
+    void parseSkipsInvalidFilters() {
+        assertThat(BusinessKeyFilter.parse("orderId;=4711;customerId=;;tenant=acme"))
+            .containsExactly(new BusinessKeyFilter("tenant", "acme"));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.businesskey;
+
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.MessageBusinessKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.apache.commons.lang3.StringUtils.repeat;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class MessageBusinessKeyExtractorTest {
+
+    private SimulatorConfigurationProperties simulatorConfigurationProperties;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        simulatorConfigurationProperties = new SimulatorConfigurationProperties();
+    }
+
+    @Test
+    void isDisabledByDefault() {
+        var fixture = new MessageBusinessKeyExtractor(simulatorConfigurationProperties);
+
+        assertThat(fixture.isEnabled()).isFalse();
+
+        Message message = fixture.businessKeys(Message.builder(), "{\"orderId\": \"4711\"}", Map.of("customerId", "42")).build();
+        assertThat(message.getBusinessKeys()).isEmpty();
+    }
+
+    @Test
+    void extractsBusinessKeysFromPayloadAndHeaders() {
+        simulatorConfigurationProperties.getBusinessKeys().put("orderId", businessKey("$.order.id", null));
+        simulatorConfigurationProperties.getBusinessKeys().put("customerId", businessKey(null, "customerId"));
+
+        var fixture = new MessageBusinessKeyExtractor(simulatorConfigurationProperties);
+        assertThat(fixture.isEnabled()).isTrue();
+
+        Message message = fixture.businessKeys(Message.builder(), "{\"order\": {\"id\": \"4711\"}}", Map.of("customerId", "42")).build();
+
+        assertThat(message.getBusinessKeys())
+            .extracting(MessageBusinessKey::getName, MessageBusinessKey::getValue, MessageBusinessKey::getMessage)
+            .containsExactlyInAnyOrder(
+                tuple("orderId", "4711", message),
+                tuple("customerId", "42", message)
+            );
+    }
+
+    @Test
+    void skipsBusinessKeysNotContainedInMessage() {
+        simulatorConfigurationProperties.getBusinessKeys().put("orderId", businessKey("$.order.id", null));
+        simulatorConfigurationProperties.getBusinessKeys().put("customerId", businessKey(null, "customerId"));
+
+        var fixture = new MessageBusinessKeyExtractor(simulatorConfigurationProperties);
+
+        Message message = fixture.businessKeys(Message.builder(), "<order><id>4711</id></order>", null).build();
+
+        assertThat(message.getBusinessKeys()).isEmpty();
+    }
+
+    @Test
+    void skipsBusinessKeysExceedingMaximumLength() {
+        simulatorConfigurationProperties.getBusinessKeys().put("customerId", businessKey(null, "customerId"));
+
+        var fixture = new MessageBusinessKeyExtractor(simulatorConfigurationProperties);
+
+        Message message = fixture.businessKeys(Message.builder(), null, Map.of("customerId", repeat('x', MessageBusinessKey.MAX_VALUE_LENGTH + 1))).build();
+
+        assertThat(message.getBusinessKeys()).isEmpty();
+    }
+
+    @Test
+    void throwsExceptionIfBusinessKeyDefinesMultipleSources() {
+        simulatorConfigurationProperties.getBusinessKeys().put("orderId", businessKey("$.order.id", "orderId"));
+
+        assertThatThrownBy(() -> new MessageBusinessKeyExtractor(simulatorConfigurationProperties))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Business key 'orderId' must define exactly one of 'json-path', 'xpath' or 'header'!");
+    }
+
+    @Test
+    void throwsExceptionIfBusinessKeyDefinesNoSource() {
+        simulatorConfigurationProperties.getBusinessKeys().put("orderId", businessKey(null, null));
+
+        assertThatThrownBy(() -> new MessageBusinessKeyExtractor(simulatorConfigurationProperties))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Business key 'orderId' must define exactly one of 'json-path', 'xpath' or 'header'!");
+    }
+
+    @Test
+    void throwsExceptionIfBusinessKeyNameIsTooLong() {
+        String name = repeat('x', MessageBusinessKey.MAX_NAME_LENGTH + 1);
+        simulatorConfigurationProperties.getBusinessKeys().put(name, businessKey(null, "orderId"));
+
+        assertThatThrownBy(() -> new MessageBusinessKeyExtractor(simulatorConfigurationProperties))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Business key name '" + name + "' exceeds 100 characters!");
+    }
+
+    private static SimulatorConfigurationProperties.BusinessKey businessKey(String jsonPath, String header) {
+        var businessKey = new SimulatorConfigurationProperties.BusinessKey();
+        businessKey.setJsonPath(jsonPath);
+        businessKey.setHeader(header);
+        return businessKey;
+    }
+}
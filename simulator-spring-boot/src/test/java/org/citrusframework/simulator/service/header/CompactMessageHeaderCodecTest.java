@@ -0,0 +1,71 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.header;
+
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactMessageHeaderCodecTest {
+
+    @Test
+    void encodedHeadersDecodeInOrder() {
+        Map<Long, String> headers = new LinkedHashMap<>();
+        headers.put(300L, "application/json");
+        headers.put(1L, "äöü");
+        headers.put(Long.MAX_VALUE, "");
+
+        Map<Long, String> decoded = CompactMessageHeaderCodec.decode(CompactMessageHeaderCodec.encode(headers));
+
+        assertThat(decoded).containsExactlyEntriesOf(headers);
+    }
+
+    @Test
+    void smallNameIdsTakeSingleByte() {
+        byte[] encoded = CompactMessageHeaderCodec.encode(Map.of(1L, "value"));
+
+        // Version, size, name id, value length and value
+        assertThat(encoded).hasSize(1 + 1 + 1 + 1 + "value".length());
+    }
+
+    @Test
+    void decodeRejectsTruncatedHeaders() {
+        byte[] encoded = CompactMessageHeaderCodec.encode(Map.of(1L, "value"));
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 1);
+
+        assertThatThrownBy(() -> CompactMessageHeaderCodec.decode(truncated))
+            .isInstanceOf(CitrusRuntimeException.class)
+            .hasMessage("Failed to decode truncated compact message headers");
+    }
+
+    @Test
+    void decodeRejectsUnknownVersion() {
+        byte[] encoded = CompactMessageHeaderCodec.encode(Map.of());
+        encoded[0] = 42;
+
+        assertThatThrownBy(() -> CompactMessageHeaderCodec.decode(encoded))
+            .isInstanceOf(CitrusRuntimeException.class)
+            .hasMessage("Unsupported compact message header version 42!");
+    }
+}
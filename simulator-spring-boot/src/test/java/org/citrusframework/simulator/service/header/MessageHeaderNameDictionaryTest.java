@@ -0,0 +1,115 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.header;
+
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.simulator.model.MessageHeaderName;
+import org.citrusframework.simulator.repository.MessageHeaderNameRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+@ExtendWith(MockitoExtension.class)
+class MessageHeaderNameDictionaryTest {
+
+    @Mock
+    private MessageHeaderNameRepository messageHeaderNameRepositoryMock;
+
+    @Mock
+    private PlatformTransactionManager transactionManagerMock;
+
+    private MessageHeaderNameDictionary fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        fixture = new MessageHeaderNameDictionary(messageHeaderNameRepositoryMock, transactionManagerMock);
+    }
+
+    @Test
+    void internCreatesUnknownNameOnce() {
+        doReturn(Optional.empty()).when(messageHeaderNameRepositoryMock).findOneByName("Content-Type");
+        doAnswer(invocation -> {
+            MessageHeaderName messageHeaderName = invocation.getArgument(0, MessageHeaderName.class);
+            setField(messageHeaderName, "nameId", 1L, Long.class);
+            return messageHeaderName;
+        }).when(messageHeaderNameRepositoryMock).saveAndFlush(any(MessageHeaderName.class));
+
+        assertThat(fixture.intern("Content-Type")).isEqualTo(1L);
+        assertThat(fixture.intern("Content-Type")).isEqualTo(1L);
+        assertThat(fixture.resolve(1L)).isEqualTo("Content-Type");
+
+        verify(messageHeaderNameRepositoryMock).findOneByName("Content-Type");
+        verify(messageHeaderNameRepositoryMock).saveAndFlush(any(MessageHeaderName.class));
+        verifyNoMoreInteractions(messageHeaderNameRepositoryMock);
+    }
+
+    @Test
+    void internReadsNameInternedConcurrently() {
+        MessageHeaderName messageHeaderName = new MessageHeaderName("Content-Type");
+        setField(messageHeaderName, "nameId", 2L, Long.class);
+
+        doReturn(Optional.empty(), Optional.of(messageHeaderName)).when(messageHeaderNameRepositoryMock).findOneByName("Content-Type");
+        doThrow(new DataIntegrityViolationException("uk_message_header_name")).when(messageHeaderNameRepositoryMock).saveAndFlush(any(MessageHeaderName.class));
+
+        assertThat(fixture.intern("Content-Type")).isEqualTo(2L);
+
+        verify(messageHeaderNameRepositoryMock, times(2)).findOneByName("Content-Type");
+        verify(transactionManagerMock).rollback(any());
+    }
+
+    @Test
+    void resolveLoadsUnknownIdOnce() {
+        MessageHeaderName messageHeaderName = new MessageHeaderName("Accept");
+        setField(messageHeaderName, "nameId", 3L, Long.class);
+
+        doReturn(Optional.of(messageHeaderName)).when(messageHeaderNameRepositoryMock).findById(3L);
+
+        assertThat(fixture.resolve(3L)).isEqualTo("Accept");
+        assertThat(fixture.resolve(3L)).isEqualTo("Accept");
+        assertThat(fixture.intern("Accept")).isEqualTo(3L);
+
+        verify(messageHeaderNameRepositoryMock).findById(3L);
+        verifyNoMoreInteractions(messageHeaderNameRepositoryMock);
+    }
+
+    @Test
+    void resolveThrowsForUnknownId() {
+        doReturn(Optional.empty()).when(messageHeaderNameRepositoryMock).findById(4L);
+
+        assertThatThrownBy(() -> fixture.resolve(4L))
+            .isInstanceOf(CitrusRuntimeException.class)
+            .hasMessage("Unknown message header name id 4!");
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.header;
+
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.MessageHeader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class MessageHeaderStorageTest {
+
+    @Mock
+    private MessageHeaderNameDictionary messageHeaderNameDictionaryMock;
+
+    private SimulatorConfigurationProperties simulatorConfigurationProperties;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        simulatorConfigurationProperties = new SimulatorConfigurationProperties();
+    }
+
+    @Test
+    void storesHeadersAsRowsByDefault() {
+        MessageHeaderStorage fixture = new MessageHeaderStorage(messageHeaderNameDictionaryMock, simulatorConfigurationProperties);
+
+        Message message = fixture.headers(Message.builder(), Map.of("Content-Type", "application/json", "X-Request-Id", "123")).build();
+
+        assertThat(message.getHeaders())
+            .extracting(MessageHeader::getName)
+            .containsExactlyInAnyOrder("Content-Type", "X-Request-Id");
+        assertThat(message.getCompactHeaders()).isNull();
+        assertThat(fixture.getCompactHeaders(message)).isEmpty();
+
+        verifyNoInteractions(messageHeaderNameDictionaryMock);
+    }
+
+    @Test
+    void storesOnlyIndexedHeadersAsRowsInCompactMode() {
+        simulatorConfigurationProperties.getMessageHeaders().setCompact(true);
+        simulatorConfigurationProperties.getMessageHeaders().setIndexed(Set.of("x-request-id"));
+        MessageHeaderStorage fixture = new MessageHeaderStorage(messageHeaderNameDictionaryMock, simulatorConfigurationProperties);
+
+        doReturn(1L).when(messageHeaderNameDictionaryMock).intern("Content-Type");
+        doReturn(2L).when(messageHeaderNameDictionaryMock).intern("Accept");
+        doReturn("Content-Type").when(messageHeaderNameDictionaryMock).resolve(1L);
+        doReturn("Accept").when(messageHeaderNameDictionaryMock).resolve(2L);
+
+        Map<String, Object> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", "application/json");
+        headers.put("X-Request-Id", 123);
+        headers.put("Accept", "*/*");
+        headers.put("Empty", "");
+
+        Message message = fixture.headers(Message.builder(), headers).build();
+
+        assertThat(message.getHeaders())
+            .singleElement()
+            .satisfies(header -> {
+                assertThat(header.getName()).isEqualTo("X-Request-Id");
+                assertThat(header.getValue()).isEqualTo("123");
+            });
+        assertThat(fixture.getCompactHeaders(message))
+            .containsExactly(Map.entry("Content-Type", "application/json"), Map.entry("Accept", "*/*"));
+    }
+
+    @Test
+    void skipsHeadersWithoutValueInCompactMode() {
+        simulatorConfigurationProperties.getMessageHeaders().setCompact(true);
+        MessageHeaderStorage fixture = new MessageHeaderStorage(messageHeaderNameDictionaryMock, simulatorConfigurationProperties);
+
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("Null", null);
+        headers.put("Empty", "");
+
+        Message message = fixture.headers(Message.builder(), headers).build();
+
+        assertThat(message.getHeaders()).isEmpty();
+        assertThat(message.getCompactHeaders()).isNull();
+
+        verifyNoInteractions(messageHeaderNameDictionaryMock);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.simulator.IntegrationTest;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.repository.MessageRepository;
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.service.MessageService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static java.time.Instant.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Isolated
+@IntegrationTest
+class MessageServiceIT {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private ScenarioExecutionRepository scenarioExecutionRepository;
+
+    @Autowired
+    private MessageService fixture;
+
+    private Statistics statistics;
+
+    private ScenarioExecution scenarioExecution;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        scenarioExecution = scenarioExecutionRepository.save(
+            ScenarioExecution.builder()
+                .scenarioName("MessageServiceIT")
+                .startDate(now())
+                .build()
+        );
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void afterEachTeardown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void attachMessageToScenarioExecutionAndSaveDoesNotLoadScenarioExecution() {
+        Message message = fixture.attachMessageToScenarioExecutionAndSave(scenarioExecution.getExecutionId(), Message.Direction.INBOUND, "payload", UUID.randomUUID().toString(), Map.of());
+
+        assertThat(message.getMessageId()).isNotNull();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1L);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getQueryExecutionCount()).isZero();
+
+        assertThat(messageRepository.findOneWithEagerRelationships(message.getMessageId()))
+            .hasValueSatisfying(persisted -> assertThat(persisted.getScenarioExecutionId()).isEqualTo(scenarioExecution.getExecutionId()));
+    }
+
+    @Test
+    void attachMessageToScenarioExecutionAndSaveIssuesFewerStatementsThanLoadingScenarioExecution() {
+        fixture.attachMessageToScenarioExecutionAndSave(scenarioExecution.getExecutionId(), Message.Direction.INBOUND, "payload", UUID.randomUUID().toString(), Map.of("foo", "bar"));
+        long statementCount = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        attachMessageByLoadingScenarioExecution(UUID.randomUUID().toString());
+        long loadingStatementCount = statistics.getPrepareStatementCount();
+
+        assertThat(statementCount).isLessThan(loadingStatementCount);
+    }
+
+    @Test
+    void attachMessageToScenarioExecutionAndSaveReturnsExistingMessage() {
+        String citrusMessageId = UUID.randomUUID().toString();
+
+        Message message = fixture.attachMessageToScenarioExecutionAndSave(scenarioExecution.getExecutionId(), Message.Direction.INBOUND, "payload", citrusMessageId, Map.of());
+        Message duplicate = fixture.attachMessageToScenarioExecutionAndSave(scenarioExecution.getExecutionId(), Message.Direction.INBOUND, "payload", citrusMessageId, Map.of());
+
+        assertThat(duplicate.getMessageId()).isEqualTo(message.getMessageId());
+    }
+
+    @Test
+    void attachMessageToScenarioExecutionAndSaveThrowsIfScenarioExecutionDoesNotExist() {
+        long scenarioExecutionId = Long.MAX_VALUE;
+        String citrusMessageId = UUID.randomUUID().toString();
+        Map<String, Object> headers = Map.of();
+
+        assertThatThrownBy(() -> fixture.attachMessageToScenarioExecutionAndSave(scenarioExecutionId, Message.Direction.INBOUND, "payload", citrusMessageId, headers))
+            .isInstanceOf(CitrusRuntimeException.class)
+            .hasMessage("Error while attaching Message to ScenarioExecution %s: Did not find corresponding ScenarioExecution!", scenarioExecutionId);
+
+        assertThat(messageRepository.findOneByCitrusMessageId(citrusMessageId)).isEmpty();
+    }
+
+    /**
+     * The previous ingest path: Look up the message, insert it, load the scenario execution and save it again.
+     */
+    private void attachMessageByLoadingScenarioExecution(String citrusMessageId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (!messageRepository.findAllForScenarioExecution(scenarioExecution.getExecutionId(), citrusMessageId, Message.Direction.INBOUND).isEmpty()) {
+                return;
+            }
+
+            Message message = messageRepository.save(
+                Message.builder()
+                    .direction(Message.Direction.INBOUND)
+                    .payload("payload")
+                    .citrusMessageId(citrusMessageId)
+                    .headers(Map.of("foo", "bar"))
+                    .build()
+            );
+
+            scenarioExecutionRepository.save(
+                scenarioExecutionRepository.findById(scenarioExecution.getExecutionId())
+                    .orElseThrow()
+                    .addScenarioMessage(message)
+            );
+        });
+    }
+}
@@ -17,36 +17,48 @@
 package org.citrusframework.simulator.service.impl;
 
 import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
 import org.citrusframework.simulator.model.Message;
 import org.citrusframework.simulator.model.ScenarioExecution;
 import org.citrusframework.simulator.repository.MessageRepository;
-import org.citrusframework.simulator.service.ScenarioExecutionService;
+import org.citrusframework.simulator.repository.MessagePayloadRepository;
+import org.citrusframework.simulator.repository.MessageTrigramRepository;
+import org.citrusframework.simulator.repository.MessageTrigramWatermarkRepository;
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.service.businesskey.MessageBusinessKeyExtractor;
+import org.citrusframework.simulator.service.header.MessageHeaderNameDictionary;
+import org.citrusframework.simulator.service.header.MessageHeaderStorage;
+import org.citrusframework.simulator.service.payload.MessagePayloadStore;
+import org.citrusframework.simulator.service.search.MessageFullTextIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.springframework.data.domain.Pageable.unpaged;
 
 @ExtendWith(MockitoExtension.class)
@@ -56,13 +68,28 @@ class MessageServiceImplTest {
     private MessageRepository messageRepositoryMock;
 
     @Mock
-    private ScenarioExecutionService scenarioExecutionServiceMock;
+    private ScenarioExecutionRepository scenarioExecutionRepositoryMock;
+
+    @Mock
+    private MessageHeaderNameDictionary messageHeaderNameDictionaryMock;
+
+    @Mock
+    private MessagePayloadRepository messagePayloadRepositoryMock;
+
+    @Mock
+    private MessageTrigramRepository messageTrigramRepositoryMock;
+
+    @Mock
+    private MessageTrigramWatermarkRepository messageTrigramWatermarkRepositoryMock;
+
+    @Mock
+    private PlatformTransactionManager transactionManagerMock;
 
     private MessageServiceImpl fixture;
 
     @BeforeEach
     void beforeEachSetup() {
-        fixture = new MessageServiceImpl(messageRepositoryMock, scenarioExecutionServiceMock);
+        fixture = new MessageServiceImpl(messageRepositoryMock, scenarioExecutionRepositoryMock, new MessageHeaderStorage(messageHeaderNameDictionaryMock, new SimulatorConfigurationProperties()), new MessagePayloadStore(messagePayloadRepositoryMock, transactionManagerMock, new SimulatorConfigurationProperties()), new MessageFullTextIndex(messageTrigramRepositoryMock, messageTrigramWatermarkRepositoryMock, transactionManagerMock, new SimulatorConfigurationProperties()), new MessageBusinessKeyExtractor(new SimulatorConfigurationProperties()), transactionManagerMock);
     }
 
     @Test
@@ -104,38 +131,34 @@ class MessageServiceImplTest {
     class AttachMessageToScenarioExecutionAndSave {
 
         @Test
-        void persistsMessageInCorrelationWithScenarioExecution() {
+        void persistsMessageWithReferenceToScenarioExecution() {
             Long scenarioExecutionId = 1234L;
             Message.Direction direction = Message.Direction.INBOUND;
             String citrusMessageId = "citrusMessageId";
 
-            doReturn(Collections.emptyList())
-                .when(messageRepositoryMock)
-                .findAllForScenarioExecution(scenarioExecutionId, citrusMessageId, direction);
+            ScenarioExecution scenarioExecutionReference = new ScenarioExecution();
+            doReturn(scenarioExecutionReference).when(scenarioExecutionRepositoryMock).getReferenceById(scenarioExecutionId);
 
             Long messageId = 1234L;
-            AtomicReference<Message> newMessage = new AtomicReference<>(null);
-
             doAnswer(invocationOnMock -> {
                 Message message = invocationOnMock.getArgument(0, Message.class);
-                newMessage.set(message);
                 ReflectionTestUtils.setField(message, "messageId", messageId, Long.class);
                 return message;
             })
                 .when(messageRepositoryMock)
-                .save(any(Message.class));
-
-            ScenarioExecution scenarioExecutionSpy = spy(new ScenarioExecution());
-            doReturn(Optional.of(scenarioExecutionSpy))
-                .when(scenarioExecutionServiceMock)
-                .findOneLazy(scenarioExecutionId);
+                .saveAndFlush(any(Message.class));
 
-            Message result = fixture.attachMessageToScenarioExecutionAndSave(scenarioExecutionId, direction, "payload", citrusMessageId, Collections.emptyMap());
+            Message result = fixture.attachMessageToScenarioExecutionAndSave(scenarioExecutionId, direction, "payload", citrusMessageId, Map.of("foo", "bar"));
 
             assertEquals(messageId, result.getMessageId());
-
-            verify(scenarioExecutionSpy).addScenarioMessage(newMessage.get());
-            verify(scenarioExecutionServiceMock).save(scenarioExecutionSpy);
+            assertEquals(direction, result.getDirection());
+            assertEquals(citrusMessageId, result.getCitrusMessageId());
+            assertEquals(1, result.getHeaders().size());
+            assertSame(scenarioExecutionReference, result.getScenarioExecution());
+
+            verify(transactionManagerMock).commit(any());
+            verify(messageRepositoryMock, never()).findOneByCitrusMessageId(anyString());
+            verifyNoMoreInteractions(scenarioExecutionRepositoryMock);
         }
 
         @Test
@@ -144,15 +167,10 @@ class MessageServiceImplTest {
             Message.Direction direction = Message.Direction.INBOUND;
             String citrusMessageId = "citrusMessageId";
 
-            doReturn(Collections.emptyList())
-                .when(messageRepositoryMock)
-                .findAllForScenarioExecution(scenarioExecutionId, citrusMessageId, direction);
-            doAnswer(returnsFirstArg()).when(messageRepositoryMock).save(any(Message.class));
-
-            // Explicit declaration of invocation, although this is not strictly necessary
+            doThrow(new DataIntegrityViolationException("foreign key violation")).when(messageRepositoryMock).saveAndFlush(any(Message.class));
             doReturn(Optional.empty())
-                .when(scenarioExecutionServiceMock)
-                .findOneLazy(scenarioExecutionId);
+                .when(messageRepositoryMock)
+                .findOneByCitrusMessageId(citrusMessageId);
 
             Map<String, Object> headers = Collections.emptyMap();
             CitrusRuntimeException exception = assertThrows(
@@ -166,6 +184,8 @@ class MessageServiceImplTest {
                     scenarioExecutionId),
                 exception.getMessage()
             );
+
+            verify(transactionManagerMock).rollback(any());
         }
 
         @Test
@@ -174,13 +194,17 @@ class MessageServiceImplTest {
             Message.Direction direction = Message.Direction.INBOUND;
             String citrusMessageId = "citrusMessageId";
 
+            doThrow(new DataIntegrityViolationException("uk_citrus_message_id")).when(messageRepositoryMock).saveAndFlush(any(Message.class));
+
             Message existingMessage = new Message();
-            doReturn(List.of(existingMessage))
+            doReturn(Optional.of(existingMessage))
                 .when(messageRepositoryMock)
-                .findAllForScenarioExecution(scenarioExecutionId, citrusMessageId, direction);
+                .findOneByCitrusMessageId(citrusMessageId);
 
             Message result = fixture.attachMessageToScenarioExecutionAndSave(scenarioExecutionId, direction, "payload", citrusMessageId, Collections.emptyMap());
             assertEquals(existingMessage, result);
+
+            verify(transactionManagerMock).rollback(any());
         }
     }
 }
@@ -18,10 +18,19 @@ package org.citrusframework.simulator.service.impl;
 
 import org.citrusframework.exceptions.CitrusRuntimeException;
 import org.citrusframework.simulator.common.TimeProvider;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties.Recording.Policy;
 import org.citrusframework.simulator.model.ScenarioExecution;
 import org.citrusframework.simulator.model.ScenarioParameter;
 import org.citrusframework.simulator.model.TestResult;
 import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.service.ScenarioExecutionDetailsLoader;
+import org.citrusframework.simulator.service.journal.AuditEvent;
+import org.citrusframework.simulator.service.journal.AuditEvent.ActionStarted;
+import org.citrusframework.simulator.service.journal.ScenarioAuditJournalWriter;
+import org.citrusframework.simulator.service.recording.ScenarioRecordingPolicy;
+import org.citrusframework.simulator.service.statistics.ScenarioStatisticsService;
+import org.citrusframework.simulator.service.statistics.TestResultCounters;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -41,12 +50,17 @@ import static java.lang.String.format;
 import static java.util.Optional.empty;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.citrusframework.simulator.model.TestResult.Status.FAILURE;
+import static org.citrusframework.simulator.model.TestResult.Status.SUCCESS;
+import static org.citrusframework.simulator.service.ScenarioExecutionQueryService.ResultDetailsConfiguration.withAllDetails;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.data.domain.Pageable.unpaged;
 
@@ -56,9 +70,25 @@ class ScenarioExecutionServiceImplTest {
     @Mock
     private ScenarioExecutionRepository scenarioExecutionRepositoryMock;
 
+    @Mock
+    private ScenarioAuditJournalWriter scenarioAuditJournalWriterMock;
+
+    @Mock
+    private ScenarioExecutionDetailsLoader scenarioExecutionDetailsLoaderMock;
+
+    @Mock
+    private TestResultCounters testResultCountersMock;
+
+    @Mock
+    private ScenarioStatisticsService scenarioStatisticsServiceMock;
+
     @Mock
     private TimeProvider timeProviderMock;
 
+    private SimulatorConfigurationProperties simulatorConfigurationProperties;
+
+    private ScenarioRecordingPolicy scenarioRecordingPolicy;
+
     private ScenarioExecution sampleScenarioExecution;
 
     private ScenarioExecutionServiceImpl fixture;
@@ -67,7 +97,10 @@ class ScenarioExecutionServiceImplTest {
     void beforeEachSetup() {
         sampleScenarioExecution = new ScenarioExecution();
 
-        fixture = new ScenarioExecutionServiceImpl(scenarioExecutionRepositoryMock);
+        simulatorConfigurationProperties = new SimulatorConfigurationProperties();
+        scenarioRecordingPolicy = new ScenarioRecordingPolicy(simulatorConfigurationProperties);
+
+        fixture = new ScenarioExecutionServiceImpl(scenarioExecutionRepositoryMock, scenarioRecordingPolicy, scenarioAuditJournalWriterMock, scenarioExecutionDetailsLoaderMock, testResultCountersMock, scenarioStatisticsServiceMock);
         ReflectionTestUtils.setField(fixture, "timeProvider", timeProviderMock, TimeProvider.class);
     }
 
@@ -89,6 +122,7 @@ class ScenarioExecutionServiceImplTest {
         Page<ScenarioExecution> result = fixture.findAll(pageable);
 
         assertEquals(page, result);
+        verify(scenarioExecutionDetailsLoaderMock).loadDetails(List.of(sampleScenarioExecution), withAllDetails());
     }
 
     @Test
@@ -101,6 +135,7 @@ class ScenarioExecutionServiceImplTest {
 
         assertTrue(maybeScenarioExecution.isPresent());
         assertEquals(sampleScenarioExecution, maybeScenarioExecution.get());
+        verify(scenarioExecutionDetailsLoaderMock).loadDetails(List.of(sampleScenarioExecution), withAllDetails());
     }
 
     @Test
@@ -136,6 +171,74 @@ class ScenarioExecutionServiceImplTest {
             .containsExactly(scenarioParameter);
     }
 
+    @Nested
+    class WithRecordingPolicy {
+
+        private final Instant now = Instant.now();
+
+        @BeforeEach
+        void beforeEachSetup() {
+            doReturn(now).when(timeProviderMock).getTimeNow();
+        }
+
+        @Test
+        void createsTransientExecutionIfNotRecorded() {
+            simulatorConfigurationProperties.getRecording().setPolicy(Policy.NONE);
+
+            ScenarioExecution result = fixture.createAndSaveExecutionScenario("sampleScenario", null);
+
+            assertThat(result.getExecutionId()).isNegative();
+            assertThat(result.getScenarioName()).isEqualTo("sampleScenario");
+            verifyNoInteractions(scenarioExecutionRepositoryMock);
+        }
+
+        @Test
+        void countsResultOfUnrecordedExecution() {
+            simulatorConfigurationProperties.getRecording().setPolicy(Policy.NONE);
+
+            ScenarioExecution scenarioExecution = fixture.createAndSaveExecutionScenario("sampleScenario", null);
+            ScenarioExecution result = fixture.completeScenarioExecution(scenarioExecution.getExecutionId(), TestResult.builder().status(SUCCESS).build());
+
+            assertThat(result.getEndDate()).isEqualTo(now);
+            assertThat(scenarioRecordingPolicy.getUnrecordedResults().successful()).isEqualTo(1L);
+            verifyNoInteractions(scenarioExecutionRepositoryMock, scenarioAuditJournalWriterMock, testResultCountersMock, scenarioStatisticsServiceMock);
+        }
+
+        @Test
+        void recordsFailedExecutionIfErrorsOnly() {
+            simulatorConfigurationProperties.getRecording().setPolicy(Policy.ERRORS_ONLY);
+
+            ScenarioParameter scenarioParameter = new ScenarioParameter();
+            ScenarioExecution scenarioExecution = fixture.createAndSaveExecutionScenario("sampleScenario", List.of(scenarioParameter));
+
+            AuditEvent actionStarted = new ActionStarted(scenarioExecution.getExecutionId(), "send", now);
+            scenarioRecordingPolicy.append(actionStarted);
+
+            doAnswer(invocationOnMock -> invocationOnMock.getArgument(0, ScenarioExecution.class)).when(scenarioAuditJournalWriterMock).writeExecution(any(ScenarioExecution.class), eq(List.of(actionStarted)));
+
+            ScenarioExecution result = fixture.completeScenarioExecution(scenarioExecution.getExecutionId(), TestResult.builder().status(FAILURE).build());
+
+            assertThat(result.getExecutionId()).isNull();
+            assertThat(result.getScenarioName()).isEqualTo("sampleScenario");
+            assertThat(result.getScenarioParameters()).containsExactly(scenarioParameter);
+            assertThat(result.getTestResult().getStatus()).isEqualTo(FAILURE);
+            assertThat(scenarioRecordingPolicy.getUnrecordedResults().failed()).isZero();
+            verify(testResultCountersMock).increment("sampleScenario", FAILURE);
+            verify(scenarioStatisticsServiceMock).record(result);
+        }
+
+        @Test
+        void skipsSuccessfulExecutionIfErrorsOnly() {
+            simulatorConfigurationProperties.getRecording().setPolicy(Policy.ERRORS_ONLY);
+
+            ScenarioExecution scenarioExecution = fixture.createAndSaveExecutionScenario("sampleScenario", null);
+            fixture.completeScenarioExecution(scenarioExecution.getExecutionId(), TestResult.builder().status(SUCCESS).build());
+
+            assertThat(scenarioRecordingPolicy.getUnrecordedResults().successful()).isEqualTo(1L);
+            verifyNoInteractions(scenarioExecutionRepositoryMock, scenarioAuditJournalWriterMock);
+        }
+    }
+
     @Nested
     class CompleteScenarioExecution {
 
@@ -147,6 +250,9 @@ class ScenarioExecutionServiceImplTest {
 
         @Test
         void withTestResult() {
+            sampleScenarioExecution.setScenarioName("sampleScenario");
+            doReturn(SUCCESS).when(testResultMock).getStatus();
+
             doReturn(Optional.of(sampleScenarioExecution)).when(scenarioExecutionRepositoryMock).findOneByExecutionId(scenarioExecutionId);
             doReturn(sampleScenarioExecution).when(scenarioExecutionRepositoryMock).save(sampleScenarioExecution);
             doReturn(now).when(timeProviderMock).getTimeNow();
@@ -155,6 +261,8 @@ class ScenarioExecutionServiceImplTest {
 
             assertEquals(testResultMock, result.getTestResult());
             assertEquals(now, result.getEndDate());
+            verify(testResultCountersMock).increment("sampleScenario", SUCCESS);
+            verify(scenarioStatisticsServiceMock).record(result);
         }
 
         @Test
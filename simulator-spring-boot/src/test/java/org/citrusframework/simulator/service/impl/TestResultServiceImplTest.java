@@ -16,9 +16,16 @@
 
 package org.citrusframework.simulator.service.impl;
 
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
 import org.citrusframework.simulator.model.TestResult;
 import org.citrusframework.simulator.repository.TestResultRepository;
+import org.citrusframework.simulator.service.dto.ScenarioTestResultByStatus;
 import org.citrusframework.simulator.service.dto.TestResultByStatus;
+import org.citrusframework.simulator.service.payload.MessagePayloadStore;
+import org.citrusframework.simulator.service.recording.ScenarioRecordingPolicy;
+import org.citrusframework.simulator.service.search.MessageFullTextIndex;
+import org.citrusframework.simulator.service.statistics.ScenarioStatisticsService;
+import org.citrusframework.simulator.service.statistics.TestResultCounters;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,6 +34,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -41,11 +49,27 @@ class TestResultServiceImplTest {
     @Mock
     private TestResultRepository testResultRepositoryMock;
 
+    @Mock
+    private MessagePayloadStore messagePayloadStoreMock;
+
+    @Mock
+    private MessageFullTextIndex messageFullTextIndexMock;
+
+    @Mock
+    private TestResultCounters testResultCountersMock;
+
+    @Mock
+    private ScenarioStatisticsService scenarioStatisticsServiceMock;
+
+    private ScenarioRecordingPolicy scenarioRecordingPolicy;
+
     private TestResultServiceImpl fixture;
 
     @BeforeEach
     void beforeEachSetup() {
-        fixture = new TestResultServiceImpl(testResultRepositoryMock);
+        scenarioRecordingPolicy = new ScenarioRecordingPolicy(new SimulatorConfigurationProperties());
+
+        fixture = new TestResultServiceImpl(testResultRepositoryMock, scenarioRecordingPolicy, messagePayloadStoreMock, messageFullTextIndexMock, testResultCountersMock, scenarioStatisticsServiceMock);
     }
 
     @Test
@@ -86,15 +110,42 @@ class TestResultServiceImplTest {
     @Test
     void testCountByStatus() {
         TestResultByStatus testResultByStatus = new TestResultByStatus(1L, 1L);
-        doReturn(testResultByStatus).when(testResultRepositoryMock).countByStatus();
+        doReturn(testResultByStatus).when(testResultCountersMock).getTotal();
 
         TestResultByStatus result = fixture.countByStatus();
         assertEquals(testResultByStatus, result);
     }
 
+    @Test
+    void testCountByStatusIncludesUnrecordedResults() {
+        doReturn(new TestResultByStatus(1L, 1L)).when(testResultCountersMock).getTotal();
+
+        scenarioRecordingPolicy.complete(-1L, TestResult.builder().status(TestResult.Status.SUCCESS).build());
+        scenarioRecordingPolicy.complete(-2L, TestResult.builder().status(TestResult.Status.SUCCESS).build());
+
+        TestResultByStatus result = fixture.countByStatus();
+        assertEquals(new TestResultByStatus(3L, 1L), result);
+    }
+
+    @Test
+    void testCountByScenarioName() {
+        List<ScenarioTestResultByStatus> scenarioTestResultsByStatus = List.of(new ScenarioTestResultByStatus("scenario", 1L, 2L));
+        doReturn(scenarioTestResultsByStatus).when(testResultCountersMock).getByScenarioName();
+
+        List<ScenarioTestResultByStatus> result = fixture.countByScenarioName();
+        assertEquals(scenarioTestResultsByStatus, result);
+    }
+
     @Test
     void delete() {
+        scenarioRecordingPolicy.complete(-1L, TestResult.builder().status(TestResult.Status.FAILURE).build());
+
         fixture.deleteAll();
         verify(testResultRepositoryMock).deleteAll();
+        verify(messagePayloadStoreMock).deleteUnreferenced();
+        verify(messageFullTextIndexMock).deleteUnreferenced();
+        verify(testResultCountersMock).reset();
+        verify(scenarioStatisticsServiceMock).reset();
+        assertEquals(0L, scenarioRecordingPolicy.getUnrecordedResults().total());
     }
 }
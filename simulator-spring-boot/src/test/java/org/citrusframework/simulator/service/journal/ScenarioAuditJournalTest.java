@@ -0,0 +1,224 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.journal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties.AuditJournal.Durability;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties.AuditJournal.OverflowPolicy;
+import org.citrusframework.simulator.model.TestResult;
+import org.citrusframework.simulator.service.journal.AuditEvent.ActionStarted;
+import org.citrusframework.simulator.service.journal.AuditEvent.ExecutionCompleted;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+@ExtendWith(MockitoExtension.class)
+class ScenarioAuditJournalTest {
+
+    @Mock
+    private ScenarioAuditJournalWriter scenarioAuditJournalWriterMock;
+
+    private SimulatorConfigurationProperties simulatorConfigurationProperties;
+
+    private ScenarioAuditJournal fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        simulatorConfigurationProperties = new SimulatorConfigurationProperties();
+        simulatorConfigurationProperties.getAuditJournal().setEnabled(true);
+        simulatorConfigurationProperties.getAuditJournal().setFlushSize(3);
+        simulatorConfigurationProperties.getAuditJournal().setFlushInterval(10000L);
+    }
+
+    @AfterEach
+    void afterEachTeardown() throws InterruptedException {
+        if (fixture != null) {
+            fixture.destroy();
+        }
+    }
+
+    @Test
+    void writesEventsInBatchesOfFlushSize() throws InterruptedException {
+        fixture = new ScenarioAuditJournal(scenarioAuditJournalWriterMock, simulatorConfigurationProperties);
+        fixture.afterPropertiesSet();
+
+        var events = List.<AuditEvent>of(actionStarted(1L), actionStarted(2L), actionStarted(1L));
+        events.forEach(fixture::append);
+
+        verify(scenarioAuditJournalWriterMock, timeout(5000)).write(events);
+
+        fixture.destroy();
+        assertThat(fixture.getWrittenCount()).isEqualTo(3);
+        assertThat(fixture.getPendingCount()).isZero();
+    }
+
+    @Test
+    void writesIncompleteBatchAfterFlushInterval() {
+        simulatorConfigurationProperties.getAuditJournal().setFlushInterval(50L);
+
+        fixture = new ScenarioAuditJournal(scenarioAuditJournalWriterMock, simulatorConfigurationProperties);
+        fixture.afterPropertiesSet();
+
+        var event = actionStarted(1L);
+        fixture.append(event);
+
+        verify(scenarioAuditJournalWriterMock, timeout(5000)).write(List.of(event));
+    }
+
+    @Test
+    void waitsForCompletionToBeWrittenIfConfigured() {
+        simulatorConfigurationProperties.getAuditJournal().setDurability(Durability.FLUSH_ON_COMPLETION);
+
+        fixture = new ScenarioAuditJournal(scenarioAuditJournalWriterMock, simulatorConfigurationProperties);
+        fixture.afterPropertiesSet();
+
+        var actionStarted = actionStarted(1L);
+        var executionCompleted = new ExecutionCompleted(1L, new TestResult(), Instant.now());
+
+        fixture.append(actionStarted);
+        fixture.append(executionCompleted);
+
+        // Written before the flush size or the flush interval has been reached
+        verify(scenarioAuditJournalWriterMock).write(List.of(actionStarted, executionCompleted));
+    }
+
+    @Test
+    void dropsEventsIfBufferIsFull() {
+        simulatorConfigurationProperties.getAuditJournal().setCapacity(1);
+        simulatorConfigurationProperties.getAuditJournal().setOverflowPolicy(OverflowPolicy.DROP);
+
+        fixture = new ScenarioAuditJournal(scenarioAuditJournalWriterMock, simulatorConfigurationProperties);
+        // Accept events without draining the buffer
+        setField(fixture, "running", true);
+
+        fixture.append(actionStarted(1L));
+        fixture.append(actionStarted(1L));
+
+        assertThat(fixture.getPendingCount()).isEqualTo(1);
+        assertThat(fixture.getDroppedCount()).isEqualTo(1);
+        verify(scenarioAuditJournalWriterMock, never()).write(anyList());
+    }
+
+    @Test
+    void countsFailedBatches() {
+        doThrow(new IllegalStateException("database unavailable")).when(scenarioAuditJournalWriterMock).write(anyList());
+
+        fixture = new ScenarioAuditJournal(scenarioAuditJournalWriterMock, simulatorConfigurationProperties);
+
+        fixture.append(actionStarted(1L));
+
+        assertThat(fixture.getFailureCount()).isEqualTo(1);
+        assertThat(fixture.getWrittenCount()).isZero();
+    }
+
+    @Test
+    void retriesFailedBatchPerScenarioExecution() throws InterruptedException {
+        doAnswer(invocation -> {
+            List<AuditEvent> events = invocation.getArgument(0);
+            if (events.stream().anyMatch(event -> event.executionId() == 2L)) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return null;
+        }).when(scenarioAuditJournalWriterMock).write(anyList());
+
+        fixture = new ScenarioAuditJournal(scenarioAuditJournalWriterMock, simulatorConfigurationProperties);
+        fixture.afterPropertiesSet();
+
+        var first = actionStarted(1L);
+        var failing = actionStarted(2L);
+        var second = actionStarted(1L);
+        List.<AuditEvent>of(first, failing, second).forEach(fixture::append);
+
+        verify(scenarioAuditJournalWriterMock, timeout(5000)).write(List.of(first, second));
+        fixture.destroy();
+
+        verify(scenarioAuditJournalWriterMock).write(List.of(first, failing, second));
+        verify(scenarioAuditJournalWriterMock).write(List.of(failing));
+        assertThat(fixture.getWrittenCount()).isEqualTo(2);
+        assertThat(fixture.getFailureCount()).isEqualTo(1);
+    }
+
+    @Test
+    void writesSynchronouslyIfWriterIsNotRunning() {
+        fixture = new ScenarioAuditJournal(scenarioAuditJournalWriterMock, simulatorConfigurationProperties);
+
+        var event = actionStarted(1L);
+        fixture.append(event);
+
+        verify(scenarioAuditJournalWriterMock).write(List.of(event));
+        assertThat(fixture.getWrittenCount()).isEqualTo(1);
+    }
+
+    @Test
+    void writesPendingEventsOnShutdown() throws InterruptedException {
+        fixture = new ScenarioAuditJournal(scenarioAuditJournalWriterMock, simulatorConfigurationProperties);
+        fixture.afterPropertiesSet();
+
+        var event = actionStarted(1L);
+        fixture.append(event);
+        fixture.destroy();
+
+        verify(scenarioAuditJournalWriterMock).write(List.of(event));
+        assertThat(fixture.getPendingCount()).isZero();
+    }
+
+    @Test
+    void doesNotStartWriterIfDisabled() {
+        simulatorConfigurationProperties.getAuditJournal().setEnabled(false);
+
+        fixture = new ScenarioAuditJournal(scenarioAuditJournalWriterMock, simulatorConfigurationProperties);
+        fixture.afterPropertiesSet();
+
+        assertThat(fixture.isEnabled()).isFalse();
+        verify(scenarioAuditJournalWriterMock, never()).write(any());
+    }
+
+    @Test
+    void bindsJournalMetrics() {
+        fixture = new ScenarioAuditJournal(scenarioAuditJournalWriterMock, simulatorConfigurationProperties);
+
+        var meterRegistry = new SimpleMeterRegistry();
+        fixture.bindTo(meterRegistry);
+
+        assertThat(meterRegistry.get("citrus.simulator.audit.journal.pending").gauge().value()).isZero();
+        assertThat(meterRegistry.get("citrus.simulator.audit.journal.written").functionCounter().count()).isZero();
+        assertThat(meterRegistry.get("citrus.simulator.audit.journal.dropped").functionCounter().count()).isZero();
+        assertThat(meterRegistry.get("citrus.simulator.audit.journal.failures").functionCounter().count()).isZero();
+    }
+
+    private static ActionStarted actionStarted(long executionId) {
+        return new ActionStarted(executionId, "send", Instant.now());
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.journal;
+
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.Message.Direction;
+import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.model.TestResult;
+import org.citrusframework.simulator.repository.MessagePayloadRepository;
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.service.businesskey.MessageBusinessKeyExtractor;
+import org.citrusframework.simulator.service.header.MessageHeaderNameDictionary;
+import org.citrusframework.simulator.service.header.MessageHeaderStorage;
+import org.citrusframework.simulator.service.journal.AuditEvent.ActionCompleted;
+import org.citrusframework.simulator.service.journal.AuditEvent.ActionStarted;
+import org.citrusframework.simulator.service.journal.AuditEvent.ExecutionCompleted;
+import org.citrusframework.simulator.service.journal.AuditEvent.MessageRecorded;
+import org.citrusframework.simulator.service.payload.MessagePayloadStore;
+import org.citrusframework.simulator.service.search.MessageFullTextIndex;
+import org.citrusframework.simulator.service.statistics.ScenarioStatisticsService;
+import org.citrusframework.simulator.service.statistics.TestResultCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.citrusframework.simulator.model.TestResult.Status.SUCCESS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ScenarioAuditJournalWriterTest {
+
+    private static final long EXECUTION_ID = 1234L;
+
+    @Mock
+    private ScenarioExecutionRepository scenarioExecutionRepositoryMock;
+
+    @Mock
+    private MessageHeaderNameDictionary messageHeaderNameDictionaryMock;
+
+    @Mock
+    private MessagePayloadRepository messagePayloadRepositoryMock;
+
+    @Mock
+    private PlatformTransactionManager transactionManagerMock;
+
+    @Mock
+    private MessageFullTextIndex messageFullTextIndexMock;
+
+    @Mock
+    private TestResultCounters testResultCountersMock;
+
+    @Mock
+    private ScenarioStatisticsService scenarioStatisticsServiceMock;
+
+    private ScenarioExecution scenarioExecution;
+
+    private ScenarioAuditJournalWriter fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        scenarioExecution = ScenarioExecution.builder()
+            .executionId(EXECUTION_ID)
+            .scenarioName("scenario")
+            .startDate(Instant.now())
+            .build();
+
+        fixture = new ScenarioAuditJournalWriter(scenarioExecutionRepositoryMock, new MessageHeaderStorage(messageHeaderNameDictionaryMock, new SimulatorConfigurationProperties()), new MessagePayloadStore(messagePayloadRepositoryMock, transactionManagerMock, new SimulatorConfigurationProperties()), messageFullTextIndexMock, new MessageBusinessKeyExtractor(new SimulatorConfigurationProperties()), testResultCountersMock, scenarioStatisticsServiceMock);
+    }
+
+    @Test
+    void appliesAllEventsOfExecutionWithSingleLookup() {
+        doReturn(List.of(scenarioExecution)).when(scenarioExecutionRepositoryMock).findAllWithScenarioActionsByExecutionIdIn(Set.of(EXECUTION_ID));
+
+        var endDate = Instant.now();
+        fixture.write(List.of(
+            new ActionStarted(EXECUTION_ID, "receive", Instant.now()),
+            new MessageRecorded(EXECUTION_ID, Direction.INBOUND, "payload", "citrus-message-id", Map.of("key", "value"), Instant.now()),
+            new ActionCompleted(EXECUTION_ID, "receive", endDate),
+            new ActionStarted(EXECUTION_ID, null, Instant.now()),
+            new ExecutionCompleted(EXECUTION_ID, TestResult.builder().status(SUCCESS).build(), endDate)
+        ));
+
+        assertThat(scenarioExecution.getScenarioActions())
+            .hasSize(2)
+            .anySatisfy(scenarioAction -> {
+                assertThat(scenarioAction.getName()).isEqualTo("receive");
+                assertThat(scenarioAction.getEndDate()).isEqualTo(endDate);
+            })
+            .anySatisfy(scenarioAction -> {
+                assertThat(scenarioAction.getName()).isEqualTo("scenario");
+                assertThat(scenarioAction.getEndDate()).isNull();
+            });
+        assertThat(scenarioExecution.getScenarioMessages())
+            .singleElement()
+            .satisfies(message -> {
+                assertThat(message.getDirection()).isEqualTo(Direction.INBOUND);
+                assertThat(message.getPayload()).isEqualTo("payload");
+                assertThat(message.getHeaders()).hasSize(1);
+            });
+        assertThat(scenarioExecution.getEndDate()).isEqualTo(endDate);
+        assertThat(scenarioExecution.getTestResult().getStatus()).isEqualTo(SUCCESS);
+        verify(testResultCountersMock).increment("scenario", SUCCESS);
+        verify(scenarioStatisticsServiceMock).record(scenarioExecution);
+
+        verify(scenarioExecutionRepositoryMock).findAllWithScenarioMessagesByExecutionIdIn(Set.of(EXECUTION_ID));
+        verify(scenarioExecutionRepositoryMock).saveAll(argThat(scenarioExecutions -> scenarioExecutions.iterator().next() == scenarioExecution));
+    }
+
+    @Test
+    void skipsMessagesThatAreAlreadyAttached() {
+        scenarioExecution.addScenarioMessage(Message.builder()
+            .direction(Direction.OUTBOUND)
+            .citrusMessageId("citrus-message-id")
+            .build());
+
+        doReturn(List.of(scenarioExecution)).when(scenarioExecutionRepositoryMock).findAllWithScenarioActionsByExecutionIdIn(Set.of(EXECUTION_ID));
+
+        fixture.write(List.of(new MessageRecorded(EXECUTION_ID, Direction.OUTBOUND, "payload", "citrus-message-id", Map.of(), Instant.now())));
+
+        assertThat(scenarioExecution.getScenarioMessages())
+            .singleElement()
+            .extracting(Message::getPayload)
+            .isNull();
+    }
+
+    @Test
+    void indexesRecordedMessagesAfterFlush() {
+        doReturn(true).when(messageFullTextIndexMock).isEnabled();
+        doReturn(List.of(scenarioExecution)).when(scenarioExecutionRepositoryMock).findAllWithScenarioActionsByExecutionIdIn(Set.of(EXECUTION_ID));
+
+        Map<String, Object> headers = Map.of("key", "value");
+        fixture.write(List.of(new MessageRecorded(EXECUTION_ID, Direction.INBOUND, "payload", "citrus-message-id", headers, Instant.now())));
+
+        Message message = scenarioExecution.getScenarioMessages().iterator().next();
+
+        var inOrder = inOrder(scenarioExecutionRepositoryMock, messageFullTextIndexMock);
+        inOrder.verify(scenarioExecutionRepositoryMock).flush();
+        inOrder.verify(messageFullTextIndexMock).index(message, "payload", headers);
+    }
+
+    @Test
+    void doesNotFlushIfFullTextIndexIsDisabled() {
+        doReturn(List.of(scenarioExecution)).when(scenarioExecutionRepositoryMock).findAllWithScenarioActionsByExecutionIdIn(Set.of(EXECUTION_ID));
+
+        fixture.write(List.of(new MessageRecorded(EXECUTION_ID, Direction.INBOUND, "payload", "citrus-message-id", Map.of(), Instant.now())));
+
+        verify(scenarioExecutionRepositoryMock, never()).flush();
+        verify(messageFullTextIndexMock, never()).index(any(), any(), any());
+    }
+
+    @Test
+    void skipsEventsOfUnknownExecutions() {
+        doReturn(List.of()).when(scenarioExecutionRepositoryMock).findAllWithScenarioActionsByExecutionIdIn(Set.of(EXECUTION_ID));
+
+        fixture.write(List.of(new ActionStarted(EXECUTION_ID, "receive", Instant.now())));
+
+        verify(scenarioExecutionRepositoryMock, never()).findAllWithScenarioMessagesByExecutionIdIn(any());
+        verify(scenarioExecutionRepositoryMock).saveAll(argThat(scenarioExecutions -> !scenarioExecutions.iterator().hasNext()));
+    }
+}
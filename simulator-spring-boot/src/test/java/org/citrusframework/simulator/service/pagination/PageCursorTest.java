@@ -0,0 +1,60 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void parseSortValueAndId() {
+        assertThat(PageCursor.parse("2024-01-01T00:00:00Z,42"))
+            .isEqualTo(new PageCursor("2024-01-01T00:00:00Z", 42L));
+    }
+
+    @Test
+    void parseSortValueContainingSeparator() {
+        assertThat(PageCursor.parse("foo,bar,42"))
+            .isEqualTo(new PageCursor("foo,bar", 42L));
+    }
+
+    @Test
+    void parseIdOnly() {
+        assertThat(PageCursor.parse("42"))
+            .isEqualTo(new PageCursor(null, 42L));
+    }
+
+    @Test
+    void parseRejectsNonNumericId() {
+        assertThatThrownBy(() -> PageCursor.parse("2024-01-01T00:00:00Z"))
+            .isInstanceOf(InvalidPageRequestException.class)
+            .hasMessageContaining("2024-01-01T00:00:00Z");
+    }
+
+    @Test
+    void toParameterIsParseable() {
+        var cursor = new PageCursor("foo,bar", 42L);
+
+        assertThat(cursor.toParameter()).isEqualTo("foo,bar,42");
+        assertThat(PageCursor.parse(cursor.toParameter())).isEqualTo(cursor);
+        assertThat(new PageCursor(null, 42L).toParameter()).isEqualTo("42");
+    }
+}
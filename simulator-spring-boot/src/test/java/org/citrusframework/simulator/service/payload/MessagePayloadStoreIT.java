@@ -0,0 +1,118 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.payload;
+
+import jakarta.persistence.EntityManager;
+import org.citrusframework.simulator.IntegrationTest;
+import org.citrusframework.simulator.model.MessagePayload;
+import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.repository.MessagePayloadRepository;
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.service.MessageService;
+import org.citrusframework.simulator.web.rest.ScenarioExecutionResourceIT;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.citrusframework.simulator.model.Message.Direction.INBOUND;
+
+@Isolated
+@IntegrationTest
+@TestPropertySource(properties = {"citrus.simulator.message-payloads.deduplicate=true"})
+class MessagePayloadStoreIT {
+
+    private static final int ROUNDS = 50;
+
+    private static final int MESSAGES_PER_ROUND = 4;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ScenarioExecutionRepository scenarioExecutionRepository;
+
+    @Autowired
+    private MessagePayloadRepository messagePayloadRepository;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private MessagePayloadStore fixture;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ScenarioExecution scenarioExecution;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        scenarioExecution = scenarioExecutionRepository.save(ScenarioExecutionResourceIT.createEntity(entityManager));
+    }
+
+    @Test
+    void deleteUnreferencedKeepsPayloadsOfMessagesBeingPersisted() throws Exception {
+        ExecutorService executorService = newFixedThreadPool(MESSAGES_PER_ROUND + 1);
+
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                // A new payload is unreferenced until the first message referencing it has been committed
+                String payload = "<Order><id>" + round + "</id></Order>";
+
+                List<Future<?>> results = new ArrayList<>();
+                results.add(executorService.submit(() -> transactionTemplate.execute(status -> fixture.deleteUnreferenced())));
+                for (int i = 0; i < MESSAGES_PER_ROUND; i++) {
+                    results.add(executorService.submit(() -> messageService.attachMessageToScenarioExecutionAndSave(
+                        scenarioExecution.getExecutionId(), INBOUND, payload, UUID.randomUUID().toString(), Map.of())));
+                }
+
+                for (Future<?> result : results) {
+                    result.get(30, SECONDS);
+                }
+
+                assertThat(messagePayloadRepository.existsById(MessagePayload.of(payload, Integer.MAX_VALUE).getHash())).isTrue();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @AfterEach
+    void afterEachTeardown() {
+        scenarioExecutionRepository.deleteById(scenarioExecution.getExecutionId());
+        transactionTemplate.execute(status -> fixture.deleteUnreferenced());
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.payload;
+
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.MessagePayload;
+import org.citrusframework.simulator.repository.MessagePayloadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class MessagePayloadStoreTest {
+
+    private static final String PAYLOAD = "<TestRequest><Message>Hello World!</Message></TestRequest>";
+
+    @Mock
+    private MessagePayloadRepository messagePayloadRepositoryMock;
+
+    @Mock
+    private PlatformTransactionManager transactionManagerMock;
+
+    private SimulatorConfigurationProperties simulatorConfigurationProperties;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        simulatorConfigurationProperties = new SimulatorConfigurationProperties();
+    }
+
+    @Test
+    void storesPayloadInlineByDefault() {
+        MessagePayloadStore fixture = new MessagePayloadStore(messagePayloadRepositoryMock, transactionManagerMock, simulatorConfigurationProperties);
+
+        Message message = fixture.payload(Message.builder(), PAYLOAD).build();
+
+        assertThat(message.getPayload()).isEqualTo(PAYLOAD);
+        assertThat(message.getStoredPayload()).isNull();
+
+        verifyNoInteractions(messagePayloadRepositoryMock, transactionManagerMock);
+    }
+
+    @Test
+    void truncatesPayloadsExceedingMaxSize() {
+        simulatorConfigurationProperties.getMessagePayloads().setMaxSize(13);
+        MessagePayloadStore fixture = new MessagePayloadStore(messagePayloadRepositoryMock, transactionManagerMock, simulatorConfigurationProperties);
+
+        assertThat(fixture.truncate(PAYLOAD)).isEqualTo("<TestRequest>... [truncated 45 characters]");
+        assertThat(fixture.truncate("<TestRequest>")).isEqualTo("<TestRequest>");
+        assertThat(fixture.truncate(null)).isNull();
+    }
+
+    @Nested
+    class Deduplicate {
+
+        private final MessagePayload messagePayload = MessagePayload.of(PAYLOAD, 256);
+
+        private MessagePayloadStore fixture;
+
+        @BeforeEach
+        void beforeEachSetup() {
+            simulatorConfigurationProperties.getMessagePayloads().setDeduplicate(true);
+            fixture = new MessagePayloadStore(messagePayloadRepositoryMock, transactionManagerMock, simulatorConfigurationProperties);
+        }
+
+        @Test
+        void storesDistinctPayloadOnce() {
+            doReturn(false).when(messagePayloadRepositoryMock).existsById(messagePayload.getHash());
+            doReturn(messagePayload).when(messagePayloadRepositoryMock).getReferenceById(messagePayload.getHash());
+
+            Message message1 = fixture.payload(Message.builder(), PAYLOAD).build();
+            Message message2 = fixture.payload(Message.builder(), PAYLOAD).build();
+
+            assertThat(message1.getStoredPayload()).isSameAs(messagePayload);
+            assertThat(message1.getPayload()).isEqualTo(PAYLOAD);
+            assertThat(message2.getStoredPayload()).isSameAs(messagePayload);
+
+            // The second payload is known from the cache
+            verify(messagePayloadRepositoryMock).existsById(messagePayload.getHash());
+            verify(messagePayloadRepositoryMock).saveAndFlush(messagePayload);
+        }
+
+        @Test
+        void referencesPayloadStoredConcurrently() {
+            doReturn(false).when(messagePayloadRepositoryMock).existsById(messagePayload.getHash());
+            doThrow(DataIntegrityViolationException.class).when(messagePayloadRepositoryMock).saveAndFlush(any(MessagePayload.class));
+            doReturn(messagePayload).when(messagePayloadRepositoryMock).getReferenceById(messagePayload.getHash());
+
+            Message message = fixture.payload(Message.builder(), PAYLOAD).build();
+
+            assertThat(message.getStoredPayload()).isSameAs(messagePayload);
+            verify(transactionManagerMock).rollback(any());
+        }
+
+        @Test
+        void deleteUnreferencedForgetsStoredPayloads() {
+            doReturn(true).when(messagePayloadRepositoryMock).existsById(messagePayload.getHash());
+            doReturn(messagePayload).when(messagePayloadRepositoryMock).getReferenceById(messagePayload.getHash());
+            doReturn(1).when(messagePayloadRepositoryMock).deleteUnreferenced();
+
+            fixture.payload(Message.builder(), PAYLOAD);
+            assertThat(fixture.deleteUnreferenced()).isEqualTo(1);
+            fixture.payload(Message.builder(), PAYLOAD);
+
+            verify(messagePayloadRepositoryMock, times(2)).existsById(messagePayload.getHash());
+        }
+
+        @Test
+        void storesNullPayloadInline() {
+            Message message = fixture.payload(Message.builder(), null).build();
+
+            assertThat(message.getPayload()).isNull();
+            verifyNoInteractions(messagePayloadRepositoryMock);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.recording;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties.Recording.Policy;
+import org.citrusframework.simulator.model.ScenarioParameter;
+import org.citrusframework.simulator.model.TestResult;
+import org.citrusframework.simulator.service.journal.AuditEvent.ActionStarted;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.citrusframework.simulator.model.TestResult.Status.FAILURE;
+import static org.citrusframework.simulator.model.TestResult.Status.SUCCESS;
+
+class ScenarioRecordingPolicyTest {
+
+    private SimulatorConfigurationProperties simulatorConfigurationProperties;
+
+    private ScenarioRecordingPolicy fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        simulatorConfigurationProperties = new SimulatorConfigurationProperties();
+
+        fixture = new ScenarioRecordingPolicy(simulatorConfigurationProperties);
+    }
+
+    @Test
+    void recordsEverythingByDefault() {
+        assertThat(fixture.isRecordingAll()).isTrue();
+        assertThat(fixture.shouldRecord("scenario")).isTrue();
+    }
+
+    @Test
+    void recordsNothingIfDisabled() {
+        simulatorConfigurationProperties.getRecording().setPolicy(Policy.NONE);
+
+        assertThat(fixture.isRecordingAll()).isFalse();
+        assertThat(fixture.shouldRecord("scenario")).isFalse();
+    }
+
+    @Test
+    void recordsEveryNthExecutionPerScenario() {
+        simulatorConfigurationProperties.getRecording().setPolicy(Policy.SAMPLED);
+        simulatorConfigurationProperties.getRecording().setSampleInterval(3);
+
+        assertThat(IntStream.range(0, 6).mapToObj(i -> fixture.shouldRecord("foo")))
+            .containsExactly(true, false, false, true, false, false);
+        assertThat(fixture.shouldRecord("bar")).isTrue();
+    }
+
+    @Test
+    void recordsFractionOfExecutions() {
+        simulatorConfigurationProperties.getRecording().setPolicy(Policy.SAMPLED);
+
+        simulatorConfigurationProperties.getRecording().setSampleRate(0);
+        assertThat(fixture.shouldRecord("scenario")).isFalse();
+
+        simulatorConfigurationProperties.getRecording().setSampleRate(1);
+        assertThat(fixture.shouldRecord("scenario")).isTrue();
+    }
+
+    @Test
+    void createsUnrecordedExecutionsWithNegativeIds() {
+        simulatorConfigurationProperties.getRecording().setPolicy(Policy.NONE);
+
+        var first = fixture.createUnrecordedExecution("scenario", Instant.now(), null);
+        var second = fixture.createUnrecordedExecution("scenario", Instant.now(), null);
+
+        assertThat(first.getExecutionId()).isNegative();
+        assertThat(second.getExecutionId()).isNegative().isNotEqualTo(first.getExecutionId());
+        assertThat(ScenarioRecordingPolicy.isRecorded(first.getExecutionId())).isFalse();
+        assertThat(fixture.isPending(first.getExecutionId())).isFalse();
+    }
+
+    @Test
+    void keepsAuditEventsOfFailedExecutionsIfErrorsOnly() {
+        simulatorConfigurationProperties.getRecording().setPolicy(Policy.ERRORS_ONLY);
+
+        var scenarioParameter = new ScenarioParameter();
+        var scenarioExecution = fixture.createUnrecordedExecution("scenario", Instant.now(), List.of(scenarioParameter));
+        var actionStarted = new ActionStarted(scenarioExecution.getExecutionId(), "send", Instant.now());
+
+        assertThat(fixture.isPending(scenarioExecution.getExecutionId())).isTrue();
+        fixture.append(actionStarted);
+
+        assertThat(fixture.complete(scenarioExecution.getExecutionId(), TestResult.builder().status(FAILURE).build()))
+            .hasValueSatisfying(pendingExecution -> {
+                assertThat(pendingExecution.scenarioName()).isEqualTo("scenario");
+                assertThat(pendingExecution.scenarioParameters()).containsExactly(scenarioParameter);
+                assertThat(pendingExecution.events()).containsExactly(actionStarted);
+            });
+        assertThat(fixture.isPending(scenarioExecution.getExecutionId())).isFalse();
+        assertThat(fixture.getUnrecordedResults().total()).isZero();
+    }
+
+    @Test
+    void countsUnrecordedResults() {
+        simulatorConfigurationProperties.getRecording().setPolicy(Policy.ERRORS_ONLY);
+
+        var scenarioExecution = fixture.createUnrecordedExecution("scenario", Instant.now(), null);
+
+        assertThat(fixture.complete(scenarioExecution.getExecutionId(), TestResult.builder().status(SUCCESS).build())).isEmpty();
+        assertThat(fixture.complete(-42L, TestResult.builder().status(FAILURE).build())).isEmpty();
+
+        assertThat(fixture.getUnrecordedResults().successful()).isEqualTo(1L);
+        assertThat(fixture.getUnrecordedResults().failed()).isEqualTo(1L);
+
+        var meterRegistry = new SimpleMeterRegistry();
+        fixture.bindTo(meterRegistry);
+        assertThat(meterRegistry.get("citrus.simulator.recording.unrecorded").tag("status", "success").functionCounter().count()).isEqualTo(1);
+
+        fixture.reset();
+        assertThat(fixture.getUnrecordedResults().total()).isZero();
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.retention;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.citrusframework.simulator.common.TimeProvider;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.service.dto.ScenarioTestResultByStatus;
+import org.citrusframework.simulator.service.payload.MessagePayloadStore;
+import org.citrusframework.simulator.service.statistics.TestResultCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+@ExtendWith(MockitoExtension.class)
+class ScenarioExecutionRetentionServiceTest {
+
+    @Mock
+    private ScenarioExecutionRepository scenarioExecutionRepositoryMock;
+
+    @Mock
+    private MessagePayloadStore messagePayloadStoreMock;
+
+    @Mock
+    private TestResultCounters testResultCountersMock;
+
+    @Mock
+    private PlatformTransactionManager transactionManagerMock;
+
+    @Mock
+    private TimeProvider timeProviderMock;
+
+    private SimulatorConfigurationProperties simulatorConfigurationProperties;
+
+    private ScenarioExecutionRetentionService fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        simulatorConfigurationProperties = new SimulatorConfigurationProperties();
+        simulatorConfigurationProperties.getRetention().setChunkSize(2);
+
+        fixture = new ScenarioExecutionRetentionService(scenarioExecutionRepositoryMock, messagePayloadStoreMock, testResultCountersMock, transactionManagerMock, simulatorConfigurationProperties);
+        setField(fixture, "timeProvider", timeProviderMock, TimeProvider.class);
+    }
+
+    @Test
+    void isDisabledByDefault() {
+        assertThat(fixture.isEnabled()).isFalse();
+
+        fixture.afterPropertiesSet();
+
+        assertThat(fixture.purge()).isZero();
+        verify(scenarioExecutionRepositoryMock, never()).deleteAllByExecutionIdIn(anyList());
+        verifyNoInteractions(messagePayloadStoreMock);
+    }
+
+    @Test
+    void purgesExpiredExecutionsInChunks() {
+        simulatorConfigurationProperties.getRetention().setMaxAge(1000L);
+
+        Instant now = Instant.now();
+        doReturn(now).when(timeProviderMock).getTimeNow();
+
+        // The second chunk is not full, hence the last one
+        Instant startedBefore = now.minusMillis(1000L);
+        doReturn(List.of(1L, 2L), List.of(3L)).when(scenarioExecutionRepositoryMock).findCompletedExecutionIdsStartedBefore(startedBefore, PageRequest.of(0, 2));
+        doReturn(List.of(11L, 12L)).when(scenarioExecutionRepositoryMock).findTestResultIdsByExecutionIdIn(List.of(1L, 2L));
+        doReturn(List.of()).when(scenarioExecutionRepositoryMock).findTestResultIdsByExecutionIdIn(List.of(3L));
+
+        List<ScenarioTestResultByStatus> purgedResults = List.of(new ScenarioTestResultByStatus("scenario", 1L, 1L));
+        doReturn(purgedResults).when(scenarioExecutionRepositoryMock).countTestResultsByScenarioNameAndExecutionIdIn(List.of(1L, 2L));
+
+        assertThat(fixture.isEnabled()).isTrue();
+        assertThat(fixture.purge()).isEqualTo(3);
+        assertThat(fixture.getPurgedCount()).isEqualTo(3);
+
+        var inOrder = inOrder(scenarioExecutionRepositoryMock, messagePayloadStoreMock, testResultCountersMock, transactionManagerMock);
+        inOrder.verify(transactionManagerMock).getTransaction(any());
+        inOrder.verify(testResultCountersMock).decrement(purgedResults);
+        inOrder.verify(scenarioExecutionRepositoryMock).deleteMessageTrigramsByExecutionIdIn(List.of(1L, 2L));
+        inOrder.verify(scenarioExecutionRepositoryMock).deleteMessageBusinessKeysByExecutionIdIn(List.of(1L, 2L));
+        inOrder.verify(scenarioExecutionRepositoryMock).deleteMessageHeadersByExecutionIdIn(List.of(1L, 2L));
+        inOrder.verify(scenarioExecutionRepositoryMock).deleteMessagesByExecutionIdIn(List.of(1L, 2L));
+        inOrder.verify(scenarioExecutionRepositoryMock).deleteScenarioActionsByExecutionIdIn(List.of(1L, 2L));
+        inOrder.verify(scenarioExecutionRepositoryMock).deleteScenarioParametersByExecutionIdIn(List.of(1L, 2L));
+        inOrder.verify(scenarioExecutionRepositoryMock).deleteAllByExecutionIdIn(List.of(1L, 2L));
+        inOrder.verify(scenarioExecutionRepositoryMock).deleteTestParametersByTestResultIdIn(List.of(11L, 12L));
+        inOrder.verify(scenarioExecutionRepositoryMock).deleteTestResultsByIdIn(List.of(11L, 12L));
+        inOrder.verify(transactionManagerMock).commit(any());
+        inOrder.verify(transactionManagerMock).getTransaction(any());
+        inOrder.verify(scenarioExecutionRepositoryMock).deleteAllByExecutionIdIn(List.of(3L));
+        inOrder.verify(transactionManagerMock).commit(any());
+        inOrder.verify(transactionManagerMock).getTransaction(any());
+        inOrder.verify(messagePayloadStoreMock).deleteUnreferenced();
+        inOrder.verify(transactionManagerMock).commit(any());
+
+        verify(scenarioExecutionRepositoryMock, never()).deleteTestResultsByIdIn(List.of());
+    }
+
+    @Test
+    void purgesOldestExecutionsExceedingMaximum() {
+        simulatorConfigurationProperties.getRetention().setMaxExecutions(10L);
+        simulatorConfigurationProperties.getRetention().setChunkSize(100);
+
+        doReturn(13L, 10L).when(scenarioExecutionRepositoryMock).count();
+        doReturn(List.of(1L, 2L, 3L)).when(scenarioExecutionRepositoryMock).findCompletedExecutionIds(PageRequest.of(0, 3));
+
+        assertThat(fixture.purge()).isEqualTo(3);
+
+        verify(scenarioExecutionRepositoryMock).deleteAllByExecutionIdIn(List.of(1L, 2L, 3L));
+        verifyNoInteractions(timeProviderMock);
+    }
+
+    @Test
+    void bindsRetentionMetrics() {
+        var meterRegistry = new SimpleMeterRegistry();
+        fixture.bindTo(meterRegistry);
+
+        assertThat(meterRegistry.get("citrus.simulator.retention.purged").functionCounter().count()).isZero();
+        assertThat(meterRegistry.get("citrus.simulator.retention.runs").functionCounter().count()).isZero();
+        assertThat(meterRegistry.get("citrus.simulator.retention.failures").functionCounter().count()).isZero();
+        assertThat(meterRegistry.get("citrus.simulator.retention.last.duration").gauge().value()).isZero();
+        assertThat(meterRegistry.get("citrus.simulator.retention.executions").gauge().value()).isZero();
+    }
+}
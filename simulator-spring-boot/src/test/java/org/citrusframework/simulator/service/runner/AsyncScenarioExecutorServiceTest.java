@@ -16,11 +16,14 @@
 
 package org.citrusframework.simulator.service.runner;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.citrusframework.TestCase;
 import org.citrusframework.report.TestListeners;
 import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.exception.ScenarioExecutionRejectedException;
 import org.citrusframework.simulator.exception.SimulatorException;
 import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.model.TestResult;
 import org.citrusframework.simulator.scenario.ScenarioRunner;
 import org.citrusframework.simulator.scenario.SimulatorScenario;
 import org.citrusframework.simulator.service.ScenarioExecutorService;
@@ -33,15 +36,20 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.event.ContextClosedEvent;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.InstanceOfAssertFactories.type;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentCaptor.captor;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -65,6 +73,7 @@ class AsyncScenarioExecutorServiceTest extends ScenarioExecutorServiceTest {
         super.beforeEachSetup();
 
         doReturn(THREAD_POOL_SIZE).when(propertiesMock).getExecutorThreads();
+        doReturn(onDemandTestContexts()).when(propertiesMock).getTestContexts();
 
         fixture = new AsyncScenarioExecutorService(applicationContextMock, citrusMock, scenarioExecutionServiceMock, propertiesMock);
         setField(fixture, "executorService", executorServiceMock, ExecutorService.class);
@@ -87,6 +96,81 @@ class AsyncScenarioExecutorServiceTest extends ScenarioExecutorServiceTest {
             .hasFieldOrPropertyWithValue("maximumPoolSize", THREAD_POOL_SIZE);
     }
 
+    @Test
+    void constructorCreatesBoundedQueue() {
+        doReturn(5).when(propertiesMock).getExecutorQueueCapacity();
+
+        assertThat(new AsyncScenarioExecutorService(applicationContextMock, citrusMock, scenarioExecutionServiceMock, propertiesMock))
+            .extracting("executorService")
+            .asInstanceOf(type(ThreadPoolExecutor.class))
+            .satisfies(threadPoolExecutor -> assertThat(threadPoolExecutor.getQueue().remainingCapacity()).isEqualTo(5));
+    }
+
+    @Test
+    void rejectsScenarioIfQueueIsFull() {
+        Long executionId = mockScenarioExecutionCreation();
+
+        var simulatorScenarioMock = mock(SimulatorScenario.class);
+        doThrow(new RejectedExecutionException("queue is full")).when(executorServiceMock).execute(any(Runnable.class));
+
+        assertThatThrownBy(() -> fixture.run(simulatorScenarioMock, scenarioName, parameters))
+            .isInstanceOf(ScenarioExecutionRejectedException.class)
+            .hasCauseInstanceOf(RejectedExecutionException.class);
+
+        assertThat(fixture.getRejectionCount()).isEqualTo(1L);
+        verify(scenarioExecutionServiceMock).completeScenarioExecution(eq(executionId), any(TestResult.class));
+        verify(simulatorScenarioMock, never()).run(any(ScenarioRunner.class));
+    }
+
+    @Test
+    void dropsScenarioIfQueueTimeoutExpired() throws InterruptedException {
+        doReturn(1L).when(propertiesMock).getExecutorQueueTimeout();
+        fixture = new AsyncScenarioExecutorService(applicationContextMock, citrusMock, scenarioExecutionServiceMock, propertiesMock);
+        setField(fixture, "executorService", executorServiceMock, ExecutorService.class);
+
+        Long executionId = mockScenarioExecutionCreation();
+
+        var simulatorScenarioMock = mock(SimulatorScenario.class);
+        fixture.run(simulatorScenarioMock, scenarioName, parameters);
+
+        ArgumentCaptor<Runnable> scenarioRunnableArgumentCaptor = captor();
+        verify(executorServiceMock).execute(scenarioRunnableArgumentCaptor.capture());
+
+        // Let the queue timeout expire before the executor picks up the scenario
+        Thread.sleep(10L);
+        scenarioRunnableArgumentCaptor.getValue().run();
+
+        assertThat(fixture.getExpirationCount()).isEqualTo(1L);
+        verify(scenarioExecutionServiceMock).completeScenarioExecution(eq(executionId), any(TestResult.class));
+        verify(simulatorScenarioMock).registerException(any(ScenarioExecutionRejectedException.class));
+        verify(simulatorScenarioMock, never()).run(any(ScenarioRunner.class));
+    }
+
+    @Test
+    void doesNotDropQueuedScenarioWithoutQueueTimeout() throws InterruptedException {
+        Long executionId = mockScenarioExecutionCreation();
+
+        var simulatorScenarioMock = getSimulatorScenarioMock();
+        Long result = fixture.run(simulatorScenarioMock, scenarioName, parameters);
+
+        // Queued scenarios never expire unless a queue timeout has been configured
+        Thread.sleep(10L);
+        verifyScenarioExecution(executionId, result, simulatorScenarioMock);
+
+        assertThat(fixture.getExpirationCount()).isZero();
+    }
+
+    @Test
+    void bindsQueueMetrics() {
+        var meterRegistry = new SimpleMeterRegistry();
+
+        fixture.bindTo(meterRegistry);
+
+        assertThat(meterRegistry.get("citrus.simulator.scenario.executor.queue.size").gauge().value()).isZero();
+        assertThat(meterRegistry.get("citrus.simulator.scenario.executor.rejections").functionCounter().count()).isZero();
+        assertThat(meterRegistry.get("citrus.simulator.scenario.executor.expirations").functionCounter().count()).isZero();
+    }
+
     @Test
     void runSimulatorScenarioByName() {
         var simulatorScenarioMock = getSimulatorScenarioMock();
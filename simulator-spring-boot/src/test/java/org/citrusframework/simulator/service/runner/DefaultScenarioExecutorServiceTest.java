@@ -19,6 +19,7 @@ package org.citrusframework.simulator.service.runner;
 import jakarta.annotation.Nullable;
 import org.citrusframework.TestCase;
 import org.citrusframework.report.TestListeners;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
 import org.citrusframework.simulator.exception.SimulatorException;
 import org.citrusframework.simulator.model.ScenarioExecution;
 import org.citrusframework.simulator.scenario.ScenarioRunner;
@@ -53,7 +54,10 @@ class DefaultScenarioExecutorServiceTest extends ScenarioExecutorServiceTest {
     public void beforeEachSetup() {
         super.beforeEachSetup();
 
-        fixture = new DefaultScenarioExecutorService(applicationContextMock, citrusMock, scenarioExecutionServiceMock);
+        var simulatorConfigurationProperties = new SimulatorConfigurationProperties();
+        simulatorConfigurationProperties.setTestContexts(onDemandTestContexts());
+
+        fixture = new DefaultScenarioExecutorService(applicationContextMock, citrusMock, scenarioExecutionServiceMock, simulatorConfigurationProperties);
     }
 
     @Test
@@ -97,6 +101,24 @@ class DefaultScenarioExecutorServiceTest extends ScenarioExecutorServiceTest {
         verifyScenarioHasBeenRunWithScenarioRunner(simulatorScenarioMock);
     }
 
+    @Test
+    void runScenarioWithTestContextBuiltOnDemand() {
+        fixture = new DefaultScenarioExecutorService(applicationContextMock, citrusMock, scenarioExecutionServiceMock);
+
+        Long executionId = mockScenarioExecutionCreation();
+
+        var simulatorScenarioMock = getSimulatorScenarioMock();
+
+        var testContextMock = mockCitrusTestContext();
+        var testListenersMock = mock(TestListeners.class);
+        doReturn(testListenersMock).when(testContextMock).getTestListeners();
+
+        Long result = fixture.run(simulatorScenarioMock, scenarioName, parameters);
+        verifyScenarioExecution(executionId, result, simulatorScenarioMock, testListenersMock);
+
+        verifyScenarioHasBeenRunWithScenarioRunner(simulatorScenarioMock);
+    }
+
     @Test
     void exceptionDuringExecutionWillBeCaught() {
         Long executionId = mockScenarioExecutionCreation();
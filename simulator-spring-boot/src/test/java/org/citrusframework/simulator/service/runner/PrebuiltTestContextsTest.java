@@ -0,0 +1,115 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.runner;
+
+import org.citrusframework.context.TestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PrebuiltTestContextsTest {
+
+    private final AtomicInteger builtContexts = new AtomicInteger();
+
+    private PrebuiltTestContexts fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        builtContexts.set(0);
+        fixture = new PrebuiltTestContexts(this::buildTestContext, 2);
+    }
+
+    @Test
+    void buildsContextsOnDemandIfDisabled() throws InterruptedException {
+        fixture = new PrebuiltTestContexts(this::buildTestContext, 0);
+
+        assertThat(fixture.get()).isNotSameAs(fixture.get());
+
+        Thread.sleep(50L);
+        assertThat(builtContexts).hasValue(2);
+        assertThat(fixture.available()).isZero();
+    }
+
+    @Test
+    void buildsContextsAheadOfDemandOnceFirstContextHasBeenTaken() throws InterruptedException {
+        assertThat(fixture.available()).isZero();
+
+        assertThat(fixture.get()).isNotNull();
+
+        awaitAvailableContexts(2);
+        assertThat(builtContexts).hasValue(3);
+
+        assertThat(fixture.get()).isNotNull();
+        awaitAvailableContexts(2);
+        assertThat(builtContexts).hasValue(4);
+    }
+
+    @Test
+    void handsOutEveryContextOnlyOnce() {
+        Set<TestContext> contexts = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            assertThat(contexts.add(fixture.get())).isTrue();
+        }
+    }
+
+    @Test
+    void buildsContextsOnDemandIfBuildingAheadFails() throws InterruptedException {
+        fixture = new PrebuiltTestContexts(() -> {
+            if (Thread.currentThread().getName().startsWith("test-context-builder")) {
+                builtContexts.incrementAndGet();
+                throw new IllegalStateException("Citrus context not available");
+            }
+            return mock(TestContext.class);
+        }, 2);
+
+        assertThat(fixture.get()).isNotNull();
+        awaitBuildAttempts(1);
+
+        assertThat(fixture.get()).isNotNull();
+        assertThat(fixture.available()).isZero();
+    }
+
+    private TestContext buildTestContext() {
+        builtContexts.incrementAndGet();
+        return mock(TestContext.class);
+    }
+
+    private void awaitBuildAttempts(int expectedCount) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000L;
+        while (builtContexts.get() < expectedCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+
+        assertThat(builtContexts).hasValueGreaterThanOrEqualTo(expectedCount);
+    }
+
+    private void awaitAvailableContexts(int expectedCount) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000L;
+        while (fixture.available() != expectedCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+
+        assertThat(fixture.available()).isEqualTo(expectedCount);
+    }
+}
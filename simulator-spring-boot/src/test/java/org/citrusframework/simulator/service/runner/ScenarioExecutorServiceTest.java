@@ -22,6 +22,7 @@ import org.citrusframework.DefaultTestCaseRunner;
 import org.citrusframework.TestCaseRunner;
 import org.citrusframework.context.TestContext;
 import org.citrusframework.report.TestListeners;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
 import org.citrusframework.simulator.model.ScenarioExecution;
 import org.citrusframework.simulator.model.ScenarioParameter;
 import org.citrusframework.simulator.scenario.ScenarioEndpoint;
@@ -81,6 +82,16 @@ abstract class ScenarioExecutorServiceTest {
             .hasNoNullFieldsOrProperties();
     }
 
+    /**
+     * Test contexts must be built on the thread starting the scenario, otherwise the stubbing races with the
+     * background thread building them ahead of demand.
+     */
+    protected static SimulatorConfigurationProperties.TestContexts onDemandTestContexts() {
+        var testContexts = new SimulatorConfigurationProperties.TestContexts();
+        testContexts.setPrebuilt(0);
+        return testContexts;
+    }
+
     protected void beforeEachSetup() {
         scenarioEndpointMock = mock(ScenarioEndpoint.class);
     }
@@ -0,0 +1,93 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.runner;
+
+import java.util.concurrent.TimeUnit;
+import org.citrusframework.context.TestContext;
+import org.citrusframework.context.TestContextFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the cost of obtaining a Citrus {@link TestContext} on the calling thread. Building a context on demand is
+ * how scenario starts and every poll of the endpoint poller used to obtain their context. Prebuilt contexts are taken
+ * from {@link PrebuiltTestContexts}, whose background thread keeps up as long as contexts are taken at a lower rate
+ * than it builds them. Polls that did not receive a message reuse their context. The {@link GCProfiler} reports the
+ * allocations per operation. Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestContextBenchmark {
+
+    private TestContextFactory testContextFactory;
+
+    private PrebuiltTestContexts prebuiltTestContexts;
+
+    private TestContext pollContext;
+
+    @Setup
+    public void setup() {
+        testContextFactory = TestContextFactory.newInstance();
+        prebuiltTestContexts = new PrebuiltTestContexts(testContextFactory::getObject, 64);
+        pollContext = testContextFactory.getObject();
+    }
+
+    @Benchmark
+    public TestContext onDemandContext() {
+        return testContextFactory.getObject();
+    }
+
+    @Benchmark
+    public TestContext prebuiltContext() {
+        return prebuiltTestContexts.get();
+    }
+
+    @Benchmark
+    public TestContext reusedPollContext() {
+        TestContext context = pollContext;
+        if (context == null) {
+            context = testContextFactory.getObject();
+        }
+
+        return context;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(TestContextBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build())
+            .run();
+    }
+}
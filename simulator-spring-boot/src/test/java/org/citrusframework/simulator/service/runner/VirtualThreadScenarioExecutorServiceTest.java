@@ -0,0 +1,121 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.runner;
+
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.scenario.ScenarioRunner;
+import org.citrusframework.simulator.scenario.SimulatorScenario;
+import org.citrusframework.simulator.service.ScenarioExecutorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.condition.JRE.JAVA_21;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+@EnabledForJreRange(min = JAVA_21)
+class VirtualThreadScenarioExecutorServiceTest extends ScenarioExecutorServiceTest {
+
+    private static final int IN_FLIGHT_SCENARIOS = 10_000;
+
+    private VirtualThreadScenarioExecutorService fixture;
+
+    @BeforeEach
+    public void beforeEachSetup() {
+        super.beforeEachSetup();
+
+        var simulatorConfigurationProperties = new SimulatorConfigurationProperties();
+        simulatorConfigurationProperties.setTestContexts(onDemandTestContexts());
+
+        fixture = new VirtualThreadScenarioExecutorService(applicationContextMock, citrusMock, scenarioExecutionServiceMock, simulatorConfigurationProperties);
+    }
+
+    @AfterEach
+    void afterEachTeardown() throws Exception {
+        fixture.destroy();
+    }
+
+    @Test
+    void isAsyncScenarioExecutorService() {
+        assertThat(fixture)
+            .isInstanceOf(ScenarioExecutorService.class)
+            .isInstanceOf(AsyncScenarioExecutorService.class);
+    }
+
+    @Test
+    void runsScenarioOnVirtualThreadExecutor() throws InterruptedException {
+        mockScenarioExecutionCreation();
+        mockCitrusTestContext();
+
+        CountDownLatch completed = new CountDownLatch(1);
+        AtomicReference<String> threadName = new AtomicReference<>();
+
+        SimulatorScenario simulatorScenarioMock = getSimulatorScenarioMock();
+        doAnswer(invocation -> {
+            threadName.set(Thread.currentThread().getName());
+            completed.countDown();
+            return null;
+        }).when(simulatorScenarioMock).run(any(ScenarioRunner.class));
+
+        fixture.run(simulatorScenarioMock, scenarioName, parameters);
+
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(threadName.get()).startsWith("execution-svc-virtual-");
+    }
+
+    @Test
+    void keepsTenThousandScenariosInFlight() throws InterruptedException {
+        mockScenarioExecutionCreation();
+        mockCitrusTestContext();
+
+        CountDownLatch inFlight = new CountDownLatch(IN_FLIGHT_SCENARIOS);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(IN_FLIGHT_SCENARIOS);
+
+        SimulatorScenario simulatorScenarioMock = getSimulatorScenarioMock();
+        doAnswer(invocation -> {
+            // Blocks like a scenario waiting for an intermediate message
+            inFlight.countDown();
+            release.await();
+            completed.countDown();
+            return null;
+        }).when(simulatorScenarioMock).run(any(ScenarioRunner.class));
+
+        for (int i = 0; i < IN_FLIGHT_SCENARIOS; i++) {
+            fixture.run(simulatorScenarioMock, scenarioName, parameters);
+        }
+
+        assertThat(inFlight.await(30, TimeUnit.SECONDS))
+            .as("all scenarios are blocked at the same time")
+            .isTrue();
+
+        release.countDown();
+
+        assertThat(completed.await(30, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.search;
+
+import jakarta.persistence.EntityManager;
+import org.citrusframework.simulator.IntegrationTest;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.MessageTrigram;
+import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.repository.MessageRepository;
+import org.citrusframework.simulator.repository.MessageTrigramRepository;
+import org.citrusframework.simulator.repository.MessageTrigramWatermarkRepository;
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.service.MessageQueryService;
+import org.citrusframework.simulator.service.MessageService;
+import org.citrusframework.simulator.service.ScenarioExecutionQueryService;
+import org.citrusframework.simulator.service.criteria.MessageCriteria;
+import org.citrusframework.simulator.service.criteria.ScenarioExecutionCriteria;
+import org.citrusframework.simulator.service.filter.LongFilter;
+import org.citrusframework.simulator.service.filter.StringFilter;
+import org.citrusframework.simulator.web.rest.MessageResourceIT;
+import org.citrusframework.simulator.web.rest.ScenarioExecutionResourceIT;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.citrusframework.simulator.model.Message.Direction.INBOUND;
+import static org.citrusframework.simulator.model.MessageTrigram.Source.HEADER_VALUE;
+import static org.citrusframework.simulator.model.MessageTrigram.Source.PAYLOAD;
+import static org.springframework.data.domain.Pageable.unpaged;
+
+@Isolated
+@IntegrationTest
+@TestPropertySource(properties = {"citrus.simulator.full-text-index.enabled=true"})
+class MessageFullTextIndexIT {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ScenarioExecutionRepository scenarioExecutionRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageTrigramRepository messageTrigramRepository;
+
+    @Autowired
+    private MessageTrigramWatermarkRepository messageTrigramWatermarkRepository;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private MessageQueryService messageQueryService;
+
+    @Autowired
+    private ScenarioExecutionQueryService scenarioExecutionQueryService;
+
+    @Autowired
+    private MessageFullTextIndex fixture;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private List<ScenarioExecution> scenarioExecutions;
+
+    private Message keyboardMessage;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        scenarioExecutions = scenarioExecutionRepository.saveAll(List.of(
+            ScenarioExecutionResourceIT.createEntity(entityManager),
+            ScenarioExecutionResourceIT.createEntity(entityManager)
+        ));
+
+        keyboardMessage = messageService.attachMessageToScenarioExecutionAndSave(scenarioExecutions.get(0).getExecutionId(), INBOUND,
+            "<order><item>Keyboard</item></order>", UUID.randomUUID().toString(), Map.of("source", "warehouse-north"));
+        messageService.attachMessageToScenarioExecutionAndSave(scenarioExecutions.get(1).getExecutionId(), INBOUND,
+            "<order><item>Mouse</item></order>", UUID.randomUUID().toString(), Map.of("source", "warehouse-south"));
+    }
+
+    @Test
+    void isEnabled() {
+        assertThat(fixture.isEnabled()).isTrue();
+    }
+
+    @Test
+    void indexesPayloadAndHeaderValues() {
+        assertThat(messageTrigramRepository.findAll())
+            .filteredOn(messageTrigram -> keyboardMessage.getMessageId().equals(messageTrigram.getMessageId()))
+            .extracting(MessageTrigram::getSource, MessageTrigram::getTrigram)
+            .contains(
+                tuple(PAYLOAD.getId(), "KEY"),
+                tuple(HEADER_VALUE.getId(), "NOR")
+            )
+            .doesNotContain(tuple(PAYLOAD.getId(), "MOU"));
+    }
+
+    @Test
+    void findsMessagesByPayload() {
+        var messageCriteria = messageCriteriaOfScenarioExecutions();
+        messageCriteria.setPayload((StringFilter) new StringFilter().setContains("keyboard"));
+
+        assertThat(messageQueryService.findByCriteria(messageCriteria, unpaged()).getContent())
+            .singleElement()
+            .extracting(Message::getMessageId)
+            .isEqualTo(keyboardMessage.getMessageId());
+    }
+
+    @Test
+    void findsScenarioExecutionsByPayload() {
+        var scenarioExecutionCriteria = new ScenarioExecutionCriteria();
+        scenarioExecutionCriteria.setScenarioMessagesPayload((StringFilter) new StringFilter().setContains("<item>mouse"));
+
+        assertThat(scenarioExecutionQueryService.findByCriteria(scenarioExecutionCriteria, unpaged()).getContent())
+            .singleElement()
+            .extracting(ScenarioExecution::getExecutionId)
+            .isEqualTo(scenarioExecutions.get(1).getExecutionId());
+    }
+
+    @Test
+    void findsScenarioExecutionsByHeaderValue() {
+        var scenarioExecutionCriteria = new ScenarioExecutionCriteria();
+        scenarioExecutionCriteria.setHeaders("source~north");
+
+        assertThat(scenarioExecutionQueryService.findByCriteria(scenarioExecutionCriteria, unpaged()).getContent())
+            .singleElement()
+            .extracting(ScenarioExecution::getExecutionId)
+            .isEqualTo(scenarioExecutions.get(0).getExecutionId());
+    }
+
+    @Test
+    void searchValuesShorterThanTrigramAreNotLookedUp() {
+        var messageCriteria = messageCriteriaOfScenarioExecutions();
+        messageCriteria.setPayload((StringFilter) new StringFilter().setContains("Mo"));
+
+        assertThat(messageQueryService.findByCriteria(messageCriteria, unpaged()).getContent())
+            .extracting(Message::getPayload)
+            .containsExactly("<order><item>Mouse</item></order>");
+    }
+
+    @Test
+    void findsMessagesPersistedBeforeIndexWasEnabled() {
+        // Persisted without index entries, like messages recorded while the index was disabled
+        var unindexedMessage = messageRepository.save(MessageResourceIT.createEntityBuilder(entityManager)
+            .payload("<order><item>Monitor</item></order>")
+            .citrusMessageId(UUID.randomUUID().toString())
+            .build());
+
+        try {
+            recordWatermark();
+
+            var messageCriteria = new MessageCriteria();
+            messageCriteria.setMessageId((LongFilter) new LongFilter().setEquals(unindexedMessage.getMessageId()));
+            messageCriteria.setPayload((StringFilter) new StringFilter().setContains("monitor"));
+
+            assertThat(messageQueryService.findByCriteria(messageCriteria, unpaged()).getContent())
+                .singleElement()
+                .extracting(Message::getMessageId)
+                .isEqualTo(unindexedMessage.getMessageId());
+        } finally {
+            messageRepository.delete(unindexedMessage);
+            recordWatermark();
+        }
+    }
+
+    /**
+     * Records the watermark as if the index has just been enabled.
+     */
+    private void recordWatermark() {
+        messageTrigramWatermarkRepository.deleteAllInBatch();
+        fixture.afterPropertiesSet();
+    }
+
+    private MessageCriteria messageCriteriaOfScenarioExecutions() {
+        var messageCriteria = new MessageCriteria();
+        messageCriteria.setScenarioExecutionId((LongFilter) new LongFilter().setIn(scenarioExecutions.stream().map(ScenarioExecution::getExecutionId).toList()));
+        return messageCriteria;
+    }
+
+    @AfterEach
+    void afterEachTeardown() {
+        scenarioExecutionRepository.deleteAllById(scenarioExecutions.stream().map(ScenarioExecution::getExecutionId).toList());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> fixture.deleteUnreferenced());
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.search;
+
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.model.Message;
+import org.citrusframework.simulator.model.MessageTrigram;
+import org.citrusframework.simulator.model.MessageTrigramWatermark;
+import org.citrusframework.simulator.repository.MessageTrigramRepository;
+import org.citrusframework.simulator.repository.MessageTrigramWatermarkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.citrusframework.simulator.model.MessageTrigram.PARTIALLY_INDEXED;
+import static org.citrusframework.simulator.model.MessageTrigram.Source.HEADER_VALUE;
+import static org.citrusframework.simulator.model.MessageTrigram.Source.PAYLOAD;
+import static org.citrusframework.simulator.service.search.MessageFullTextIndex.trigramsOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class MessageFullTextIndexTest {
+
+    private static final long MESSAGE_ID = 1234L;
+
+    @Mock
+    private MessageTrigramRepository messageTrigramRepositoryMock;
+
+    @Mock
+    private MessageTrigramWatermarkRepository messageTrigramWatermarkRepositoryMock;
+
+    @Mock
+    private PlatformTransactionManager transactionManagerMock;
+
+    @Captor
+    private ArgumentCaptor<Iterable<MessageTrigram>> messageTrigramsCaptor;
+
+    private SimulatorConfigurationProperties simulatorConfigurationProperties;
+
+    private Message message;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        simulatorConfigurationProperties = new SimulatorConfigurationProperties();
+        simulatorConfigurationProperties.getFullTextIndex().setEnabled(true);
+
+        message = Message.builder().build();
+        ReflectionTestUtils.setField(message, "messageId", MESSAGE_ID);
+    }
+
+    @Test
+    void trigramsOfValue() {
+        assertThat(trigramsOf("abcab")).containsExactly("ABC", "BCA", "CAB");
+        assertThat(trigramsOf("aaaa")).containsExactly("AAA");
+        assertThat(trigramsOf("ab")).isEmpty();
+        assertThat(trigramsOf(null)).isEmpty();
+    }
+
+    @Test
+    void trigramsOfValueSkipSplitSurrogatePairs() {
+        assertThat(trigramsOf("a\uD83D\uDE00b")).isEmpty();
+        assertThat(trigramsOf("ab\uD83D\uDE00cde")).containsExactly("CDE");
+    }
+
+    @Test
+    void indexesPayloadAndHeaderValues() {
+        var fixture = new MessageFullTextIndex(messageTrigramRepositoryMock, messageTrigramWatermarkRepositoryMock, transactionManagerMock, simulatorConfigurationProperties);
+
+        fixture.index(message, "Hello", Map.of("source", "abc", "count", 1234));
+
+        verify(messageTrigramRepositoryMock).saveAll(messageTrigramsCaptor.capture());
+        assertThat(messageTrigramsCaptor.getValue())
+            .allSatisfy(messageTrigram -> assertThat(messageTrigram.getMessageId()).isEqualTo(MESSAGE_ID))
+            .extracting(MessageTrigram::getSource, MessageTrigram::getTrigram)
+            .containsExactlyInAnyOrder(
+                tuple(PAYLOAD.getId(), "HEL"),
+                tuple(PAYLOAD.getId(), "ELL"),
+                tuple(PAYLOAD.getId(), "LLO"),
+                tuple(HEADER_VALUE.getId(), "ABC"),
+                tuple(HEADER_VALUE.getId(), "123"),
+                tuple(HEADER_VALUE.getId(), "234")
+            );
+    }
+
+    @Test
+    void marksValuesExceedingMaxIndexedLength() {
+        simulatorConfigurationProperties.getFullTextIndex().setMaxIndexedLength(4);
+        var fixture = new MessageFullTextIndex(messageTrigramRepositoryMock, messageTrigramWatermarkRepositoryMock, transactionManagerMock, simulatorConfigurationProperties);
+
+        fixture.index(message, "abcdef", null);
+
+        verify(messageTrigramRepositoryMock).saveAll(messageTrigramsCaptor.capture());
+        assertThat(messageTrigramsCaptor.getValue())
+            .extracting(MessageTrigram::getTrigram)
+            .containsExactly("ABC", "BCD", PARTIALLY_INDEXED);
+    }
+
+    @Test
+    void doesNotIndexIfDisabled() {
+        simulatorConfigurationProperties.getFullTextIndex().setEnabled(false);
+        var fixture = new MessageFullTextIndex(messageTrigramRepositoryMock, messageTrigramWatermarkRepositoryMock, transactionManagerMock, simulatorConfigurationProperties);
+
+        fixture.index(message, "Hello", Map.of());
+
+        assertThat(fixture.isEnabled()).isFalse();
+        verifyNoInteractions(messageTrigramRepositoryMock);
+    }
+
+    @Test
+    void recordsWatermarkOnceEnabled() {
+        doReturn(List.of()).when(messageTrigramWatermarkRepositoryMock).findAll();
+        doReturn(MESSAGE_ID).when(messageTrigramWatermarkRepositoryMock).findMaxMessageId();
+        doAnswer(invocation -> invocation.getArgument(0)).when(messageTrigramWatermarkRepositoryMock).save(any(MessageTrigramWatermark.class));
+
+        var fixture = new MessageFullTextIndex(messageTrigramRepositoryMock, messageTrigramWatermarkRepositoryMock, transactionManagerMock, simulatorConfigurationProperties);
+        fixture.afterPropertiesSet();
+
+        verify(messageTrigramWatermarkRepositoryMock).save(any(MessageTrigramWatermark.class));
+        assertThat(ReflectionTestUtils.getField(fixture, "unindexedUpTo")).isEqualTo(MESSAGE_ID);
+    }
+
+    @Test
+    void keepsWatermarkOfPreviousEnablement() {
+        doReturn(List.of(new MessageTrigramWatermark(12L))).when(messageTrigramWatermarkRepositoryMock).findAll();
+
+        var fixture = new MessageFullTextIndex(messageTrigramRepositoryMock, messageTrigramWatermarkRepositoryMock, transactionManagerMock, simulatorConfigurationProperties);
+        fixture.afterPropertiesSet();
+
+        verify(messageTrigramWatermarkRepositoryMock, never()).save(any(MessageTrigramWatermark.class));
+        assertThat(ReflectionTestUtils.getField(fixture, "unindexedUpTo")).isEqualTo(12L);
+    }
+
+    @Test
+    void dropsWatermarkIfDisabled() {
+        simulatorConfigurationProperties.getFullTextIndex().setEnabled(false);
+
+        var fixture = new MessageFullTextIndex(messageTrigramRepositoryMock, messageTrigramWatermarkRepositoryMock, transactionManagerMock, simulatorConfigurationProperties);
+        fixture.afterPropertiesSet();
+
+        verify(messageTrigramWatermarkRepositoryMock).deleteAllInBatch();
+        assertThat(ReflectionTestUtils.getField(fixture, "unindexedUpTo")).isEqualTo(0L);
+    }
+}
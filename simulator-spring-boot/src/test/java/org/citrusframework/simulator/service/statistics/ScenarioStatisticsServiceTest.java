@@ -0,0 +1,269 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.statistics;
+
+import org.citrusframework.simulator.common.TimeProvider;
+import org.citrusframework.simulator.config.SimulatorConfigurationProperties;
+import org.citrusframework.simulator.model.ScenarioExecution;
+import org.citrusframework.simulator.model.ScenarioExecutionRollup;
+import org.citrusframework.simulator.model.TestResult;
+import org.citrusframework.simulator.repository.ScenarioExecutionRollupRepository;
+import org.citrusframework.simulator.service.dto.ScenarioExecutionStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.citrusframework.simulator.model.ScenarioExecutionRollup.Granularity.DAY;
+import static org.citrusframework.simulator.model.ScenarioExecutionRollup.Granularity.HOUR;
+import static org.citrusframework.simulator.model.ScenarioExecutionRollup.Granularity.MINUTE;
+import static org.citrusframework.simulator.model.TestResult.Status.FAILURE;
+import static org.citrusframework.simulator.model.TestResult.Status.SUCCESS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.transaction.support.TransactionSynchronization.STATUS_COMMITTED;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+@ExtendWith(MockitoExtension.class)
+class ScenarioStatisticsServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T10:15:30Z");
+
+    @Mock
+    private ScenarioExecutionRollupRepository scenarioExecutionRollupRepositoryMock;
+
+    @Mock
+    private PlatformTransactionManager transactionManagerMock;
+
+    @Mock
+    private TimeProvider timeProviderMock;
+
+    @Captor
+    private ArgumentCaptor<List<ScenarioExecutionRollup>> rollupsCaptor;
+
+    private SimulatorConfigurationProperties simulatorConfigurationProperties;
+
+    private ScenarioStatisticsService fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        simulatorConfigurationProperties = new SimulatorConfigurationProperties();
+        simulatorConfigurationProperties.getStatistics().setEnabled(true);
+
+        fixture = new ScenarioStatisticsService(scenarioExecutionRollupRepositoryMock, transactionManagerMock, simulatorConfigurationProperties);
+        setField(fixture, "timeProvider", timeProviderMock, TimeProvider.class);
+    }
+
+    @Test
+    void ignoresExecutionsIfDisabled() {
+        simulatorConfigurationProperties.getStatistics().setEnabled(false);
+        doReturn(NOW).when(timeProviderMock).getTimeNow();
+
+        fixture.record(execution("a", 100, SUCCESS));
+        fixture.flush();
+
+        verify(scenarioExecutionRollupRepositoryMock, never()).saveAll(anyList());
+    }
+
+    @Test
+    void aggregatesExecutionsIntoAllGranularities() {
+        doReturn(NOW).when(timeProviderMock).getTimeNow();
+
+        fixture.record(execution("a", 100, SUCCESS));
+        fixture.record(execution("a", 200, FAILURE));
+        fixture.record(execution("b", 50, SUCCESS));
+        fixture.flush();
+
+        verify(scenarioExecutionRollupRepositoryMock).saveAll(rollupsCaptor.capture());
+        assertThat(rollupsCaptor.getValue())
+            .hasSize(6)
+            .filteredOn(rollup -> rollup.getScenarioName().equals("a"))
+            .extracting(ScenarioExecutionRollup::getGranularity, ScenarioExecutionRollup::getBucketStart, ScenarioExecutionRollup::getExecutions, ScenarioExecutionRollup::getFailures)
+            .containsExactlyInAnyOrder(
+                tuple(MINUTE.getId(), Instant.parse("2024-05-01T10:15:00Z"), 2L, 1L),
+                tuple(HOUR.getId(), Instant.parse("2024-05-01T10:00:00Z"), 2L, 1L),
+                tuple(DAY.getId(), Instant.parse("2024-05-01T00:00:00Z"), 2L, 1L)
+            );
+    }
+
+    @Test
+    void mergesExecutionsIntoExistingRollups() {
+        doReturn(NOW).when(timeProviderMock).getTimeNow();
+
+        fixture.record(execution("a", 100, SUCCESS));
+        fixture.flush();
+
+        verify(scenarioExecutionRollupRepositoryMock).saveAll(rollupsCaptor.capture());
+        List<ScenarioExecutionRollup> existingRollups = rollupsCaptor.getValue();
+        doReturn(existingRollups).when(scenarioExecutionRollupRepositoryMock).findAllById(any());
+
+        fixture.record(execution("a", 200, FAILURE));
+        fixture.flush();
+
+        verify(scenarioExecutionRollupRepositoryMock, times(2)).saveAll(rollupsCaptor.capture());
+        List<ScenarioExecutionRollup> minuteRollups = rollupsCaptor.getValue().stream()
+            .filter(rollup -> rollup.getGranularity() == MINUTE.getId())
+            .toList();
+        assertThat(minuteRollups).singleElement()
+            .satisfies(rollup -> {
+                assertThat(rollup.getExecutions()).isEqualTo(2L);
+                assertThat(rollup.getFailures()).isEqualTo(1L);
+            });
+
+        doReturn(minuteRollups).when(scenarioExecutionRollupRepositoryMock).findAllByGranularityAndScenarioNameInRange(MINUTE.getId(), "a", NOW.minusSeconds(3600), NOW);
+
+        assertThat(fixture.findStatistics(MINUTE, "a", NOW.minusSeconds(3600), NOW))
+            .containsExactly(new ScenarioExecutionStatistics("a", Instant.parse("2024-05-01T10:15:00Z"), 2L, 1L, 150.0, 100L, 200L, 200L, 200L));
+    }
+
+    @Test
+    void mergesScenariosOfEachBucket() {
+        doReturn(NOW).when(timeProviderMock).getTimeNow();
+
+        fixture.record(execution("a", 100, SUCCESS));
+        fixture.record(execution("b", 200, SUCCESS));
+        fixture.flush();
+
+        verify(scenarioExecutionRollupRepositoryMock).saveAll(rollupsCaptor.capture());
+        List<ScenarioExecutionRollup> hourRollups = rollupsCaptor.getValue().stream()
+            .filter(rollup -> rollup.getGranularity() == HOUR.getId())
+            .toList();
+
+        // The default range covers the current and the preceding buckets
+        Instant to = Instant.parse("2024-05-01T11:00:00Z");
+        doReturn(hourRollups).when(scenarioExecutionRollupRepositoryMock).findAllByGranularityInRange(HOUR.getId(), to.minusSeconds(ScenarioStatisticsService.DEFAULT_BUCKETS * 3600L), to);
+
+        assertThat(fixture.findStatistics(HOUR, null, null, null))
+            .singleElement()
+            .satisfies(statistics -> {
+                assertThat(statistics.scenarioName()).isNull();
+                assertThat(statistics.bucketStart()).isEqualTo(Instant.parse("2024-05-01T10:00:00Z"));
+                assertThat(statistics.executions()).isEqualTo(2L);
+                assertThat(statistics.maxDuration()).isEqualTo(200L);
+            });
+    }
+
+    @Test
+    void keepsExecutionsIfFlushFails() {
+        doReturn(NOW).when(timeProviderMock).getTimeNow();
+
+        fixture.record(execution("a", 100, SUCCESS));
+
+        doThrow(new IllegalStateException("database unavailable"))
+            .doReturn(List.of())
+            .when(scenarioExecutionRollupRepositoryMock).saveAll(anyList());
+
+        assertThatThrownBy(fixture::flush).isInstanceOf(IllegalStateException.class);
+
+        fixture.flush();
+
+        verify(scenarioExecutionRollupRepositoryMock, times(2)).saveAll(rollupsCaptor.capture());
+        assertThat(rollupsCaptor.getValue())
+            .hasSize(3)
+            .allSatisfy(rollup -> assertThat(rollup.getExecutions()).isEqualTo(1L));
+    }
+
+    @Test
+    void purgesExpiredRollups() {
+        doReturn(NOW).when(timeProviderMock).getTimeNow();
+
+        fixture.flush();
+
+        verify(scenarioExecutionRollupRepositoryMock).deleteAllByGranularityAndBucketStartBefore(MINUTE.getId(), NOW.minusMillis(simulatorConfigurationProperties.getStatistics().getMinuteRetention()));
+        verify(scenarioExecutionRollupRepositoryMock).deleteAllByGranularityAndBucketStartBefore(HOUR.getId(), NOW.minusMillis(simulatorConfigurationProperties.getStatistics().getHourRetention()));
+        verify(scenarioExecutionRollupRepositoryMock, never()).deleteAllByGranularityAndBucketStartBefore(DAY.getId(), NOW);
+    }
+
+    @Test
+    void rejectsInvalidRanges() {
+        assertThatThrownBy(() -> fixture.findStatistics(MINUTE, null, NOW, NOW))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fixture.findStatistics(MINUTE, null, NOW.minusSeconds((ScenarioStatisticsService.MAX_BUCKETS + 1) * 60L), NOW))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void resetDeletesAllRollups() {
+        fixture.reset();
+
+        verify(scenarioExecutionRollupRepositoryMock).deleteAllInBatch();
+    }
+
+    @Test
+    void resetDiscardsPendingExecutions() {
+        doReturn(NOW).when(timeProviderMock).getTimeNow();
+
+        fixture.record(execution("a", 100, SUCCESS));
+        fixture.reset();
+        fixture.flush();
+
+        verify(scenarioExecutionRollupRepositoryMock, never()).saveAll(anyList());
+    }
+
+    @Test
+    void flushWaitsForTransactionOfReset() throws Exception {
+        doReturn(NOW).when(timeProviderMock).getTimeNow();
+
+        fixture.record(execution("a", 100, SUCCESS));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            fixture.reset();
+
+            CompletableFuture<Void> flush = CompletableFuture.runAsync(fixture::flush);
+            assertThatThrownBy(() -> flush.get(100, MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(), STATUS_COMMITTED);
+            flush.get(5, SECONDS);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(scenarioExecutionRollupRepositoryMock, never()).saveAll(anyList());
+    }
+
+    private static ScenarioExecution execution(String scenarioName, long duration, TestResult.Status status) {
+        return ScenarioExecution.builder()
+            .scenarioName(scenarioName)
+            .startDate(NOW.minusMillis(duration))
+            .endDate(NOW)
+            .build()
+            .withTestResult(TestResult.builder().status(status).build());
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.service.statistics;
+
+import org.citrusframework.simulator.repository.ScenarioExecutionRepository;
+import org.citrusframework.simulator.service.dto.ScenarioTestResultByStatus;
+import org.citrusframework.simulator.service.dto.TestResultByStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.citrusframework.simulator.model.TestResult.Status.FAILURE;
+import static org.citrusframework.simulator.model.TestResult.Status.SKIP;
+import static org.citrusframework.simulator.model.TestResult.Status.SUCCESS;
+import static org.mockito.Mockito.doReturn;
+
+@ExtendWith(MockitoExtension.class)
+class TestResultCountersTest {
+
+    @Mock
+    private ScenarioExecutionRepository scenarioExecutionRepositoryMock;
+
+    private TestResultCounters fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        fixture = new TestResultCounters(scenarioExecutionRepositoryMock);
+    }
+
+    @Test
+    void rebuildsCountersFromDatabase() {
+        doReturn(List.of(new ScenarioTestResultByStatus("b", 2L, 1L), new ScenarioTestResultByStatus("a", 0L, 3L)))
+            .when(scenarioExecutionRepositoryMock).countTestResultsByScenarioName();
+
+        fixture.increment("c", SUCCESS);
+        fixture.afterPropertiesSet();
+
+        assertThat(fixture.getTotal()).isEqualTo(new TestResultByStatus(2L, 4L));
+        assertThat(fixture.getByScenarioName()).containsExactly(
+            new ScenarioTestResultByStatus("a", 0L, 3L),
+            new ScenarioTestResultByStatus("b", 2L, 1L)
+        );
+    }
+
+    @Test
+    void countsSuccessfulAndFailedResults() {
+        fixture.increment("a", SUCCESS);
+        fixture.increment("a", FAILURE);
+        fixture.increment("b", SUCCESS);
+        fixture.increment("b", SKIP);
+
+        assertThat(fixture.getTotal()).isEqualTo(new TestResultByStatus(2L, 1L));
+        assertThat(fixture.getByScenarioName()).containsExactly(
+            new ScenarioTestResultByStatus("a", 1L, 1L),
+            new ScenarioTestResultByStatus("b", 1L, 0L)
+        );
+    }
+
+    @Test
+    void subtractsDeletedResults() {
+        fixture.increment("a", SUCCESS);
+        fixture.increment("a", SUCCESS);
+        fixture.increment("b", FAILURE);
+
+        fixture.decrement(List.of(new ScenarioTestResultByStatus("a", 1L, 0L), new ScenarioTestResultByStatus("b", 0L, 1L)));
+
+        assertThat(fixture.getTotal()).isEqualTo(new TestResultByStatus(1L, 0L));
+        assertThat(fixture.getByScenarioName()).containsExactly(new ScenarioTestResultByStatus("a", 1L, 0L));
+    }
+
+    @Test
+    void resetsAllCounters() {
+        fixture.increment("a", SUCCESS);
+
+        fixture.reset();
+
+        assertThat(fixture.getTotal().total()).isZero();
+        assertThat(fixture.getByScenarioName()).isEmpty();
+    }
+
+    @Test
+    void appliesChangesOnlyOnceTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            fixture.increment("a", SUCCESS);
+
+            assertThat(fixture.getTotal().total()).isZero();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(fixture.getTotal()).isEqualTo(new TestResultByStatus(1L, 0L));
+    }
+}
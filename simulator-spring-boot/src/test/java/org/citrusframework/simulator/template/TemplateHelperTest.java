@@ -17,6 +17,7 @@
 package org.citrusframework.simulator.template;
 
 import org.citrusframework.spi.Resource;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -26,6 +27,7 @@ import java.util.stream.Stream;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
@@ -101,4 +103,11 @@ class TemplateHelperTest {
             assertNull(expectedContent);
         }
     }
+
+    @Test
+    void getMessageTemplateReadsTemplateOnlyOnce() {
+        final TemplateHelper testling = TemplateHelper.instance("/template/xml/", UTF_8);
+
+        assertSame(testling.getXmlMessageTemplate("test"), testling.getXmlMessageTemplate("test.xml"));
+    }
 }
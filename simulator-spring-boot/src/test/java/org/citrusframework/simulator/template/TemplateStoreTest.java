@@ -0,0 +1,140 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.template;
+
+import org.citrusframework.exceptions.CitrusRuntimeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TemplateStoreTest {
+
+    @TempDir
+    private Path watchDirectory;
+
+    private TemplateStore fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        fixture = new TemplateStore("template", UTF_8, TemplateStore.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    @AfterEach
+    void afterEachTeardown() throws IOException {
+        fixture.close();
+    }
+
+    @Test
+    void cachesTemplateAfterFirstUse() {
+        String template = fixture.getTemplate("xml/test.xml");
+
+        assertThat(template).contains("Some text containing funny characters");
+        assertThat(fixture.getTemplate("xml/test.xml")).isSameAs(template);
+        assertThat(fixture.size()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsTemplatesBeyondMaximumSize() {
+        fixture = new TemplateStore("template/", UTF_8, 1);
+
+        fixture.getTemplate("xml/test.xml");
+        fixture.getTemplate("json/test.json");
+
+        assertThat(fixture.size()).isEqualTo(1);
+    }
+
+    @Test
+    void throwsOnMissingTemplate() {
+        assertThatThrownBy(() -> fixture.getTemplate("xml/missing.xml"))
+            .isInstanceOf(CitrusRuntimeException.class);
+
+        assertThat(fixture.size()).isZero();
+    }
+
+    @Test
+    void preloadsTemplatesBelowBasePath() {
+        assertThat(fixture.preload()).isEqualTo(2);
+
+        assertThat(fixture.size()).isEqualTo(2);
+    }
+
+    @Test
+    void prefersTemplatesFromWatchedDirectory() throws IOException {
+        writeTemplate("xml/test.xml", "<watched/>");
+
+        fixture.watch(watchDirectory);
+
+        assertThat(fixture.getTemplate("xml/test.xml")).isEqualTo("<watched/>");
+        assertThat(fixture.getTemplate("json/test.json")).contains("Some text containing funny characters");
+    }
+
+    @Test
+    void reloadsChangedTemplatesFromWatchedDirectory() throws IOException, InterruptedException {
+        writeTemplate("xml/test.xml", "<first/>");
+        fixture.watch(watchDirectory);
+        assertThat(fixture.getTemplate("xml/test.xml")).isEqualTo("<first/>");
+
+        writeTemplate("xml/test.xml", "<second/>");
+
+        assertThat(awaitTemplateChange("xml/test.xml", "<first/>")).isEqualTo("<second/>");
+    }
+
+    @Test
+    void fallsBackToClasspathOnceTemplateHasBeenDeletedFromWatchedDirectory() throws IOException, InterruptedException {
+        writeTemplate("xml/test.xml", "<watched/>");
+        fixture.watch(watchDirectory);
+        assertThat(fixture.getTemplate("xml/test.xml")).isEqualTo("<watched/>");
+
+        Files.delete(watchDirectory.resolve("xml/test.xml"));
+
+        assertThat(awaitTemplateChange("xml/test.xml", "<watched/>")).contains("Some text containing funny characters");
+    }
+
+    /**
+     * Replaces the template at once, the store must not observe a partially written file.
+     */
+    private void writeTemplate(String templatePath, String content) throws IOException {
+        Path file = watchDirectory.resolve(templatePath);
+        Files.createDirectories(file.getParent());
+
+        Path temporaryFile = Files.writeString(file.resolveSibling(file.getFileName() + ".tmp"), content, UTF_8);
+        Files.move(temporaryFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+    }
+
+    private String awaitTemplateChange(String templatePath, String previousContent) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000L;
+        String template = fixture.getTemplate(templatePath);
+        while (template.equals(previousContent) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50L);
+            template = fixture.getTemplate(templatePath);
+        }
+
+        return template;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.test;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link DataSource} counting the rows read from all result sets. Hibernate statistics only report the number of
+ * entities, while fetch joins may read many more rows. Import the {@link RowCountingConfiguration} into an integration test to
+ * wrap the application data source.
+ */
+public class RowCountingDataSource extends DelegatingDataSource {
+
+    private static final Set<Class<?>> PROXIED_TYPES = Set.of(Connection.class, Statement.class, PreparedStatement.class, CallableStatement.class, ResultSet.class);
+
+    private final AtomicLong rowCount = new AtomicLong();
+
+    public RowCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, super.getConnection(username, password));
+    }
+
+    /**
+     * @return the number of rows read since the last reset
+     */
+    public long getRowCount() {
+        return rowCount.get();
+    }
+
+    public void resetRowCount() {
+        rowCount.set(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+
+            if (target instanceof ResultSet && "next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                rowCount.incrementAndGet();
+            } else if (result != null && PROXIED_TYPES.contains(method.getReturnType())) {
+                return proxy((Class<Object>) method.getReturnType(), result);
+            }
+
+            return result;
+        });
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class RowCountingConfiguration {
+
+        @Bean
+        static BeanPostProcessor rowCountingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof RowCountingDataSource)) {
+                        return new RowCountingDataSource(dataSource);
+                    }
+
+                    return bean;
+                }
+            };
+        }
+    }
+}
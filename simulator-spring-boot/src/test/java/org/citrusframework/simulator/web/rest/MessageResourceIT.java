@@ -37,9 +37,11 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
 import static org.citrusframework.simulator.web.rest.TestUtil.sameInstant;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -141,6 +143,29 @@ public class MessageResourceIT {
             .andExpect(jsonPath("$.[*].lastModifiedDate").value(hasItem(sameInstant(DEFAULT_LAST_MODIFIED_DATE))));
     }
 
+    @Test
+    @Transactional
+    void getAllMessagesByKeysetPage() throws Exception {
+        // Initialize the database
+        messageRepository.saveAndFlush(message);
+
+        // Get the messageList, starting after the message
+        mockMvc
+            .perform(get(ENTITY_API_URL + "?sort=messageId,asc&after=" + message.getMessageId() + "&totalCount=none&messageId.lessThanOrEqual=" + message.getMessageId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("Link", containsString("rel=\"first\"")));
+    }
+
+    @Test
+    @Transactional
+    void getAllMessagesWithInvalidCursor() throws Exception {
+        mockMvc
+            .perform(get(ENTITY_API_URL + "?sort=createdDate,asc&after=yesterday,1"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getMessage() throws Exception {
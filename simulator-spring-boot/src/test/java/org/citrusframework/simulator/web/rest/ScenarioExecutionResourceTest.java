@@ -103,7 +103,7 @@ class ScenarioExecutionResourceTest {
 
         @Test
         void stripsIncludedActions() {
-            var response = fixture.getAllScenarioExecutions(criteriaMock, FALSE, TRUE, TRUE, TRUE, pageableMock);
+            var response = fixture.getAllScenarioExecutions(criteriaMock, FALSE, TRUE, TRUE, TRUE, null, null, pageableMock);
             verifyResponseContainsDtos(response);
 
             assertThat(resultDetailsConfigurationArgumentCaptor.getValue())
@@ -118,7 +118,7 @@ class ScenarioExecutionResourceTest {
 
         @Test
         void stripsIncludedMessages() {
-            var response = fixture.getAllScenarioExecutions(criteriaMock, TRUE, FALSE, TRUE, TRUE, pageableMock);
+            var response = fixture.getAllScenarioExecutions(criteriaMock, TRUE, FALSE, TRUE, TRUE, null, null, pageableMock);
             verifyResponseContainsDtos(response);
 
             assertThat(resultDetailsConfigurationArgumentCaptor.getValue())
@@ -133,7 +133,7 @@ class ScenarioExecutionResourceTest {
 
         @Test
         void stripsIncludedMessageHeaderss() {
-            var response = fixture.getAllScenarioExecutions(criteriaMock, TRUE, TRUE, FALSE, TRUE, pageableMock);
+            var response = fixture.getAllScenarioExecutions(criteriaMock, TRUE, TRUE, FALSE, TRUE, null, null, pageableMock);
             verifyResponseContainsDtos(response);
 
             assertThat(resultDetailsConfigurationArgumentCaptor.getValue())
@@ -148,7 +148,7 @@ class ScenarioExecutionResourceTest {
 
         @Test
         void stripsIncludedParameters() {
-            var response = fixture.getAllScenarioExecutions(criteriaMock, TRUE, TRUE, TRUE, FALSE, pageableMock);
+            var response = fixture.getAllScenarioExecutions(criteriaMock, TRUE, TRUE, TRUE, FALSE, null, null, pageableMock);
             verifyResponseContainsDtos(response);
 
             assertThat(resultDetailsConfigurationArgumentCaptor.getValue())
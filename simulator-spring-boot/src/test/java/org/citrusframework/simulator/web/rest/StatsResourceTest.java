@@ -0,0 +1,85 @@
+/*
+ * Copyright the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.citrusframework.simulator.web.rest;
+
+import org.citrusframework.simulator.service.dto.ScenarioExecutionStatistics;
+import org.citrusframework.simulator.service.statistics.ScenarioStatisticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.citrusframework.simulator.model.ScenarioExecutionRollup.Granularity.HOUR;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.OK;
+
+@ExtendWith(MockitoExtension.class)
+class StatsResourceTest {
+
+    @Mock
+    private ScenarioStatisticsService scenarioStatisticsServiceMock;
+
+    private StatsResource fixture;
+
+    @BeforeEach
+    void beforeEachSetup() {
+        fixture = new StatsResource(scenarioStatisticsServiceMock);
+    }
+
+    @Test
+    void returnsStatisticsOfRequestedGranularity() {
+        Instant from = Instant.parse("2024-05-01T00:00:00Z");
+        Instant to = Instant.parse("2024-05-02T00:00:00Z");
+
+        List<ScenarioExecutionStatistics> statistics = List.of(new ScenarioExecutionStatistics("scenario", from, 2L, 1L, 150.0, 100L, 200L, 200L, 200L));
+        doReturn(statistics).when(scenarioStatisticsServiceMock).findStatistics(HOUR, "scenario", from, to);
+
+        ResponseEntity<List<ScenarioExecutionStatistics>> response = fixture.getStatistics("Hour", "scenario", from, to);
+
+        assertThat(response.getStatusCode()).isEqualTo(OK);
+        assertThat(response.getBody()).isEqualTo(statistics);
+    }
+
+    @Test
+    void rejectsUnknownGranularity() {
+        assertThatThrownBy(() -> fixture.getStatistics("week", null, null, null))
+            .isInstanceOfSatisfying(ResponseStatusException.class, e -> assertThat(e.getStatusCode()).isEqualTo(BAD_REQUEST));
+
+        verifyNoInteractions(scenarioStatisticsServiceMock);
+    }
+
+    @Test
+    void rejectsInvalidRange() {
+        Instant now = Instant.now();
+        doThrow(new IllegalArgumentException("Empty range")).when(scenarioStatisticsServiceMock).findStatistics(HOUR, null, now, now);
+
+        assertThatThrownBy(() -> fixture.getStatistics("hour", null, now, now))
+            .isInstanceOfSatisfying(ResponseStatusException.class, e -> assertThat(e.getStatusCode()).isEqualTo(BAD_REQUEST));
+    }
+}
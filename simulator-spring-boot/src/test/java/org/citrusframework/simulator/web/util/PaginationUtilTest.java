@@ -16,12 +16,18 @@
 
 package org.citrusframework.simulator.web.util;
 
+import org.citrusframework.simulator.service.pagination.InvalidPageRequestException;
+import org.citrusframework.simulator.service.pagination.KeysetPage;
+import org.citrusframework.simulator.service.pagination.KeysetPageRequest;
+import org.citrusframework.simulator.service.pagination.PageCursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.Comparator;
 import java.util.List;
@@ -32,9 +38,20 @@ import java.util.stream.Stream;
 import static java.util.Arrays.asList;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static org.citrusframework.simulator.service.pagination.TotalCount.ESTIMATED;
+import static org.citrusframework.simulator.service.pagination.TotalCount.EXACT;
+import static org.citrusframework.simulator.service.pagination.TotalCount.NONE;
+import static org.citrusframework.simulator.web.util.PaginationUtil.HEADER_X_TOTAL_COUNT;
+import static org.citrusframework.simulator.web.util.PaginationUtil.HEADER_X_TOTAL_COUNT_ESTIMATED;
 import static org.citrusframework.simulator.web.util.PaginationUtil.createPage;
+import static org.citrusframework.simulator.web.util.PaginationUtil.generatePaginationHttpHeaders;
+import static org.citrusframework.simulator.web.util.PaginationUtil.keysetPageRequest;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -43,6 +60,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.http.HttpHeaders.LINK;
 
 @ExtendWith({MockitoExtension.class})
 class PaginationUtilTest {
@@ -145,4 +163,73 @@ class PaginationUtilTest {
 
         verifyNoInteractions(getComparatorMock);
     }
+
+    @Test
+    void keysetPageRequestWithoutParametersKeepsPageable() {
+        Pageable pageable = PageRequest.of(1, 20);
+
+        assertSame(pageable, keysetPageRequest(pageable, null, null), "Offset pagination should be unchanged");
+        assertSame(pageable, keysetPageRequest(pageable, null, " "), "Offset pagination should be unchanged");
+    }
+
+    @Test
+    void keysetPageRequestFromParameters() {
+        var pageable = keysetPageRequest(PageRequest.of(0, 20, Sort.by("createdDate")), "2024-01-01T00:00:00Z,42", "None");
+
+        var keysetPageRequest = assertInstanceOf(KeysetPageRequest.class, pageable);
+        assertEquals(new PageCursor("2024-01-01T00:00:00Z", 42L), keysetPageRequest.getAfter(), "Cursor should be parsed");
+        assertEquals(NONE, keysetPageRequest.getTotalCount(), "Total count should be parsed ignoring case");
+        assertEquals(20, keysetPageRequest.getPageSize(), "Page size should be kept");
+        assertEquals(Sort.by("createdDate"), keysetPageRequest.getSort(), "Sort should be kept");
+    }
+
+    @Test
+    void keysetPageRequestForFirstPage() {
+        var pageable = keysetPageRequest(PageRequest.of(0, 20), "", null);
+
+        var keysetPageRequest = assertInstanceOf(KeysetPageRequest.class, pageable);
+        assertNull(keysetPageRequest.getAfter(), "First page should not have a cursor");
+        assertEquals(EXACT, keysetPageRequest.getTotalCount(), "Total count should be exact by default");
+    }
+
+    @Test
+    void keysetPageRequestWithInvalidParameters() {
+        var pageable = PageRequest.of(0, 20);
+
+        assertThrows(InvalidPageRequestException.class, () -> keysetPageRequest(pageable, "2024-01-01T00:00:00Z,abc", null));
+        assertThrows(InvalidPageRequestException.class, () -> keysetPageRequest(pageable, null, "approximately"));
+    }
+
+    @Test
+    void generateKeysetPaginationHttpHeadersWithoutTotalCount() {
+        var pageable = (KeysetPageRequest) keysetPageRequest(PageRequest.of(0, 2, Sort.by("createdDate")), "", "none");
+        var page = new KeysetPage<>(List.of("Object1", "Object2"), pageable, 3L, true, new PageCursor("2024-01-01T00:00:00Z", 42L));
+
+        var headers = generatePaginationHttpHeaders(UriComponentsBuilder.fromUriString("http://localhost/api/messages?sort=createdDate&after=&totalCount=none"), page);
+
+        assertNull(headers.getFirst(HEADER_X_TOTAL_COUNT), "Total count should be omitted");
+        assertEquals(
+            "<http://localhost/api/messages?sort=createdDate&totalCount=none&size=2&after=2024-01-01T00:00:00Z%2C42>; rel=\"next\","
+                + "<http://localhost/api/messages?sort=createdDate&totalCount=none&page=0&size=2>; rel=\"first\"",
+            headers.getFirst(LINK),
+            "Next link should continue after the cursor, while prev and last links are not available"
+        );
+    }
+
+    @Test
+    void generateKeysetPaginationHttpHeadersWithEstimatedTotalCount() {
+        var pageable = (KeysetPageRequest) keysetPageRequest(PageRequest.of(0, 2), "1", "estimated");
+        var page = new KeysetPage<>(List.of("Object1", "Object2"), pageable, 10L, false, null);
+
+        var headers = generatePaginationHttpHeaders(UriComponentsBuilder.fromUriString("http://localhost/api/messages?after=1&totalCount=estimated"), page);
+
+        assertEquals(ESTIMATED, page.getTotalCount());
+        assertEquals("10", headers.getFirst(HEADER_X_TOTAL_COUNT), "Estimated total count should be present");
+        assertEquals("true", headers.getFirst(HEADER_X_TOTAL_COUNT_ESTIMATED), "Total count should be marked as estimated");
+        assertEquals(
+            "<http://localhost/api/messages?totalCount=estimated&page=0&size=2>; rel=\"first\"",
+            headers.getFirst(LINK),
+            "Only the first link should be available on the last page"
+        );
+    }
 }
@@ -7,13 +7,14 @@ import { InfoResponse, SimulatorInfo } from 'app/layouts/profiles/profile-info.m
 import SharedModule from 'app/shared/shared.module';
 
 import TestResultSummaryComponent from './test-result-summary.component';
+import ThroughputChartComponent from './throughput-chart.component';
 
 @Component({
   standalone: true,
   selector: 'app-home',
   templateUrl: './home.component.html',
   styleUrls: ['./home.component.scss'],
-  imports: [RouterModule, SharedModule, TestResultSummaryComponent],
+  imports: [RouterModule, SharedModule, TestResultSummaryComponent, ThroughputChartComponent],
 })
 export default class HomeComponent implements OnInit {
   simulatorInfo: SimulatorInfo | null = null;
@@ -0,0 +1,55 @@
+import { TestBed } from '@angular/core/testing';
+import { HttpTestingController, provideHttpClientTesting } from '@angular/common/http/testing';
+import { provideHttpClient } from '@angular/common/http';
+
+import dayjs from 'dayjs/esm';
+
+import { ScenarioExecutionStatistics, StatsService } from './stats.service';
+
+describe('Stats Service', () => {
+  let service: StatsService;
+  let httpMock: HttpTestingController;
+
+  beforeEach(() => {
+    TestBed.configureTestingModule({
+      providers: [provideHttpClient(), provideHttpClientTesting()],
+    });
+    service = TestBed.inject(StatsService);
+    httpMock = TestBed.inject(HttpTestingController);
+  });
+
+  afterEach(() => {
+    httpMock.verify();
+  });
+
+  it('should request statistics of the given range', () => {
+    const returnedFromService: ScenarioExecutionStatistics[] = [
+      {
+        scenarioName: null,
+        bucketStart: '2024-05-01T10:15:00Z',
+        executions: 2,
+        failures: 1,
+        meanDuration: 150,
+        p50Duration: 100,
+        p90Duration: 200,
+        p99Duration: 200,
+        maxDuration: 200,
+      },
+    ];
+
+    let actualResult: ScenarioExecutionStatistics[] | null = null;
+    service
+      .find('hour', dayjs('2024-05-01T00:00:00Z'), dayjs('2024-05-02T00:00:00Z'), 'scenario')
+      .subscribe(resp => (actualResult = resp.body));
+
+    const req = httpMock.expectOne(request => request.url.endsWith('api/stats'));
+    expect(req.request.method).toEqual('GET');
+    expect(req.request.params.get('granularity')).toEqual('hour');
+    expect(req.request.params.get('from')).toEqual('2024-05-01T00:00:00.000Z');
+    expect(req.request.params.get('to')).toEqual('2024-05-02T00:00:00.000Z');
+    expect(req.request.params.get('scenarioName')).toEqual('scenario');
+    req.flush(returnedFromService);
+
+    expect(actualResult).toEqual(returnedFromService);
+  });
+});
@@ -0,0 +1,43 @@
+import { Injectable, inject } from '@angular/core';
+import { HttpClient, HttpParams, HttpResponse } from '@angular/common/http';
+import { Observable } from 'rxjs';
+
+import dayjs from 'dayjs/esm';
+
+import { ApplicationConfigService } from 'app/core/config/application-config.service';
+
+export type StatisticsGranularity = 'minute' | 'hour' | 'day';
+
+export type ScenarioExecutionStatistics = {
+  scenarioName: string | null;
+  bucketStart: string;
+  executions: number;
+  failures: number;
+  meanDuration: number;
+  p50Duration: number;
+  p90Duration: number;
+  p99Duration: number;
+  maxDuration: number;
+};
+
+@Injectable({ providedIn: 'root' })
+export class StatsService {
+  protected http = inject(HttpClient);
+  protected applicationConfigService = inject(ApplicationConfigService);
+
+  protected resourceUrl = this.applicationConfigService.getEndpointFor('api/stats');
+
+  find(
+    granularity: StatisticsGranularity,
+    from: dayjs.Dayjs,
+    to: dayjs.Dayjs,
+    scenarioName?: string,
+  ): Observable<HttpResponse<ScenarioExecutionStatistics[]>> {
+    let params = new HttpParams().set('granularity', granularity).set('from', from.toISOString()).set('to', to.toISOString());
+    if (scenarioName) {
+      params = params.set('scenarioName', scenarioName);
+    }
+
+    return this.http.get<ScenarioExecutionStatistics[]>(this.resourceUrl, { params, observe: 'response' });
+  }
+}
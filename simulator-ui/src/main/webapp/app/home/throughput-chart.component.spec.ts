@@ -0,0 +1,94 @@
+import { HttpResponse } from '@angular/common/http';
+import { ComponentFixture, TestBed } from '@angular/core/testing';
+
+import { TranslateService } from '@ngx-translate/core';
+
+import dayjs from 'dayjs/esm';
+
+import { of } from 'rxjs';
+
+import { ScenarioExecutionStatistics, StatsService } from './stats.service';
+import ThroughputChartComponent, { CHART_BUCKETS } from './throughput-chart.component';
+
+import Mocked = jest.Mocked;
+
+describe('ThroughputChartComponent', () => {
+  let statsService: Mocked<StatsService>;
+
+  let fixture: ComponentFixture<ThroughputChartComponent>;
+  let component: ThroughputChartComponent;
+
+  beforeEach(async () => {
+    statsService = {
+      find: jest.fn(),
+    } as unknown as Mocked<StatsService>;
+
+    await TestBed.configureTestingModule({
+      imports: [ThroughputChartComponent],
+      providers: [{ provide: StatsService, useValue: statsService }, TranslateService],
+    })
+      .overrideTemplate(ThroughputChartComponent, '')
+      .compileComponents();
+
+    fixture = TestBed.createComponent(ThroughputChartComponent);
+    component = fixture.componentInstance;
+  });
+
+  it('should create', () => {
+    expect(component).toBeTruthy();
+  });
+
+  describe('ngOnInit', () => {
+    it('should request the last buckets of the current granularity', () => {
+      statsService.find.mockReturnValue(of(new HttpResponse<ScenarioExecutionStatistics[]>({ body: [] })));
+
+      component.ngOnInit();
+
+      const [granularity, from, to] = statsService.find.mock.calls[0];
+      expect(granularity).toEqual('minute');
+      expect(to.diff(from, 'minute')).toEqual(CHART_BUCKETS);
+      expect(to.valueOf() % (60 * 1000)).toEqual(0);
+      expect(component.isLoading()).toBeFalsy();
+    });
+
+    it('should fill buckets without executions with zeros', () => {
+      statsService.find.mockImplementation((granularity, from) =>
+        of(
+          new HttpResponse({
+            body: [
+              {
+                scenarioName: null,
+                bucketStart: from.add(2, 'minute').toISOString(),
+                executions: 4,
+                failures: 1,
+                meanDuration: 150,
+                p50Duration: 100,
+                p90Duration: 200,
+                p99Duration: 200,
+                maxDuration: 200,
+              },
+            ],
+          }),
+        ),
+      );
+
+      component.ngOnInit();
+
+      const bars = component.bars();
+      expect(bars).toHaveLength(CHART_BUCKETS);
+      expect(bars[2]).toMatchObject({ executions: 4, failures: 1, p99Duration: 200 });
+      expect(bars.filter(bar => bar.executions === 0)).toHaveLength(CHART_BUCKETS - 1);
+      expect(component.maxExecutions()).toEqual(4);
+    });
+
+    it('should default to an empty chart', () => {
+      statsService.find.mockReturnValue(of(new HttpResponse<ScenarioExecutionStatistics[]>({ body: null })));
+
+      component.ngOnInit();
+
+      expect(component.bars().every(bar => bar.executions === 0)).toBeTruthy();
+      expect(component.maxExecutions()).toEqual(0);
+      expect(dayjs.isDayjs(component.bars()[0].bucketStart)).toBeTruthy();
+    });
+  });
+});
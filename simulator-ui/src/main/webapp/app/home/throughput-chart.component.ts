@@ -0,0 +1,99 @@
+import { Component, OnInit, inject, signal } from '@angular/core';
+
+import dayjs from 'dayjs/esm';
+
+import { map } from 'rxjs/operators';
+
+import SharedModule from 'app/shared/shared.module';
+
+import { ScenarioExecutionStatistics, StatisticsGranularity, StatsService } from './stats.service';
+
+export const CHART_BUCKETS = 60;
+
+export type ThroughputBar = {
+  bucketStart: dayjs.Dayjs;
+  executions: number;
+  failures: number;
+  p99Duration: number;
+};
+
+const BUCKET_MILLIS: Record<StatisticsGranularity, number> = {
+  minute: 60 * 1000,
+  hour: 60 * 60 * 1000,
+  day: 24 * 60 * 60 * 1000,
+};
+
+@Component({
+  standalone: true,
+  selector: 'app-throughput-chart',
+  styleUrls: ['./throughput-chart.component.scss'],
+  templateUrl: './throughput-chart.component.html',
+  imports: [SharedModule],
+})
+export default class ThroughputChartComponent implements OnInit {
+  readonly chartWidth = 600;
+  readonly chartHeight = 150;
+  readonly barWidth = this.chartWidth / CHART_BUCKETS;
+
+  readonly granularities: StatisticsGranularity[] = ['minute', 'hour', 'day'];
+
+  readonly isLoading = signal(false);
+  readonly granularity = signal<StatisticsGranularity>('minute');
+  readonly bars = signal<ThroughputBar[]>([]);
+  readonly maxExecutions = signal(0);
+
+  private readonly statsService = inject(StatsService);
+
+  ngOnInit(): void {
+    this.load();
+  }
+
+  protected changeGranularity(granularity: StatisticsGranularity): void {
+    this.granularity.set(granularity);
+    this.load();
+  }
+
+  protected load(): void {
+    const granularity = this.granularity();
+    const bucketMillis = BUCKET_MILLIS[granularity];
+
+    // Buckets are aligned to UTC, the same as on the server
+    const to = dayjs(Math.floor(dayjs().valueOf() / bucketMillis) * bucketMillis + bucketMillis);
+    const from = to.subtract(CHART_BUCKETS * bucketMillis, 'ms');
+
+    this.isLoading.set(true);
+    this.statsService
+      .find(granularity, from, to)
+      .pipe(map(response => response.body ?? []))
+      .subscribe({
+        next: (statistics: ScenarioExecutionStatistics[]) => {
+          const bars = this.toBars(statistics, from, bucketMillis);
+          this.bars.set(bars);
+          this.maxExecutions.set(Math.max(0, ...bars.map(bar => bar.executions)));
+        },
+        complete: () => this.isLoading.set(false),
+      });
+  }
+
+  protected barHeight(count: number): number {
+    return this.maxExecutions() > 0 ? (count / this.maxExecutions()) * this.chartHeight : 0;
+  }
+
+  /**
+   * The API omits buckets without any execution, these are filled in with zeros.
+   */
+  private toBars(statistics: ScenarioExecutionStatistics[], from: dayjs.Dayjs, bucketMillis: number): ThroughputBar[] {
+    const statisticsByBucket = new Map(statistics.map(bucket => [dayjs(bucket.bucketStart).valueOf(), bucket]));
+
+    return Array.from({ length: CHART_BUCKETS }, (_, index) => {
+      const bucketStart = from.add(index * bucketMillis, 'ms');
+      const bucket = statisticsByBucket.get(bucketStart.valueOf());
+      return {
+        bucketStart,
+        executions: bucket?.executions ?? 0,
+        failures: bucket?.failures ?? 0,
+        p99Duration: bucket?.p99Duration ?? 0,
+      };
+    });
+  }
+}
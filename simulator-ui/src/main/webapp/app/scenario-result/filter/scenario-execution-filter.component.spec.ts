@@ -76,6 +76,7 @@ describe('ScenarioExecution Filter Component', () => {
     it('should initialize form values from activated route', () => {
       const nameContains = 'nameContains';
       const headerFilter = 'header%3Dvalue';
+      const businessKeys = 'orderId=4711';
 
       // @ts-expect-error: Access read-only property for testing
       activatedRoute.queryParamMap = of(
@@ -85,6 +86,7 @@ describe('ScenarioExecution Filter Component', () => {
           'filter[status.equals]': STATUS_SUCCESS.id,
           'filter[endDate.lessThanOrEqual]': queryParamEndDate,
           'filter[headers]': headerFilter,
+          'filter[businessKeys]': businessKeys,
         }),
       );
 
@@ -99,6 +101,7 @@ describe('ScenarioExecution Filter Component', () => {
         statusIn: STATUS_SUCCESS.name,
         toDate: localeFormat(queryParamEndDate),
         headerFilter,
+        businessKeys,
       });
 
       expect(component.filterForm.dirty).toBeTruthy();
@@ -113,6 +116,7 @@ describe('ScenarioExecution Filter Component', () => {
           fromDate: string;
           toDate: string;
           headerFilter: string;
+          businessKeys: string;
         }>();
         jest.spyOn(filterFormValueChangesSubject, 'subscribe');
         // @ts-expect-error: Override read-only property for testing
@@ -130,6 +134,7 @@ describe('ScenarioExecution Filter Component', () => {
         expect(filterFormValueChangesSubject.subscribe).toHaveBeenCalled();
 
         expect(component.filterForm.getRawValue()).toEqual({
+          businessKeys: '',
           fromDate: null,
           headerFilter: '',
           nameContains: '',
@@ -141,12 +146,14 @@ describe('ScenarioExecution Filter Component', () => {
 
         const nameContains = 'nameContains';
         const headerFilter = 'key=value';
+        const businessKeys = 'orderId=4711';
         filterFormValueChangesSubject.next({
           nameContains,
           statusIn: STATUS_SUCCESS.name,
           fromDate: filterFormFromDate,
           toDate: filterFormToDate,
           headerFilter,
+          businessKeys,
         });
 
         jest.advanceTimersByTime(DEBOUNCE_TIME_MILLIS);
@@ -158,6 +165,7 @@ describe('ScenarioExecution Filter Component', () => {
             'filter[status.equals]': STATUS_SUCCESS.id,
             'filter[endDate.lessThanOrEqual]': queryParamEndDate,
             'filter[headers]': headerFilter,
+            'filter[businessKeys]': businessKeys,
           },
         });
       } finally {
@@ -188,6 +196,7 @@ describe('ScenarioExecution Filter Component', () => {
     it('should navigate with correct query parameters', () => {
       const nameContains = 'nameContains';
       const headerFilter = 'headerFilter';
+      const businessKeys = 'orderId=4711';
 
       component.filterForm.setValue({
         nameContains,
@@ -195,6 +204,7 @@ describe('ScenarioExecution Filter Component', () => {
         toDate: filterFormToDate,
         statusIn: STATUS_SUCCESS.name,
         headerFilter,
+        businessKeys,
       });
 
       // @ts-expect-error: Access protected function for testing
@@ -207,6 +217,7 @@ describe('ScenarioExecution Filter Component', () => {
           'filter[status.equals]': STATUS_SUCCESS.id,
           'filter[endDate.lessThanOrEqual]': queryParamEndDate,
           'filter[headers]': headerFilter,
+          'filter[businessKeys]': businessKeys,
         },
       });
     });
@@ -27,6 +27,7 @@ type ScenarioExecutionFilter = {
   toDate: dayjs.Dayjs | undefined;
   statusIn: ITestResultStatus | undefined;
   headerFilter: string | undefined;
+  businessKeys: string | undefined;
 };
 
 export const invalidHeaderFilterPatternValidator =
@@ -99,6 +100,7 @@ export default class ScenarioExecutionFilterComponent implements OnInit, OnDestr
     toDate: new FormControl(),
     statusIn: new FormControl(),
     headerFilter: new FormControl<string>('', [invalidHeaderFilterPatternValidator()]),
+    businessKeys: new FormControl<string>(''),
   });
   private filterFormValueChanges: Subscription | null = null;
 
@@ -161,6 +163,7 @@ export default class ScenarioExecutionFilterComponent implements OnInit, OnDestr
                 toDate: formValue.toDate ? dayjs(formValue.toDate) : undefined,
                 statusIn: formValue.statusIn ? testResultStatusFromName(formValue.statusIn) : undefined,
                 headerFilter: formValue.headerFilter,
+                businessKeys: formValue.businessKeys,
               }),
             ),
           })
@@ -196,6 +199,10 @@ export default class ScenarioExecutionFilterComponent implements OnInit, OnDestr
           this.filterForm.controls.headerFilter.setValue(filterOption.values[0]);
           this.filterForm.controls.headerFilter.markAsDirty();
           break;
+        case 'businessKeys':
+          this.filterForm.controls.businessKeys.setValue(filterOption.values[0]);
+          this.filterForm.controls.businessKeys.markAsDirty();
+          break;
       }
     });
   }
@@ -221,6 +228,7 @@ export default class ScenarioExecutionFilterComponent implements OnInit, OnDestr
     toDate,
     statusIn,
     headerFilter,
+    businessKeys,
   }: ScenarioExecutionFilter): Record<string, any> {
     return {
       'filter[scenarioName.contains]': nameContains ?? undefined,
@@ -228,6 +236,7 @@ export default class ScenarioExecutionFilterComponent implements OnInit, OnDestr
       'filter[endDate.lessThanOrEqual]': toDate ? toDate.toJSON() : undefined,
       'filter[status.equals]': statusIn?.id ?? undefined,
       'filter[headers]': headerFilter ?? undefined,
+      'filter[businessKeys]': businessKeys ?? undefined,
     };
   }
 }